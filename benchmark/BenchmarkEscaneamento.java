@@ -0,0 +1,92 @@
+package benchmark;
+
+import java.util.Locale;
+import java.util.Random;
+
+import util.EscaneadorBlocos;
+
+/**
+ * Compara as implementações de {@link EscaneadorBlocos} por tamanho de
+ * campo, para localizar o tamanho a partir do qual a varredura de 8 bytes
+ * por vez compensa.
+ *
+ * Os campos são hexadecimais válidos, de modo que toda a varredura é feita.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java benchmark/*.java
+ * java -cp out benchmark.BenchmarkEscaneamento [--tempo ms]
+ * </pre>
+ */
+public final class BenchmarkEscaneamento {
+
+    private static final int[] TAMANHOS = {4, 8, 12, 16, 24, 32, 64, 256, 4096, 65536, 1 << 20};
+    private static final int MEMORIA = 4 << 20;
+    private static volatile int sumidouro;
+
+    private BenchmarkEscaneamento() {
+    }
+
+    public static void main(final String[] args) {
+
+        long tempo = 500;
+        for (int i = 0; i < args.length - 1; i += 2) {
+            if (!"--tempo".equals(args[i])) {
+                throw new IllegalArgumentException("Opção desconhecida: " + args[i]);
+            }
+            tempo = Long.parseLong(args[i + 1]);
+        }
+
+        Random random = new Random(20261017L);
+        byte[] dados = new byte[MEMORIA];
+        byte[] hexa = "0123456789abcdefABCDEF".getBytes();
+        for (int i = 0; i < dados.length; i++) {
+            dados[i] = hexa[random.nextInt(hexa.length)];
+        }
+
+        System.out.printf(Locale.ROOT, "# %s %s, %d ms por medida%n",
+                System.getProperty("java.vm.name"), System.getProperty("java.version"), tempo);
+        System.out.printf(Locale.ROOT, "%10s %14s %14s %10s %10s%n",
+                "bytes", "escalar ns/op", "swar ns/op", "escalar GB/s", "swar GB/s");
+        for (int tamanho : TAMANHOS) {
+
+            double escalar = medir(EscaneadorBlocos.ESCALAR, dados, tamanho, tempo);
+            double swar = medir(EscaneadorBlocos.SWAR, dados, tamanho, tempo);
+            System.out.printf(Locale.ROOT, "%10d %14.1f %14.1f %10.2f %10.2f%n",
+                    tamanho, escalar, swar, tamanho / escalar, tamanho / swar);
+        }
+    }
+
+    /**
+     * @return Nanossegundos por campo.
+     */
+    private static double medir(final EscaneadorBlocos escaneador, final byte[] dados,
+            final int tamanho, final long tempo) {
+
+        // Aquecimento com a mesma duração da medida.
+        rodar(escaneador, dados, tamanho, tempo);
+        long inicio = System.nanoTime();
+        long operacoes = rodar(escaneador, dados, tamanho, tempo);
+        return (double) (System.nanoTime() - inicio) / operacoes;
+    }
+
+    /**
+     * Percorre os dados em campos consecutivos, com deslocamentos ímpares
+     * para não favorecer leituras alinhadas.
+     */
+    private static long rodar(final EscaneadorBlocos escaneador, final byte[] dados,
+            final int tamanho, final long tempo) {
+
+        long limite = System.nanoTime() + tempo * 1_000_000L;
+        long operacoes = 0;
+        int acumulado = 0;
+        int passo = tamanho + 1;
+        while (System.nanoTime() < limite) {
+            for (int inicio = 0; inicio + tamanho <= dados.length; inicio += passo) {
+                acumulado += escaneador.hexa(dados, inicio, tamanho) ? 1 : 0;
+                operacoes++;
+            }
+        }
+        sumidouro = acumulado;
+        return operacoes;
+    }
+}
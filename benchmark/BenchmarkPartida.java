@@ -0,0 +1,153 @@
+package benchmark;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import util.RegistroRegras;
+import util.Validador;
+
+/**
+ * Benchmark de partida: mede, em JVMs novas, o tempo até a primeira
+ * validação de cada ponto de entrada de {@link Validador}.
+ *
+ * Para cada caso são iniciadas várias JVMs filhas com o mesmo classpath.
+ * Cada filha faz uma única chamada e informa quanto ela levou, incluindo o
+ * carregamento e a inicialização das classes; o processo pai mede o tempo
+ * total da filha, da criação até o fim. São mostradas as medianas.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java benchmark/*.java
+ * java -cp out benchmark.BenchmarkPartida [--repeticoes n] [--jvm "opções"] [--filtro texto]
+ * </pre>
+ *
+ * Com {@code --jvm "-XX:SharedArchiveFile=util.jsa"} as filhas usam o
+ * arquivo CDS gerado por {@code benchmark/cds.sh}.
+ */
+public final class BenchmarkPartida {
+
+    private static final String[] CASOS = {
+        "cpf", "cnpj", "email", "data", "data.generica", "md5", "gtin", "pais", "moeda", "regra",
+    };
+
+    private static volatile Object sumidouro;
+
+    private BenchmarkPartida() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+
+        if (args.length == 2 && "--filho".equals(args[0])) {
+            filho(args[1]);
+            return;
+        }
+        int repeticoes = 5;
+        List<String> jvm = new ArrayList<>();
+        String filtro = "";
+        for (int i = 0; i < args.length - 1; i += 2) {
+            switch (args[i]) {
+                case "--repeticoes":
+                    repeticoes = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--jvm":
+                    jvm.addAll(Jvm.opcoes(args[i + 1]));
+                    break;
+                case "--filtro":
+                    filtro = args[i + 1];
+                    break;
+                default:
+                    throw new IllegalArgumentException("Opção desconhecida: " + args[i]);
+            }
+        }
+
+        System.out.printf(Locale.ROOT, "# %s %s, %d repetições, opções %s%n",
+                System.getProperty("java.vm.name"), System.getProperty("java.version"),
+                repeticoes, jvm);
+        System.out.printf(Locale.ROOT, "%-16s %18s %14s%n", "caso", "primeira us", "processo ms");
+        for (String caso : CASOS) {
+            if (!caso.contains(filtro)) {
+                continue;
+            }
+            long[] primeira = new long[repeticoes];
+            long[] processo = new long[repeticoes];
+            for (int r = 0; r < repeticoes; r++) {
+
+                long inicio = System.nanoTime();
+                primeira[r] = executar(jvm, caso);
+                processo[r] = System.nanoTime() - inicio;
+            }
+            System.out.printf(Locale.ROOT, "%-16s %18.1f %14.1f%n",
+                    caso, mediana(primeira) / 1e3, mediana(processo) / 1e6);
+        }
+    }
+
+    /**
+     * Inicia uma JVM filha e lê o tempo informado por ela.
+     *
+     * @return Nanossegundos da primeira chamada na filha.
+     */
+    private static long executar(final List<String> jvm, final String caso)
+            throws IOException, InterruptedException {
+
+        List<String> linhas = Jvm.executar(jvm, BenchmarkPartida.class, "--filho", caso);
+        if (linhas.isEmpty()) {
+            throw new IllegalStateException("JVM filha sem resultado (" + caso + ")");
+        }
+        return Long.parseLong(linhas.get(0).trim());
+    }
+
+    /**
+     * Executa uma única chamada e escreve a sua duração em nanossegundos.
+     * O caso "todos" chama cada ponto de entrada uma vez, para o treino do
+     * arquivo CDS.
+     */
+    private static void filho(final String caso) {
+
+        long inicio = System.nanoTime();
+        if ("todos".equals(caso)) {
+            for (String c : CASOS) {
+                sumidouro = chamar(c);
+            }
+        } else {
+            sumidouro = chamar(caso);
+        }
+        System.out.println(System.nanoTime() - inicio);
+    }
+
+    private static Object chamar(final String caso) {
+
+        switch (caso) {
+            case "cpf":
+                return Validador.cpf("529.982.247-25");
+            case "cnpj":
+                return Validador.cnpj("11.222.333/0001-81");
+            case "email":
+                return Validador.email("fulano@exemplo.com.br");
+            case "data":
+                return Validador.data("29/02/2024", "dd/MM/yyyy");
+            case "data.generica":
+                return Validador.data("29/02/2024 13", "dd/MM/yyyy HH");
+            case "md5":
+                return Validador.calcularMD5("texto");
+            case "gtin":
+                return Validador.isCodigoValido("7891000315507");
+            case "pais":
+                return Validador.verificaPais(789);
+            case "moeda":
+                return Validador.formatarMoeda(1234.56);
+            case "regra":
+                return RegistroRegras.regra("cpf").testar("529.982.247-25");
+            default:
+                throw new IllegalArgumentException("Caso desconhecido: " + caso);
+        }
+    }
+
+    private static long mediana(final long[] valores) {
+
+        long[] ordenados = valores.clone();
+        Arrays.sort(ordenados);
+        return ordenados[ordenados.length / 2];
+    }
+}
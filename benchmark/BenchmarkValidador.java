@@ -0,0 +1,260 @@
+package benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import util.PrefixoGs1;
+import util.Validador;
+
+/**
+ * Benchmark dos pontos de entrada de {@link Validador}.
+ *
+ * Cada caso roda sobre um conjunto fixo de dados válidos, inválidos e
+ * formatados, gerado com semente constante. O modo "1t" mede uma thread e a
+ * alocação por operação; o modo "Nt" roda o mesmo caso em N threads
+ * concorrentes e soma a vazão, e só é medido se houver ao menos N
+ * processadores.
+ *
+ * Cada caso roda em uma JVM nova, para que o perfil de tipos coletado pelo
+ * JIT em um caso não afete a compilação dos seguintes: com todos os casos
+ * na mesma JVM, a chamada de {@link Caso#executar(int)} deixaria de ser
+ * monomórfica a partir do terceiro caso.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java benchmark/*.java
+ * java -cp out benchmark.BenchmarkValidador [--tempo ms] [--aquecimento ms] [--threads n] [--filtro texto] [--jvm "opções"]
+ * </pre>
+ */
+public final class BenchmarkValidador {
+
+    /**
+     * Operação medida; o retorno é consumido para que o JIT não a elimine.
+     */
+    interface Caso {
+
+        int executar(int indice);
+    }
+
+    private static final int DADOS = 4096;
+    private static volatile int sumidouro;
+
+    private final String nome;
+    private final Caso caso;
+
+    private BenchmarkValidador(final String nome, final Caso caso) {
+
+        this.nome = nome;
+        this.caso = caso;
+    }
+
+    public static void main(final String[] args) throws Exception {
+
+        long tempo = 1000;
+        long aquecimento = 2000;
+        int processadores = Runtime.getRuntime().availableProcessors();
+        int threads = processadores;
+        String filtro = "";
+        String caso = null;
+        List<String> jvm = new ArrayList<>();
+        for (int i = 0; i < args.length - 1; i += 2) {
+            switch (args[i]) {
+                case "--tempo":
+                    tempo = Long.parseLong(args[i + 1]);
+                    break;
+                case "--aquecimento":
+                    aquecimento = Long.parseLong(args[i + 1]);
+                    break;
+                case "--threads":
+                    threads = Integer.parseInt(args[i + 1]);
+                    break;
+                case "--filtro":
+                    filtro = args[i + 1];
+                    break;
+                case "--jvm":
+                    jvm.addAll(Jvm.opcoes(args[i + 1]));
+                    break;
+                case "--caso":
+                    caso = args[i + 1];
+                    break;
+                default:
+                    throw new IllegalArgumentException("Opção desconhecida: " + args[i]);
+            }
+        }
+
+        if (caso != null) {
+            // JVM filha: mede um único caso.
+            for (BenchmarkValidador benchmark : casos()) {
+                if (benchmark.nome.equals(caso)) {
+                    benchmark.medirUmaThread(aquecimento, tempo);
+                    if (threads > 1) {
+                        benchmark.medirConcorrente(tempo, threads);
+                    }
+                    return;
+                }
+            }
+            throw new IllegalArgumentException("Caso desconhecido: " + caso);
+        }
+
+        System.out.printf(Locale.ROOT, "# %s %s, %d processadores, %d ms de aquecimento, %d ms por medida, opções %s%n",
+                System.getProperty("java.vm.name"), System.getProperty("java.version"),
+                processadores, aquecimento, tempo, jvm);
+        if (threads > processadores) {
+            System.out.printf(Locale.ROOT, "# modo %dt omitido: somente %d processadores%n",
+                    threads, processadores);
+            threads = 1;
+        }
+        System.out.printf(Locale.ROOT, "%-28s %5s %16s %12s%n", "caso", "modo", "ops/s", "bytes/op");
+        for (BenchmarkValidador benchmark : casos()) {
+            if (!benchmark.nome.contains(filtro)) {
+                continue;
+            }
+            for (String linha : Jvm.executar(jvm, BenchmarkValidador.class, "--caso", benchmark.nome,
+                    "--tempo", Long.toString(tempo), "--aquecimento", Long.toString(aquecimento),
+                    "--threads", Integer.toString(threads))) {
+                System.out.println(linha);
+            }
+        }
+    }
+
+    private static List<BenchmarkValidador> casos() {
+
+        Random random = new Random(20261017L);
+        String[] cpfValidos = new String[DADOS];
+        String[] cpfInvalidos = new String[DADOS];
+        String[] cpfFormatados = new String[DADOS];
+        String[] cnpjValidos = new String[DADOS];
+        String[] cnpjInvalidos = new String[DADOS];
+        String[] cnpjFormatados = new String[DADOS];
+        String[] cnpjAlfanumericos = new String[DADOS];
+        String[] cnpjMistos = new String[DADOS];
+        String[] emailValidos = new String[DADOS];
+        String[] emailInvalidos = new String[DADOS];
+        String[] datas = new String[DADOS];
+        String[] datasIso = new String[DADOS];
+        String[] gtins = new String[DADOS];
+        int[] prefixos = new int[DADOS];
+        String[] textos = new String[DADOS];
+        for (int i = 0; i < DADOS; i++) {
+
+            cpfValidos[i] = Dados.cpf(random);
+            cpfInvalidos[i] = Dados.invalido(cpfValidos[i]);
+            cpfFormatados[i] = Dados.formatarCpf(cpfValidos[i]);
+            cnpjValidos[i] = Dados.cnpj(random);
+            cnpjInvalidos[i] = Dados.invalido(cnpjValidos[i]);
+            cnpjFormatados[i] = Dados.formatarCnpj(cnpjValidos[i]);
+            cnpjAlfanumericos[i] = Dados.cnpjAlfanumerico(random);
+            cnpjMistos[i] = (i & 1) == 0 ? cnpjValidos[i] : cnpjAlfanumericos[i];
+            emailValidos[i] = Dados.email(random);
+            emailInvalidos[i] = emailValidos[i].replace('@', '#');
+            datas[i] = Dados.data(random, "%02d/%02d/%04d", true);
+            datasIso[i] = Dados.data(random, "%04d-%02d-%02d", false);
+            gtins[i] = Dados.gtin13(random);
+            prefixos[i] = random.nextInt(1000);
+            textos[i] = Dados.texto(random, 64);
+        }
+
+        List<BenchmarkValidador> casos = new ArrayList<>();
+        casos.add(new BenchmarkValidador("cpf.valido", i -> Validador.cpf(cpfValidos[i]) ? 1 : 0));
+        casos.add(new BenchmarkValidador("cpf.invalido", i -> Validador.cpf(cpfInvalidos[i]) ? 1 : 0));
+        casos.add(new BenchmarkValidador("cpf.formatado", i -> Validador.cpf(cpfFormatados[i]) ? 1 : 0));
+        casos.add(new BenchmarkValidador("cnpj.valido", i -> Validador.cnpj(cnpjValidos[i]) ? 1 : 0));
+        casos.add(new BenchmarkValidador("cnpj.invalido", i -> Validador.cnpj(cnpjInvalidos[i]) ? 1 : 0));
+        casos.add(new BenchmarkValidador("cnpj.formatado", i -> Validador.cnpj(cnpjFormatados[i]) ? 1 : 0));
+        casos.add(new BenchmarkValidador("cnpj.alfanumerico",
+                i -> Validador.cnpj(cnpjAlfanumericos[i]) ? 1 : 0));
+        casos.add(new BenchmarkValidador("cnpj.misto", i -> Validador.cnpj(cnpjMistos[i]) ? 1 : 0));
+        casos.add(new BenchmarkValidador("email.valido", i -> Validador.email(emailValidos[i]) ? 1 : 0));
+        casos.add(new BenchmarkValidador("email.invalido", i -> Validador.email(emailInvalidos[i]) ? 1 : 0));
+        casos.add(new BenchmarkValidador("data.ddMMyyyy",
+                i -> Validador.data(datas[i], "dd/MM/yyyy") ? 1 : 0));
+        casos.add(new BenchmarkValidador("data.iso",
+                i -> Validador.data(datasIso[i], "yyyy-MM-dd") ? 1 : 0));
+        casos.add(new BenchmarkValidador("data.mascaraGenerica",
+                i -> Validador.data(datas[i], "dd/MM/yyyy HH") ? 1 : 0));
+        casos.add(new BenchmarkValidador("gtin.isCodigoValido",
+                i -> Validador.isCodigoValido(gtins[i]) ? 1 : 0));
+        casos.add(new BenchmarkValidador("gtin.verificaPais",
+                i -> Validador.verificaPais(prefixos[i]) != null ? 1 : 0));
+        casos.add(new BenchmarkValidador("gtin.codigoPais", i -> PrefixoGs1.codigo(prefixos[i])));
+        casos.add(new BenchmarkValidador("texto.inteiro", i -> Validador.inteiro(cpfValidos[i]) ? 1 : 0));
+        casos.add(new BenchmarkValidador("texto.alfabetico",
+                i -> Validador.alfabetico(textos[i]) ? 1 : 0));
+        casos.add(new BenchmarkValidador("md5.calcularMD5", i -> Validador.calcularMD5(textos[i]).length()));
+        return casos;
+    }
+
+    private void medirUmaThread(final long aquecimento, final long tempo) {
+
+        com.sun.management.ThreadMXBean mx =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        // Em uma JVM nova, o aquecimento precisa cobrir a compilação pelo C2.
+        rodar(aquecimento, new AtomicBoolean());
+
+        long bytes = mx.getThreadAllocatedBytes(thread);
+        long inicio = System.nanoTime();
+        long operacoes = rodar(tempo, new AtomicBoolean());
+        long nanos = System.nanoTime() - inicio;
+        bytes = mx.getThreadAllocatedBytes(thread) - bytes;
+
+        System.out.printf(Locale.ROOT, "%-28s %5s %,16.0f %12.1f%n", nome, "1t",
+                operacoes * 1e9 / nanos, (double) bytes / operacoes);
+    }
+
+    private void medirConcorrente(final long tempo, final int threads) throws InterruptedException {
+
+        LongAdder total = new LongAdder();
+        AtomicBoolean parar = new AtomicBoolean();
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Thread> lista = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    largada.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                total.add(rodar(Long.MAX_VALUE, parar));
+            });
+            thread.start();
+            lista.add(thread);
+        }
+        long inicio = System.nanoTime();
+        largada.countDown();
+        Thread.sleep(tempo);
+        parar.set(true);
+        for (Thread thread : lista) {
+            thread.join();
+        }
+        long nanos = System.nanoTime() - inicio;
+        System.out.printf(Locale.ROOT, "%-28s %5s %,16.0f %12s%n", nome, threads + "t",
+                total.sum() * 1e9 / nanos, "-");
+    }
+
+    /**
+     * Executa o caso até o tempo acabar ou a sinalização de parada.
+     *
+     * @return Quantidade de operações executadas.
+     */
+    private long rodar(final long tempo, final AtomicBoolean parar) {
+
+        long limite = tempo == Long.MAX_VALUE ? Long.MAX_VALUE : System.nanoTime() + tempo * 1_000_000L;
+        long operacoes = 0;
+        int acumulado = 0;
+        while (!parar.get() && System.nanoTime() < limite) {
+            for (int i = 0; i < DADOS; i++) {
+                acumulado += caso.executar(i);
+            }
+            operacoes += DADOS;
+        }
+        sumidouro = acumulado;
+        return operacoes;
+    }
+}
@@ -0,0 +1,121 @@
+package benchmark;
+
+import java.util.Locale;
+import java.util.Random;
+
+import util.Validador;
+
+/**
+ * Geração dos conjuntos de dados usados pelos benchmarks.
+ */
+final class Dados {
+
+    private static final String LETRAS = "abcdefghijklmnopqrstuvwxyz";
+    private static final String[] DOMINIOS = {"gmail.com", "empresa.com.br", "gov.br", "exemplo.org"};
+
+    private Dados() {
+    }
+
+    static String digitos(final Random random, final int quantidade) {
+
+        StringBuilder sb = new StringBuilder(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            sb.append((char) ('0' + random.nextInt(10)));
+        }
+        return sb.toString();
+    }
+
+    static String cpf(final Random random) {
+
+        String base = digitos(random, 9);
+        base += Validador.modulo11(base, 0);
+        return base + Validador.modulo11(base, 0);
+    }
+
+    static String cnpj(final Random random) {
+
+        String base = digitos(random, 12);
+        base += Validador.modulo11(base, 9);
+        return base + Validador.modulo11(base, 9);
+    }
+
+    /**
+     * CNPJ alfanumérico, com letras e dígitos nas 12 primeiras posições.
+     */
+    static String cnpjAlfanumerico(final Random random) {
+
+        StringBuilder sb = new StringBuilder(14);
+        for (int i = 0; i < 12; i++) {
+            int c = random.nextInt(36);
+            sb.append((char) (c < 10 ? '0' + c : 'A' + c - 10));
+        }
+        String base = sb.toString();
+        base += Validador.modulo11(base, 9);
+        return base + Validador.modulo11(base, 9);
+    }
+
+    static String gtin13(final Random random) {
+
+        String base = "789" + digitos(random, 9);
+        int total = 0;
+        for (int i = 0; i < base.length(); i++) {
+            int d = base.charAt(i) - '0';
+            total += (i & 1) == 0 ? d : 3 * d;
+        }
+        return base + (10 - total % 10) % 10;
+    }
+
+    /**
+     * Troca o último dígito verificador por outro.
+     */
+    static String invalido(final String valido) {
+
+        int ultimo = valido.length() - 1;
+        char dv = (char) ('0' + (valido.charAt(ultimo) - '0' + 1) % 10);
+        return valido.substring(0, ultimo) + dv;
+    }
+
+    static String formatarCpf(final String cpf) {
+
+        return cpf.substring(0, 3) + '.' + cpf.substring(3, 6) + '.' + cpf.substring(6, 9)
+                + '-' + cpf.substring(9);
+    }
+
+    static String formatarCnpj(final String cnpj) {
+
+        return cnpj.substring(0, 2) + '.' + cnpj.substring(2, 5) + '.' + cnpj.substring(5, 8)
+                + '/' + cnpj.substring(8, 12) + '-' + cnpj.substring(12);
+    }
+
+    static String email(final Random random) {
+
+        return texto(random, 4 + random.nextInt(8)).replace(' ', '.') + '@'
+                + DOMINIOS[random.nextInt(DOMINIOS.length)];
+    }
+
+    /**
+     * Gera uma data; cerca de 1 em 10 é inexistente, como 31/02.
+     */
+    static String data(final Random random, final String formato, final boolean diaPrimeiro) {
+
+        int ano = 1900 + random.nextInt(200);
+        int mes = 1 + random.nextInt(12);
+        int dia = 1 + random.nextInt(random.nextInt(10) == 0 ? 31 : 28);
+        return diaPrimeiro
+                ? String.format(Locale.ROOT, formato, dia, mes, ano)
+                : String.format(Locale.ROOT, formato, ano, mes, dia);
+    }
+
+    /**
+     * Gera letras minúsculas, sem espaços nas pontas nem espaços seguidos.
+     */
+    static String texto(final Random random, final int tamanho) {
+
+        StringBuilder sb = new StringBuilder(tamanho);
+        for (int i = 0; i < tamanho; i++) {
+            boolean espaco = i > 0 && i < tamanho - 1 && sb.charAt(i - 1) != ' ' && random.nextInt(6) == 0;
+            sb.append(espaco ? ' ' : LETRAS.charAt(random.nextInt(LETRAS.length())));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,68 @@
+package benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Execução de benchmarks em JVMs filhas, com o mesmo java e o mesmo
+ * classpath da JVM atual.
+ */
+final class Jvm {
+
+    private Jvm() {
+    }
+
+    /**
+     * Separa as opções da JVM informadas em um único argumento.
+     *
+     * @param opcoes Opções separadas por espaços, como
+     * {@code "-Xmx1g -XX:+UseParallelGC"}.
+     * @return Lista de opções, vazia se não houver nenhuma.
+     */
+    static List<String> opcoes(final String opcoes) {
+
+        List<String> lista = new ArrayList<>(Arrays.asList(opcoes.trim().split("\\s+")));
+        lista.remove("");
+        return lista;
+    }
+
+    /**
+     * Executa a classe em uma JVM nova e espera o seu fim.
+     *
+     * @param opcoes Opções da JVM.
+     * @param principal Classe com o método main.
+     * @param argumentos Argumentos do main.
+     * @return Linhas escritas pela JVM filha, na saída padrão e de erro.
+     * @throws IllegalStateException Se a JVM filha terminar com erro.
+     */
+    static List<String> executar(final List<String> opcoes, final Class<?> principal,
+            final String... argumentos) throws IOException, InterruptedException {
+
+        List<String> comando = new ArrayList<>();
+        comando.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        comando.addAll(opcoes);
+        comando.add("-cp");
+        comando.add(System.getProperty("java.class.path"));
+        comando.add(principal.getName());
+        comando.addAll(Arrays.asList(argumentos));
+        Process processo = new ProcessBuilder(comando).redirectErrorStream(true).start();
+        List<String> linhas = new ArrayList<>();
+        try (BufferedReader leitor = new BufferedReader(
+                new InputStreamReader(processo.getInputStream(), StandardCharsets.UTF_8))) {
+            for (String linha = leitor.readLine(); linha != null; linha = leitor.readLine()) {
+                linhas.add(linha);
+            }
+        }
+        if (processo.waitFor() != 0) {
+            throw new IllegalStateException("Falha na JVM filha " + Arrays.toString(argumentos)
+                    + ": " + String.join("\n", linhas));
+        }
+        return linhas;
+    }
+}
@@ -0,0 +1,32 @@
+#!/bin/sh
+# Gera o arquivo CDS (AppCDS) da biblioteca e compara a partida com e sem ele.
+#
+#   sh benchmark/cds.sh [diretório de saída]
+#
+# O CDS só arquiva classes lidas de jars, por isso as classes são empacotadas
+# em out/util.jar e out/benchmark.jar. O arquivo out/util.jsa é gerado por
+# uma execução de treino que chama cada ponto de entrada uma vez
+# (-XX:ArchiveClassesAtExit, JDK 13 ou superior). Para usá-lo em uma
+# aplicação, o classpath precisa começar pelos mesmos jars:
+#
+#   java -XX:SharedArchiveFile=out/util.jsa -cp out/util.jar:app.jar ...
+set -e
+
+cd "$(dirname "$0")/.."
+SAIDA=${1:-out}
+CLASSES="$SAIDA/classes"
+
+rm -rf "$CLASSES"
+mkdir -p "$CLASSES"
+javac -encoding UTF-8 -d "$CLASSES" util/*.java benchmark/*.java
+jar --create --file "$SAIDA/util.jar" -C "$CLASSES" util
+jar --create --file "$SAIDA/benchmark.jar" -C "$CLASSES" benchmark
+
+CP="$SAIDA/util.jar:$SAIDA/benchmark.jar"
+java -XX:ArchiveClassesAtExit="$SAIDA/util.jsa" -cp "$CP" \
+    benchmark.BenchmarkPartida --filho todos > /dev/null
+
+echo "== sem CDS da aplicação"
+java -cp "$CP" benchmark.BenchmarkPartida
+echo "== com $SAIDA/util.jsa"
+java -cp "$CP" benchmark.BenchmarkPartida --jvm "-XX:SharedArchiveFile=$SAIDA/util.jsa"
@@ -0,0 +1,104 @@
+package teste;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import util.CacheValidacao;
+import util.DigitoVerificador;
+import util.Validador;
+
+/**
+ * Testa {@link CacheValidacao}: as respostas são as de {@link Validador},
+ * inclusive com várias threads, e uma sequência de valores únicos não
+ * expulsa os valores frequentes.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java teste/*.java
+ * java -cp out teste.TesteCacheValidacao
+ * </pre>
+ */
+public final class TesteCacheValidacao {
+
+    private static final int THREADS = 4;
+
+    private TesteCacheValidacao() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+
+        Verificacao v = new Verificacao();
+        executar(v);
+        v.concluir();
+    }
+
+    static void executar(final Verificacao v) throws Exception {
+
+        Random random = new Random(20261017L);
+        String[] quentes = new String[1000];
+        for (int i = 0; i < quentes.length; i++) {
+            long base = random.nextInt(1_000_000_000);
+            quentes[i] = String.format("%011d", random.nextBoolean()
+                    ? DigitoVerificador.completarCpf(base) : base * 100);
+        }
+
+        v.teste("cache.concorrente");
+        CacheValidacao cache = new CacheValidacao(4096);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Integer>> divergencias = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                long semente = t;
+                divergencias.add(executor.submit(() -> {
+                    SplittableRandom aleatorio = new SplittableRandom(semente);
+                    int erradas = 0;
+                    for (int i = 0; i < 200_000; i++) {
+                        String cpf = aleatorio.nextInt(10) < 7
+                                ? quentes[aleatorio.nextInt(quentes.length)]
+                                : String.format("%011d", aleatorio.nextLong(100_000_000_000L));
+                        erradas += cache.cpf(cpf) == Validador.cpf(cpf) ? 0 : 1;
+                    }
+                    return erradas;
+                }));
+            }
+            for (Future<Integer> erradas : divergencias) {
+                v.igual(0, erradas.get(), "respostas diferentes de Validador.cpf");
+            }
+        } finally {
+            executor.shutdown();
+        }
+        v.verdadeiro(cache.taxaAcerto() > 0.6, "taxa de acerto %.3f com 70%% de valores frequentes",
+                cache.taxaAcerto());
+
+        v.teste("cache.varredura");
+        // Cada valor frequente volta a cada 10 mil consultas, depois de 9 mil
+        // valores únicos: uma política LRU de 4096 entradas não guardaria
+        // nenhum. Sem leituras dos frequentes, o envelhecimento do sketch
+        // acabaria por igualá-los aos únicos, e o resultado dependeria do
+        // ponto do ciclo de envelhecimento em que a varredura começa.
+        for (int i = 0; i < 100_000; i++) {
+            cache.cpf(String.format("%011d", Math.floorMod(random.nextLong(), 100_000_000_000L)));
+            if (i % 10 == 0) {
+                cache.cpf(quentes[i / 10 % quentes.length]);
+            }
+        }
+        long antes = cache.acertos();
+        for (String cpf : quentes) {
+            cache.cpf(cpf);
+        }
+        v.verdadeiro(cache.acertos() - antes > quentes.length * 9 / 10,
+                "valores frequentes guardados durante a varredura: %d de %d acertos",
+                cache.acertos() - antes, quentes.length);
+
+        v.teste("cache.limpar");
+        cache.limpar();
+        v.igual(0L, cache.acertos(), "acertos depois de limpar");
+        cache.cpf(quentes[0]);
+        cache.cpf(quentes[0]);
+        v.igual(1L, cache.acertos(), "acerto depois de limpar");
+    }
+}
@@ -0,0 +1,158 @@
+package teste;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Random;
+
+import util.Validador;
+import util.ValidadorData;
+
+/**
+ * Compara {@link ValidadorData} com o {@link SimpleDateFormat} não leniente
+ * usado antes, em datas com a quantidade de dígitos da máscara e campos
+ * dentro e fora dos intervalos. Os anos ficam depois de 1600, porque o
+ * SimpleDateFormat usa o calendário juliano antes de 1582.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java teste/*.java
+ * java -cp out teste.TesteData
+ * </pre>
+ */
+public final class TesteData {
+
+    private static final String[] MASCARAS = {
+        "dd/MM/yyyy", "yyyy-MM-dd", "ddMMyyyy", "dd/MM/yyyy HH:mm", "dd.MM.yy", "MM/yyyy",
+        "dd/MM", "dd", "yyyy", "HH:mm:ss", "hh:mm",
+    };
+
+    private static final int[] ANOS = {1600, 1700, 1900, 1970, 2000, 2023, 2024, 2100, 9998};
+
+    private TesteData() {
+    }
+
+    public static void main(final String[] args) {
+
+        Verificacao v = new Verificacao();
+        executar(v);
+        v.concluir();
+    }
+
+    static void executar(final Verificacao v) {
+
+        v.teste("data.exaustivo");
+        for (int ano : ANOS) {
+            for (int mes = 0; mes <= 13; mes++) {
+                for (int dia = 0; dia <= 32; dia++) {
+                    String ddMMyyyy = String.format("%02d%02d%04d", dia, mes, ano);
+                    comparar(v, ddMMyyyy, "ddMMyyyy");
+                    comparar(v, String.format("%02d/%02d/%04d", dia, mes, ano), "dd/MM/yyyy");
+                    comparar(v, String.format("%04d-%02d-%02d", ano, mes, dia), "yyyy-MM-dd");
+                    comparar(v, String.format("%02d/%02d/%04d 10:30", dia, mes, ano), "dd/MM/yyyy HH:mm");
+                }
+            }
+        }
+
+        v.teste("data.aleatorio");
+        Random random = new Random(20261017L);
+        for (int n = 0; n < 100_000; n++) {
+            String mascara = MASCARAS[random.nextInt(MASCARAS.length)];
+            comparar(v, preencher(random, mascara), mascara);
+        }
+
+        v.teste("data.casos");
+        v.igual(false, Validador.data("01/01/0000", "dd/MM/yyyy"), "ano 0");
+        v.igual(false, Validador.data("0000-01-01", "yyyy-MM-dd"), "ano 0 ISO");
+        v.igual(false, Validador.data("01/01/0000 10", "dd/MM/yyyy HH"), "ano 0 genérico");
+        v.igual(false, Validador.data("13/2020", "MM/yyyy"), "mês 13 sem dia");
+        v.igual(false, Validador.data("00/2020", "MM/yyyy"), "mês 0 sem dia");
+        v.igual(false, Validador.data("45", "dd"), "dia 45 sem mês");
+        v.igual(false, Validador.data("31/02", "dd/MM"), "31/02 sem ano");
+        v.igual(false, Validador.data("29/02", "dd/MM"), "29/02 sem ano, como em 1970");
+        v.igual(true, Validador.data("29/02/2024 23", "dd/MM/yyyy HH"), "29/02 em ano bissexto");
+        v.igual(false, Validador.data("1/2/2024", "dd/MM/yyyy"), "dígitos a menos");
+        v.igual(false, Validador.data("01/02/2024x", "dd/MM/yyyy"), "texto depois da data");
+        v.igual(false, Validador.data("01/02/2024", "dd/MM/yyyy'"), "máscara inválida");
+
+        v.teste("data.mascaraInvalida");
+        // A máscara inválida fica no cache: as chamadas seguintes não criam
+        // o formato de novo e continuam inválidas, nos dois caminhos.
+        byte[] bytes = "01/02/2024".getBytes(StandardCharsets.ISO_8859_1);
+        for (int n = 0; n < 3; n++) {
+            v.igual(false, Validador.data("01/02/2024", "dd/MM/yyyy'"), "máscara inválida, chamada %d", n);
+            v.igual(false, ValidadorData.valida("01/02/2024", "dd/MM/yyyy'"),
+                    "máscara inválida direta, chamada %d", n);
+            v.igual(false, ValidadorData.valida(ByteBuffer.wrap(bytes), 0, bytes.length, "dd/MM/yyyy'"),
+                    "máscara inválida em buffer, chamada %d", n);
+        }
+        v.igual(false, ValidadorData.valida("01/02/2024", "{{"), "máscara com caractere reservado");
+        v.igual(true, ValidadorData.valida("01.02.2024", "dd.MM.yyyy"), "máscara válida depois das inválidas");
+
+        v.teste("data.null");
+        v.igual(false, Validador.data("01/02/2024", null), "máscara null");
+        v.igual(false, Validador.data(null, "dd/MM/yyyy"), "campo null");
+        v.igual(false, ValidadorData.valida("01/02/2024", null), "máscara null direta");
+        v.igual(false, ValidadorData.valida(null, "dd/MM/yyyy"), "campo null direto");
+        v.igual(false, ValidadorData.valida(ByteBuffer.wrap(bytes), 0, bytes.length, null), "máscara null em buffer");
+    }
+
+    private static void comparar(final Verificacao v, final String campo, final String mascara) {
+
+        SimpleDateFormat formato = new SimpleDateFormat(mascara);
+        formato.setLenient(false);
+        ParsePosition posicao = new ParsePosition(0);
+        boolean esperado = formato.parse(campo, posicao) != null && posicao.getIndex() == campo.length();
+
+        v.igual(esperado, Validador.data(campo, mascara), "data(\"%s\", \"%s\")", campo, mascara);
+        byte[] bytes = (" " + campo).getBytes(StandardCharsets.ISO_8859_1);
+        v.igual(esperado, ValidadorData.valida(ByteBuffer.wrap(bytes), 1, campo.length(), mascara),
+                "data(buffer \"%s\", \"%s\")", campo, mascara);
+    }
+
+    /**
+     * Troca cada sequência de letras da máscara por um número com a mesma
+     * quantidade de dígitos, às vezes fora do intervalo do campo.
+     */
+    private static String preencher(final Random random, final String mascara) {
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < mascara.length();) {
+
+            char c = mascara.charAt(i);
+            int fim = i;
+            while (fim < mascara.length() && mascara.charAt(fim) == c) {
+                fim++;
+            }
+            int digitos = fim - i;
+            int valor;
+            switch (c) {
+                case 'd':
+                    valor = random.nextInt(33);
+                    break;
+                case 'M':
+                    valor = random.nextInt(14);
+                    break;
+                case 'y':
+                    valor = digitos == 2 ? random.nextInt(100) : ANOS[random.nextInt(ANOS.length)]
+                            + random.nextInt(3) - 1;
+                    break;
+                case 'H':
+                case 'h':
+                    valor = random.nextInt(26);
+                    break;
+                case 'm':
+                case 's':
+                    valor = random.nextInt(62);
+                    break;
+                default:
+                    sb.append(mascara, i, fim);
+                    i = fim;
+                    continue;
+            }
+            sb.append(String.format("%0" + digitos + "d", valor));
+            i = fim;
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,257 @@
+package teste;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import util.DigitoVerificador;
+import util.Validador;
+
+/**
+ * Compara a validação de CPF e CNPJ com o cálculo original por
+ * {@code Integer.parseInt} de cada dígito, nas representações em texto,
+ * em bytes e como número, e o CNPJ alfanumérico com o cálculo publicado
+ * pela Receita Federal. Verifica também as mudanças de contrato: entrada
+ * vazia ou com outros caracteres é inválida em vez de lançar exceção.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java teste/*.java
+ * java -cp out teste.TesteDigitoVerificador
+ * </pre>
+ */
+public final class TesteDigitoVerificador {
+
+    private static final int[] PESO_CPF = {11, 10, 9, 8, 7, 6, 5, 4, 3, 2};
+
+    private TesteDigitoVerificador() {
+    }
+
+    public static void main(final String[] args) {
+
+        Verificacao v = new Verificacao();
+        executar(v);
+        v.concluir();
+    }
+
+    static void executar(final Verificacao v) {
+
+        Random random = new Random(20261017L);
+        v.teste("cpf.aleatorio");
+        for (int n = 0; n < 200_000; n++) {
+            String cpf = digitos(random, 1 + random.nextInt(11));
+            if (random.nextBoolean()) {
+                cpf = completarCpfOriginal(cpf);
+            }
+            boolean esperado = cpfOriginal(cpf);
+            v.igual(esperado, Validador.cpf(cpf), "cpf(\"%s\")", cpf);
+            v.igual(esperado, DigitoVerificador.cpf(buffer(cpf), 1, cpf.length()), "cpf(buffer \"%s\")", cpf);
+            v.igual(esperado, Validador.cpf(Long.parseLong(cpf)), "cpf(%sL)", cpf);
+            if (cpf.length() == 11) {
+                String pontuado = cpf.substring(0, 3) + '.' + cpf.substring(3, 6) + '.' + cpf.substring(6, 9)
+                        + '-' + cpf.substring(9);
+                v.igual(esperado, Validador.cpf(pontuado), "cpf(\"%s\")", pontuado);
+            }
+        }
+
+        v.teste("cnpj.aleatorio");
+        for (int n = 0; n < 200_000; n++) {
+            String cnpj = digitos(random, 1 + random.nextInt(14));
+            if (random.nextBoolean()) {
+                String base = cnpj.length() > 12 ? cnpj.substring(0, 12) : cnpj;
+                cnpj = base + modulo11Original(preencher(base, 12), 9);
+                cnpj = cnpj + modulo11Original(preencher(cnpj, 13), 9);
+            }
+            boolean esperado = cnpjOriginal(cnpj);
+            v.igual(esperado, Validador.cnpj(cnpj), "cnpj(\"%s\")", cnpj);
+            v.igual(esperado, DigitoVerificador.cnpj(buffer(cnpj), 1, cnpj.length()),
+                    "cnpj(buffer \"%s\")", cnpj);
+            v.igual(esperado, Validador.cnpj(Long.parseLong(cnpj)), "cnpj(%sL)", cnpj);
+            if (cnpj.length() == 14) {
+                String pontuado = cnpj.substring(0, 2) + '.' + cnpj.substring(2, 5) + '.' + cnpj.substring(5, 8)
+                        + '/' + cnpj.substring(8, 12) + '-' + cnpj.substring(12);
+                v.igual(esperado, Validador.cnpj(pontuado), "cnpj(\"%s\")", pontuado);
+            }
+        }
+
+        v.teste("modulo11.aleatorio");
+        for (int n = 0; n < 100_000; n++) {
+            String texto = digitos(random, 1 + random.nextInt(20));
+            int limite = random.nextBoolean() ? 0 : 2 + random.nextInt(8);
+            v.igual(modulo11Original(texto, limite), Validador.modulo11(texto, limite),
+                    "modulo11(\"%s\", %d)", texto, limite);
+        }
+
+        v.teste("cnpj.alfanumerico");
+        for (int n = 0; n < 200_000; n++) {
+            String base = alfanumericos(random, 12);
+            String dv1 = modulo11Alfanumerico(base);
+            String cnpj = base + dv1 + modulo11Alfanumerico(base + dv1);
+            if (random.nextBoolean()) {
+                // Troca uma posição, às vezes por um caractere inválido.
+                char[] trocado = cnpj.toCharArray();
+                trocado[random.nextInt(14)] = "0123456789ABCXYZa@:[".charAt(random.nextInt(20));
+                cnpj = new String(trocado);
+            }
+            boolean esperado = cnpjAlfanumerico(cnpj);
+            v.igual(esperado, Validador.cnpj(cnpj), "cnpj(\"%s\")", cnpj);
+            v.igual(esperado, DigitoVerificador.cnpj(buffer(cnpj), 1, cnpj.length()),
+                    "cnpj(buffer \"%s\")", cnpj);
+            String base12 = cnpj.substring(0, 12);
+            if (base12.matches("[0-9A-Z]*")) {
+                String primeiro = modulo11Alfanumerico(base12);
+                v.igual(base12 + primeiro + modulo11Alfanumerico(base12 + primeiro), Validador.completarCnpj(base12),
+                        "completarCnpj(\"%s\")", base12);
+            } else {
+                v.lanca(NumberFormatException.class, () -> Validador.completarCnpj(base12),
+                        "completarCnpj(\"" + base12 + "\")");
+            }
+        }
+
+        v.teste("contrato");
+        v.igual(false, Validador.cnpj(""), "cnpj vazio, antes válido como zeros");
+        v.igual(false, Validador.cnpj(null), "cnpj null, antes NullPointerException");
+        v.igual(false, Validador.cpf(""), "cpf vazio");
+        v.igual(false, Validador.cpf(null), "cpf null");
+        v.igual(false, Validador.cpf("5299822472a"), "cpf com letra, antes NumberFormatException");
+        v.igual(false, Validador.cnpj("1122233300018a"), "cnpj com minúscula");
+        v.igual(false, Validador.cpf("529982247250"), "cpf longo");
+        v.igual(false, Validador.cnpj("112223330001810"), "cnpj longo, antes exceção");
+        v.igual(true, Validador.cpf("529.982.247-25"), "cpf pontuado");
+        v.igual(true, Validador.cnpj("11.222.333/0001-81"), "cnpj pontuado");
+        v.igual(true, Validador.cpf("191"), "cpf curto com zeros implícitos");
+        v.igual(true, Validador.cnpj("12.ABC.345/01DE-35"), "exemplo da Receita Federal");
+        v.igual(true, Validador.cnpj("12ABC34501DE35"), "exemplo da Receita Federal sem pontuação");
+        v.igual(false, Validador.cnpj("12ABC34501DE3A"), "letra nos dígitos verificadores");
+        v.igual(false, Validador.cnpj("12abc34501de35"), "letras minúsculas");
+        v.igual("12ABC34501DE35", Validador.completarCnpj("12ABC34501DE"), "completarCnpj alfanumérico");
+        v.igual("00000000000191", Validador.completarCnpj("1"), "completarCnpj com zeros à esquerda");
+        v.igual("5", Validador.modulo11("12ABC34501DE3", 9), "modulo11 com maiúsculas");
+        v.lanca(NumberFormatException.class, () -> Validador.completarCnpj(""), "completarCnpj vazio");
+        v.lanca(NumberFormatException.class, () -> Validador.completarCnpj(null), "completarCnpj null");
+        v.lanca(NumberFormatException.class, () -> Validador.completarCnpj("12abc34501de"),
+                "completarCnpj com minúsculas");
+        v.lanca(NumberFormatException.class, () -> Validador.completarCnpj("12ABC34501DE3"),
+                "completarCnpj longo");
+        v.lanca(NumberFormatException.class, () -> Validador.modulo11("12a", 9), "modulo11 com minúscula");
+        v.lanca(NumberFormatException.class, () -> Validador.modulo11("1-2", 9), "modulo11 com hífen");
+    }
+
+    private static String digitos(final Random random, final int tamanho) {
+
+        char[] texto = new char[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            texto[i] = (char) ('0' + random.nextInt(10));
+        }
+        return new String(texto);
+    }
+
+    private static String alfanumericos(final Random random, final int tamanho) {
+
+        String alfabeto = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+        char[] texto = new char[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            texto[i] = alfabeto.charAt(random.nextInt(alfabeto.length()));
+        }
+        return new String(texto);
+    }
+
+    private static ByteBuffer buffer(final String texto) {
+
+        return ByteBuffer.wrap(("#" + texto + "#").getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static String preencher(final String texto, final int tamanho) {
+
+        StringBuilder sb = new StringBuilder(tamanho);
+        for (int i = texto.length(); i < tamanho; i++) {
+            sb.append('0');
+        }
+        return sb.append(texto).toString();
+    }
+
+    /**
+     * Cálculo original de {@code Validador.modulo11}.
+     */
+    static String modulo11Original(final String texto, final int limite) {
+
+        int total = 0;
+        int fator = 2;
+        for (int i = texto.length() - 1; i >= 0; i--) {
+
+            if (limite != 0 && fator > limite) {
+                fator = 2;
+            }
+            total += Integer.parseInt(texto.substring(i, i + 1)) * fator++;
+        }
+        int dv = 11 - (total % 11);
+        return String.valueOf(dv == 10 || dv == 11 ? 0 : dv);
+    }
+
+    private static int digitoCpfOriginal(final String texto) {
+
+        int soma = 0;
+        for (int i = texto.length() - 1; i >= 0; i--) {
+            soma += Integer.parseInt(texto.substring(i, i + 1)) * PESO_CPF[PESO_CPF.length - texto.length() + i];
+        }
+        soma = 11 - soma % 11;
+        return soma > 9 ? 0 : soma;
+    }
+
+    private static String completarCpfOriginal(final String texto) {
+
+        String base = preencher(texto.length() > 9 ? texto.substring(0, 9) : texto, 9);
+        int digito1 = digitoCpfOriginal(base);
+        return base + digito1 + digitoCpfOriginal(base + digito1);
+    }
+
+    /**
+     * Módulo 11 com limite 9 do CNPJ alfanumérico, como publicado pela
+     * Receita Federal: cada posição vale o código ASCII menos 48.
+     */
+    private static String modulo11Alfanumerico(final String texto) {
+
+        int total = 0;
+        int fator = 2;
+        for (int i = texto.length() - 1; i >= 0; i--) {
+
+            if (fator > 9) {
+                fator = 2;
+            }
+            total += (texto.charAt(i) - 48) * fator++;
+        }
+        int resto = total % 11;
+        return String.valueOf(resto < 2 ? 0 : 11 - resto);
+    }
+
+    /**
+     * CNPJ alfanumérico: 12 posições [0-9A-Z] e 2 dígitos verificadores.
+     */
+    private static boolean cnpjAlfanumerico(final String cnpj) {
+
+        if (!cnpj.matches("[0-9A-Z]{12}[0-9]{2}")) {
+            return false;
+        }
+        String base = cnpj.substring(0, 12);
+        String dv1 = modulo11Alfanumerico(base);
+        return cnpj.substring(12).equals(dv1 + modulo11Alfanumerico(base + dv1));
+    }
+
+    /**
+     * Validação original do CPF, com zeros à esquerda.
+     */
+    private static boolean cpfOriginal(final String cpf) {
+
+        String completo = preencher(cpf, 11);
+        return completo.equals(completarCpfOriginal(completo.substring(0, 9)));
+    }
+
+    /**
+     * Validação original do CNPJ, com zeros à esquerda.
+     */
+    private static boolean cnpjOriginal(final String cnpj) {
+
+        String completo = preencher(cnpj, 14);
+        return completo.substring(12).equals(modulo11Original(completo.substring(0, 12), 9)
+                + modulo11Original(completo.substring(0, 13), 9));
+    }
+}
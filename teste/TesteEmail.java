@@ -0,0 +1,262 @@
+package teste;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import util.InternadorDominios;
+import util.ValidadorEmail;
+
+/**
+ * Testa as opções de {@link ValidadorEmail} contra a expressão regular
+ * equivalente, o caminho em bytes UTF-8 contra o de {@link CharSequence}, e
+ * o {@link InternadorDominios}: domínios que diferem só na caixa, os dois
+ * caminhos, domínios fora do ASCII e a substituição em um conjunto cheio.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java teste/*.java
+ * java -cp out teste.TesteEmail
+ * </pre>
+ */
+public final class TesteEmail {
+
+    private static final int[] OPCOES = {0, ValidadorEmail.IGNORAR_CAIXA, ValidadorEmail.INTERNACIONAL,
+        ValidadorEmail.IGNORAR_CAIXA | ValidadorEmail.INTERNACIONAL};
+
+    /**
+     * Trechos combinados ao acaso: ASCII, maiúsculas, letras e marcas fora
+     * do ASCII, um caractere fora do BMP que é letra e outro que não é, e
+     * um substituto isolado.
+     */
+    private static final String[] TRECHOS = {
+        "a", "z", "9", "Z", "ab", "x.y", "ab-c", "-", ".", "@", "@", "!", "_", " ", "é", "Ç", "ß", "中",
+        "\u0301", "\u0903", "𝐀", "😀", "\uD800", "٣", "½",
+    };
+
+    private static final int EMAILS = 50_000;
+
+    private TesteEmail() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+
+        Verificacao v = new Verificacao();
+        executar(v);
+        v.concluir();
+    }
+
+    static void executar(final Verificacao v) {
+
+        opcoes(v);
+        internador(v);
+    }
+
+    private static void opcoes(final Verificacao v) {
+
+        v.teste("email.exemplos");
+        v.verdadeiro(ValidadorEmail.valido("fulano@exemplo.com.br"), "email em minúsculas");
+        v.verdadeiro(!ValidadorEmail.valido("Fulano@Exemplo.COM"), "maiúsculas sem opção");
+        v.verdadeiro(ValidadorEmail.valido("Fulano@Exemplo.COM", ValidadorEmail.IGNORAR_CAIXA),
+                "maiúsculas com IGNORAR_CAIXA");
+        v.verdadeiro(!ValidadorEmail.valido("joão@exemplo.com.br", ValidadorEmail.IGNORAR_CAIXA),
+                "acento sem INTERNACIONAL");
+        v.verdadeiro(ValidadorEmail.valido("joão@exêmplo.com.br", ValidadorEmail.INTERNACIONAL),
+                "acento com INTERNACIONAL");
+        v.verdadeiro(!ValidadorEmail.valido("João@exemplo.com.br", ValidadorEmail.INTERNACIONAL),
+                "maiúscula ASCII só com INTERNACIONAL");
+        v.verdadeiro(ValidadorEmail.valido("用户@例子.广告", ValidadorEmail.INTERNACIONAL), "email em chinês");
+        v.igual(6, ValidadorEmail.arroba("fulano@exemplo.com"), "posição do @");
+
+        v.teste("email.regex");
+        Pattern[] expressoes = new Pattern[OPCOES.length];
+        for (int k = 0; k < OPCOES.length; k++) {
+            expressoes[k] = expressao(OPCOES[k]);
+        }
+        Random aleatorio = new Random(24);
+        int validos = 0;
+        for (int n = 0; n < EMAILS; n++) {
+
+            String email = email(aleatorio);
+            boolean bemFormado = !email.contains("\uD800");
+            byte[] utf8 = ("<" + email + ">").getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.wrap(utf8);
+            for (int k = 0; k < OPCOES.length; k++) {
+
+                boolean esperado = expressoes[k].matcher(email).matches();
+                int arroba = ValidadorEmail.arroba(email, OPCOES[k]);
+                v.igual(esperado, arroba >= 0, "opções %d \"%s\"", OPCOES[k], email);
+                validos += esperado ? 1 : 0;
+                if (arroba >= 0) {
+                    v.igual(email.lastIndexOf('@'), arroba, "posição do @ em \"%s\"", email);
+                }
+                if (bemFormado) {
+                    // O trecho começa depois do '<', para conferir a posição absoluta.
+                    int arrobaBytes = ValidadorEmail.arroba(buffer, 1, utf8.length - 2, OPCOES[k]);
+                    int esperadoBytes = arroba < 0 ? -1
+                            : 1 + email.substring(0, arroba).getBytes(StandardCharsets.UTF_8).length;
+                    v.igual(esperadoBytes, arrobaBytes, "bytes com opções %d \"%s\"", OPCOES[k], email);
+                }
+            }
+        }
+        v.verdadeiro(validos > EMAILS / 10, "poucos emails válidos gerados: %d", validos);
+
+        v.teste("email.utf8");
+        // Bytes ao acaso: sequências malformadas são inválidas, e as demais
+        // têm o mesmo resultado do texto decodificado.
+        byte[] amostra = "a.b@c-d.e".getBytes(StandardCharsets.UTF_8);
+        for (int n = 0; n < EMAILS; n++) {
+
+            byte[] bytes = new byte[2 + aleatorio.nextInt(10)];
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = aleatorio.nextInt(3) == 0 ? (byte) aleatorio.nextInt(256)
+                        : amostra[aleatorio.nextInt(amostra.length)];
+            }
+            String texto = decodificar(bytes);
+            for (int opcoes : OPCOES) {
+                boolean esperado = texto != null && ValidadorEmail.valido(texto, opcoes);
+                v.igual(esperado, ValidadorEmail.valido(ByteBuffer.wrap(bytes), 0, bytes.length, opcoes),
+                        "bytes %s com opções %d", texto, opcoes);
+            }
+        }
+    }
+
+    private static void internador(final Verificacao v) {
+
+        v.teste("email.dominios");
+        InternadorDominios internador = new InternadorDominios();
+        int opcoes = ValidadorEmail.IGNORAR_CAIXA | ValidadorEmail.INTERNACIONAL;
+        String dominio = internador.dominio("fulano@exemplo.com.br", 0);
+        v.igual("exemplo.com.br", dominio, "domínio");
+        v.verdadeiro(dominio == internador.dominio("Beltrano@EXEMPLO.Com.BR", opcoes),
+                "mesma instância para outra caixa");
+        v.verdadeiro(dominio == internador.dominio(new StringBuilder("x@Exemplo.com.br"), opcoes),
+                "mesma instância para StringBuilder");
+        byte[] bytes = "<Ciclano@exemplo.COM.br>".getBytes(StandardCharsets.UTF_8);
+        v.verdadeiro(dominio == internador.dominio(ByteBuffer.wrap(bytes), 1, bytes.length - 2, opcoes),
+                "mesma instância pelo buffer");
+        v.igual(null, internador.dominio("Fulano@exemplo.com.br", 0), "email inválido");
+        v.igual(null, internador.dominio(ByteBuffer.wrap(bytes), 1, bytes.length - 2, 0), "bytes inválidos");
+        v.igual(3L, internador.acertos(), "acertos");
+        v.igual(1L, internador.falhas(), "domínios criados");
+
+        // Fora do ASCII o buffer é decodificado e só as letras ASCII vão
+        // para minúsculas.
+        String acentuado = internador.dominio("joão@Exêmplo.com", opcoes);
+        v.igual("exêmplo.com", acentuado, "domínio acentuado");
+        byte[] utf8 = "maria@EXêmplo.COM".getBytes(StandardCharsets.UTF_8);
+        v.verdadeiro(acentuado == internador.dominio(ByteBuffer.wrap(utf8), 0, utf8.length, opcoes),
+                "domínio acentuado pelo buffer");
+        v.igual("exÊmplo.com", internador.dominio("ana@EXÊMPLO.com", opcoes), "maiúscula fora do ASCII");
+
+        internador.limpar();
+        v.igual(0L, internador.acertos() + internador.falhas(), "contadores depois de limpar");
+        String novo = internador.dominio("fulano@exemplo.com.br", 0);
+        v.verdadeiro(novo != dominio && novo.equals(dominio), "domínio criado de novo depois de limpar");
+        v.lanca(IllegalArgumentException.class, () -> new InternadorDominios(0), "capacidade zero");
+        v.lanca(IllegalArgumentException.class, () -> new InternadorDominios((1 << 30) + 1),
+                "capacidade acima do limite");
+
+        v.teste("email.conjuntoCheio");
+        // Com capacidade 4 há um único conjunto: o quinto domínio substitui
+        // um dos quatro primeiros.
+        InternadorDominios pequeno = new InternadorDominios(4);
+        String[] dominios = new String[5];
+        for (int i = 0; i < 4; i++) {
+            dominios[i] = pequeno.dominio("a@d" + i + ".com", 0);
+        }
+        for (int i = 0; i < 4; i++) {
+            v.verdadeiro(dominios[i] == pequeno.dominio("b@D" + i + ".COM", opcoes), "d%d no cache", i);
+        }
+        dominios[4] = pequeno.dominio("a@d4.com", 0);
+        v.verdadeiro(dominios[4] == pequeno.dominio("a@d4.com", 0), "quinto domínio no cache");
+        v.igual(5L, pequeno.falhas(), "domínios criados até o quinto");
+        int substituidos = 0;
+        for (int i = 0; i < 4; i++) {
+            String atual = pequeno.dominio("c@d" + i + ".com", 0);
+            v.igual(dominios[i], atual, "valor de d%d", i);
+            substituidos += atual == dominios[i] ? 0 : 1;
+        }
+        // Cada domínio substituído, ao voltar, pode substituir outro.
+        v.verdadeiro(substituidos >= 1, "nenhum domínio substituído pelo quinto");
+
+        v.teste("email.internacao");
+        // Muito mais domínios que a capacidade: o valor é sempre o domínio em
+        // minúsculas, tenha sido encontrado ou criado.
+        InternadorDominios disputado = new InternadorDominios(16);
+        Random aleatorio = new Random(240);
+        for (int n = 0; n < 50_000; n++) {
+
+            StringBuilder nome = new StringBuilder();
+            for (int i = 0, tamanho = 1 + aleatorio.nextInt(3); i < tamanho; i++) {
+                char c = (char) ('a' + aleatorio.nextInt(6));
+                nome.append(aleatorio.nextBoolean() ? Character.toUpperCase(c) : c);
+            }
+            String email = "x@" + nome + ".Com";
+            String esperado = (nome + ".com").toLowerCase(Locale.ROOT);
+            v.igual(esperado, disputado.dominio(email, opcoes), "domínio de %s", email);
+            byte[] emailBytes = email.getBytes(StandardCharsets.UTF_8);
+            v.igual(esperado, disputado.dominio(ByteBuffer.wrap(emailBytes), 0, emailBytes.length, opcoes),
+                    "domínio de %s pelo buffer", email);
+        }
+        v.igual(100_000L, disputado.acertos() + disputado.falhas(), "consultas");
+    }
+
+    /**
+     * Expressão regular equivalente às opções: a histórica, com A-Z em
+     * {@link ValidadorEmail#IGNORAR_CAIXA} e letras, dígitos e marcas fora
+     * do ASCII em {@link ValidadorEmail#INTERNACIONAL}.
+     */
+    private static Pattern expressao(final int opcoes) {
+
+        String extra = ((opcoes & ValidadorEmail.IGNORAR_CAIXA) != 0 ? "A-Z" : "")
+                + ((opcoes & ValidadorEmail.INTERNACIONAL) != 0
+                        ? "[\\p{L}\\p{Nd}\\p{Mn}\\p{Mc}&&[^\\x00-\\x7F]]" : "");
+        String alfanumerico = "a-z0-9" + extra;
+        String atomo = "[a-z0-9!#$%&'*+/=?^_`{|}~\\-" + extra + "]+";
+        String rotulo = "[" + alfanumerico + "](?:[" + alfanumerico + "\\-]*[" + alfanumerico + "])?";
+        return Pattern.compile(atomo + "(?:\\." + atomo + ")*@(?:" + rotulo + "\\.)+" + rotulo);
+    }
+
+    /**
+     * Email ao acaso, montado com trechos e com um '@' no meio na maior
+     * parte das vezes.
+     */
+    private static String email(final Random aleatorio) {
+
+        StringBuilder email = new StringBuilder();
+        for (int i = 0, tamanho = 1 + aleatorio.nextInt(4); i < tamanho; i++) {
+            email.append(TRECHOS[aleatorio.nextInt(TRECHOS.length)]);
+        }
+        if (aleatorio.nextInt(4) != 0) {
+            email.append('@');
+        }
+        for (int i = 0, tamanho = 1 + aleatorio.nextInt(3); i < tamanho; i++) {
+            email.append(TRECHOS[aleatorio.nextInt(TRECHOS.length)]);
+            if (aleatorio.nextBoolean()) {
+                email.append('.');
+            }
+        }
+        return email.append(aleatorio.nextBoolean() ? "com" : "Br").toString();
+    }
+
+    /**
+     * @return Texto dos bytes, ou null se não forem UTF-8 válido.
+     */
+    private static String decodificar(final byte[] bytes) {
+
+        try {
+            CharBuffer texto = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(bytes));
+            return texto.toString();
+        } catch (CharacterCodingException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package teste;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import util.EscaneadorCaracteres;
+import util.Validador;
+import util.ValidadorEmail;
+
+/**
+ * Compara {@link EscaneadorCaracteres} e {@link ValidadorEmail} com as
+ * expressões regulares que eles substituíram: todas as sequências curtas de
+ * um alfabeto com os caracteres de fronteira de cada classe, e sequências
+ * aleatórias mais longas, que passam pela varredura em blocos.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java teste/*.java
+ * java -cp out teste.TesteEscaneadores
+ * </pre>
+ */
+public final class TesteEscaneadores {
+
+    private static final Pattern INTEIRO = Pattern.compile("[0-9]*");
+    private static final Pattern HEXA = Pattern.compile("[0-9a-fA-F]*");
+    private static final Pattern REAL = Pattern.compile("[0-9]*\\.[0-9]*");
+    private static final Pattern ALFABETICO = Pattern.compile("[a-zA-Z\\s]*");
+    private static final String EMAIL = "[a-z0-9!#$%&'*+/=?^_`{|}~-]+(?:\\.[a-z0-9!#$%&'*+/="
+            + "?^_`{|}~-]+)*@(?:[a-z0-9](?:[a-z0-9-]*[a-z0-9])?\\.)+"
+            + "[a-z0-9](?:[a-z0-9-]*[a-z0-9])?";
+    private static final Pattern EMAIL_MINUSCULO = Pattern.compile(EMAIL);
+    private static final Pattern EMAIL_CAIXA = Pattern.compile(EMAIL, Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Limites de cada classe, espaços de \s, um caractere Latin-1 e um fora
+     * do Latin-1.
+     */
+    private static final String ALFABETO_CLASSES = "09afAFgzGZ/:@`.\t\u000B\u001C éĀ";
+
+    /**
+     * Bases das sequências aleatórias: cada classe e uma mistura.
+     */
+    private static final String[] BASES = {
+        "0123456789", "0123456789abcdefABCDEF", "0123456789.", "azAZ \t\r", ALFABETO_CLASSES,
+    };
+
+    /**
+     * Caracteres com papel diferente em cada parte do email.
+     */
+    private static final String ALFABETO_EMAIL = "aZ0.@-!é";
+
+    private TesteEscaneadores() {
+    }
+
+    public static void main(final String[] args) {
+
+        Verificacao v = new Verificacao();
+        executar(v);
+        v.concluir();
+    }
+
+    static void executar(final Verificacao v) {
+
+        v.teste("escaneadores.exaustivo");
+        for (String texto : todas(ALFABETO_CLASSES, 4)) {
+            classes(v, texto);
+        }
+        v.teste("email.exaustivo");
+        for (String texto : todas(ALFABETO_EMAIL, 6)) {
+            email(v, texto);
+        }
+
+        Random random = new Random(20261017L);
+        v.teste("escaneadores.aleatorio");
+        for (int n = 0; n < 200_000; n++) {
+            String base = BASES[random.nextInt(BASES.length)];
+            classes(v, aleatoria(random, base, ALFABETO_CLASSES, random.nextInt(80)));
+        }
+        v.teste("email.aleatorio");
+        String pedacos = "abc0-9.@x.y-z!#AB";
+        for (int n = 0; n < 200_000; n++) {
+            email(v, aleatoria(random, pedacos, ALFABETO_EMAIL, 1 + random.nextInt(40)));
+        }
+    }
+
+    private static void classes(final Verificacao v, final String texto) {
+
+        boolean vazio = texto.isEmpty();
+        boolean inteiro = INTEIRO.matcher(texto).matches();
+        boolean hexa = HEXA.matcher(texto).matches();
+        boolean real = REAL.matcher(texto).matches();
+        boolean alfabetico = ALFABETICO.matcher(texto).matches();
+
+        v.igual(inteiro, EscaneadorCaracteres.inteiro(texto), "inteiro(\"%s\")", texto);
+        v.igual(hexa, EscaneadorCaracteres.hexa(texto), "hexa(\"%s\")", texto);
+        v.igual(real, EscaneadorCaracteres.real(texto), "real(\"%s\")", texto);
+        v.igual(alfabetico, EscaneadorCaracteres.alfabetico(texto), "alfabetico(\"%s\")", texto);
+        v.igual(!vazio && inteiro, Validador.inteiro(texto), "Validador.inteiro(\"%s\")", texto);
+        v.igual(!vazio && hexa, Validador.hexa(texto), "Validador.hexa(\"%s\")", texto);
+        v.igual(!vazio && real, Validador.real(texto), "Validador.real(\"%s\")", texto);
+        v.igual(!vazio && (inteiro || real), Validador.numero(texto), "Validador.numero(\"%s\")", texto);
+        v.igual(!vazio && alfabetico, Validador.alfabetico(texto), "Validador.alfabetico(\"%s\")", texto);
+
+        if (texto.indexOf('Ā') >= 0) {
+            return;
+        }
+        // Em bytes Latin-1, deslocados para testar o início do trecho.
+        byte[] bytes = ("#" + texto + "#").getBytes(StandardCharsets.ISO_8859_1);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int tamanho = texto.length();
+        v.igual(inteiro, EscaneadorCaracteres.inteiro(bytes, 1, tamanho), "inteiro(byte[] \"%s\")", texto);
+        v.igual(hexa, EscaneadorCaracteres.hexa(bytes, 1, tamanho), "hexa(byte[] \"%s\")", texto);
+        v.igual(alfabetico, EscaneadorCaracteres.alfabetico(bytes, 1, tamanho),
+                "alfabetico(byte[] \"%s\")", texto);
+        v.igual(inteiro, EscaneadorCaracteres.inteiro(buffer, 1, tamanho), "inteiro(buffer \"%s\")", texto);
+        v.igual(hexa, EscaneadorCaracteres.hexa(buffer, 1, tamanho), "hexa(buffer \"%s\")", texto);
+        v.igual(real, EscaneadorCaracteres.real(buffer, 1, tamanho), "real(buffer \"%s\")", texto);
+        v.igual(alfabetico, EscaneadorCaracteres.alfabetico(buffer, 1, tamanho),
+                "alfabetico(buffer \"%s\")", texto);
+    }
+
+    private static void email(final Verificacao v, final String texto) {
+
+        boolean minusculo = EMAIL_MINUSCULO.matcher(texto).matches();
+        boolean caixa = EMAIL_CAIXA.matcher(texto).matches();
+        byte[] bytes = ("#" + texto + "#").getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int tamanho = bytes.length - 2;
+
+        v.igual(minusculo, ValidadorEmail.valido(texto), "email(\"%s\")", texto);
+        v.igual(!texto.isEmpty() && minusculo, Validador.email(texto), "Validador.email(\"%s\")", texto);
+        v.igual(caixa, ValidadorEmail.valido(texto, ValidadorEmail.IGNORAR_CAIXA),
+                "email(\"%s\", IGNORAR_CAIXA)", texto);
+        v.igual(minusculo, ValidadorEmail.valido(buffer, 1, tamanho), "email(buffer \"%s\")", texto);
+        v.igual(caixa, ValidadorEmail.valido(buffer, 1, tamanho, ValidadorEmail.IGNORAR_CAIXA),
+                "email(buffer \"%s\", IGNORAR_CAIXA)", texto);
+        if (minusculo) {
+            v.igual(texto.lastIndexOf('@'), ValidadorEmail.arroba(texto), "arroba(\"%s\")", texto);
+        }
+    }
+
+    /**
+     * @return Todas as sequências do alfabeto com até o tamanho informado,
+     * inclusive a vazia.
+     */
+    private static List<String> todas(final String alfabeto, final int tamanhoMaximo) {
+
+        List<String> todas = new ArrayList<>();
+        todas.add("");
+        int anteriores = 0;
+        for (int tamanho = 1; tamanho <= tamanhoMaximo; tamanho++) {
+            int atuais = todas.size();
+            for (int i = anteriores; i < atuais; i++) {
+                for (int j = 0; j < alfabeto.length(); j++) {
+                    todas.add(todas.get(i) + alfabeto.charAt(j));
+                }
+            }
+            anteriores = atuais;
+        }
+        return todas;
+    }
+
+    /**
+     * @return Sequência com caracteres da base e, às vezes, um caractere do
+     * alfabeto em posição aleatória.
+     */
+    private static String aleatoria(final Random random, final String base, final String alfabeto,
+            final int tamanho) {
+
+        char[] texto = new char[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            texto[i] = base.charAt(random.nextInt(base.length()));
+        }
+        if (tamanho > 0 && random.nextBoolean()) {
+            texto[random.nextInt(tamanho)] = alfabeto.charAt(random.nextInt(alfabeto.length()));
+        }
+        return new String(texto);
+    }
+}
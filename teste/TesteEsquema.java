@@ -0,0 +1,221 @@
+package teste;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+
+import util.Esquema;
+import util.Restricao;
+import util.ResultadoEsquema;
+import util.Validador;
+import util.ValidadorEsquema;
+
+/**
+ * Compara a varredura fundida de {@link ValidadorEsquema} com as chamadas
+ * de {@link Validador} campo a campo sobre os mesmos registros: cada bit de
+ * falha do {@link ResultadoEsquema} deve corresponder ao método do
+ * Validador da {@link Restricao}, e um campo vazio só falha em
+ * {@link Restricao#OBRIGATORIO}.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java teste/*.java
+ * java -cp out teste.TesteEsquema
+ * </pre>
+ */
+public final class TesteEsquema {
+
+    private static final String MASCARA = "dd/MM/yyyy";
+    private static final int REGISTROS = 5_000;
+
+    /**
+     * Valores que ficam na fronteira de alguma restrição.
+     */
+    private static final String[] VALORES = {
+        null, "", " ", "0", "12", "123", "-1", "+1", "1.5", ".5", "5.", ".", "1.2.3", "1,5",
+        "abc", "ABC", "Ação", "abc1", "ff", "FF", "0x1F", "deadbeef", "DEADBEEG", "12345678",
+        "123456789", "a b",
+        "fulano@exemplo.com.br", "Fulano@Exemplo.com", "fulano@", "@exemplo.com", "a@b.c",
+        "529.982.247-25", "52998224725", "52998224726", "5299822472", "111.111.111-11",
+        "11.222.333/0001-81", "11222333000181", "11222333000182", "12.ABC.345/01DE-35",
+        "7891000315507", "7891000315508", "96385074", "012345678905", "106141411234567897",
+        "01/02/2024", "31/02/2024", "1/2/2024", "2024-02-01", "29/02/2023", "29/02/2024",
+    };
+
+    private static final String CARACTERES = "0123456789.abcfgzABFZ @-/ç";
+
+    private TesteEsquema() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+
+        Verificacao v = new Verificacao();
+        executar(v);
+        v.concluir();
+    }
+
+    static void executar(final Verificacao v) {
+
+        Esquema esquema = new Esquema();
+        esquema.campo("obrigatorio").obrigatorio();
+        esquema.campo("tamanho").minChars(3).maxChars(8);
+        esquema.campo("inteiro").inteiro();
+        esquema.campo("numero").numero();
+        esquema.campo("hexa").hexa();
+        esquema.campo("real").real();
+        esquema.campo("alfabetico").alfabetico();
+        esquema.campo("email").email();
+        esquema.campo("cpf").cpf();
+        esquema.campo("cnpj").cnpj();
+        esquema.campo("gtin").gtin();
+        esquema.campo("data").data(MASCARA);
+        esquema.campo("classes").obrigatorio().inteiro().numero().hexa().real().alfabetico();
+        esquema.campo("documento").obrigatorio().maxChars(14).inteiro().cpf().cnpj().gtin();
+        esquema.campo("nome").minChars(2).alfabetico().hexa().email().data(MASCARA);
+        ValidadorEsquema validador = esquema.compilar();
+        List<EnumSet<Restricao>> declaradas = List.of(
+                EnumSet.of(Restricao.OBRIGATORIO),
+                EnumSet.of(Restricao.MIN_CHARS, Restricao.MAX_CHARS),
+                EnumSet.of(Restricao.INTEIRO),
+                EnumSet.of(Restricao.NUMERO),
+                EnumSet.of(Restricao.HEXA),
+                EnumSet.of(Restricao.REAL),
+                EnumSet.of(Restricao.ALFABETICO),
+                EnumSet.of(Restricao.EMAIL),
+                EnumSet.of(Restricao.CPF),
+                EnumSet.of(Restricao.CNPJ),
+                EnumSet.of(Restricao.GTIN),
+                EnumSet.of(Restricao.DATA),
+                EnumSet.of(Restricao.OBRIGATORIO, Restricao.INTEIRO, Restricao.NUMERO, Restricao.HEXA,
+                        Restricao.REAL, Restricao.ALFABETICO),
+                EnumSet.of(Restricao.OBRIGATORIO, Restricao.MAX_CHARS, Restricao.INTEIRO, Restricao.CPF,
+                        Restricao.CNPJ, Restricao.GTIN),
+                EnumSet.of(Restricao.MIN_CHARS, Restricao.ALFABETICO, Restricao.HEXA, Restricao.EMAIL,
+                        Restricao.DATA));
+        int[] minimos = {0, 3, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2};
+        int[] maximos = {0, 8, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 14, 0};
+
+        v.teste("esquema.campos");
+        v.igual(declaradas.size(), validador.campos(), "quantidade de campos");
+        v.igual("documento", validador.nome(13), "nome do campo");
+
+        v.teste("esquema.fundido");
+        Random aleatorio = new Random(11);
+        ResultadoEsquema resultado = validador.novoResultado();
+        ResultadoEsquema resultadoLista = validador.novoResultado();
+        for (int n = 0; n < REGISTROS; n++) {
+
+            // Registros mais curtos que o esquema têm os últimos campos vazios.
+            int tamanho = aleatorio.nextInt(8) == 0 ? aleatorio.nextInt(declaradas.size())
+                    : declaradas.size();
+            String[] registro = new String[tamanho];
+            for (int i = 0; i < tamanho; i++) {
+                registro[i] = valor(aleatorio);
+            }
+            boolean valido = true;
+            for (int i = 0; i < declaradas.size(); i++) {
+
+                String valor = i < tamanho ? registro[i] : null;
+                int esperado = 0;
+                for (Restricao restricao : declaradas.get(i)) {
+                    if (falha(restricao, valor, minimos[i], maximos[i])) {
+                        esperado |= restricao.bit();
+                    }
+                }
+                valido &= esperado == 0;
+                v.igual(esperado, validador.validar(i, valor), "campo %s com %s", validador.nome(i),
+                        valor == null ? null : "\"" + valor + "\"");
+                v.igual(esperado, validador.validar(i, valor == null ? null : new StringBuilder(valor)),
+                        "campo %s com StringBuilder", validador.nome(i));
+            }
+            v.igual(valido, validador.validar(registro, resultado), "registro %s", Arrays.toString(registro));
+            v.igual(valido, validador.validar(Arrays.asList(registro), resultadoLista), "registro em lista");
+            v.igual(valido, resultado.valido(), "valido() do resultado");
+            for (int i = 0; i < declaradas.size(); i++) {
+
+                int falhas = validador.validar(i, i < tamanho ? registro[i] : null);
+                v.igual(falhas, resultado.falhas(i), "falhas do campo %s", validador.nome(i));
+                v.igual(falhas, resultadoLista.falhas(i), "falhas do campo %s na lista", validador.nome(i));
+                EnumSet<Restricao> restricoes = resultado.restricoes(i);
+                for (Restricao restricao : Restricao.values()) {
+                    v.igual((falhas & restricao.bit()) != 0, restricoes.contains(restricao),
+                            "restricoes(%d) e %s", i, restricao);
+                }
+            }
+        }
+
+        v.teste("esquema.vazio");
+        ResultadoEsquema vazio = validador.novoResultado();
+        v.verdadeiro(!validador.validar(new String[0], vazio), "registro vazio com campos obrigatórios");
+        List<String> falharam = new ArrayList<>();
+        for (int i = 0; i < validador.campos(); i++) {
+            if (vazio.falhas(i) != 0) {
+                falharam.add(validador.nome(i) + "=" + vazio.restricoes(i));
+            }
+        }
+        v.igual(List.of("obrigatorio=[OBRIGATORIO]", "classes=[OBRIGATORIO]", "documento=[OBRIGATORIO]"),
+                falharam, "só a obrigatoriedade falha nos campos vazios");
+        v.lanca(IllegalStateException.class, () -> new Esquema().compilar(), "esquema sem campos");
+        v.lanca(IllegalArgumentException.class, () -> new Esquema().campo("data").data(""),
+                "data sem máscara");
+    }
+
+    /**
+     * Resultado das chamadas de {@link Validador} para uma restrição. Fora
+     * da obrigatoriedade, um valor vazio não falha.
+     */
+    private static boolean falha(final Restricao restricao, final String valor, final int minimo,
+            final int maximo) {
+
+        if (restricao == Restricao.OBRIGATORIO) {
+            return Validador.vazio(valor);
+        }
+        if (Validador.vazio(valor)) {
+            return false;
+        }
+        switch (restricao) {
+            case MIN_CHARS:
+                return !Validador.minChars(valor, minimo);
+            case MAX_CHARS:
+                return !Validador.maxChars(valor, maximo);
+            case INTEIRO:
+                return !Validador.inteiro(valor);
+            case NUMERO:
+                return !Validador.numero(valor);
+            case HEXA:
+                return !Validador.hexa(valor);
+            case REAL:
+                return !Validador.real(valor);
+            case ALFABETICO:
+                return !Validador.alfabetico(valor);
+            case EMAIL:
+                return !Validador.email(valor);
+            case CPF:
+                return !Validador.cpf(valor);
+            case CNPJ:
+                return !Validador.cnpj(valor);
+            case GTIN:
+                return !Validador.isCodigoValido(valor);
+            case DATA:
+                return !Validador.data(valor, MASCARA);
+            default:
+                throw new AssertionError(restricao);
+        }
+    }
+
+    /**
+     * Valor da lista de fronteiras ou sequência aleatória de caracteres.
+     */
+    private static String valor(final Random aleatorio) {
+
+        if (aleatorio.nextBoolean()) {
+            return VALORES[aleatorio.nextInt(VALORES.length)];
+        }
+        char[] texto = new char[aleatorio.nextInt(12)];
+        for (int i = 0; i < texto.length; i++) {
+            texto[i] = CARACTERES.charAt(aleatorio.nextInt(CARACTERES.length()));
+        }
+        return new String(texto);
+    }
+}
@@ -0,0 +1,309 @@
+package teste;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import util.EstagioValidacao;
+
+/**
+ * Testa {@link EstagioValidacao}: todos os registros chegam à saída certa,
+ * em lotes do tamanho configurado, um assinante lento não bloqueia a
+ * origem nem o assinante da outra saída, e exceções da regra ou de um
+ * assinante não escapam do estágio.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java teste/*.java
+ * java -cp out teste.TesteEstagioValidacao
+ * </pre>
+ */
+public final class TesteEstagioValidacao {
+
+    private TesteEstagioValidacao() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+
+        Verificacao v = new Verificacao();
+        executar(v);
+        v.concluir();
+    }
+
+    static void executar(final Verificacao v) throws Exception {
+
+        ScheduledExecutorService agendador = Executors.newSingleThreadScheduledExecutor();
+        try {
+            fluxoCompleto(v, agendador);
+            assinanteLento(v, agendador);
+            erroRegra(v, agendador);
+            assinanteComErro(v, agendador);
+        } finally {
+            agendador.shutdownNow();
+        }
+    }
+
+    /**
+     * Publica números pela SubmissionPublisher e confere as duas saídas.
+     */
+    private static void fluxoCompleto(final Verificacao v, final ScheduledExecutorService agendador)
+            throws InterruptedException {
+
+        v.teste("estagio.fluxo");
+        int quantidade = 100_000;
+        EstagioValidacao<Integer> estagio = new EstagioValidacao<>(n -> n % 3 != 0, 64, 5, agendador);
+        Coletor pares = new Coletor(7);
+        Coletor impares = new Coletor(1);
+        estagio.validos().subscribe(pares);
+        estagio.invalidos().subscribe(impares);
+        try (SubmissionPublisher<Integer> origem = new SubmissionPublisher<>()) {
+            origem.subscribe(estagio);
+            for (int i = 0; i < quantidade; i++) {
+                origem.submit(i);
+            }
+        }
+        v.verdadeiro(pares.fim.await(10, TimeUnit.SECONDS), "saída de válidos não concluiu");
+        v.verdadeiro(impares.fim.await(10, TimeUnit.SECONDS), "saída de inválidos não concluiu");
+        v.igual(quantidade - (quantidade + 2) / 3, pares.registros.size(), "quantidade de válidos");
+        v.igual((quantidade + 2) / 3, impares.registros.size(), "quantidade de inválidos");
+        v.igual(0L, pares.registros.stream().filter(n -> n % 3 == 0).count(), "inválido entre os válidos");
+        v.verdadeiro(ordenados(pares.registros) && ordenados(impares.registros), "ordem dos registros");
+        v.verdadeiro(pares.maiorLote <= 64 && impares.maiorLote <= 64, "lote maior que 64");
+        v.igual(null, pares.erro, "erro nos válidos");
+        v.igual(1, pares.conclusoes, "conclusões");
+    }
+
+    /**
+     * Com o assinante de válidos parado dentro de onNext, a origem e o
+     * assinante de inválidos continuam sendo atendidos sem esperar.
+     */
+    private static void assinanteLento(final Verificacao v, final ScheduledExecutorService agendador)
+            throws Exception {
+
+        v.teste("estagio.lento");
+        EstagioValidacao<Integer> estagio = new EstagioValidacao<>(n -> n >= 0, 4, 60_000, agendador);
+        CountDownLatch entrou = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Coletor lento = new Coletor(0) {
+            @Override
+            public void onNext(final List<Integer> lote) {
+                entrou.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                super.onNext(lote);
+            }
+        };
+        Coletor rapido = new Coletor(0);
+        estagio.validos().subscribe(lento);
+        estagio.invalidos().subscribe(rapido);
+        AtomicLong pedidos = new AtomicLong();
+        estagio.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(final long n) {
+                pedidos.addAndGet(n);
+            }
+
+            @Override
+            public void cancel() {
+            }
+        });
+        // Sem demanda, a folga de um lote em cada saída.
+        v.igual(4L, pedidos.get(), "pedido inicial");
+        for (int i = 0; i < 4; i++) {
+            estagio.onNext(i);
+        }
+
+        // Outra thread pede um lote de válidos e fica presa no onNext lento.
+        Thread drenando = new Thread(() -> lento.assinatura.request(1));
+        drenando.start();
+        v.verdadeiro(entrou.await(5, TimeUnit.SECONDS), "assinante lento não recebeu o lote");
+
+        Thread outra = new Thread(() -> {
+            rapido.assinatura.request(1);
+            estagio.onNext(-1);
+            estagio.onComplete();
+        });
+        outra.start();
+        outra.join(5_000);
+        v.verdadeiro(!outra.isAlive(), "origem ou assinante de inválidos bloqueado pelo assinante lento");
+
+        liberar.countDown();
+        drenando.join(5_000);
+        v.verdadeiro(rapido.fim.await(5, TimeUnit.SECONDS), "inválidos não concluiu");
+        v.verdadeiro(lento.fim.await(5, TimeUnit.SECONDS), "válidos não concluiu");
+        v.igual(Collections.singletonList(-1), rapido.registros, "inválidos entregues");
+        v.igual(List.of(0, 1, 2, 3), lento.registros, "válidos entregues");
+        outra.join();
+    }
+
+    /**
+     * Uma exceção da regra não chega à origem: a assinatura da origem é
+     * cancelada e as duas saídas recebem o erro depois dos lotes prontos.
+     */
+    private static void erroRegra(final Verificacao v, final ScheduledExecutorService agendador) {
+
+        v.teste("estagio.erroRegra");
+        IllegalStateException falha = new IllegalStateException("regra");
+        EstagioValidacao<Integer> estagio = new EstagioValidacao<>(n -> {
+            if (n == 5) {
+                throw falha;
+            }
+            return n >= 0;
+        }, 2, 60_000, agendador);
+        Coletor validos = new Coletor(1);
+        Coletor invalidos = new Coletor(1);
+        estagio.validos().subscribe(validos);
+        estagio.invalidos().subscribe(invalidos);
+        AtomicLong cancelamentos = new AtomicLong();
+        estagio.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(final long n) {
+            }
+
+            @Override
+            public void cancel() {
+                cancelamentos.incrementAndGet();
+            }
+        });
+        RuntimeException escapou = null;
+        try {
+            for (int i = 0; i <= 5; i++) {
+                estagio.onNext(i);
+            }
+        } catch (RuntimeException e) {
+            escapou = e;
+        }
+        v.igual(null, escapou, "exceção da regra propagada para a origem");
+        v.igual(1L, cancelamentos.get(), "cancelamentos da origem");
+        v.igual(falha, validos.erro, "erro na saída de válidos");
+        v.igual(falha, invalidos.erro, "erro na saída de inválidos");
+        v.igual(List.of(0, 1, 2, 3), validos.registros, "lotes entregues antes do erro");
+
+        // Sinais da origem antes de o cancelamento ter efeito são ignorados.
+        estagio.onNext(5);
+        estagio.onNext(6);
+        estagio.onComplete();
+        v.igual(1L, cancelamentos.get(), "cancelamentos depois do erro");
+        v.igual(0, validos.conclusoes + invalidos.conclusoes, "conclusão depois do erro");
+        v.igual(List.of(0, 1, 2, 3), validos.registros, "registros depois do erro");
+    }
+
+    /**
+     * Um assinante que lança exceção em onNext perde a sua saída, sem
+     * interromper a drenagem nem a outra saída.
+     */
+    private static void assinanteComErro(final Verificacao v, final ScheduledExecutorService agendador)
+            throws InterruptedException {
+
+        v.teste("estagio.assinanteComErro");
+        EstagioValidacao<Integer> estagio = new EstagioValidacao<>(n -> n % 2 == 0, 1, 60_000, agendador);
+        Coletor validos = new Coletor(1);
+        Coletor invalidos = new Coletor(1) {
+            @Override
+            public void onNext(final List<Integer> lote) {
+                throw new IllegalStateException("assinante");
+            }
+        };
+        estagio.validos().subscribe(validos);
+        estagio.invalidos().subscribe(invalidos);
+        AtomicLong cancelamentos = new AtomicLong();
+        estagio.onSubscribe(new Flow.Subscription() {
+            @Override
+            public void request(final long n) {
+            }
+
+            @Override
+            public void cancel() {
+                cancelamentos.incrementAndGet();
+            }
+        });
+        RuntimeException escapou = null;
+        try {
+            for (int i = 0; i < 10; i++) {
+                estagio.onNext(i);
+            }
+            estagio.onComplete();
+        } catch (RuntimeException e) {
+            escapou = e;
+        }
+        v.igual(null, escapou, "exceção do assinante propagada para a origem");
+        v.verdadeiro(validos.fim.await(5, TimeUnit.SECONDS), "válidos não concluiu");
+        v.igual(List.of(0, 2, 4, 6, 8), validos.registros, "válidos entregues");
+        v.igual(1, validos.conclusoes, "conclusão dos válidos");
+        v.igual(0, invalidos.conclusoes, "conclusão da saída cancelada");
+        v.igual(0L, cancelamentos.get(), "origem cancelada com uma saída ativa");
+    }
+
+    private static boolean ordenados(final List<Integer> registros) {
+
+        for (int i = 1; i < registros.size(); i++) {
+            if (registros.get(i - 1) >= registros.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Assinante que guarda os registros e pede {@code passo} lotes por vez,
+     * ou nenhum se for 0.
+     */
+    private static class Coletor implements Flow.Subscriber<List<Integer>> {
+
+        final List<Integer> registros = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch fim = new CountDownLatch(1);
+        final int passo;
+        volatile Flow.Subscription assinatura;
+        volatile Throwable erro;
+        volatile int conclusoes;
+        volatile int maiorLote;
+        long recebidos;
+
+        Coletor(final int passo) {
+
+            this.passo = passo;
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+
+            assinatura = subscription;
+            if (passo > 0) {
+                subscription.request(passo);
+            }
+        }
+
+        @Override
+        public void onNext(final List<Integer> lote) {
+
+            registros.addAll(lote);
+            maiorLote = Math.max(maiorLote, lote.size());
+            if (passo > 0 && ++recebidos % passo == 0) {
+                assinatura.request(passo);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+
+            erro = throwable;
+            fim.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+
+            conclusoes++;
+            fim.countDown();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package teste;
+
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Random;
+
+import util.Validador;
+
+/**
+ * Compara {@link Validador#formatarData(Date)} e
+ * {@link Validador#formatarDataIso(Date)} com o {@code SimpleDateFormat}, para
+ * {@code java.util.Date} e para as subclasses de {@code java.sql}.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java teste/*.java
+ * java -cp out teste.TesteFormatacao
+ * </pre>
+ */
+public final class TesteFormatacao {
+
+    /**
+     * Instantes entre 1900 e 9999, onde o calendário do SimpleDateFormat é o
+     * gregoriano.
+     */
+    private static final long MINIMO = -2_208_988_800_000L;
+    private static final long MAXIMO = 253_402_214_400_000L;
+
+    private TesteFormatacao() {
+    }
+
+    public static void main(final String[] args) {
+
+        Verificacao v = new Verificacao();
+        executar(v);
+        v.concluir();
+    }
+
+    static void executar(final Verificacao v) {
+
+        SimpleDateFormat brasil = new SimpleDateFormat("dd/MM/yyyy");
+        SimpleDateFormat iso = new SimpleDateFormat("yyyy-MM-dd");
+        Random random = new Random(20261017L);
+
+        v.teste("formatacao.data");
+        for (int n = 0; n < 100_000; n++) {
+
+            long instante = MINIMO + (long) (random.nextDouble() * (MAXIMO - MINIMO));
+            Date[] datas = {new Date(instante), new java.sql.Date(instante), new Timestamp(instante)};
+            for (Date data : datas) {
+                String tipo = data.getClass().getName();
+                v.igual(brasil.format(data), Validador.formatarData(data), "formatarData(%s %d)", tipo, instante);
+                v.igual(iso.format(data), Validador.formatarDataIso(data), "formatarDataIso(%s %d)", tipo, instante);
+            }
+        }
+
+        v.teste("formatacao.contrato");
+        v.igual("2024-02-29", Validador.formatarDataIso(java.sql.Date.valueOf("2024-02-29")),
+                "java.sql.Date, antes UnsupportedOperationException");
+        v.igual("29/02/2024", Validador.formatarData(java.sql.Date.valueOf("2024-02-29")),
+                "java.sql.Date no formato brasileiro");
+    }
+}
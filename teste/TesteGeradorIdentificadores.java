@@ -0,0 +1,287 @@
+package teste;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import util.DigitoVerificador;
+import util.GeradorIdentificadores;
+import util.GeradorIdentificadores.Tipo;
+import util.Gtin;
+import util.Validador;
+
+/**
+ * Confere o {@link GeradorIdentificadores} e os métodos {@code completar*}
+ * de {@link Validador}: os valores gerados passam pelo Validador, a
+ * quantidade de inválidos acompanha a fração pedida, e a mesma semente gera
+ * os mesmos bytes com qualquer paralelismo.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java teste/*.java
+ * java -cp out teste.TesteGeradorIdentificadores
+ * </pre>
+ */
+public final class TesteGeradorIdentificadores {
+
+    /**
+     * Dois blocos completos do gerador (65.536 valores cada) e um
+     * incompleto.
+     */
+    private static final int QUANTIDADE = 2 * 65_536 + 1_000;
+
+    private static final double FRACAO = 0.1;
+
+    private TesteGeradorIdentificadores() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+
+        Verificacao v = new Verificacao();
+        executar(v);
+        v.concluir();
+    }
+
+    static void executar(final Verificacao v) throws IOException {
+
+        gerador(v);
+        completar(v);
+    }
+
+    private static void gerador(final Verificacao v) throws IOException {
+
+        v.teste("gerador.tipos");
+        for (Tipo tipo : Tipo.values()) {
+
+            byte[] bytes;
+            long invalidos;
+            try (GeradorIdentificadores gerador = new GeradorIdentificadores(1)) {
+                ByteArrayOutputStream saida = new ByteArrayOutputStream();
+                invalidos = gerador.gerar(tipo, QUANTIDADE, 17, FRACAO, saida);
+                bytes = saida.toByteArray();
+            }
+            String[] linhas = linhas(v, tipo, bytes, QUANTIDADE);
+            int contados = 0;
+            for (String linha : linhas) {
+                if (valido(tipo, linha)) {
+                    v.igual(linha, completar(tipo, linha), "completar a base de %s %s", tipo, linha);
+                } else {
+                    contados++;
+                    v.verdadeiro(valido(tipo, corrigir(tipo, linha)),
+                            "%s %s inválido além do último dígito", tipo, linha);
+                }
+            }
+            v.igual((long) contados, invalidos, "inválidos de %s informados", tipo);
+            // Cinco desvios-padrão da binomial.
+            double desvio = 5 * Math.sqrt(QUANTIDADE * FRACAO * (1 - FRACAO));
+            v.verdadeiro(Math.abs(contados - QUANTIDADE * FRACAO) < desvio, "%d inválidos de %s em %d",
+                    contados, tipo, QUANTIDADE);
+            if (tipo == Tipo.GTIN_14) {
+                for (String linha : linhas) {
+                    v.verdadeiro(linha.charAt(0) >= '1' && linha.charAt(0) <= '8', "indicador de %s",
+                            linha);
+                }
+            }
+
+            for (int paralelismo : new int[] {2, 3, 8}) {
+                try (GeradorIdentificadores gerador = new GeradorIdentificadores(paralelismo)) {
+                    ByteArrayOutputStream saida = new ByteArrayOutputStream();
+                    v.igual(invalidos, gerador.gerar(tipo, QUANTIDADE, 17, FRACAO, saida),
+                            "inválidos de %s com paralelismo %d", tipo, paralelismo);
+                    v.verdadeiro(Arrays.equals(bytes, saida.toByteArray()),
+                            "bytes de %s com paralelismo %d", tipo, paralelismo);
+                }
+            }
+        }
+
+        v.teste("gerador.fracoes");
+        try (GeradorIdentificadores gerador = new GeradorIdentificadores(2)) {
+            for (Tipo tipo : Tipo.values()) {
+                for (double fracao : new double[] {0, 1}) {
+
+                    ByteArrayOutputStream saida = new ByteArrayOutputStream();
+                    long invalidos = gerador.gerar(tipo, 70_000, 3, fracao, saida);
+                    int esperado = fracao == 0 ? 0 : 70_000;
+                    v.igual((long) esperado, invalidos, "inválidos de %s com fração %s", tipo, fracao);
+                    int contados = 0;
+                    for (String linha : linhas(v, tipo, saida.toByteArray(), 70_000)) {
+                        contados += valido(tipo, linha) ? 0 : 1;
+                    }
+                    v.igual(esperado, contados, "%s com fração %s", tipo, fracao);
+                }
+            }
+
+            v.teste("gerador.sementes");
+            ByteArrayOutputStream primeira = new ByteArrayOutputStream();
+            ByteArrayOutputStream segunda = new ByteArrayOutputStream();
+            gerador.gerar(Tipo.CPF, 1_000, 1, FRACAO, primeira);
+            gerador.gerar(Tipo.CPF, 1_000, 2, FRACAO, segunda);
+            v.verdadeiro(!Arrays.equals(primeira.toByteArray(), segunda.toByteArray()),
+                    "sementes diferentes");
+            ByteArrayOutputStream vazia = new ByteArrayOutputStream();
+            v.igual(0L, gerador.gerar(Tipo.SSCC, 0, 1, FRACAO, vazia), "inválidos sem valores");
+            v.igual(0, vazia.size(), "bytes sem valores");
+
+            v.teste("gerador.arquivo");
+            Path arquivo = Files.createTempFile("teste-gerador", ".txt");
+            try {
+                ByteArrayOutputStream saida = new ByteArrayOutputStream();
+                long invalidos = gerador.gerar(Tipo.CNPJ_ALFANUMERICO, 70_000, 5, FRACAO, saida);
+                v.igual(invalidos, gerador.gerar(Tipo.CNPJ_ALFANUMERICO, 70_000, 5, FRACAO, arquivo),
+                        "inválidos no arquivo");
+                v.verdadeiro(Arrays.equals(saida.toByteArray(), Files.readAllBytes(arquivo)),
+                        "arquivo igual ao stream");
+            } finally {
+                Files.delete(arquivo);
+            }
+
+            v.teste("gerador.argumentos");
+            for (double fracao : new double[] {-0.1, 1.1, Double.NaN}) {
+                v.lanca(IllegalArgumentException.class, () -> gerar(gerador, 1, fracao), "fração " + fracao);
+            }
+            v.lanca(IllegalArgumentException.class, () -> gerar(gerador, -1, 0), "quantidade negativa");
+        }
+    }
+
+    private static void completar(final Verificacao v) {
+
+        v.teste("completar.aleatorio");
+        Random aleatorio = new Random(17);
+        for (int i = 0; i < 100_000; i++) {
+
+            // Bases de tamanho variado: as que faltam são zeros à esquerda.
+            String cpf = Validador.completarCpf(digitos(aleatorio, 1 + aleatorio.nextInt(9)));
+            v.igual(11, cpf.length(), "tamanho de %s", cpf);
+            v.verdadeiro(Validador.cpf(cpf), "CPF %s", cpf);
+            v.verdadeiro(!Validador.cpf(trocarUltimo(aleatorio, cpf)), "CPF %s com o último dígito trocado",
+                    cpf);
+            long numero = DigitoVerificador.completarCpf(Long.parseLong(cpf) / 100);
+            v.igual(cpf, DigitoVerificador.textoCpf(numero), "completarCpf numérico de %s", cpf);
+
+            String cnpj = Validador.completarCnpj(digitos(aleatorio, 1 + aleatorio.nextInt(12)));
+            v.igual(14, cnpj.length(), "tamanho de %s", cnpj);
+            v.verdadeiro(Validador.cnpj(cnpj), "CNPJ %s", cnpj);
+            v.verdadeiro(!Validador.cnpj(trocarUltimo(aleatorio, cnpj)),
+                    "CNPJ %s com o último dígito trocado", cnpj);
+            numero = DigitoVerificador.completarCnpj(Long.parseLong(cnpj) / 100);
+            v.igual(cnpj, DigitoVerificador.textoCnpj(numero), "completarCnpj numérico de %s", cnpj);
+
+            // 789 e 100 são prefixos GS1 atribuídos; no GTIN-14 o prefixo
+            // consultado começa pelo indicador.
+            int[] tamanhos = {8, 12, 13, 14, 18};
+            int tamanho = tamanhos[aleatorio.nextInt(tamanhos.length)];
+            String prefixo = tamanho == 14 ? "100" : tamanho == 18 ? "0789" : "789";
+            String corpo = prefixo + digitos(aleatorio, tamanho - 1 - prefixo.length());
+            String codigo = Validador.completarCodigo(corpo);
+            v.igual(tamanho, codigo.length(), "tamanho de %s", codigo);
+            v.verdadeiro(codigo.startsWith(corpo), "corpo de %s", codigo);
+            v.verdadeiro(Validador.isCodigoValido(codigo), "código %s", codigo);
+            v.verdadeiro(!Validador.isCodigoValido(trocarUltimo(aleatorio, codigo)),
+                    "código %s com o último dígito trocado", codigo);
+            v.igual(Long.parseLong(codigo), Gtin.completar(Long.parseLong(corpo)), "Gtin.completar(%s)",
+                    corpo);
+        }
+
+        v.teste("completar.argumentos");
+        v.lanca(NumberFormatException.class, () -> Validador.completarCpf("1234567890"),
+                "completarCpf longo");
+        v.lanca(NumberFormatException.class, () -> Validador.completarCpf("12345678a"),
+                "completarCpf com letra");
+        v.lanca(NumberFormatException.class, () -> Validador.completarCpf(""), "completarCpf vazio");
+        v.lanca(NumberFormatException.class, () -> Validador.completarCpf(null), "completarCpf null");
+        v.lanca(NumberFormatException.class, () -> Validador.completarCodigo("789123456789012345"),
+                "completarCodigo longo");
+        v.lanca(NumberFormatException.class, () -> Validador.completarCodigo(null), "completarCodigo null");
+    }
+
+    /**
+     * Separa as linhas geradas e confere o tamanho e os caracteres de cada
+     * uma.
+     */
+    private static String[] linhas(final Verificacao v, final Tipo tipo, final byte[] bytes,
+            final int quantidade) {
+
+        v.igual(quantidade * (tipo.tamanho() + 1), bytes.length, "bytes de %d valores de %s", quantidade,
+                tipo);
+        String[] linhas = new String(bytes, StandardCharsets.US_ASCII).split("\n");
+        v.igual(quantidade, linhas.length, "linhas de %s", tipo);
+        for (String linha : linhas) {
+
+            boolean caracteres = linha.length() == tipo.tamanho();
+            for (int i = 0; i < linha.length(); i++) {
+                char c = linha.charAt(i);
+                caracteres &= c >= '0' && c <= '9'
+                        || tipo == Tipo.CNPJ_ALFANUMERICO && i < 12 && c >= 'A' && c <= 'Z';
+            }
+            v.verdadeiro(caracteres, "linha de %s: %s", tipo, linha);
+        }
+        return linhas;
+    }
+
+    private static boolean valido(final Tipo tipo, final String linha) {
+
+        switch (tipo) {
+            case CPF:
+                return Validador.cpf(linha);
+            case CNPJ:
+            case CNPJ_ALFANUMERICO:
+                return Validador.cnpj(linha);
+            default:
+                return Validador.isCodigoValido(linha);
+        }
+    }
+
+    /**
+     * Recalcula os dígitos verificadores a partir da base da linha.
+     */
+    private static String completar(final Tipo tipo, final String linha) {
+
+        switch (tipo) {
+            case CPF:
+                return Validador.completarCpf(linha.substring(0, 9));
+            case CNPJ:
+            case CNPJ_ALFANUMERICO:
+                return Validador.completarCnpj(linha.substring(0, 12));
+            default:
+                return Validador.completarCodigo(linha.substring(0, linha.length() - 1));
+        }
+    }
+
+    /**
+     * Corrige os dígitos verificadores; só o último deve ter sido trocado.
+     */
+    private static String corrigir(final Tipo tipo, final String linha) {
+
+        String corrigido = completar(tipo, linha);
+        return corrigido.regionMatches(0, linha, 0, linha.length() - 1) ? corrigido : linha;
+    }
+
+    private static String trocarUltimo(final Random aleatorio, final String valor) {
+
+        int ultimo = valor.charAt(valor.length() - 1) - '0';
+        return valor.substring(0, valor.length() - 1) + (ultimo + 1 + aleatorio.nextInt(9)) % 10;
+    }
+
+    private static String digitos(final Random aleatorio, final int quantidade) {
+
+        char[] texto = new char[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            texto[i] = (char) ('0' + aleatorio.nextInt(10));
+        }
+        return new String(texto);
+    }
+
+    private static void gerar(final GeradorIdentificadores gerador, final long quantidade,
+            final double fracao) {
+
+        try {
+            gerador.gerar(Tipo.CPF, quantidade, 1, fracao, new ByteArrayOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package teste;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import util.Gtin;
+import util.Gtin.Simbologia;
+import util.PrefixoGs1;
+import util.Validador;
+
+/**
+ * Compara {@link Gtin} com o cálculo do módulo 10 e com a validação
+ * original de {@code Validador.isCodigoValido}, que consulta os três
+ * primeiros dígitos como prefixo GS1 em todas as simbologias. Verifica
+ * também as mudanças de contrato: tamanhos inválidos e outros caracteres
+ * são inválidos em vez de lançar exceção, e o dígito verificador é sempre
+ * conferido.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java teste/*.java
+ * java -cp out teste.TesteGtin
+ * </pre>
+ */
+public final class TesteGtin {
+
+    /**
+     * Códigos reais de cada simbologia, com o dígito verificador correto.
+     */
+    private static final String[] REAIS = {
+        "012000161155", "012345678905", "036000291452", "042100005264", "614141000036",
+        "7891000315507", "4006381333931", "5901234123457", "9780201379624", "96385074",
+        "10012345678902", "00012345600012", "10614141000415", "00614141000418", "17891000315504",
+        "106141411234567897", "340123450000000000",
+    };
+
+    private TesteGtin() {
+    }
+
+    public static void main(final String[] args) {
+
+        Verificacao v = new Verificacao();
+        executar(v);
+        v.concluir();
+    }
+
+    static void executar(final Verificacao v) {
+
+        Random random = new Random(20261017L);
+        v.teste("gtin.aleatorio");
+        for (int n = 0; n < 300_000; n++) {
+
+            Simbologia simbologia = Simbologia.values()[random.nextInt(Simbologia.values().length)];
+            int tamanho = simbologia.tamanho();
+            char[] texto = new char[tamanho];
+            for (int i = 0; i < tamanho - 1; i++) {
+                texto[i] = (char) ('0' + random.nextInt(10));
+            }
+            texto[tamanho - 1] = (char) ('0' + digito(texto));
+            if (random.nextBoolean()) {
+                texto[tamanho - 1] = (char) ('0' + random.nextInt(10));
+            }
+            String codigo = new String(texto);
+            int prefixo = Integer.parseInt(codigo.substring(0, 3));
+            boolean correto = codigo.charAt(tamanho - 1) - '0' == digito(texto);
+            boolean esperado = correto && PrefixoGs1.pais(prefixo) != null;
+            // A validação original aceitava qualquer verificador quando a soma
+            // ponderada era múltipla de 10; fora disso, o resultado é o mesmo.
+            if (correto || digito(texto) != 0) {
+                v.igual(isCodigoValidoOriginal(codigo), esperado, "original(\"%s\")", codigo);
+            }
+
+            v.igual(esperado, Validador.isCodigoValido(codigo), "isCodigoValido(\"%s\")", codigo);
+            v.igual(esperado ? simbologia : null, Gtin.simbologia(codigo), "simbologia(\"%s\")", codigo);
+            byte[] bytes = ("#" + codigo + "#").getBytes(StandardCharsets.ISO_8859_1);
+            v.igual(esperado, Gtin.valido(ByteBuffer.wrap(bytes), 1, tamanho), "valido(buffer \"%s\")", codigo);
+            long numero = Long.parseLong(codigo);
+            v.igual(esperado, Gtin.valido(numero, simbologia), "valido(%dL, %s)", numero, simbologia);
+            v.igual(prefixo, Gtin.prefixo(numero, simbologia), "prefixo(%dL, %s)", numero, simbologia);
+            v.igual((long) digito(texto), (long) Gtin.digitoVerificador(numero / 10),
+                    "digitoVerificador(%dL)", numero / 10);
+        }
+
+        v.teste("gtin.reais");
+        for (String codigo : REAIS) {
+
+            v.verdadeiro(codigo.charAt(codigo.length() - 1) - '0' == digito(codigo.toCharArray()),
+                    "verificador de %s", codigo);
+            boolean esperado = isCodigoValidoOriginal(codigo);
+            v.igual(esperado, Validador.isCodigoValido(codigo), "isCodigoValido(\"%s\")", codigo);
+            long numero = Long.parseLong(codigo);
+            Simbologia simbologia = Simbologia.porTamanho(codigo.length());
+            v.igual(esperado, Gtin.valido(numero, simbologia), "valido(%dL, %s)", numero, simbologia);
+            byte[] bytes = codigo.getBytes(StandardCharsets.ISO_8859_1);
+            v.igual(esperado, Gtin.valido(ByteBuffer.wrap(bytes), 0, bytes.length), "valido(buffer \"%s\")",
+                    codigo);
+        }
+        v.igual(true, Validador.isCodigoValido("012000161155"), "UPC-A com prefixo 012");
+        v.igual(true, Validador.isCodigoValido(12000161155L), "UPC-A com prefixo 012 como número");
+        v.igual(true, Validador.isCodigoValido("012345678905"), "UPC-A com prefixo 012");
+        v.igual(true, Validador.isCodigoValido(12345678905L), "UPC-A com prefixo 012 como número");
+
+        v.teste("gtin.contrato");
+        v.igual(true, Validador.isCodigoValido("7891000315507"), "GTIN-13 do Brasil");
+        v.igual(false, Validador.isCodigoValido("7891000315500"), "GTIN-13 com verificador errado");
+        // Soma ponderada múltipla de 10 com verificador diferente de 0: antes
+        // era aceito sem conferir o verificador.
+        v.igual(false, Validador.isCodigoValido("7891000315625"), "soma múltipla de 10, verificador 5");
+        v.igual(true, Validador.isCodigoValido("7891000315620"), "soma múltipla de 10, verificador 0");
+        // O prefixo são os três primeiros dígitos, inclusive o indicador do
+        // GTIN-14; 178 não é atribuído.
+        v.igual(false, Validador.isCodigoValido("17891000315504"), "GTIN-14 com prefixo 178");
+        v.igual(178, Gtin.prefixo(17891000315504L, Simbologia.GTIN_14), "prefixo do GTIN-14");
+        v.igual(12, Gtin.prefixo(12000161155L, Simbologia.GTIN_12), "prefixo do GTIN-12");
+        v.igual(false, Validador.isCodigoValido("614141000036"), "GTIN-12 com prefixo 614, não atribuído");
+        v.igual(Simbologia.GTIN_12, Gtin.simbologia(36000291452L), "simbologia pelo número");
+        v.igual(false, Validador.isCodigoValido(""), "vazio");
+        v.igual(false, Validador.isCodigoValido(null), "null");
+        v.igual(false, Validador.isCodigoValido("78910003155"), "tamanho inválido, antes aceito");
+        v.igual(false, Validador.isCodigoValido("78"), "curto, antes exceção");
+        v.igual(false, Validador.isCodigoValido("789100031550X"), "letra, antes exceção");
+        v.igual(false, Validador.isCodigoValido(-7891000315507L), "número negativo");
+        v.igual("7891000315507", Validador.completarCodigo("789100031550"), "completarCodigo");
+        v.lanca(NumberFormatException.class, () -> Validador.completarCodigo("78910003155X"),
+                "completarCodigo com letra");
+    }
+
+    /**
+     * Dígito verificador do módulo 10, com pesos 3 e 1 a partir do dígito à
+     * esquerda do verificador.
+     */
+    private static int digito(final char[] texto) {
+
+        int total = 0;
+        int peso = 3;
+        for (int i = texto.length - 2; i >= 0; i--) {
+            total += (texto[i] - '0') * peso;
+            peso = 4 - peso;
+        }
+        return (10 - total % 10) % 10;
+    }
+
+    /**
+     * Validação original de {@code Validador.isCodigoValido}, sem
+     * alterações exceto pela consulta original do país.
+     */
+    private static boolean isCodigoValidoOriginal(String codigoBarras) {
+
+        if (codigoBarras == null || codigoBarras.equals("")) {
+            return false;
+        }
+
+        if (TestePrefixoGs1.paisOriginal(Integer.parseInt(codigoBarras.substring(0, 3))) == null) {
+            return false;
+        }
+
+        int tamanho = codigoBarras.length();
+        int multiplicador = 3;
+        int total = 0;
+
+        for (int i = tamanho - 2; i >= 0; i--) {
+            total = total + (Integer.parseInt("" + codigoBarras.charAt(i)) * multiplicador);
+            if (multiplicador == 3) {
+                multiplicador = 1;
+            } else {
+                multiplicador = 3;
+            }
+        }
+
+        int resto = total % 10;
+        if (resto == 0) {
+            return true;
+        } else {
+            int resultado = ((total + 10) - (resto)) - total;
+            int verificador = Integer.parseInt("" + codigoBarras.charAt(codigoBarras.length() - 1));
+            if (resultado == verificador) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
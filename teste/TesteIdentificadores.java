@@ -0,0 +1,228 @@
+package teste;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import util.ConjuntoIdentificadores;
+import util.IndiceIdentificadores;
+
+/**
+ * Compara {@link IndiceIdentificadores} e {@link ConjuntoIdentificadores}
+ * com um {@code HashSet<Long>}: valores presentes e ausentes, repetições,
+ * crescimento da tabela e valores que caem na mesma posição.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java teste/*.java
+ * java -cp out teste.TesteIdentificadores
+ * </pre>
+ */
+public final class TesteIdentificadores {
+
+    /**
+     * Valores que o conjunto ou o índice tratam à parte ou que ficam nos
+     * extremos da ordenação.
+     */
+    private static final long[] EXTREMOS = {Long.MIN_VALUE, Long.MIN_VALUE + 1, -1, 0, 1, Long.MAX_VALUE};
+
+    private TesteIdentificadores() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+
+        Verificacao v = new Verificacao();
+        executar(v);
+        v.concluir();
+    }
+
+    static void executar(final Verificacao v) throws IOException {
+
+        Random aleatorio = new Random(21);
+        indice(v, aleatorio);
+        conjunto(v, aleatorio);
+    }
+
+    private static void indice(final Verificacao v, final Random aleatorio) throws IOException {
+
+        v.teste("indice.consultas");
+        Path arquivo = Files.createTempFile("teste-indice", ".idx");
+        try {
+            // Tamanhos em volta do passo da amostra mantida no heap (256).
+            for (int quantidade : new int[] {0, 1, 2, 255, 256, 257, 511, 513, 20_000}) {
+                for (int bits : new int[] {0, 10}) {
+
+                    long[] valores = new long[quantidade];
+                    for (int i = 0; i < quantidade; i++) {
+                        // Metade em faixa estreita, para haver repetições e vizinhos.
+                        valores[i] = aleatorio.nextBoolean() ? aleatorio.nextInt(quantidade * 2 + 1)
+                                : aleatorio.nextLong();
+                    }
+                    if (quantidade > 2) {
+                        System.arraycopy(EXTREMOS, 0, valores, 0, EXTREMOS.length);
+                    }
+                    long[] copia = valores.clone();
+                    Set<Long> esperado = new HashSet<>();
+                    for (long valor : valores) {
+                        esperado.add(valor);
+                    }
+
+                    IndiceIdentificadores.gravar(valores, arquivo, bits);
+                    v.verdadeiro(Arrays.equals(copia, valores), "vetor alterado por gravar");
+                    IndiceIdentificadores indice = IndiceIdentificadores.abrir(arquivo);
+                    v.igual(esperado.size(), indice.quantidade(), "valores distintos de %d", quantidade);
+                    v.igual(bits > 0 && quantidade > 0, indice.filtro(), "filtro com %d bits", bits);
+                    for (long valor : esperado) {
+                        v.verdadeiro(indice.talvezContenha(valor), "filtro sem %d", valor);
+                        v.verdadeiro(indice.contem(valor), "índice de %d sem %d", quantidade, valor);
+                    }
+                    int positivosFalsos = 0;
+                    int ausentes = 0;
+                    List<Long> consultas = new ArrayList<>();
+                    for (long valor : esperado) {
+                        consultas.add(valor - 1);
+                        consultas.add(valor + 1);
+                    }
+                    for (int i = 0; i < 20_000; i++) {
+                        consultas.add(aleatorio.nextLong());
+                    }
+                    for (long extremo : EXTREMOS) {
+                        consultas.add(extremo);
+                    }
+                    for (long valor : consultas) {
+                        boolean presente = esperado.contains(valor);
+                        v.igual(presente, indice.contem(valor), "contem(%d) em %d valores", valor,
+                                quantidade);
+                        if (!presente) {
+                            ausentes++;
+                            positivosFalsos += indice.talvezContenha(valor) ? 1 : 0;
+                        }
+                    }
+                    if (bits > 0 && quantidade >= 20_000) {
+                        // 10 bits por valor: cerca de 1%.
+                        v.verdadeiro(positivosFalsos < ausentes / 50, "filtro deixou passar %d de %d",
+                                positivosFalsos, ausentes);
+                    }
+                }
+            }
+
+            v.teste("indice.arquivo");
+            v.lanca(IllegalArgumentException.class, () -> gravar(new long[] {1}, arquivo, -1),
+                    "bits por valor negativo");
+            gravar(new long[] {1, 2, 3}, arquivo, 10);
+            Files.write(arquivo, Arrays.copyOf(Files.readAllBytes(arquivo), (int) Files.size(arquivo) - 8));
+            v.lanca(IllegalArgumentException.class, () -> abrir(arquivo), "índice truncado");
+            Files.write(arquivo, new byte[32]);
+            v.lanca(IllegalArgumentException.class, () -> abrir(arquivo), "arquivo sem assinatura");
+        } finally {
+            Files.delete(arquivo);
+        }
+    }
+
+    private static void conjunto(final Verificacao v, final Random aleatorio) {
+
+        v.teste("conjunto.operacoes");
+        // O conjunto começa com 16 posições e dobra até passar de 60 mil valores.
+        ConjuntoIdentificadores conjunto = new ConjuntoIdentificadores();
+        Set<Long> esperado = new HashSet<>();
+        for (long extremo : EXTREMOS) {
+            v.igual(esperado.add(extremo), conjunto.adicionar(extremo), "adicionar(%d)", extremo);
+        }
+        for (int i = 0; i < 100_000; i++) {
+
+            long valor = aleatorio.nextInt(4) == 0 ? aleatorio.nextLong() : aleatorio.nextInt(80_000);
+            v.igual(esperado.add(valor), conjunto.adicionar(valor), "adicionar(%d)", valor);
+            long consulta = aleatorio.nextInt(100_000);
+            v.igual(esperado.contains(consulta), conjunto.contem(consulta), "contem(%d)", consulta);
+        }
+        v.igual(esperado.size(), conjunto.quantidade(), "quantidade");
+        for (long extremo : EXTREMOS) {
+            v.verdadeiro(conjunto.contem(extremo), "contem(%d)", extremo);
+            v.verdadeiro(!conjunto.adicionar(extremo), "repetição de %d", extremo);
+        }
+        v.verdadeiro(Arrays.equals(ordenados(esperado), ordenar(conjunto.valores())), "valores do conjunto");
+
+        v.teste("conjunto.colisoes");
+        // Valores com a mesma posição inicial em uma tabela de 16 ou 32
+        // posições formam uma sequência contínua de sondagem.
+        ConjuntoIdentificadores colisoes = new ConjuntoIdentificadores(4);
+        Set<Long> mesmaPosicao = new HashSet<>();
+        for (long valor = 0; mesmaPosicao.size() < 40; valor++) {
+            if ((espalhar(valor) & 31) == 7) {
+                mesmaPosicao.add(valor);
+            }
+        }
+        for (long valor : mesmaPosicao) {
+            v.verdadeiro(colisoes.adicionar(valor), "colisão de %d", valor);
+            v.verdadeiro(!colisoes.adicionar(valor), "repetição da colisão %d", valor);
+        }
+        for (long valor = 0; valor < 2_000; valor++) {
+            v.igual(mesmaPosicao.contains(valor), colisoes.contem(valor), "contem(%d) com colisões", valor);
+        }
+        v.igual(mesmaPosicao.size(), colisoes.quantidade(), "quantidade com colisões");
+        v.verdadeiro(Arrays.equals(ordenados(mesmaPosicao), ordenar(colisoes.valores())),
+                "valores com colisões");
+
+        v.teste("conjunto.limpar");
+        conjunto.limpar();
+        v.igual(0, conjunto.quantidade(), "quantidade depois de limpar");
+        v.igual(0, conjunto.valores().length, "valores depois de limpar");
+        for (long extremo : EXTREMOS) {
+            v.verdadeiro(!conjunto.contem(extremo), "contem(%d) depois de limpar", extremo);
+            v.verdadeiro(conjunto.adicionar(extremo), "adicionar(%d) depois de limpar", extremo);
+        }
+        v.lanca(IllegalArgumentException.class, () -> new ConjuntoIdentificadores(-1), "quantidade negativa");
+        v.lanca(IllegalArgumentException.class, () -> new ConjuntoIdentificadores(Integer.MAX_VALUE),
+                "quantidade acima do limite");
+    }
+
+    /**
+     * Cópia de {@code Numeros.espalhar}, que escolhe a posição inicial de
+     * cada valor no conjunto.
+     */
+    private static long espalhar(long valor) {
+
+        valor ^= valor >>> 33;
+        valor *= 0xff51afd7ed558ccdL;
+        valor ^= valor >>> 33;
+        valor *= 0xc4ceb9fe1a85ec53L;
+        return valor ^ (valor >>> 33);
+    }
+
+    private static long[] ordenados(final Set<Long> valores) {
+
+        long[] vetor = valores.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(vetor);
+        return vetor;
+    }
+
+    private static long[] ordenar(final long[] valores) {
+
+        Arrays.sort(valores);
+        return valores;
+    }
+
+    private static void gravar(final long[] valores, final Path arquivo, final int bits) {
+
+        try {
+            IndiceIdentificadores.gravar(valores, arquivo, bits);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void abrir(final Path arquivo) {
+
+        try {
+            IndiceIdentificadores.abrir(arquivo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
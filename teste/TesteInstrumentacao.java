@@ -0,0 +1,85 @@
+package teste;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+import util.Instrumentacao;
+import util.Instrumentacao.Estatistica;
+import util.Instrumentacao.Metodo;
+import util.Validador;
+
+/**
+ * Confere os contadores de {@link Instrumentacao} para os métodos de
+ * {@link Validador}. Como a instrumentação só é ligada na partida da JVM,
+ * sem {@code -Dutil.instrumentacao=true} o teste roda em uma JVM nova.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java teste/*.java
+ * java -cp out teste.TesteInstrumentacao
+ * </pre>
+ */
+public final class TesteInstrumentacao {
+
+    private TesteInstrumentacao() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+
+        Verificacao v = new Verificacao();
+        executar(v);
+        v.concluir();
+    }
+
+    static void executar(final Verificacao v) throws IOException, InterruptedException {
+
+        if (!Instrumentacao.ATIVA) {
+            v.teste("instrumentacao.jvm");
+            Path java = Paths.get(System.getProperty("java.home"), "bin", "java");
+            Process processo = new ProcessBuilder(java.toString(), "-Dutil.instrumentacao=true",
+                    "-Dutil.instrumentacao.latencia=true", "-cp", System.getProperty("java.class.path"),
+                    TesteInstrumentacao.class.getName()).inheritIO().start();
+            v.igual(0, processo.waitFor(), "código de saída da JVM instrumentada");
+            return;
+        }
+
+        v.teste("instrumentacao.contadores");
+        Instrumentacao.zerar();
+        Validador.cpf("529.982.247-25");
+        Validador.cpf("529.982.247-26");
+        Validador.cpf(52998224725L);
+        Validador.inteiro("12a");
+        Validador.calcularMD5(null);
+        Validador.calcularMD5("abc");
+        Validador.verificaPais(789);
+        Validador.verificaPais(1);
+        for (int n = 0; n < 3; n++) {
+            Validador.data("01/02/2024", "dd/MM/yyyy'");
+        }
+
+        Map<Metodo, Estatistica> estatisticas = Instrumentacao.instantaneo();
+        Estatistica cpf = estatisticas.get(Metodo.CPF);
+        v.igual(3L, cpf.chamadas(), "chamadas de cpf");
+        v.igual(2L, cpf.aprovadas(), "cpf aprovados");
+        v.igual(1L, cpf.reprovadas(), "cpf reprovados");
+        v.igual(3L, cpf.medidas(), "latências de cpf");
+        v.igual(1L, estatisticas.get(Metodo.INTEIRO).reprovadas(), "inteiro reprovado");
+
+        Estatistica md5 = estatisticas.get(Metodo.MD5);
+        v.igual(1L, md5.aprovadas(), "md5 calculado");
+        v.igual(1L, md5.reprovadas(), "md5 de null");
+        v.igual(1L, md5.excecoes(), "exceção de md5 de null");
+        v.igual(1L, md5.medidas(), "latência só do md5 calculado");
+
+        Estatistica data = estatisticas.get(Metodo.DATA);
+        v.igual(3L, data.reprovadas(), "datas com máscara inválida");
+        v.igual(1L, data.excecoes(), "máscara inválida guardada no cache depois da primeira exceção");
+
+        Estatistica pais = estatisticas.get(Metodo.PAIS);
+        v.igual(2L, pais.chamadas(), "chamadas de verificaPais");
+        v.igual(1L, pais.aprovadas(), "prefixo atribuído");
+        v.igual(0L, pais.reprovadas(), "prefixo não atribuído não é reprovação");
+        v.igual(1L, pais.semResultado(), "prefixo não atribuído");
+    }
+}
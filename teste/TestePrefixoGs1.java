@@ -0,0 +1,425 @@
+package teste;
+
+import java.util.Random;
+
+import util.PrefixoGs1;
+import util.Validador;
+
+/**
+ * Compara {@link PrefixoGs1} e {@link Validador#verificaPais(int)} com a
+ * cadeia de faixas original de {@code Validador.verificaPais}, em todos os
+ * prefixos de 000 a 999 e fora dessa faixa.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java teste/*.java
+ * java -cp out teste.TestePrefixoGs1
+ * </pre>
+ */
+public final class TestePrefixoGs1 {
+
+    private TestePrefixoGs1() {
+    }
+
+    public static void main(final String[] args) {
+
+        Verificacao v = new Verificacao();
+        executar(v);
+        v.concluir();
+    }
+
+    static void executar(final Verificacao v) {
+
+        v.teste("prefixo.faixa");
+        for (int prefixo = 0; prefixo <= 999; prefixo++) {
+            conferir(v, prefixo);
+        }
+
+        v.teste("prefixo.fora");
+        int[] fora = {Integer.MIN_VALUE, -1000, -1, 1000, 1099, 7890, Integer.MAX_VALUE};
+        for (int prefixo : fora) {
+            conferir(v, prefixo);
+        }
+        Random random = new Random(20261017L);
+        for (int n = 0; n < 10_000; n++) {
+            conferir(v, random.nextInt());
+        }
+    }
+
+    private static void conferir(final Verificacao v, final int prefixo) {
+
+        String esperado = paisOriginal(prefixo);
+        v.igual(esperado, Validador.verificaPais(prefixo), "verificaPais(%d)", prefixo);
+        v.igual(esperado, PrefixoGs1.pais(prefixo), "pais(%d)", prefixo);
+        int codigo = PrefixoGs1.codigo(prefixo);
+        v.igual(codigo, Validador.codigoPais(prefixo), "codigoPais(%d)", prefixo);
+        if (esperado == null) {
+            v.igual(PrefixoGs1.NENHUM, codigo, "codigo(%d)", prefixo);
+        } else {
+            v.igual(esperado, PrefixoGs1.nome(codigo), "nome(codigo(%d))", prefixo);
+        }
+    }
+
+    /**
+     * Consulta original de {@code Validador.verificaPais}, sem alterações.
+     */
+    static String paisOriginal(final int codigoBarras) {
+
+        String retorno = null;
+        if ((codigoBarras >= 789) && (codigoBarras <= 790)) {
+            return "Brasil";
+        };
+        if ((codigoBarras >= 2) && (codigoBarras <= 19)) {
+            return "E.U.A.";
+        };
+        if ((codigoBarras >= 20) && (codigoBarras <= 29)) {
+            return "Distribuição restringida\n"
+                    + "definido pela organização membro GS1";
+        };
+        if ((codigoBarras >= 30) && (codigoBarras <= 39)) {
+            return "E.U.A (reservado para medicamentos)";
+        };
+        if ((codigoBarras >= 40) && (codigoBarras <= 49)) {
+            return "Distribuição restringida\n"
+                    + "definido pela organização membro GS1";
+        };
+        if ((codigoBarras >= 50) && (codigoBarras <= 59)) {
+            return "Coupons";
+        };
+        if ((codigoBarras >= 60) && (codigoBarras <= 139)) {
+            return "E.U.A.";
+        };
+        if ((codigoBarras >= 200) && (codigoBarras <= 299)) {
+            return "Distribuição restringida\n"
+                    + "definido pela organização membro GS1";
+        };
+        if ((codigoBarras >= 300) && (codigoBarras <= 379)) {
+            return "França";
+        };
+        if ((codigoBarras >= 380) && (codigoBarras <= 380)) {
+            return "Bulgária";
+        };
+        if ((codigoBarras >= 383) && (codigoBarras <= 383)) {
+            return "Eslovénia";
+        };
+        if ((codigoBarras >= 385) && (codigoBarras <= 385)) {
+            return "Croácia";
+        };
+        if ((codigoBarras >= 387) && (codigoBarras <= 387)) {
+            return "Bósnia e Herzegovina";
+        };
+        if ((codigoBarras >= 400) && (codigoBarras <= 440)) {
+            return "Alemanha";
+        };
+        if ((codigoBarras >= 450) && (codigoBarras <= 459)) {
+            return "Japão";
+        };
+        if ((codigoBarras >= 490) && (codigoBarras <= 499)) {
+            return "Japão";
+        };
+        if ((codigoBarras >= 460) && (codigoBarras <= 469)) {
+            return "Rússia";
+        };
+        if ((codigoBarras >= 470) && (codigoBarras <= 470)) {
+            return "Quirguistão";
+        };
+        if ((codigoBarras >= 471) && (codigoBarras <= 471)) {
+            return "Ilha de Taiwan";
+        };
+        if ((codigoBarras >= 474) && (codigoBarras <= 474)) {
+            return "Estônia";
+        };
+        if ((codigoBarras >= 475) && (codigoBarras <= 475)) {
+            return "Letônia";
+        };
+        if ((codigoBarras >= 476) && (codigoBarras <= 476)) {
+            return "Azerbaijão";
+        };
+        if ((codigoBarras >= 477) && (codigoBarras <= 477)) {
+            return "Lituânia";
+        };
+        if ((codigoBarras >= 478) && (codigoBarras <= 478)) {
+            return "Usbequistão";
+        };
+        if ((codigoBarras >= 479) && (codigoBarras <= 479)) {
+            return "Sri Lanka";
+        };
+        if ((codigoBarras >= 480) && (codigoBarras <= 480)) {
+            return "Filipinas";
+        };
+        if ((codigoBarras >= 481) && (codigoBarras <= 481)) {
+            return "Bielorrússia";
+        };
+        if ((codigoBarras >= 482) && (codigoBarras <= 482)) {
+            return "Ucrânia";
+        };
+        if ((codigoBarras >= 484) && (codigoBarras <= 484)) {
+            return "Moldávia";
+        };
+        if ((codigoBarras >= 485) && (codigoBarras <= 485)) {
+            return "Armênia";
+        };
+        if ((codigoBarras >= 486) && (codigoBarras <= 486)) {
+            return "Geórgia";
+        };
+        if ((codigoBarras >= 487) && (codigoBarras <= 487)) {
+            return "Cazaquistão";
+        };
+        if ((codigoBarras >= 489) && (codigoBarras <= 489)) {
+            return "Hong Kong";
+        };
+        if ((codigoBarras >= 500) && (codigoBarras <= 509)) {
+            return "Reino Unido";
+        };
+        if ((codigoBarras >= 520) && (codigoBarras <= 521)) {
+            return "Grécia";
+        };
+        if ((codigoBarras >= 528) && (codigoBarras <= 528)) {
+            return "Líbano";
+        };
+        if ((codigoBarras >= 529) && (codigoBarras <= 529)) {
+            return "Chipre";
+        };
+        if ((codigoBarras >= 530) && (codigoBarras <= 530)) {
+            return "Albânia";
+        };
+        if ((codigoBarras >= 531) && (codigoBarras <= 531)) {
+            return "República da Macedônia";
+        };
+        if ((codigoBarras >= 535) && (codigoBarras <= 535)) {
+            return "Malta";
+        };
+        if ((codigoBarras >= 539) && (codigoBarras <= 539)) {
+            return "República da Irlanda";
+        };
+        if ((codigoBarras >= 540) && (codigoBarras <= 549)) {
+            return "Bélgica & Luxemburgo";
+        };
+        if ((codigoBarras >= 560) && (codigoBarras <= 560)) {
+            return "Portugal";
+        };
+        if ((codigoBarras >= 569) && (codigoBarras <= 569)) {
+            return "Islândia";
+        };
+        if ((codigoBarras >= 570) && (codigoBarras <= 579)) {
+            return "Dinamarca";
+        };
+        if ((codigoBarras >= 590) && (codigoBarras <= 590)) {
+            return "Polónia";
+        };
+        if ((codigoBarras >= 594) && (codigoBarras <= 594)) {
+            return "Romênia";
+        };
+        if ((codigoBarras >= 599) && (codigoBarras <= 599)) {
+            return "Hungria";
+        };
+        if ((codigoBarras >= 600) && (codigoBarras <= 601)) {
+            return "África do Sul";
+        };
+        if ((codigoBarras >= 603) && (codigoBarras <= 603)) {
+            return "Gana";
+        };
+        if ((codigoBarras >= 608) && (codigoBarras <= 608)) {
+            return "Bahrein";
+        };
+        if ((codigoBarras >= 609) && (codigoBarras <= 609)) {
+            return "lhas Maurício";
+        };
+        if ((codigoBarras >= 611) && (codigoBarras <= 611)) {
+            return "Marrocos";
+        };
+        if ((codigoBarras >= 613) && (codigoBarras <= 613)) {
+            return "Argélia";
+        };
+        if ((codigoBarras >= 616) && (codigoBarras <= 616)) {
+            return "Quênia";
+        };
+        if ((codigoBarras >= 618) && (codigoBarras <= 618)) {
+            return "Costa do Marfim";
+        };
+        if ((codigoBarras >= 619) && (codigoBarras <= 619)) {
+            return "Tunísia";
+        };
+        if ((codigoBarras >= 621) && (codigoBarras <= 621)) {
+            return "Síria";
+        };
+        if ((codigoBarras >= 622) && (codigoBarras <= 622)) {
+            return "Egito";
+        };
+        if ((codigoBarras >= 624) && (codigoBarras <= 624)) {
+            return "Líbia";
+        };
+        if ((codigoBarras >= 625) && (codigoBarras <= 625)) {
+            return "Jordânia";
+        };
+        if ((codigoBarras >= 626) && (codigoBarras <= 626)) {
+            return "Irã";
+        };
+        if ((codigoBarras >= 627) && (codigoBarras <= 627)) {
+            return "Kuwait";
+        };
+        if ((codigoBarras >= 628) && (codigoBarras <= 628)) {
+            return "Arábia Saudita";
+        };
+        if ((codigoBarras >= 629) && (codigoBarras <= 629)) {
+            return "Emirados Árabes Unidos";
+        };
+        if ((codigoBarras >= 640) && (codigoBarras <= 649)) {
+            return "Finlândia";
+        };
+        if ((codigoBarras >= 690) && (codigoBarras <= 699)) {
+            return "República Popular da China";
+        };
+        if ((codigoBarras >= 700) && (codigoBarras <= 709)) {
+            return "Noruega";
+        };
+        if ((codigoBarras >= 729) && (codigoBarras <= 729)) {
+            return "Israel";
+        };
+        if ((codigoBarras >= 730) && (codigoBarras <= 739)) {
+            return "Suécia";
+        };
+        if ((codigoBarras >= 740) && (codigoBarras <= 740)) {
+            return "Guatemala";
+        };
+        if ((codigoBarras >= 741) && (codigoBarras <= 741)) {
+            return "El Salvador";
+        };
+        if ((codigoBarras >= 742) && (codigoBarras <= 742)) {
+            return "Honduras";
+        };
+        if ((codigoBarras >= 743) && (codigoBarras <= 743)) {
+            return "Nicarágua";
+        };
+        if ((codigoBarras >= 744) && (codigoBarras <= 744)) {
+            return "Costa Rica";
+        };
+        if ((codigoBarras >= 745) && (codigoBarras <= 745)) {
+            return "Panamá";
+        };
+        if ((codigoBarras >= 746) && (codigoBarras <= 746)) {
+            return "República Dominicana";
+        };
+        if ((codigoBarras >= 750) && (codigoBarras <= 750)) {
+            return "México";
+        };
+        if ((codigoBarras >= 754) && (codigoBarras <= 755)) {
+            return "Canadá";
+        };
+        if ((codigoBarras >= 759) && (codigoBarras <= 759)) {
+            return "Venezuela";
+        };
+        if ((codigoBarras >= 760) && (codigoBarras <= 769)) {
+            return "Suíça";
+        };
+        if ((codigoBarras >= 770) && (codigoBarras <= 770)) {
+            return "Colômbia";
+        };
+        if ((codigoBarras >= 773) && (codigoBarras <= 773)) {
+            return "Uruguai";
+        };
+        if ((codigoBarras >= 775) && (codigoBarras <= 775)) {
+            return "Peru";
+        };
+        if ((codigoBarras >= 777) && (codigoBarras <= 777)) {
+            return "Bolívia";
+        };
+        if ((codigoBarras >= 779) && (codigoBarras <= 779)) {
+            return "Argentina";
+        };
+        if ((codigoBarras >= 780) && (codigoBarras <= 780)) {
+            return "Chile";
+        };
+        if ((codigoBarras >= 784) && (codigoBarras <= 784)) {
+            return "Paraguai";
+        };
+        if ((codigoBarras >= 786) && (codigoBarras <= 786)) {
+            return "Equador";
+        };
+        if ((codigoBarras >= 800) && (codigoBarras <= 839)) {
+            return "Itália";
+        };
+        if ((codigoBarras >= 840) && (codigoBarras <= 849)) {
+            return "Espanha";
+        };
+        if ((codigoBarras >= 850) && (codigoBarras <= 850)) {
+            return "Cuba";
+        };
+        if ((codigoBarras >= 858) && (codigoBarras <= 858)) {
+            return "Eslováquia";
+        };
+        if ((codigoBarras >= 859) && (codigoBarras <= 859)) {
+            return "República Checa";
+        };
+        if ((codigoBarras >= 860) && (codigoBarras <= 860)) {
+            return "Sérvia e Montenegro";
+        };
+        if ((codigoBarras >= 865) && (codigoBarras <= 865)) {
+            return "Mongólia";
+        };
+        if ((codigoBarras >= 867) && (codigoBarras <= 867)) {
+            return "Coreia do Norte";
+        };
+        if ((codigoBarras >= 868) && (codigoBarras <= 869)) {
+            return "Turquia";
+        };
+        if ((codigoBarras >= 870) && (codigoBarras <= 879)) {
+            return "Holanda";
+        };
+        if ((codigoBarras >= 880) && (codigoBarras <= 880)) {
+            return "Coreia do Sul";
+        };
+        if ((codigoBarras >= 884) && (codigoBarras <= 884)) {
+            return "Cambodja";
+        };
+        if ((codigoBarras >= 885) && (codigoBarras <= 885)) {
+            return "Tailândia";
+        };
+        if ((codigoBarras >= 888) && (codigoBarras <= 888)) {
+            return "Singapura";
+        };
+        if ((codigoBarras >= 890) && (codigoBarras <= 890)) {
+            return "Índia";
+        };
+        if ((codigoBarras >= 893) && (codigoBarras <= 893)) {
+            return "Vietnam";
+        };
+        if ((codigoBarras >= 899) && (codigoBarras <= 899)) {
+            return "Indonésia";
+        };
+        if ((codigoBarras >= 900) && (codigoBarras <= 919)) {
+            return "Áustria";
+        };
+        if ((codigoBarras >= 930) && (codigoBarras <= 939)) {
+            return "Austrália";
+        };
+        if ((codigoBarras >= 940) && (codigoBarras <= 949)) {
+            return "Nova Zelândia";
+        };
+        if ((codigoBarras >= 950) && (codigoBarras <= 950)) {
+            return "GS1 Global Office";
+        };
+        if ((codigoBarras >= 955) && (codigoBarras <= 955)) {
+            return "Malásia";
+        };
+        if ((codigoBarras >= 958) && (codigoBarras <= 958)) {
+            return "Macau";
+        };
+        if ((codigoBarras >= 977) && (codigoBarras <= 977)) {
+            return "Publicações periódicas seriadas (ISSN)";
+        };
+        if ((codigoBarras >= 978) && (codigoBarras <= 979)) {
+            return "International ISBN Agency";
+        };
+        if ((codigoBarras >= 980) && (codigoBarras <= 980)) {
+            return "Refund receipts";
+        };
+        if ((codigoBarras >= 981) && (codigoBarras <= 982)) {
+            return "Coupons e meios de pagamento";
+        };
+        if ((codigoBarras >= 990) && (codigoBarras <= 999)) {
+            return "Coupons";
+        };
+
+        return retorno;
+    }
+}
@@ -0,0 +1,303 @@
+package teste;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.Set;
+
+import util.ProvedorRegras;
+import util.Regra;
+import util.RegistroRegras;
+import util.RegraValidacao;
+import util.Validador;
+
+/**
+ * Testa {@link RegistroRegras}: regras embutidas, consulta por nome com
+ * parâmetro, os {@link MethodHandle}s, os {@link ProvedorRegras} carregados
+ * pelo ServiceLoader, inclusive os que falham, e o limite de regras criadas
+ * guardadas. Como os provedores só são carregados na primeira consulta, o
+ * teste roda em uma JVM nova, com um arquivo de serviços que lista os
+ * provedores deste teste e uma classe inexistente.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java teste/*.java
+ * java -cp out teste.TesteRegistroRegras
+ * </pre>
+ */
+public final class TesteRegistroRegras {
+
+    private static final String PROPRIEDADE = "teste.provedores";
+
+    /**
+     * Mesmo valor de {@code RegistroRegras.LIMITE_CRIADAS}.
+     */
+    private static final int LIMITE_CRIADAS = 64;
+
+    private static final String[] VALORES = {
+        "", "0", "123", "-1", "1.5", "ff", "abc", "ABC", "a b", "fulano@exemplo.com",
+        "529.982.247-25", "52998224725", "52998224726", "11.222.333/0001-81", "12.ABC.345/01DE-35",
+        "7891000315507", "7891000315508", "01/02/2024", "31/02/2024",
+    };
+
+    private TesteRegistroRegras() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+
+        Verificacao v = new Verificacao();
+        executar(v);
+        v.concluir();
+    }
+
+    static void executar(final Verificacao v) throws IOException, InterruptedException {
+
+        if (!Boolean.getBoolean(PROPRIEDADE)) {
+            v.teste("regras.jvm");
+            Path servicos = Files.createTempDirectory("teste-provedores");
+            Path arquivo = servicos.resolve("META-INF/services/" + ProvedorRegras.class.getName());
+            // As falhas esperadas dos provedores não vão para o log da JVM nova.
+            Path log = servicos.resolve("logging.properties");
+            try {
+                Files.write(log, List.of(".level = OFF"), StandardCharsets.ISO_8859_1);
+                Files.createDirectories(arquivo.getParent());
+                Files.write(arquivo, List.of(ProvedorTeste.class.getName(), "teste.ProvedorInexistente",
+                        ProvedorFalho.class.getName(), ProvedorRepetido.class.getName()),
+                        StandardCharsets.UTF_8);
+                Path java = Paths.get(System.getProperty("java.home"), "bin", "java");
+                Process processo = new ProcessBuilder(java.toString(), "-D" + PROPRIEDADE + "=true",
+                        "-Djava.util.logging.config.file=" + log,
+                        "-cp", servicos + File.pathSeparator + System.getProperty("java.class.path"),
+                        TesteRegistroRegras.class.getName()).inheritIO().start();
+                v.igual(0, processo.waitFor(), "código de saída da JVM com os provedores");
+            } finally {
+                Files.delete(arquivo);
+                Files.delete(arquivo.getParent());
+                Files.delete(arquivo.getParent().getParent());
+                Files.delete(log);
+                Files.delete(servicos);
+            }
+            return;
+        }
+
+        // Primeiro, para que nenhuma outra consulta ocupe o cache.
+        criadas(v);
+        embutidas(v);
+        parametros(v);
+        manipuladores(v);
+        provedores(v);
+    }
+
+    /**
+     * As primeiras regras criadas por fábricas são guardadas; depois do
+     * limite, cada consulta cria uma regra nova.
+     */
+    private static void criadas(final Verificacao v) {
+
+        v.teste("regras.criadas");
+        RegraValidacao[] guardadas = new RegraValidacao[LIMITE_CRIADAS];
+        for (int i = 0; i < LIMITE_CRIADAS; i++) {
+            guardadas[i] = RegistroRegras.regra("min_chars:" + i);
+        }
+        for (int i = 0; i < LIMITE_CRIADAS; i++) {
+            v.verdadeiro(guardadas[i] == RegistroRegras.regra("min_chars:" + i), "min_chars:%d", i);
+            v.verdadeiro(guardadas[i] == RegistroRegras.regra("MIN_CHARS:" + i), "MIN_CHARS:%d", i);
+        }
+        RegraValidacao alem = RegistroRegras.regra("max_chars:5");
+        v.verdadeiro(alem != RegistroRegras.regra("max_chars:5"), "regra além do limite guardada");
+        v.verdadeiro(alem.testar("abcde") && !alem.testar("abcdef"), "regra além do limite");
+    }
+
+    private static void embutidas(final Verificacao v) {
+
+        v.teste("regras.embutidas");
+        Set<String> nomes = RegistroRegras.nomes();
+        for (Regra regra : Regra.values()) {
+            String nome = regra.name().toLowerCase();
+            v.verdadeiro(nomes.contains(nome), "nome %s", nome);
+            v.verdadeiro(RegistroRegras.regra(nome) == regra, "regra(\"%s\")", nome);
+            v.verdadeiro(RegistroRegras.regra(regra.name()) == regra, "regra(\"%s\")", regra.name());
+        }
+        for (String fabrica : new String[] {"data:", "min_chars:", "max_chars:"}) {
+            v.verdadeiro(nomes.contains(fabrica), "fábrica %s", fabrica);
+        }
+        for (String valor : VALORES) {
+            v.igual(Validador.inteiro(valor), RegistroRegras.regra("inteiro").testar(valor), "inteiro %s",
+                    valor);
+            v.igual(Validador.numero(valor), RegistroRegras.regra("numero").testar(valor), "numero %s",
+                    valor);
+            v.igual(Validador.hexa(valor), RegistroRegras.regra("hexa").testar(valor), "hexa %s", valor);
+            v.igual(Validador.real(valor), RegistroRegras.regra("real").testar(valor), "real %s", valor);
+            v.igual(Validador.alfabetico(valor), RegistroRegras.regra("alfabetico").testar(valor),
+                    "alfabetico %s", valor);
+            v.igual(Validador.email(valor), RegistroRegras.regra("email").testar(valor), "email %s", valor);
+            v.igual(Validador.cpf(valor), RegistroRegras.regra("cpf").testar(valor), "cpf %s", valor);
+            v.igual(Validador.cnpj(valor), RegistroRegras.regra("cnpj").testar(valor), "cnpj %s", valor);
+            v.igual(Validador.isCodigoValido(valor), RegistroRegras.regra("gtin").testar(valor), "gtin %s",
+                    valor);
+        }
+    }
+
+    private static void parametros(final Verificacao v) {
+
+        v.teste("regras.parametros");
+        for (String valor : VALORES) {
+            v.igual(Validador.data(valor, "dd/MM/yyyy"),
+                    RegistroRegras.regra("data:dd/MM/yyyy").testar(valor), "data:dd/MM/yyyy %s", valor);
+            v.igual(Validador.minChars(valor, 3), RegistroRegras.regra("min_chars:3").testar(valor),
+                    "min_chars:3 %s", valor);
+            v.igual(Validador.maxChars(valor, 3), RegistroRegras.regra("max_chars:3").testar(valor),
+                    "max_chars:3 %s", valor);
+        }
+        v.verdadeiro(RegistroRegras.regra("DATA:dd/MM/yyyy").testar("01/02/2024"),
+                "nome da fábrica sem diferença de maiúsculas");
+        v.lanca(IllegalArgumentException.class, () -> RegistroRegras.regra("pis"), "regra não registrada");
+        v.lanca(IllegalArgumentException.class, () -> RegistroRegras.regra("pis:1"),
+                "fábrica não registrada");
+        v.lanca(IllegalArgumentException.class, () -> RegistroRegras.regra("min_chars:x"),
+                "quantidade inválida");
+        v.lanca(IllegalArgumentException.class, () -> RegistroRegras.regra("data:"), "máscara vazia");
+
+        RegistroRegras.registrar("Par", valor -> valor.length() % 2 == 0);
+        v.verdadeiro(RegistroRegras.regra("par").testar("ab") && !RegistroRegras.regra("PAR").testar("a"),
+                "regra registrada em tempo de execução");
+        RegistroRegras.registrarFabrica("Prefixo", prefixo -> valor -> valor.startsWith(prefixo));
+        // O parâmetro mantém as maiúsculas; o nome da fábrica, não.
+        RegraValidacao prefixo = RegistroRegras.regra("PREFIXO:Ab");
+        v.verdadeiro(prefixo.testar("Abc") && !prefixo.testar("abc"),
+                "fábrica registrada em tempo de execução");
+        v.lanca(IllegalArgumentException.class, () -> RegistroRegras.registrar("CPF", valor -> true),
+                "nome repetido");
+        v.lanca(IllegalArgumentException.class, () -> RegistroRegras.registrarFabrica("data", p -> null),
+                "fábrica repetida");
+        v.lanca(IllegalArgumentException.class, () -> RegistroRegras.registrar("a:b", valor -> true),
+                "nome com separador");
+        v.lanca(IllegalArgumentException.class, () -> RegistroRegras.registrar("", valor -> true),
+                "nome vazio");
+        v.verdadeiro(RegistroRegras.regra("cpf") == Regra.CPF, "regra embutida depois do nome repetido");
+    }
+
+    private static void manipuladores(final Verificacao v) {
+
+        v.teste("regras.manipuladores");
+        for (String nome : new String[] {"cpf", "cnpj", "gtin", "inteiro", "email", "data:dd/MM/yyyy",
+            "min_chars:3", "par", "prefixo:12", "teste_digitos"}) {
+
+            RegraValidacao regra = RegistroRegras.regra(nome);
+            MethodHandle manipulador = RegistroRegras.manipulador(nome);
+            MethodHandle manipuladorBuffer = RegistroRegras.manipuladorBuffer(nome);
+            for (String valor : VALORES) {
+
+                boolean esperado = regra.testar(valor);
+                v.igual(esperado, invocar(manipulador, valor), "manipulador %s %s", nome,
+                        valor);
+                // Trecho no meio do buffer, para conferir a posição absoluta.
+                byte[] bytes = ("##" + valor + "##").getBytes(StandardCharsets.ISO_8859_1);
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                v.igual(esperado, invocar(manipuladorBuffer, buffer, 2, valor.length()),
+                        "manipuladorBuffer %s %s", nome, valor);
+                v.igual(esperado, regra.testar(buffer, 2, valor.length()), "testar buffer %s %s", nome,
+                        valor);
+                v.igual(esperado, regra.test(valor), "Predicate %s %s", nome, valor);
+            }
+        }
+        v.lanca(IllegalArgumentException.class, () -> RegistroRegras.manipulador("pis"),
+                "manipulador de regra não registrada");
+    }
+
+    private static boolean invocar(final MethodHandle manipulador, final String valor) {
+
+        try {
+            return (boolean) manipulador.invokeExact(valor);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static boolean invocar(final MethodHandle manipulador, final ByteBuffer buffer, final int inicio,
+            final int tamanho) {
+
+        try {
+            return (boolean) manipulador.invokeExact(buffer, inicio, tamanho);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void provedores(final Verificacao v) {
+
+        v.teste("regras.provedores");
+        Set<String> nomes = RegistroRegras.nomes();
+        v.verdadeiro(nomes.contains("teste_digitos") && nomes.contains("teste_tamanho:"),
+                "regras do provedor carregado");
+        v.verdadeiro(RegistroRegras.regra("teste_tamanho:4").testar("abcd")
+                && !RegistroRegras.regra("teste_tamanho:4").testar("abc"), "fábrica do provedor");
+        v.verdadeiro(RegistroRegras.regra("teste_antes_da_falha").testar("x"),
+                "regra registrada antes da falha do provedor");
+        v.verdadeiro(RegistroRegras.regra("teste_antes_da_repeticao").testar("x"),
+                "regra registrada antes do nome repetido");
+        v.verdadeiro(RegistroRegras.regra("cpf") == Regra.CPF, "regra embutida mantida");
+
+        List<Throwable> falhas = RegistroRegras.falhasProvedores();
+        v.igual(3, falhas.size(), "falhas dos provedores: %s", falhas);
+        if (falhas.size() == 3) {
+            v.verdadeiro(falhas.get(0) instanceof ServiceConfigurationError, "classe inexistente");
+            v.verdadeiro(falhas.get(1) instanceof IllegalStateException, "exceção ao registrar");
+            v.verdadeiro(falhas.get(2) instanceof IllegalArgumentException, "nome já registrado");
+        }
+        v.lanca(UnsupportedOperationException.class, () -> falhas.add(new Throwable()),
+                "lista de falhas imutável");
+    }
+
+    /**
+     * Provedor que registra uma regra e uma fábrica.
+     */
+    public static final class ProvedorTeste implements ProvedorRegras {
+
+        @Override
+        public void registrar(final RegistroRegras.Registro registro) {
+
+            registro.regra("teste_digitos",
+                    valor -> !valor.isEmpty() && valor.chars().allMatch(Character::isDigit))
+                    .fabrica("teste_tamanho", parametro -> {
+                        int tamanho = Integer.parseInt(parametro);
+                        return valor -> valor.length() == tamanho;
+                    });
+        }
+    }
+
+    /**
+     * Provedor que lança exceção depois de registrar uma regra.
+     */
+    public static final class ProvedorFalho implements ProvedorRegras {
+
+        @Override
+        public void registrar(final RegistroRegras.Registro registro) {
+
+            registro.regra("teste_antes_da_falha", valor -> true);
+            throw new IllegalStateException("provedor falho");
+        }
+    }
+
+    /**
+     * Provedor que tenta registrar o nome de uma regra embutida.
+     */
+    public static final class ProvedorRepetido implements ProvedorRegras {
+
+        @Override
+        public void registrar(final RegistroRegras.Registro registro) {
+
+            registro.regra("teste_antes_da_repeticao", valor -> true).regra("cpf", valor -> true);
+        }
+    }
+}
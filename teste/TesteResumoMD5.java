@@ -0,0 +1,210 @@
+package teste;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Random;
+
+import util.ResumoMD5;
+import util.Validador;
+
+/**
+ * Confere {@link ResumoMD5} e {@link Validador#calcularMD5}: os valores do
+ * apêndice A.5 da RFC 1321, o resumo em blocos igual ao de uma vez só para
+ * todas as entradas, entradas nulas e vazias, e texto fora do ASCII em
+ * UTF-8.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java teste/*.java
+ * java -cp out teste.TesteResumoMD5
+ * </pre>
+ */
+public final class TesteResumoMD5 {
+
+    /**
+     * Entrada e resumo esperado, RFC 1321, apêndice A.5.
+     */
+    private static final String[][] RFC_1321 = {
+        {"", "d41d8cd98f00b204e9800998ecf8427e"},
+        {"a", "0cc175b9c0f1b6a831c399e269772661"},
+        {"abc", "900150983cd24fb0d6963f7d28e17f72"},
+        {"message digest", "f96b697d7cb7938d525a2f31aaf161d0"},
+        {"abcdefghijklmnopqrstuvwxyz", "c3fcd3d76192e4007dfb496cca67e13b"},
+        {"ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789",
+            "d174ab98d277d9f5a5611c2c9f419d9f"},
+        {"12345678901234567890123456789012345678901234567890123456789012345678901234567890",
+            "57edf4a22be3c955ac49da2e2107b67a"},
+    };
+
+    /**
+     * Tamanhos em volta do bloco de leitura de streams (64 KiB).
+     */
+    private static final int[] TAMANHOS = {0, 1, 55, 56, 64, 65_535, 65_536, 65_537, 3 * 65_536 + 7};
+
+    private TesteResumoMD5() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+
+        Verificacao v = new Verificacao();
+        executar(v);
+        v.concluir();
+    }
+
+    static void executar(final Verificacao v) throws Exception {
+
+        v.teste("md5.rfc1321");
+        for (String[] caso : RFC_1321) {
+
+            byte[] bytes = caso[0].getBytes(StandardCharsets.US_ASCII);
+            v.igual(caso[1], Validador.calcularMD5(caso[0]), "calcularMD5(\"%s\")", caso[0]);
+            v.igual(caso[1], ResumoMD5.hex(caso[0]), "hex(\"%s\")", caso[0]);
+            v.igual(caso[1], ResumoMD5.hex(bytes), "hex(byte[]) de \"%s\"", caso[0]);
+            v.igual(caso[1], ResumoMD5.hex(new ByteArrayInputStream(bytes)), "hex(InputStream) de \"%s\"",
+                    caso[0]);
+        }
+
+        v.teste("md5.blocos");
+        Random aleatorio = new Random(9);
+        Path arquivo = Files.createTempFile("teste-md5", ".bin");
+        try {
+            for (int tamanho : TAMANHOS) {
+
+                byte[] bytes = new byte[tamanho];
+                aleatorio.nextBytes(bytes);
+                String esperado = ResumoMD5.paraHex(md5(bytes));
+                v.igual(esperado, ResumoMD5.hex(bytes), "hex(byte[]) de %d bytes", tamanho);
+                v.igual(esperado, ResumoMD5.hex(new ByteArrayInputStream(bytes)), "stream de %d bytes",
+                        tamanho);
+                v.igual(esperado, ResumoMD5.hex(new Picotado(bytes, aleatorio)),
+                        "stream picotado de %d bytes", tamanho);
+                Files.write(arquivo, bytes);
+                v.igual(esperado, ResumoMD5.hex(arquivo), "arquivo de %d bytes", tamanho);
+
+                // O mesmo conteúdo no meio de um vetor e de buffers maiores.
+                byte[] maior = new byte[tamanho + 20];
+                aleatorio.nextBytes(maior);
+                System.arraycopy(bytes, 0, maior, 7, tamanho);
+                v.igual(esperado, ResumoMD5.hex(maior, 7, tamanho), "trecho de %d bytes", tamanho);
+                for (ByteBuffer buffer : new ByteBuffer[] {ByteBuffer.wrap(maior),
+                    ByteBuffer.allocateDirect(maior.length).put(maior)}) {
+
+                    buffer.limit(7 + tamanho).position(7);
+                    v.igual(esperado, ResumoMD5.hex(buffer), "buffer %s de %d bytes",
+                            buffer.isDirect() ? "direto" : "em heap", tamanho);
+                    v.igual(0, buffer.remaining(), "buffer consumido");
+                }
+            }
+        } finally {
+            Files.delete(arquivo);
+        }
+
+        v.teste("md5.erro");
+        // Uma leitura que falha no meio não deixa bytes para o próximo resumo.
+        InputStream falha = new InputStream() {
+            private int lidos;
+
+            @Override
+            public int read() throws IOException {
+
+                if (lidos++ >= 100) {
+                    throw new IOException("falha de teste");
+                }
+                return 'x';
+            }
+        };
+        v.lanca(UncheckedIOException.class, () -> hex(falha), "stream com erro");
+        v.igual(RFC_1321[2][1], ResumoMD5.hex(new ByteArrayInputStream(new byte[] {'a', 'b', 'c'})),
+                "resumo depois do erro");
+
+        v.teste("md5.nulos");
+        v.igual("", Validador.calcularMD5(null), "calcularMD5(null)");
+        v.igual(RFC_1321[0][1], Validador.calcularMD5(""), "calcularMD5 vazio");
+        v.igual(RFC_1321[0][1], ResumoMD5.hex(ByteBuffer.allocate(0)), "buffer vazio");
+        v.igual(RFC_1321[0][1], ResumoMD5.hex(new byte[5], 5, 0), "trecho vazio");
+        v.igual("", ResumoMD5.paraHex(new byte[0]), "paraHex vazio");
+        v.lanca(NullPointerException.class, () -> ResumoMD5.hex((String) null), "hex(null)");
+        v.lanca(NullPointerException.class, () -> ResumoMD5.hex((byte[]) null), "hex(byte[] null)");
+
+        v.teste("md5.utf8");
+        // As versões anteriores codificavam no charset padrão e resumiam só
+        // os primeiros length() bytes; o texto inteiro em UTF-8 dá outro MD5.
+        for (String texto : new String[] {"ação", "São Paulo", "€", "日本語", "😀", "a\u0000b"}) {
+
+            byte[] utf8 = texto.getBytes(StandardCharsets.UTF_8);
+            String esperado = ResumoMD5.paraHex(md5(utf8));
+            v.igual(esperado, Validador.calcularMD5(texto), "calcularMD5 de %s", texto);
+            v.igual(esperado, ResumoMD5.hex(texto), "hex de %s", texto);
+            if (utf8.length != texto.length()) {
+                v.verdadeiro(!esperado.equals(ResumoMD5.paraHex(md5(Arrays.copyOf(utf8, texto.length())))),
+                        "%s resumido por inteiro", texto);
+            }
+        }
+
+        v.teste("md5.paraHex");
+        byte[] todos = new byte[256];
+        StringBuilder esperado = new StringBuilder();
+        for (int i = 0; i < todos.length; i++) {
+            todos[i] = (byte) i;
+            esperado.append(String.format("%02x", i));
+        }
+        v.igual(esperado.toString(), ResumoMD5.paraHex(todos), "paraHex dos 256 bytes");
+    }
+
+    private static byte[] md5(final byte[] bytes) throws NoSuchAlgorithmException {
+
+        return MessageDigest.getInstance("MD5").digest(bytes);
+    }
+
+    private static void hex(final InputStream entrada) {
+
+        try {
+            ResumoMD5.hex(entrada);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Stream que devolve os bytes em leituras de tamanho aleatório, menores
+     * que o pedido.
+     */
+    private static final class Picotado extends InputStream {
+
+        private final byte[] bytes;
+        private final Random aleatorio;
+        private int posicao;
+
+        Picotado(final byte[] bytes, final Random aleatorio) {
+
+            this.bytes = bytes;
+            this.aleatorio = aleatorio;
+        }
+
+        @Override
+        public int read() {
+
+            return posicao < bytes.length ? bytes[posicao++] & 0xFF : -1;
+        }
+
+        @Override
+        public int read(final byte[] destino, final int inicio, final int tamanho) {
+
+            if (posicao == bytes.length) {
+                return -1;
+            }
+            int lidos = Math.min(1 + aleatorio.nextInt(Math.min(tamanho, 5_000)), bytes.length - posicao);
+            System.arraycopy(bytes, posicao, destino, inicio, lidos);
+            posicao += lidos;
+            return lidos;
+        }
+    }
+}
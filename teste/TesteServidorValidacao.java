@@ -0,0 +1,140 @@
+package teste;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import util.ServidorValidacao;
+
+/**
+ * Testa as respostas de {@link ServidorValidacao}: caminhos exatos, método
+ * de cada caminho, limite do corpo e reaproveitamento da conexão depois de
+ * uma resposta de erro.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java teste/*.java
+ * java -cp out teste.TesteServidorValidacao
+ * </pre>
+ */
+public final class TesteServidorValidacao {
+
+    private TesteServidorValidacao() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+
+        Verificacao v = new Verificacao();
+        executar(v);
+        v.concluir();
+    }
+
+    static void executar(final Verificacao v) throws IOException {
+
+        v.teste("servidor");
+        try (ServidorValidacao servidor = new ServidorValidacao(new InetSocketAddress("127.0.0.1", 0))) {
+            int porta = servidor.porta();
+            v.igual("200", status(porta, "POST", "/cpf", "Content-Length: 15\r\n", "529.982.247-25\n"),
+                    "POST /cpf");
+            v.igual("404", status(porta, "POST", "/cpfXYZ", "Content-Length: 0\r\n", ""), "POST /cpfXYZ");
+            v.igual("404", status(porta, "POST", "/cpf/", "Content-Length: 0\r\n", ""), "POST /cpf/");
+            v.igual("405", status(porta, "GET", "/cpf", "", ""), "GET /cpf");
+            v.igual("405", status(porta, "PUT", "/data", "Content-Length: 0\r\n", ""), "PUT /data");
+            v.igual("200", status(porta, "GET", "/metricas", "", ""), "GET /metricas");
+            v.igual("405", status(porta, "POST", "/metricas", "Content-Length: 0\r\n", ""), "POST /metricas");
+            v.igual("413", status(porta, "POST", "/cpf",
+                    "Content-Length: " + (ServidorValidacao.LIMITE_CORPO + 1L) + "\r\n", ""),
+                    "Content-Length acima do limite");
+            // Sem Content-Length: o limite vale para os bytes recebidos.
+            String pedaco = Integer.toHexString(1 << 20) + "\r\n" + "0".repeat(1 << 20) + "\r\n";
+            v.igual("413", status(porta, "POST", "/cpf", "Transfer-Encoding: chunked\r\n",
+                    pedaco.repeat(ServidorValidacao.LIMITE_CORPO / (1 << 20) + 1)),
+                    "corpo em partes acima do limite");
+
+            v.teste("servidor.conexao");
+            // Corpo maior que o que o HttpServer descarta sozinho ao fechar a
+            // troca: sem ser lido, a conexão não poderia ser reaproveitada.
+            String datas = "01/02/2024\n".repeat(20_000);
+            String[][] erros = {{"/data", "400"}, {"/cpfXYZ", "404"}};
+            for (String[] erro : erros) {
+
+                try (Socket socket = new Socket("127.0.0.1", porta)) {
+                    OutputStream saida = socket.getOutputStream();
+                    InputStream entrada = socket.getInputStream();
+                    saida.write(("POST " + erro[0] + " HTTP/1.1\r\nHost: teste\r\nContent-Length: "
+                            + datas.length() + "\r\n\r\n" + datas).getBytes(StandardCharsets.ISO_8859_1));
+                    saida.flush();
+                    v.igual(erro[1], resposta(entrada), "POST %s", erro[0]);
+                    saida.write(("POST /cpf HTTP/1.1\r\nHost: teste\r\nContent-Length: 15\r\n\r\n"
+                            + "529.982.247-25\n").getBytes(StandardCharsets.ISO_8859_1));
+                    saida.flush();
+                    v.igual("200", resposta(entrada), "POST /cpf depois de POST %s na mesma conexão",
+                            erro[0]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Lê uma resposta inteira da conexão, pelo Content-Length, e devolve o
+     * código; null se a conexão foi fechada antes.
+     */
+    private static String resposta(final InputStream entrada) throws IOException {
+
+        String status = linha(entrada);
+        if (status == null) {
+            return null;
+        }
+        long tamanho = 0;
+        for (String cabecalho = linha(entrada); cabecalho != null && !cabecalho.isEmpty();
+                cabecalho = linha(entrada)) {
+            if (cabecalho.regionMatches(true, 0, "Content-Length:", 0, 15)) {
+                tamanho = Long.parseLong(cabecalho.substring(15).trim());
+            }
+        }
+        entrada.skipNBytes(tamanho);
+        return status.split(" ")[1];
+    }
+
+    private static String linha(final InputStream entrada) throws IOException {
+
+        StringBuilder linha = new StringBuilder();
+        for (int c = entrada.read(); c != '\n'; c = entrada.read()) {
+            if (c < 0) {
+                return linha.length() == 0 ? null : linha.toString();
+            }
+            if (c != '\r') {
+                linha.append((char) c);
+            }
+        }
+        return linha.toString();
+    }
+
+    /**
+     * Envia uma requisição por um socket e lê o código da resposta. A
+     * escrita do corpo pode falhar se o servidor fechar a conexão antes.
+     */
+    private static String status(final int porta, final String metodo, final String caminho,
+            final String cabecalhos, final String corpo) throws IOException {
+
+        try (Socket socket = new Socket("127.0.0.1", porta)) {
+            OutputStream saida = socket.getOutputStream();
+            saida.write((metodo + " " + caminho + " HTTP/1.1\r\nHost: teste\r\nConnection: close\r\n"
+                    + cabecalhos + "\r\n").getBytes(StandardCharsets.ISO_8859_1));
+            try {
+                saida.write(corpo.getBytes(StandardCharsets.ISO_8859_1));
+                saida.flush();
+            } catch (IOException e) {
+                // O servidor já respondeu e fechou a conexão.
+            }
+            BufferedReader leitor = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.ISO_8859_1));
+            String linha = leitor.readLine();
+            return linha == null ? null : linha.split(" ")[1];
+        }
+    }
+}
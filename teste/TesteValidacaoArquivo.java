@@ -0,0 +1,125 @@
+package teste;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import util.Regra;
+import util.ValidacaoArquivo;
+
+/**
+ * Testa a separação de campos CSV de {@link ValidacaoArquivo}: aspas,
+ * separadores e quebras de linha dentro de aspas e o escape "" da RFC 4180.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java teste/*.java
+ * java -cp out teste.TesteValidacaoArquivo
+ * </pre>
+ */
+public final class TesteValidacaoArquivo {
+
+    private TesteValidacaoArquivo() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+
+        Verificacao v = new Verificacao();
+        executar(v);
+        v.concluir();
+    }
+
+    static void executar(final Verificacao v) throws IOException {
+
+        v.teste("arquivo.csv.aspas");
+        String conteudo = "nome;cpf;codigo\n"
+                + "simples;52998224725;1\n"
+                + "\"com;separador\";\"529.982.247-25\";2\n"
+                + "\"diz \"\"oi\"\"\";52998224725;\"3\"\"\"\n"
+                + "\"\"\"\";\"5299\"\"8224725\";4\n"
+                + "\"\";\"\";\"\"\n"
+                + "\"sem fim;52998224725;6\n";
+        Path arquivo = Files.createTempFile("teste-csv", ".csv");
+        try {
+            Files.write(arquivo, conteudo.getBytes(StandardCharsets.UTF_8));
+            List<String> falhas = new ArrayList<>();
+            ValidacaoArquivo validacao = ValidacaoArquivo.csv(';', StandardCharsets.UTF_8)
+                    .cabecalho(true)
+                    .coluna(0, Regra.ALFABETICO)
+                    .coluna(1, Regra.CPF)
+                    .coluna(2, Regra.INTEIRO);
+            ValidacaoArquivo.Resumo resumo = validacao.validar(arquivo,
+                    (linha, campo, valor) -> falhas.add(linha + ":" + campo + ":" + valor));
+
+            v.igual(6L, resumo.linhas(), "linhas sem o cabeçalho");
+            List<String> esperadasAspas = List.of(
+                    "3:0:com;separador",
+                    "4:0:diz \"oi\"",
+                    "4:2:3\"",
+                    "5:0:\"",
+                    "5:1:5299\"8224725",
+                    "6:0:",
+                    "6:1:",
+                    "6:2:",
+                    // Aspas sem fechamento vão até o fim do arquivo.
+                    "7:0:sem fim;52998224725;6\n",
+                    "7:1:",
+                    "7:2:");
+            v.igual(esperadasAspas, falhas, "campos inválidos com as aspas desfeitas");
+        } finally {
+            Files.delete(arquivo);
+        }
+
+        v.teste("arquivo.csv.quebras");
+        conteudo = "nome;cpf\r\n"
+                + "\"linha\numa\";52998224725\r\n"
+                + "\"com \"\"aspas\"\"\r\ne quebra\";1\n"
+                + "sem;52998224725\n"
+                + "\n"
+                + "meio\"aspa;1\n"
+                + "\"a;b\nc\nd\";\"529982\n24725\"\n"
+                + "fim;52998224725";
+        // Cada registro é informado pela linha em que começa; as quebras
+        // entre aspas contam na numeração dos seguintes.
+        List<String> esperadas = List.of(
+                "4:0:com \"aspas\"\r\ne quebra",
+                "4:1:1",
+                "8:0:meio\"aspa",
+                "8:1:1",
+                "9:0:a;b\nc\nd",
+                "9:1:529982\n24725");
+        arquivo = Files.createTempFile("teste-csv", ".csv");
+        try {
+            Files.write(arquivo, conteudo.getBytes(StandardCharsets.UTF_8));
+            // Janelas pequenas, até o maior registro (28 bytes), fazem os
+            // registros com quebras cruzarem o fim da janela.
+            for (int janela : new int[] {ValidacaoArquivo.JANELA_PADRAO, 40, 31, 28}) {
+
+                List<String> falhas = new ArrayList<>();
+                ValidacaoArquivo.Resumo resumo = ValidacaoArquivo.csv(';', StandardCharsets.UTF_8)
+                        .cabecalho(true)
+                        .janela(janela)
+                        .coluna(0, Regra.ALFABETICO)
+                        .coluna(1, Regra.CPF)
+                        .validar(arquivo,
+                                (linha, campo, valor) -> falhas.add(linha + ":" + campo + ":" + valor));
+                v.igual(6L, resumo.linhas(), "registros com janela de %d bytes", janela);
+                v.igual(esperadas, falhas, "quebras entre aspas com janela de %d bytes", janela);
+            }
+            Path quebras = arquivo;
+            v.lanca(UncheckedIOException.class, () -> {
+                try {
+                    ValidacaoArquivo.csv(';', StandardCharsets.UTF_8).janela(27).coluna(0, Regra.ALFABETICO)
+                            .validar(quebras, (linha, campo, valor) -> { });
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, "registro maior que a janela");
+        } finally {
+            Files.delete(arquivo);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package teste;
+
+import java.util.Random;
+
+import util.ValidacaoIncremental;
+import util.Validador;
+
+/**
+ * Compara {@link ValidacaoIncremental} com a validação do texto inteiro em
+ * {@link Validador}: a cada caractere digitado, colado ou apagado, o estado
+ * incremental deve dar o mesmo resultado que {@link Validador#cpf(String)},
+ * {@link Validador#cnpj(String)} ou {@link Validador#isCodigoValido(String)}
+ * sobre o texto até ali, com e sem pontuação.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java teste/*.java
+ * java -cp out teste.TesteValidacaoIncremental
+ * </pre>
+ */
+public final class TesteValidacaoIncremental {
+
+    private static final String MASCARA_CPF = "###.###.###-##";
+    private static final String MASCARA_CNPJ = "##.###.###/####-##";
+    private static final String ALFANUMERICOS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String RUIDO = "0123456789AZaz.-/ ";
+    private static final int[] TAMANHOS_GTIN = {8, 12, 13, 14, 17, 18};
+    private static final int SEQUENCIAS = 3_000;
+
+    private TesteValidacaoIncremental() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+
+        Verificacao v = new Verificacao();
+        executar(v);
+        v.concluir();
+    }
+
+    static void executar(final Verificacao v) {
+
+        v.teste("incremental.exemplos");
+        ValidacaoIncremental cpf = ValidacaoIncremental.cpf();
+        v.verdadeiro(cpf.adicionar("529.982.247-2"), "prefixo de CPF formatado");
+        v.verdadeiro(!cpf.completo(), "CPF sem o último dígito");
+        v.verdadeiro(!cpf.adicionar('6'), "último dígito verificador errado");
+        v.verdadeiro(cpf.remover() && cpf.adicionar('5') && cpf.valido(), "CPF corrigido depois de apagar");
+        v.igual("529.982.247-25", cpf.toString(), "texto do CPF");
+        cpf.limpar();
+        v.verdadeiro(cpf.adicionar("52998224725") && cpf.valido(), "CPF sem pontuação");
+        v.verdadeiro(!cpf.adicionar('0') && !cpf.valido(), "dígito além do CPF");
+        ValidacaoIncremental cnpj = ValidacaoIncremental.cnpj();
+        v.verdadeiro(cnpj.adicionar("12.ABC.345/01DE-35") && cnpj.valido(), "CNPJ alfanumérico formatado");
+        ValidacaoIncremental gtin = ValidacaoIncremental.gtin();
+        v.verdadeiro(gtin.adicionar("78912342") && gtin.valido(), "EAN-8");
+        v.verdadeiro(gtin.adicionar("0001") && gtin.completo() && !gtin.valido(), "UPC-A inválido");
+        v.verdadeiro(gtin.remover() && gtin.adicionar('0') && gtin.valido(), "UPC-A corrigido");
+
+        Random aleatorio = new Random(18);
+        v.teste("incremental.cpf");
+        for (int n = 0; n < SEQUENCIAS; n++) {
+            String alvo = Validador.completarCpf(digitos(aleatorio, 9));
+            digitar(v, aleatorio, Tipo.CPF, aleatorio.nextBoolean() ? formatar(alvo, MASCARA_CPF) : alvo);
+        }
+
+        v.teste("incremental.cnpj");
+        for (int n = 0; n < SEQUENCIAS; n++) {
+            String base = aleatorio.nextBoolean() ? digitos(aleatorio, 12) : alfanumericos(aleatorio, 12);
+            String alvo = Validador.completarCnpj(base);
+            digitar(v, aleatorio, Tipo.CNPJ, aleatorio.nextBoolean() ? formatar(alvo, MASCARA_CNPJ) : alvo);
+        }
+
+        v.teste("incremental.gtin");
+        for (int n = 0; n < SEQUENCIAS; n++) {
+            int tamanho = TAMANHOS_GTIN[aleatorio.nextInt(TAMANHOS_GTIN.length)];
+            String prefixo = aleatorio.nextBoolean() ? "789" : "50";
+            String corpo = (prefixo + digitos(aleatorio, tamanho)).substring(0, tamanho - 1);
+            digitar(v, aleatorio, Tipo.GTIN, Validador.completarCodigo(corpo));
+        }
+    }
+
+    private enum Tipo {
+        CPF, CNPJ, GTIN
+    }
+
+    /**
+     * Digita um identificador, às vezes com um caractere trocado, apagando
+     * e redigitando trechos e colando pedaços, e compara o estado com a
+     * validação do texto digitado a cada passo.
+     */
+    private static void digitar(final Verificacao v, final Random aleatorio, final Tipo tipo,
+            final String alvo) {
+
+        ValidacaoIncremental incremental = tipo == Tipo.CPF ? ValidacaoIncremental.cpf()
+                : tipo == Tipo.CNPJ ? ValidacaoIncremental.cnpj() : ValidacaoIncremental.gtin();
+        boolean alvoValido = referencia(tipo, alvo);
+        v.verdadeiro(alvoValido, "identificador gerado inválido: %s", alvo);
+        StringBuilder digitado = new StringBuilder();
+        int passos = 0;
+        while (!digitado.toString().equals(alvo) && passos++ < 200) {
+
+            int sorteio = aleatorio.nextInt(20);
+            boolean noAlvo = alvo.startsWith(digitado.toString());
+            if (!noAlvo || sorteio < 2) {
+                // Apaga até voltar ao alvo, ou um trecho dele.
+                int apagar = noAlvo ? 1 + aleatorio.nextInt(3) : 1;
+                for (int i = 0; i < apagar && digitado.length() > 0; i++) {
+                    incremental.remover();
+                    digitado.setLength(digitado.length() - 1);
+                    conferir(v, tipo, incremental, digitado, alvo);
+                }
+            } else if (sorteio < 4) {
+                // Caractere errado.
+                char c = RUIDO.charAt(aleatorio.nextInt(RUIDO.length()));
+                incremental.adicionar(c);
+                digitado.append(c);
+                conferir(v, tipo, incremental, digitado, alvo);
+            } else if (sorteio < 6) {
+                // Trecho colado.
+                int ate = Math.min(alvo.length(), digitado.length() + 1 + aleatorio.nextInt(6));
+                String trecho = alvo.substring(digitado.length(), ate);
+                boolean prefixo = incremental.adicionar(trecho);
+                digitado.append(trecho);
+                v.verdadeiro(prefixo, "colar %s em %s", trecho, alvo);
+                conferir(v, tipo, incremental, digitado, alvo);
+            } else {
+                incremental.adicionar(alvo.charAt(digitado.length()));
+                digitado.append(alvo.charAt(digitado.length()));
+                conferir(v, tipo, incremental, digitado, alvo);
+            }
+        }
+        if (digitado.toString().equals(alvo)) {
+            v.verdadeiro(incremental.valido(), "%s digitado até o fim", alvo);
+        }
+        incremental.limpar();
+        v.verdadeiro(incremental.tamanho() == 0 && incremental.prefixoValido() && !incremental.valido(),
+                "estado depois de limpar");
+    }
+
+    private static void conferir(final Verificacao v, final Tipo tipo, final ValidacaoIncremental incremental,
+            final CharSequence digitado, final String alvo) {
+
+        String texto = digitado.toString();
+        v.igual(referencia(tipo, texto), incremental.valido(), "valido() de %s \"%s\"", tipo, texto);
+        v.igual(texto.length(), incremental.tamanho(), "tamanho de \"%s\"", texto);
+        if (alvo.startsWith(texto)) {
+            v.verdadeiro(incremental.prefixoValido(), "prefixo \"%s\" de %s", texto, alvo);
+            v.igual(texto, incremental.toString(), "texto aceito");
+        }
+        if (incremental.valido()) {
+            v.verdadeiro(incremental.completo() && incremental.prefixoValido(), "válido e incompleto");
+        }
+    }
+
+    /**
+     * Resultado de {@link Validador} para o texto inteiro. CPF e CNPJ só
+     * são completos com todos os dígitos, com ou sem pontuação, enquanto o
+     * Validador completa com zeros à esquerda os textos mais curtos.
+     */
+    private static boolean referencia(final Tipo tipo, final String texto) {
+
+        switch (tipo) {
+            case CPF:
+                return (texto.length() == 11 || texto.length() == MASCARA_CPF.length())
+                        && Validador.cpf(texto);
+            case CNPJ:
+                return (texto.length() == 14 || texto.length() == MASCARA_CNPJ.length())
+                        && Validador.cnpj(texto);
+            default:
+                return Validador.isCodigoValido(texto);
+        }
+    }
+
+    private static String formatar(final String identificador, final String mascara) {
+
+        StringBuilder texto = new StringBuilder(mascara.length());
+        for (int i = 0, j = 0; i < mascara.length(); i++) {
+            texto.append(mascara.charAt(i) == '#' ? identificador.charAt(j++) : mascara.charAt(i));
+        }
+        return texto.toString();
+    }
+
+    private static String digitos(final Random aleatorio, final int quantidade) {
+
+        StringBuilder texto = new StringBuilder(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            texto.append((char) ('0' + aleatorio.nextInt(10)));
+        }
+        return texto.toString();
+    }
+
+    private static String alfanumericos(final Random aleatorio, final int quantidade) {
+
+        StringBuilder texto = new StringBuilder(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            texto.append(ALFANUMERICOS.charAt(aleatorio.nextInt(ALFANUMERICOS.length())));
+        }
+        return texto.toString();
+    }
+}
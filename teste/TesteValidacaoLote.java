@@ -0,0 +1,199 @@
+package teste;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import util.DigitoVerificador;
+import util.ValidacaoLote;
+import util.Validador;
+
+/**
+ * Compara todas as combinações de coluna e resultado de
+ * {@link ValidacaoLote} com a validação de um valor por vez de
+ * {@link Validador}.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java teste/*.java
+ * java -cp out teste.TesteValidacaoLote
+ * </pre>
+ */
+public final class TesteValidacaoLote {
+
+    private static final int LINHAS = 5_000;
+    private static final int LARGURA = 20;
+
+    private TesteValidacaoLote() {
+    }
+
+    public static void main(final String[] args) {
+
+        Verificacao v = new Verificacao();
+        executar(v);
+        v.concluir();
+    }
+
+    static void executar(final Verificacao v) {
+
+        Random random = new Random(20261017L);
+        for (String regra : new String[] {"cpf", "cnpj", "gtin"}) {
+
+            v.teste("lote." + regra);
+            String[] valores = new String[LINHAS];
+            boolean[] esperado = new boolean[LINHAS];
+            byte[] coluna = new byte[LINHAS * LARGURA];
+            Arrays.fill(coluna, (byte) ' ');
+            int validos = 0;
+            for (int i = 0; i < LINHAS; i++) {
+
+                String valor = valor(regra, random);
+                valores[i] = valor;
+                esperado[i] = individual(regra, valor);
+                validos += esperado[i] ? 1 : 0;
+                // Alinhado em qualquer posição do campo, com espaços em volta.
+                int deslocamento = random.nextInt(LARGURA - valor.length() + 1);
+                byte[] bytes = valor.getBytes(StandardCharsets.ISO_8859_1);
+                System.arraycopy(bytes, 0, coluna, i * LARGURA + deslocamento, bytes.length);
+            }
+            List<String> lista = new LinkedList<>(Arrays.asList(valores));
+            ByteBuffer buffer = ByteBuffer.allocateDirect(coluna.length + 3);
+            buffer.put(new byte[3]).put(coluna).position(3);
+
+            boolean[] vetor = new boolean[LINHAS];
+            BitSet bits = new BitSet();
+            bits.set(0, LINHAS + 10);
+            v.igual(validos, lote(regra, valores, vetor), "String[] -> boolean[]");
+            v.verdadeiro(Arrays.equals(esperado, vetor), "String[] -> boolean[] por linha");
+            v.igual(validos, lote(regra, valores, bits), "String[] -> BitSet");
+            v.igual(conjunto(esperado), bits.get(0, LINHAS), "String[] -> BitSet por linha");
+            Arrays.fill(vetor, false);
+            v.igual(validos, lote(regra, lista, vetor), "List -> boolean[]");
+            v.verdadeiro(Arrays.equals(esperado, vetor), "List -> boolean[] por linha");
+            v.igual(validos, lote(regra, lista, bits), "List -> BitSet");
+            v.igual(conjunto(esperado), bits.get(0, LINHAS), "List -> BitSet por linha");
+            Arrays.fill(vetor, false);
+            v.igual(validos, lote(regra, coluna, vetor), "byte[] -> boolean[]");
+            v.verdadeiro(Arrays.equals(esperado, vetor), "byte[] -> boolean[] por linha");
+            v.igual(validos, lote(regra, coluna, bits), "byte[] -> BitSet");
+            v.igual(conjunto(esperado), bits.get(0, LINHAS), "byte[] -> BitSet por linha");
+            Arrays.fill(vetor, false);
+            v.igual(validos, lote(regra, buffer, vetor), "ByteBuffer -> boolean[]");
+            v.verdadeiro(Arrays.equals(esperado, vetor), "ByteBuffer -> boolean[] por linha");
+            v.igual(validos, lote(regra, buffer, bits), "ByteBuffer -> BitSet");
+            v.igual(conjunto(esperado), bits.get(0, LINHAS), "ByteBuffer -> BitSet por linha");
+            v.igual(3, buffer.position(), "posição do buffer");
+        }
+
+        v.teste("lote.contrato");
+        v.igual(1, ValidacaoLote.cpf(new String[] {null, "529.982.247-25"}, new boolean[2]), "posição nula");
+        byte[] incompleta = "52998224725 111".getBytes(StandardCharsets.ISO_8859_1);
+        v.lanca(IllegalArgumentException.class, () -> ValidacaoLote.cpf(incompleta, 12, new boolean[2]),
+                "registro incompleto em byte[]");
+        v.lanca(IllegalArgumentException.class,
+                () -> ValidacaoLote.cpf(ByteBuffer.wrap(incompleta), 12, new BitSet()),
+                "registro incompleto em ByteBuffer");
+        v.lanca(IllegalArgumentException.class,
+                () -> ValidacaoLote.cpf(new String[] {"1", "2"}, new boolean[1]), "vetor de resultado menor");
+        v.lanca(IllegalArgumentException.class,
+                () -> ValidacaoLote.cpf(new byte[4], 0, new boolean[1]), "largura zero");
+    }
+
+    private static String valor(final String regra, final Random random) {
+
+        switch (regra) {
+            case "cpf":
+                String cpf = String.format("%011d", DigitoVerificador.completarCpf(random.nextInt(1_000_000_000)));
+                cpf = random.nextInt(4) == 0 ? cpf.substring(0, 3) + "." + cpf.substring(3, 6) + "."
+                        + cpf.substring(6, 9) + "-" + cpf.substring(9) : cpf;
+                return random.nextBoolean() ? cpf : cpf.substring(0, 10) + random.nextInt(10);
+            case "cnpj":
+                String cnpj = String.format("%014d",
+                        DigitoVerificador.completarCnpj(Math.floorMod(random.nextLong(), 1_000_000_000_000L)));
+                return random.nextBoolean() ? cnpj : cnpj.substring(0, 13) + random.nextInt(10);
+            default:
+                String codigo = Validador.completarCodigo(String.format("789%09d", random.nextInt(1_000_000_000)));
+                return random.nextBoolean() ? codigo : codigo.substring(0, 12) + random.nextInt(10);
+        }
+    }
+
+    private static boolean individual(final String regra, final String valor) {
+
+        switch (regra) {
+            case "cpf":
+                return Validador.cpf(valor);
+            case "cnpj":
+                return Validador.cnpj(valor);
+            default:
+                return Validador.isCodigoValido(valor);
+        }
+    }
+
+    private static BitSet conjunto(final boolean[] esperado) {
+
+        BitSet bits = new BitSet();
+        for (int i = 0; i < esperado.length; i++) {
+            bits.set(i, esperado[i]);
+        }
+        return bits;
+    }
+
+    private static int lote(final String regra, final String[] valores, final boolean[] resultado) {
+
+        return "cpf".equals(regra) ? ValidacaoLote.cpf(valores, resultado)
+                : "cnpj".equals(regra) ? ValidacaoLote.cnpj(valores, resultado)
+                : ValidacaoLote.gtin(valores, resultado);
+    }
+
+    private static int lote(final String regra, final String[] valores, final BitSet resultado) {
+
+        return "cpf".equals(regra) ? ValidacaoLote.cpf(valores, resultado)
+                : "cnpj".equals(regra) ? ValidacaoLote.cnpj(valores, resultado)
+                : ValidacaoLote.gtin(valores, resultado);
+    }
+
+    private static int lote(final String regra, final List<String> valores, final boolean[] resultado) {
+
+        return "cpf".equals(regra) ? ValidacaoLote.cpf(valores, resultado)
+                : "cnpj".equals(regra) ? ValidacaoLote.cnpj(valores, resultado)
+                : ValidacaoLote.gtin(valores, resultado);
+    }
+
+    private static int lote(final String regra, final List<String> valores, final BitSet resultado) {
+
+        return "cpf".equals(regra) ? ValidacaoLote.cpf(valores, resultado)
+                : "cnpj".equals(regra) ? ValidacaoLote.cnpj(valores, resultado)
+                : ValidacaoLote.gtin(valores, resultado);
+    }
+
+    private static int lote(final String regra, final byte[] coluna, final boolean[] resultado) {
+
+        return "cpf".equals(regra) ? ValidacaoLote.cpf(coluna, LARGURA, resultado)
+                : "cnpj".equals(regra) ? ValidacaoLote.cnpj(coluna, LARGURA, resultado)
+                : ValidacaoLote.gtin(coluna, LARGURA, resultado);
+    }
+
+    private static int lote(final String regra, final byte[] coluna, final BitSet resultado) {
+
+        return "cpf".equals(regra) ? ValidacaoLote.cpf(coluna, LARGURA, resultado)
+                : "cnpj".equals(regra) ? ValidacaoLote.cnpj(coluna, LARGURA, resultado)
+                : ValidacaoLote.gtin(coluna, LARGURA, resultado);
+    }
+
+    private static int lote(final String regra, final ByteBuffer coluna, final boolean[] resultado) {
+
+        return "cpf".equals(regra) ? ValidacaoLote.cpf(coluna, LARGURA, resultado)
+                : "cnpj".equals(regra) ? ValidacaoLote.cnpj(coluna, LARGURA, resultado)
+                : ValidacaoLote.gtin(coluna, LARGURA, resultado);
+    }
+
+    private static int lote(final String regra, final ByteBuffer coluna, final BitSet resultado) {
+
+        return "cpf".equals(regra) ? ValidacaoLote.cpf(coluna, LARGURA, resultado)
+                : "cnpj".equals(regra) ? ValidacaoLote.cnpj(coluna, LARGURA, resultado)
+                : ValidacaoLote.gtin(coluna, LARGURA, resultado);
+    }
+}
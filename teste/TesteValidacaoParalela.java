@@ -0,0 +1,155 @@
+package teste;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import util.Regra;
+import util.ResultadoLote;
+import util.ValidacaoParalela;
+import util.Validador;
+
+/**
+ * Compara {@link ValidacaoParalela} com a validação sequencial linha a
+ * linha: listas e arquivos menores, iguais e maiores que um bloco, com
+ * vários tamanhos de bloco e paralelismos, e listas sem acesso por índice.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java teste/*.java
+ * java -cp out teste.TesteValidacaoParalela
+ * </pre>
+ */
+public final class TesteValidacaoParalela {
+
+    private static final Regra[] REGRAS = Regra.values();
+
+    private TesteValidacaoParalela() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+
+        Verificacao v = new Verificacao();
+        executar(v);
+        v.concluir();
+    }
+
+    static void executar(final Verificacao v) throws IOException {
+
+        v.teste("paralela.lista");
+        Random aleatorio = new Random(4);
+        Path arquivo = Files.createTempFile("teste-paralela", ".txt");
+        try {
+            for (int tamanhoBloco : new int[] {1, 7, 64, ValidacaoParalela.TAMANHO_BLOCO_PADRAO}) {
+                for (int paralelismo : new int[] {1, 4}) {
+                    try (ValidacaoParalela paralela = new ValidacaoParalela(paralelismo, tamanhoBloco)) {
+                        // Vazia, menor, igual e maior que um bloco, e vários blocos
+                        // com o último incompleto.
+                        int[] tamanhos = {0, 1, tamanhoBloco - 1, tamanhoBloco, tamanhoBloco + 1,
+                            3 * tamanhoBloco + 2, 20_003};
+                        for (int tamanho : tamanhos) {
+
+                            List<String> valores = valores(aleatorio, tamanho);
+                            Regra[] regras = aleatorio.nextBoolean() ? REGRAS
+                                    : new Regra[] {Regra.CPF, Regra.GTIN, Regra.CPF};
+                            String caso = String.format("%d linhas, bloco %d, paralelismo %d", tamanho,
+                                    tamanhoBloco, paralelismo);
+                            conferir(v, valores, regras, paralela.validar(valores, regras), caso);
+                            conferir(v, valores, regras, paralela.validar(new LinkedList<>(valores), regras),
+                                    caso + ", LinkedList");
+                            Files.write(arquivo, valores, StandardCharsets.UTF_8);
+                            conferir(v, valores, regras, paralela.validar(arquivo, StandardCharsets.UTF_8,
+                                    regras), caso + ", arquivo");
+                        }
+                    }
+                }
+            }
+        } finally {
+            Files.delete(arquivo);
+        }
+
+        v.teste("paralela.argumentos");
+        try (ValidacaoParalela paralela = new ValidacaoParalela(1, 4)) {
+            v.igual(1, paralela.paralelismo(), "paralelismo");
+            v.lanca(IllegalArgumentException.class, () -> paralela.validar(List.of("1")), "sem regras");
+            ResultadoLote resultado = paralela.validar(List.of("1"), Regra.INTEIRO);
+            v.lanca(IllegalArgumentException.class, () -> resultado.invalidos(Regra.CPF),
+                    "regra não aplicada");
+        }
+        v.lanca(IllegalArgumentException.class, () -> new ValidacaoParalela(1, 0), "bloco vazio");
+    }
+
+    /**
+     * Confere o resultado com a validação sequencial de cada valor.
+     */
+    private static void conferir(final Verificacao v, final List<String> valores, final Regra[] regras,
+            final ResultadoLote resultado, final String caso) {
+
+        v.igual((long) valores.size(), resultado.total(), "total com %s", caso);
+        for (Regra regra : regras) {
+
+            long[] invalidas = new long[valores.size()];
+            int quantidade = 0;
+            for (int i = 0; i < valores.size(); i++) {
+                if (!regra.testar(valores.get(i))) {
+                    invalidas[quantidade++] = i;
+                }
+            }
+            long[] esperadas = Arrays.copyOf(invalidas, quantidade);
+            v.verdadeiro(Arrays.equals(esperadas, resultado.linhasInvalidas(regra)), "%s com %s", regra,
+                    caso);
+            v.igual((long) quantidade, resultado.invalidos(regra), "inválidos de %s com %s", regra, caso);
+            v.igual((long) (valores.size() - quantidade), resultado.validos(regra), "válidos de %s com %s",
+                    regra, caso);
+        }
+    }
+
+    /**
+     * Mistura identificadores válidos, os mesmos com um dígito trocado e
+     * valores de outros tipos.
+     */
+    private static List<String> valores(final Random aleatorio, final int quantidade) {
+
+        List<String> valores = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+
+            String valor;
+            switch (aleatorio.nextInt(7)) {
+                case 0:
+                    valor = Validador.completarCpf(Integer.toString(aleatorio.nextInt(1_000_000_000)));
+                    break;
+                case 1:
+                    valor = Validador.completarCnpj(
+                            Long.toString(Math.floorMod(aleatorio.nextLong(), 1_000_000_000_000L)));
+                    break;
+                case 2:
+                    valor = Validador.completarCodigo(
+                            "789" + (1_000_000_000 + aleatorio.nextInt(999_999_999)));
+                    break;
+                case 3:
+                    valor = "usuario" + aleatorio.nextInt(100) + "@exemplo.com";
+                    break;
+                case 4:
+                    valor = Integer.toString(aleatorio.nextInt());
+                    break;
+                case 5:
+                    valor = aleatorio.nextInt(2) == 0 ? "" : "abc" + aleatorio.nextInt(10);
+                    break;
+                default:
+                    valor = Double.toString(aleatorio.nextDouble());
+                    break;
+            }
+            if (aleatorio.nextInt(4) == 0 && !valor.isEmpty()) {
+                // Troca o último caractere por um dígito qualquer.
+                valor = valor.substring(0, valor.length() - 1) + aleatorio.nextInt(10);
+            }
+            valores.add(valor);
+        }
+        return valores;
+    }
+}
@@ -0,0 +1,41 @@
+package teste;
+
+/**
+ * Executa todos os testes.
+ *
+ * <pre>
+ * javac -encoding UTF-8 -d out util/*.java teste/*.java
+ * java -cp out teste.Testes
+ * </pre>
+ */
+public final class Testes {
+
+    private Testes() {
+    }
+
+    public static void main(final String[] args) throws Exception {
+
+        Verificacao v = new Verificacao();
+        TesteEscaneadores.executar(v);
+        TesteData.executar(v);
+        TesteDigitoVerificador.executar(v);
+        TesteGtin.executar(v);
+        TesteFormatacao.executar(v);
+        TesteCacheValidacao.executar(v);
+        TesteValidacaoLote.executar(v);
+        TesteValidacaoArquivo.executar(v);
+        TesteInstrumentacao.executar(v);
+        TestePrefixoGs1.executar(v);
+        TesteEstagioValidacao.executar(v);
+        TesteServidorValidacao.executar(v);
+        TesteValidacaoIncremental.executar(v);
+        TesteEsquema.executar(v);
+        TesteIdentificadores.executar(v);
+        TesteRegistroRegras.executar(v);
+        TesteEmail.executar(v);
+        TesteValidacaoParalela.executar(v);
+        TesteGeradorIdentificadores.executar(v);
+        TesteResumoMD5.executar(v);
+        v.concluir();
+    }
+}
@@ -0,0 +1,102 @@
+package teste;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Contador de verificações dos testes, sem dependências externas.
+ *
+ * As falhas são escritas na saída de erro, até {@link #LIMITE_MENSAGENS}
+ * por teste; {@link #concluir()} encerra a JVM com código 1 se alguma
+ * verificação falhar.
+ */
+public final class Verificacao {
+
+    /**
+     * Quantidade máxima de falhas escritas por teste.
+     */
+    private static final int LIMITE_MENSAGENS = 20;
+
+    private String teste = "";
+    private long verificacoes;
+    private long falhas;
+    private long falhasTeste;
+
+    /**
+     * Inicia um teste, que agrupa as mensagens de falha.
+     *
+     * @param nome Nome do teste.
+     */
+    public void teste(final String nome) {
+
+        teste = nome;
+        falhasTeste = 0;
+    }
+
+    /**
+     * Verifica uma condição.
+     *
+     * @param condicao Condição esperada.
+     * @param descricao Descrição da verificação, no formato de
+     * {@link String#format}.
+     * @param argumentos Argumentos da descrição.
+     */
+    public void verdadeiro(final boolean condicao, final String descricao, final Object... argumentos) {
+
+        verificacoes++;
+        if (!condicao) {
+            falhas++;
+            if (++falhasTeste <= LIMITE_MENSAGENS) {
+                System.err.println(teste + ": " + String.format(Locale.ROOT, descricao, argumentos));
+            }
+        }
+    }
+
+    /**
+     * Verifica se dois valores são iguais.
+     *
+     * @param esperado Valor esperado.
+     * @param obtido Valor obtido.
+     * @param descricao Descrição da verificação, no formato de
+     * {@link String#format}.
+     * @param argumentos Argumentos da descrição.
+     */
+    public void igual(final Object esperado, final Object obtido, final String descricao,
+            final Object... argumentos) {
+
+        verdadeiro(Objects.equals(esperado, obtido),
+                String.format(Locale.ROOT, descricao, argumentos).replace("%", "%%")
+                        + ": esperado <%s>, obtido <%s>",
+                esperado, obtido);
+    }
+
+    /**
+     * Verifica se a ação lança a exceção informada.
+     *
+     * @param tipo Tipo da exceção esperada.
+     * @param acao Ação a ser executada.
+     * @param descricao Descrição da verificação.
+     */
+    public void lanca(final Class<? extends Throwable> tipo, final Runnable acao, final String descricao) {
+
+        Throwable lancada = null;
+        try {
+            acao.run();
+        } catch (Throwable t) {
+            lancada = t;
+        }
+        verdadeiro(tipo.isInstance(lancada), "%s: esperado %s, obtido %s", descricao,
+                tipo.getSimpleName(), lancada);
+    }
+
+    /**
+     * Escreve o resumo e encerra a JVM com código 1 se houver falhas.
+     */
+    public void concluir() {
+
+        System.out.printf(Locale.ROOT, "%d verificações, %d falhas%n", verificacoes, falhas);
+        if (falhas > 0) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,593 @@
+package util;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache limitado dos resultados de {@link Validador#cpf(String)},
+ * {@link Validador#cnpj(String)}, {@link Validador#email(String)} e
+ * {@link Validador#isCodigoValido(String)}, para dados em que os mesmos
+ * identificadores se repetem muito.
+ *
+ * CPF, CNPJ e GTIN são guardados como um único long por entrada (o valor
+ * numérico dos dígitos e o resultado), sem objetos; valores com pontuação
+ * usam a mesma entrada dos dígitos puros. E-mails são guardados com a
+ * própria String. Valores que não têm forma numérica, como um CPF com
+ * letras ou um CNPJ alfanumérico (12 posições de 36 símbolos e os
+ * verificadores não cabem em uma entrada), são validados diretamente, em
+ * uma única passada, sem passar pelo cache.
+ *
+ * Cada tabela é associativa em conjuntos de 4 entradas. A leitura não usa
+ * bloqueio, e a escrita é um compareAndSet. Quando o conjunto está cheio, a
+ * entrada menos frequente só é substituída se o novo valor for mais
+ * frequente (admissão TinyLFU), de modo que uma sequência de valores únicos
+ * não expulsa os identificadores quentes. A frequência é estimada por um
+ * sketch de contadores de 4 bits, que são divididos por 2 periodicamente.
+ * As leituras não escrevem no sketch: cada uma anota o hash em um buffer
+ * da sua faixa de threads, e os buffers são aplicados ao sketch por uma
+ * thread de cada vez, a cada escrita ou quando um buffer enche.
+ *
+ * Os acertos não chegam a {@link Validador} e, portanto, não aparecem nos
+ * contadores de {@link Instrumentacao}.
+ */
+public final class CacheValidacao {
+
+    /**
+     * Capacidade padrão de cada tabela.
+     */
+    public static final int CAPACIDADE_PADRAO = 1 << 16;
+
+    /**
+     * Entradas por conjunto.
+     */
+    private static final int VIAS = 4;
+
+    private final Tabela cpfs;
+    private final Tabela cnpjs;
+    private final Tabela gtins;
+    private final TabelaEmail emails;
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+
+    /**
+     * Cria o cache com a {@link #CAPACIDADE_PADRAO}.
+     */
+    public CacheValidacao() {
+
+        this(CAPACIDADE_PADRAO);
+    }
+
+    /**
+     * @param capacidade Quantidade de entradas de cada tipo de
+     * identificador, arredondada para uma potência de 2.
+     */
+    public CacheValidacao(final int capacidade) {
+
+        if (capacidade <= 0 || capacidade > 1 << 30) {
+            throw new IllegalArgumentException("Capacidade inválida: " + capacidade);
+        }
+        int tamanho = Math.max(VIAS, Integer.highestOneBit(capacidade - 1) << 1);
+        cpfs = new Tabela(tamanho);
+        cnpjs = new Tabela(tamanho);
+        gtins = new Tabela(tamanho);
+        emails = new TabelaEmail(tamanho);
+    }
+
+    /**
+     * Equivalente a {@link Validador#cpf(String)}.
+     *
+     * @param cpf CPF com ou sem pontuação.
+     * @return True se o CPF e valido.
+     */
+    public boolean cpf(final String cpf) {
+
+        // -1 (sem forma numérica) vira a chave 0, que não é guardada.
+        long chave = DigitoVerificador.cpfParaLong(cpf) + 1;
+        if (chave == 0) {
+            return Validador.cpf(cpf);
+        }
+        int resultado = cpfs.buscar(chave);
+        if (resultado >= 0) {
+            acertos.increment();
+            return resultado == 1;
+        }
+        falhas.increment();
+        boolean valido = Validador.cpf(cpf);
+        cpfs.guardar(chave, valido);
+        return valido;
+    }
+
+    /**
+     * Equivalente a {@link Validador#cnpj(String)}.
+     *
+     * @param cnpj CNPJ com ou sem pontuação.
+     * @return True se o CNPJ e valido.
+     */
+    public boolean cnpj(final String cnpj) {
+
+        long chave = DigitoVerificador.cnpjParaLong(cnpj) + 1;
+        if (chave == 0) {
+            return Validador.cnpj(cnpj);
+        }
+        int resultado = cnpjs.buscar(chave);
+        if (resultado >= 0) {
+            acertos.increment();
+            return resultado == 1;
+        }
+        falhas.increment();
+        boolean valido = Validador.cnpj(cnpj);
+        cnpjs.guardar(chave, valido);
+        return valido;
+    }
+
+    /**
+     * Equivalente a {@link Validador#isCodigoValido(String)}.
+     *
+     * @param codigoBarras Código GTIN-8, GTIN-12, GTIN-13, GTIN-14, GSIN ou
+     * SSCC.
+     * @return true se codigo de barras for valido.
+     */
+    public boolean gtin(final String codigoBarras) {
+
+        long chave = chaveGtin(codigoBarras);
+        if (chave == 0) {
+            return Validador.isCodigoValido(codigoBarras);
+        }
+        int resultado = gtins.buscar(chave);
+        if (resultado >= 0) {
+            acertos.increment();
+            return resultado == 1;
+        }
+        falhas.increment();
+        boolean valido = Validador.isCodigoValido(codigoBarras);
+        gtins.guardar(chave, valido);
+        return valido;
+    }
+
+    /**
+     * Equivalente a {@link Validador#email(String)}.
+     *
+     * @param email E-mail a ser testado.
+     * @return true se o e-mail for válido.
+     */
+    public boolean email(final String email) {
+
+        if (Validador.vazio(email)) {
+            return false;
+        }
+        int resultado = emails.buscar(email);
+        if (resultado >= 0) {
+            acertos.increment();
+            return resultado == 1;
+        }
+        falhas.increment();
+        boolean valido = Validador.email(email);
+        emails.guardar(email, valido);
+        return valido;
+    }
+
+    /**
+     * @return Consultas respondidas pelo cache.
+     */
+    public long acertos() {
+
+        return acertos.sum();
+    }
+
+    /**
+     * @return Consultas que precisaram validar o valor. Valores que não
+     * podem ser guardados no cache não são contados.
+     */
+    public long falhas() {
+
+        return falhas.sum();
+    }
+
+    /**
+     * @return Fração das consultas respondidas pelo cache, entre 0 e 1.
+     */
+    public double taxaAcerto() {
+
+        long a = acertos.sum();
+        long total = a + falhas.sum();
+        return total == 0 ? 0 : (double) a / total;
+    }
+
+    /**
+     * Remove todas as entradas e zera as estatísticas.
+     */
+    public void limpar() {
+
+        cpfs.limpar();
+        cnpjs.limpar();
+        gtins.limpar();
+        emails.limpar();
+        acertos.reset();
+        falhas.reset();
+    }
+
+    /**
+     * Chave de um código de barras: o valor dos dígitos (até 18, menos de
+     * 2^60) seguido de 3 bits com a simbologia.
+     *
+     * @return Chave, ou 0 se o valor não tiver o tamanho de uma simbologia
+     * ou tiver outros caracteres.
+     */
+    static long chaveGtin(final CharSequence codigoBarras) {
+
+        if (codigoBarras == null) {
+            return 0;
+        }
+        Gtin.Simbologia simbologia = Gtin.Simbologia.porTamanho(codigoBarras.length());
+        if (simbologia == null) {
+            return 0;
+        }
+        long valor = 0;
+        for (int i = 0; i < codigoBarras.length(); i++) {
+
+            char c = codigoBarras.charAt(i);
+            if (c < '0' || c > '9') {
+                return 0;
+            }
+            valor = valor * 10 + (c - '0');
+        }
+        return valor << 3 | (simbologia.ordinal() + 1);
+    }
+
+    /**
+     * Tabela de chaves long de até 63 bits. Cada entrada é
+     * {@code chave << 1 | resultado}; 0 indica entrada vazia.
+     */
+    private static final class Tabela {
+
+        private final AtomicLongArray entradas;
+        private final int mascara;
+        private final Frequencia frequencia;
+
+        Tabela(final int tamanho) {
+
+            entradas = new AtomicLongArray(tamanho);
+            mascara = tamanho - 1;
+            frequencia = new Frequencia(tamanho);
+        }
+
+        /**
+         * @return 1 se válido, 0 se inválido ou -1 se ausente.
+         */
+        int buscar(final long chave) {
+
+            long hash = Numeros.espalhar(chave);
+            frequencia.registrar(hash);
+            int base = (int) hash & mascara & -VIAS;
+            for (int i = base; i < base + VIAS; i++) {
+                long entrada = entradas.get(i);
+                if (entrada >>> 1 == chave) {
+                    return (int) entrada & 1;
+                }
+            }
+            return -1;
+        }
+
+        void guardar(final long chave, final boolean valido) {
+
+            long hash = Numeros.espalhar(chave);
+            long nova = chave << 1 | (valido ? 1 : 0);
+            int base = (int) hash & mascara & -VIAS;
+            frequencia.drenar();
+            int menor = frequencia.estimar(hash);
+            int vitima = -1;
+            long esperada = 0;
+            for (int i = base; i < base + VIAS; i++) {
+
+                long entrada = entradas.get(i);
+                if (entrada == 0) {
+                    if (entradas.compareAndSet(i, 0, nova)) {
+                        return;
+                    }
+                    entrada = entradas.get(i);
+                }
+                if (entrada >>> 1 == chave) {
+                    return;
+                }
+                int estimada = frequencia.estimar(Numeros.espalhar(entrada >>> 1));
+                if (estimada < menor) {
+                    menor = estimada;
+                    vitima = i;
+                    esperada = entrada;
+                }
+            }
+            if (vitima >= 0) {
+                entradas.compareAndSet(vitima, esperada, nova);
+            }
+        }
+
+        void limpar() {
+
+            for (int i = 0; i < entradas.length(); i++) {
+                entradas.set(i, 0);
+            }
+            frequencia.limpar();
+        }
+    }
+
+    /**
+     * Tabela de e-mails, com a String guardada para conferir a chave.
+     */
+    private static final class TabelaEmail {
+
+        private final AtomicReferenceArray<Entrada> entradas;
+        private final int mascara;
+        private final Frequencia frequencia;
+
+        TabelaEmail(final int tamanho) {
+
+            entradas = new AtomicReferenceArray<>(tamanho);
+            mascara = tamanho - 1;
+            frequencia = new Frequencia(tamanho);
+        }
+
+        int buscar(final String email) {
+
+            long hash = Numeros.espalhar(email.hashCode());
+            frequencia.registrar(hash);
+            int base = (int) hash & mascara & -VIAS;
+            for (int i = base; i < base + VIAS; i++) {
+                Entrada entrada = entradas.get(i);
+                if (entrada != null && entrada.hash == hash && entrada.email.equals(email)) {
+                    return entrada.valido ? 1 : 0;
+                }
+            }
+            return -1;
+        }
+
+        void guardar(final String email, final boolean valido) {
+
+            long hash = Numeros.espalhar(email.hashCode());
+            Entrada nova = new Entrada(email, hash, valido);
+            int base = (int) hash & mascara & -VIAS;
+            frequencia.drenar();
+            int menor = frequencia.estimar(hash);
+            int vitima = -1;
+            Entrada esperada = null;
+            for (int i = base; i < base + VIAS; i++) {
+
+                Entrada entrada = entradas.get(i);
+                if (entrada == null) {
+                    if (entradas.compareAndSet(i, null, nova)) {
+                        return;
+                    }
+                    entrada = entradas.get(i);
+                }
+                if (entrada.hash == hash && entrada.email.equals(email)) {
+                    return;
+                }
+                int estimada = frequencia.estimar(entrada.hash);
+                if (estimada < menor) {
+                    menor = estimada;
+                    vitima = i;
+                    esperada = entrada;
+                }
+            }
+            if (vitima >= 0) {
+                entradas.compareAndSet(vitima, esperada, nova);
+            }
+        }
+
+        void limpar() {
+
+            for (int i = 0; i < entradas.length(); i++) {
+                entradas.set(i, null);
+            }
+            frequencia.limpar();
+        }
+    }
+
+    private static final class Entrada {
+
+        final String email;
+        final long hash;
+        final boolean valido;
+
+        Entrada(final String email, final long hash, final boolean valido) {
+
+            this.email = email;
+            this.hash = hash;
+            this.valido = valido;
+        }
+    }
+
+    /**
+     * Sketch count-min com 16 contadores de 4 bits por long.
+     *
+     * Os contadores só são alterados pela thread que drena os buffers de
+     * leitura, de modo que nenhum incremento se perde e as leituras não
+     * disputam as linhas de cache do sketch. Cada faixa de threads tem o
+     * seu buffer; quando ele está cheio a leitura não é anotada, o que só
+     * torna a estimativa um pouco menor.
+     */
+    private static final class Frequencia {
+
+        private static final long[] SEMENTES = {
+            0x97cb3127c4f4d1b7L, 0xc2b2ae3d27d4eb4fL, 0x165667b19e3779f9L, 0x9e3779b97f4a7c15L
+        };
+
+        /**
+         * Faixas de buffers: a potência de 2 acima do número de
+         * processadores, até 64.
+         */
+        private static final int FAIXAS =
+                Math.min(64, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1);
+
+        private final long[] contadores;
+        private final int mascara;
+        private final int amostra;
+        private final Buffer[] buffers = new Buffer[FAIXAS];
+        private final AtomicBoolean drenando = new AtomicBoolean();
+        private int incrementos;
+
+        Frequencia(final int tamanho) {
+
+            contadores = new long[tamanho];
+            mascara = tamanho - 1;
+            amostra = tamanho * 10;
+            for (int i = 0; i < buffers.length; i++) {
+                buffers[i] = new Buffer();
+            }
+        }
+
+        /**
+         * Anota uma leitura no buffer da faixa da thread atual; se o buffer
+         * estiver cheio, tenta drenar todos.
+         */
+        void registrar(final long hash) {
+
+            int faixa = (int) Numeros.espalhar(Thread.currentThread().getId()) & (FAIXAS - 1);
+            if (!buffers[faixa].oferecer(hash)) {
+                drenar();
+            }
+        }
+
+        /**
+         * Aplica ao sketch as leituras anotadas, se nenhuma outra thread já
+         * estiver fazendo isso.
+         */
+        void drenar() {
+
+            if (!drenando.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                for (Buffer buffer : buffers) {
+                    buffer.drenar(this);
+                }
+            } finally {
+                drenando.set(false);
+            }
+        }
+
+        private void incrementar(final long hash) {
+
+            boolean incrementou = false;
+            for (long semente : SEMENTES) {
+
+                long h = hash * semente;
+                int indice = (int) (h >>> 32) & mascara;
+                int deslocamento = ((int) h & 15) << 2;
+                long valor = contadores[indice];
+                if ((valor >>> deslocamento & 15) < 15) {
+                    contadores[indice] = valor + (1L << deslocamento);
+                    incrementou = true;
+                }
+            }
+            if (incrementou && ++incrementos >= amostra) {
+                envelhecer();
+            }
+        }
+
+        int estimar(final long hash) {
+
+            int menor = 15;
+            for (long semente : SEMENTES) {
+
+                long h = hash * semente;
+                int indice = (int) (h >>> 32) & mascara;
+                int deslocamento = ((int) h & 15) << 2;
+                menor = Math.min(menor, (int) (contadores[indice] >>> deslocamento) & 15);
+            }
+            return menor;
+        }
+
+        /**
+         * Divide todos os contadores por 2, para que valores que deixaram de
+         * aparecer percam a prioridade.
+         */
+        private void envelhecer() {
+
+            incrementos = 0;
+            for (int i = 0; i < contadores.length; i++) {
+                contadores[i] = contadores[i] >>> 1 & 0x7777777777777777L;
+            }
+        }
+
+        void limpar() {
+
+            while (!drenando.compareAndSet(false, true)) {
+                Thread.onSpinWait();
+            }
+            try {
+                for (Buffer buffer : buffers) {
+                    buffer.descartar();
+                }
+                Arrays.fill(contadores, 0);
+                incrementos = 0;
+            } finally {
+                drenando.set(false);
+            }
+        }
+    }
+
+    /**
+     * Buffer circular de hashes lidos, com várias threads escrevendo e uma
+     * única thread (a que drena) lendo. 0 marca uma posição ainda não
+     * publicada.
+     */
+    private static final class Buffer {
+
+        private static final int TAMANHO = 32;
+
+        private final AtomicLongArray hashes = new AtomicLongArray(TAMANHO);
+        private final AtomicLong escritos = new AtomicLong();
+        private final AtomicLong lidos = new AtomicLong();
+
+        /**
+         * @return false se o buffer estiver cheio ou disputado; a leitura não
+         * é anotada.
+         */
+        boolean oferecer(final long hash) {
+
+            long posicao = escritos.get();
+            if (posicao - lidos.get() >= TAMANHO) {
+                return false;
+            }
+            if (escritos.compareAndSet(posicao, posicao + 1)) {
+                hashes.lazySet((int) posicao & (TAMANHO - 1), hash == 0 ? 1 : hash);
+            }
+            return true;
+        }
+
+        /**
+         * Aplica as posições publicadas ao sketch. Só é chamado pela thread
+         * que drena.
+         */
+        void drenar(final Frequencia frequencia) {
+
+            long posicao = lidos.get();
+            long fim = escritos.get();
+            for (; posicao < fim; posicao++) {
+
+                int indice = (int) posicao & (TAMANHO - 1);
+                long hash = hashes.get(indice);
+                if (hash == 0) {
+                    // Reservada, mas ainda não publicada.
+                    break;
+                }
+                hashes.lazySet(indice, 0);
+                frequencia.incrementar(hash);
+            }
+            lidos.lazySet(posicao);
+        }
+
+        void descartar() {
+
+            long fim = escritos.get();
+            for (long posicao = lidos.get(); posicao < fim; posicao++) {
+                hashes.lazySet((int) posicao & (TAMANHO - 1), 0);
+            }
+            lidos.lazySet(fim);
+        }
+    }
+}
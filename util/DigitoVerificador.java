@@ -0,0 +1,582 @@
+package util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Classe de cálculo dos dígitos verificadores de CPF e CNPJ.
+ *
+ * Os dígitos são lidos diretamente da sequência, em uma única passada, com
+ * tabelas de pesos fixas e sem alocação. Aceita tanto os dígitos puros
+ * (completados com zeros à esquerda, como em
+ * {@link Validador#preencherDireita(String, char, int)}) quanto o formato
+ * com pontuação ("123.456.789-09", "12.345.678/0001-95").
+ *
+ * O CNPJ também é aceito no formato alfanumérico, em que as 12 primeiras
+ * posições podem ser letras maiúsculas de A a Z ("12.ABC.345/01DE-35"). O
+ * valor de cada posição no cálculo é o código do caractere menos 48
+ * ({@code c - '0'}), o que mantém os dígitos com o valor de sempre e dá às
+ * letras os valores de 17 a 42; os dois dígitos verificadores continuam
+ * numéricos. Os dois formatos são tratados na mesma passada: a letra só é
+ * testada quando o caractere não é dígito.
+ */
+public final class DigitoVerificador {
+
+    /**
+     * Quantidade de dígitos do CPF.
+     */
+    public static final int TAMANHO_CPF = 11;
+
+    /**
+     * Quantidade de dígitos do CNPJ.
+     */
+    public static final int TAMANHO_CNPJ = 14;
+
+    /**
+     * Máscara do CPF formatado, '#' indica um dígito.
+     */
+    static final String MASCARA_CPF = "###.###.###-##";
+
+    /**
+     * Máscara do CNPJ formatado, '#' indica um dígito.
+     */
+    static final String MASCARA_CNPJ = "##.###.###/####-##";
+
+    /**
+     * Maior CPF como número mais 1.
+     */
+    private static final long LIMITE_CPF = 100_000_000_000L;
+
+    /**
+     * Maior CNPJ como número mais 1.
+     */
+    private static final long LIMITE_CNPJ = 100_000_000_000_000L;
+
+    /**
+     * Pesos do segundo dígito do CPF; o primeiro usa a mesma tabela deslocada
+     * de uma posição.
+     */
+    static final int[] PESO_CPF = {11, 10, 9, 8, 7, 6, 5, 4, 3, 2};
+
+    /**
+     * Pesos do segundo dígito do CNPJ (módulo 11 com limite 9); o primeiro
+     * usa a mesma tabela deslocada de uma posição.
+     */
+    static final int[] PESO_CNPJ = {6, 5, 4, 3, 2, 9, 8, 7, 6, 5, 4, 3, 2};
+
+    private DigitoVerificador() {
+        //construtor privado para que a classe não seja instanciada
+    }
+
+    /**
+     * Realiza a validacao do CPF e indica-o se e valido.
+     *
+     * @param cpf CPF com ou sem pontuação.
+     * @return True se o CPF e valido.
+     */
+    public static boolean cpf(final CharSequence cpf) {
+
+        return verificar(cpf, TAMANHO_CPF, PESO_CPF, MASCARA_CPF, false);
+    }
+
+    /**
+     * Realiza a validacao do CNPJ, numérico ou alfanumérico, e indica-o se e
+     * valido.
+     *
+     * @param cnpj CNPJ com ou sem pontuação.
+     * @return True se o CNPJ e valido.
+     */
+    public static boolean cnpj(final CharSequence cnpj) {
+
+        return verificar(cnpj, TAMANHO_CNPJ, PESO_CNPJ, MASCARA_CNPJ, true);
+    }
+
+    /**
+     * Realiza a validacao do CPF gravado em ASCII em um trecho de buffer.
+     *
+     * @param buffer Buffer com o CPF, lido por posição absoluta.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes do campo.
+     * @return True se o CPF e valido.
+     */
+    public static boolean cpf(final ByteBuffer buffer, final int inicio, final int tamanho) {
+
+        return verificar(buffer, inicio, tamanho, TAMANHO_CPF, PESO_CPF, MASCARA_CPF, false);
+    }
+
+    /**
+     * Realiza a validacao do CNPJ, numérico ou alfanumérico, gravado em ASCII
+     * em um trecho de buffer.
+     *
+     * @param buffer Buffer com o CNPJ, lido por posição absoluta.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes do campo.
+     * @return True se o CNPJ e valido.
+     */
+    public static boolean cnpj(final ByteBuffer buffer, final int inicio, final int tamanho) {
+
+        return verificar(buffer, inicio, tamanho, TAMANHO_CNPJ, PESO_CNPJ, MASCARA_CNPJ, true);
+    }
+
+    /**
+     * Realiza a validacao do CPF representado como número, como em uma
+     * coluna BIGINT. Os zeros à esquerda são implícitos.
+     *
+     * @param cpf CPF como número, de 0 a 99999999999.
+     * @return True se o CPF e valido.
+     */
+    public static boolean cpf(final long cpf) {
+
+        return cpf >= 0 && cpf < LIMITE_CPF
+                && digitos(cpf / 100, TAMANHO_CPF, PESO_CPF) == cpf % 100;
+    }
+
+    /**
+     * Realiza a validacao do CNPJ representado como número, como em uma
+     * coluna BIGINT. Os zeros à esquerda são implícitos.
+     *
+     * @param cnpj CNPJ como número, de 0 a 99999999999999.
+     * @return True se o CNPJ e valido.
+     */
+    public static boolean cnpj(final long cnpj) {
+
+        return cnpj >= 0 && cnpj < LIMITE_CNPJ
+                && digitos(cnpj / 100, TAMANHO_CNPJ, PESO_CNPJ) == cnpj % 100;
+    }
+
+    /**
+     * Calcula os dígitos verificadores de um CPF.
+     *
+     * @param base Os 9 primeiros dígitos do CPF como número.
+     * @return Os dois dígitos verificadores como número de 0 a 99.
+     */
+    public static int digitosCpf(final long base) {
+
+        if (base < 0 || base >= LIMITE_CPF / 100) {
+            throw new IllegalArgumentException("Base de CPF inválida: " + base);
+        }
+        return digitos(base, TAMANHO_CPF, PESO_CPF);
+    }
+
+    /**
+     * Calcula os dígitos verificadores de um CNPJ.
+     *
+     * @param base Os 12 primeiros dígitos do CNPJ (raiz e filial) como
+     * número.
+     * @return Os dois dígitos verificadores como número de 0 a 99.
+     */
+    public static int digitosCnpj(final long base) {
+
+        if (base < 0 || base >= LIMITE_CNPJ / 100) {
+            throw new IllegalArgumentException("Base de CNPJ inválida: " + base);
+        }
+        return digitos(base, TAMANHO_CNPJ, PESO_CNPJ);
+    }
+
+    /**
+     * Completa a base de um CPF com os dígitos verificadores.
+     *
+     * @param base Os 9 primeiros dígitos do CPF como número.
+     * @return CPF válido como número.
+     */
+    public static long completarCpf(final long base) {
+
+        return base * 100 + digitosCpf(base);
+    }
+
+    /**
+     * Completa a base de um CNPJ com os dígitos verificadores.
+     *
+     * @param base Os 12 primeiros dígitos do CNPJ (raiz e filial) como
+     * número.
+     * @return CNPJ válido como número.
+     */
+    public static long completarCnpj(final long base) {
+
+        return base * 100 + digitosCnpj(base);
+    }
+
+    /**
+     * Calcula os dígitos verificadores de um CNPJ numérico ou alfanumérico.
+     *
+     * @param base As 12 primeiras posições do CNPJ, dígitos ou letras
+     * maiúsculas, sem pontuação; as que faltam são zeros à esquerda.
+     * @return Os dois dígitos verificadores como número de 0 a 99.
+     * @throws NumberFormatException Se a base tiver outro caractere ou for
+     * longa demais.
+     */
+    public static int digitosCnpj(final CharSequence base) {
+
+        int tamanho = base.length();
+        if (tamanho > TAMANHO_CNPJ - 2) {
+            throw new NumberFormatException("For input string: \"" + base + "\"");
+        }
+        int soma1 = 0;
+        int soma2 = 0;
+        for (int i = 0, posicao = TAMANHO_CNPJ - 2 - tamanho; i < tamanho; i++, posicao++) {
+
+            int d = valorAlfanumerico(base.charAt(i));
+            if (d < 0) {
+                throw new NumberFormatException("For input string: \"" + base + "\"");
+            }
+            soma1 += d * PESO_CNPJ[posicao + 1];
+            soma2 += d * PESO_CNPJ[posicao];
+        }
+        int dv1 = digito(soma1);
+        return dv1 * 10 + digito(soma2 + dv1 * PESO_CNPJ[TAMANHO_CNPJ - 2]);
+    }
+
+    /**
+     * Calcula os dígitos verificadores das 12 primeiras posições de um CNPJ
+     * alfanumérico gravado em ASCII.
+     *
+     * @return Os dois dígitos verificadores como número de 0 a 99.
+     */
+    static int digitosCnpj(final byte[] base, final int inicio) {
+
+        int soma1 = 0;
+        int soma2 = 0;
+        for (int posicao = 0; posicao < TAMANHO_CNPJ - 2; posicao++) {
+
+            int d = base[inicio + posicao] - '0';
+            soma1 += d * PESO_CNPJ[posicao + 1];
+            soma2 += d * PESO_CNPJ[posicao];
+        }
+        int dv1 = digito(soma1);
+        return dv1 * 10 + digito(soma2 + dv1 * PESO_CNPJ[TAMANHO_CNPJ - 2]);
+    }
+
+    /**
+     * Completa a base de um CNPJ numérico ou alfanumérico com os dígitos
+     * verificadores.
+     *
+     * @param base As 12 primeiras posições do CNPJ, dígitos ou letras
+     * maiúsculas, sem pontuação; as que faltam são zeros à esquerda.
+     * @return CNPJ válido com 14 posições.
+     * @throws NumberFormatException Se a base tiver outro caractere ou for
+     * longa demais.
+     */
+    public static String completarCnpj(final CharSequence base) {
+
+        int dv = digitosCnpj(base);
+        char[] texto = new char[TAMANHO_CNPJ];
+        int zeros = TAMANHO_CNPJ - 2 - base.length();
+        for (int i = 0; i < TAMANHO_CNPJ - 2; i++) {
+            texto[i] = i < zeros ? '0' : base.charAt(i - zeros);
+        }
+        texto[TAMANHO_CNPJ - 2] = (char) ('0' + dv / 10);
+        texto[TAMANHO_CNPJ - 1] = (char) ('0' + dv % 10);
+        return new String(texto);
+    }
+
+    /**
+     * Calcula o dígito verificador de módulo 11 de uma sequência de dígitos,
+     * como {@link Validador#modulo11(String, int)}. Letras maiúsculas valem
+     * {@code c - '0'}, como no CNPJ alfanumérico.
+     *
+     * @param digitos Dígitos sobre os quais o dígito é calculado.
+     * @param limite Maior peso antes de reiniciar em 2, ou 0 para sem limite.
+     * @return Dígito verificador, de 0 a 9.
+     * @throws NumberFormatException Se houver um caractere que não é dígito
+     * nem letra maiúscula.
+     */
+    public static int modulo11(final CharSequence digitos, final int limite) {
+
+        int total = 0;
+        int fator = 2;
+        for (int i = digitos.length() - 1; i >= 0; i--) {
+
+            if (limite != 0 && fator > limite) {
+                fator = 2;
+            }
+            int d = valorAlfanumerico(digitos.charAt(i));
+            if (d < 0) {
+                throw new NumberFormatException("For input string: \""
+                        + digitos.charAt(i) + "\"");
+            }
+            total += d * fator++;
+        }
+        return digito(total);
+    }
+
+    /**
+     * @param cnpj CNPJ como número.
+     * @return Raiz do CNPJ (8 primeiros dígitos), que identifica a empresa.
+     */
+    public static int raizCnpj(final long cnpj) {
+
+        return (int) (cnpj / 1_000_000L);
+    }
+
+    /**
+     * @param cnpj CNPJ como número.
+     * @return Número do estabelecimento (dígitos 9 a 12), 1 para a matriz.
+     */
+    public static int filialCnpj(final long cnpj) {
+
+        return (int) (cnpj / 100 % 10_000);
+    }
+
+    /**
+     * Converte um CPF em dígitos puros ou formatado para número, sem
+     * validar os dígitos verificadores.
+     *
+     * @param cpf CPF com até 11 dígitos ou no formato "###.###.###-##".
+     * @return CPF como número, ou -1 se o texto não estiver em um dos
+     * formatos.
+     */
+    public static long cpfParaLong(final CharSequence cpf) {
+
+        return paraLong(cpf, TAMANHO_CPF, MASCARA_CPF);
+    }
+
+    /**
+     * Converte um CNPJ em dígitos puros ou formatado para número, sem
+     * validar os dígitos verificadores.
+     *
+     * @param cnpj CNPJ com até 14 dígitos ou no formato
+     * "##.###.###/####-##".
+     * @return CNPJ como número, ou -1 se o texto não estiver em um dos
+     * formatos ou for alfanumérico.
+     */
+    public static long cnpjParaLong(final CharSequence cnpj) {
+
+        return paraLong(cnpj, TAMANHO_CNPJ, MASCARA_CNPJ);
+    }
+
+    /**
+     * @param cpf CPF como número.
+     * @return CPF com 11 dígitos, completado com zeros à esquerda.
+     */
+    public static String textoCpf(final long cpf) {
+
+        return texto(cpf, TAMANHO_CPF, null);
+    }
+
+    /**
+     * @param cnpj CNPJ como número.
+     * @return CNPJ com 14 dígitos, completado com zeros à esquerda.
+     */
+    public static String textoCnpj(final long cnpj) {
+
+        return texto(cnpj, TAMANHO_CNPJ, null);
+    }
+
+    /**
+     * @param cpf CPF como número.
+     * @return CPF no formato "###.###.###-##".
+     */
+    public static String formatarCpf(final long cpf) {
+
+        return texto(cpf, TAMANHO_CPF, MASCARA_CPF);
+    }
+
+    /**
+     * @param cnpj CNPJ como número.
+     * @return CNPJ no formato "##.###.###/####-##".
+     */
+    public static String formatarCnpj(final long cnpj) {
+
+        return texto(cnpj, TAMANHO_CNPJ, MASCARA_CNPJ);
+    }
+
+    /**
+     * Lê os dígitos puros (completados com zeros à esquerda) ou no formato
+     * exato da máscara.
+     *
+     * @return Valor dos dígitos, ou -1 se o campo não estiver em um dos
+     * formatos.
+     */
+    static long paraLong(final CharSequence campo, final int digitos, final String mascara) {
+
+        if (campo == null) {
+            return -1;
+        }
+        int tamanho = campo.length();
+        boolean formatado = tamanho == mascara.length();
+        if (tamanho == 0 || (tamanho > digitos && !formatado)) {
+            return -1;
+        }
+        long valor = 0;
+        for (int i = 0; i < tamanho; i++) {
+
+            char c = campo.charAt(i);
+            if (formatado && mascara.charAt(i) != '#') {
+                if (c != mascara.charAt(i)) {
+                    return -1;
+                }
+                continue;
+            }
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            valor = valor * 10 + (c - '0');
+        }
+        return valor;
+    }
+
+    /**
+     * Escreve os dígitos da direita para a esquerda, pulando a pontuação da
+     * máscara quando houver.
+     */
+    private static String texto(final long valor, final int digitos, final String mascara) {
+
+        if (valor < 0 || valor >= (digitos == TAMANHO_CPF ? LIMITE_CPF : LIMITE_CNPJ)) {
+            throw new IllegalArgumentException("Valor fora da faixa: " + valor);
+        }
+        char[] texto = mascara == null ? new char[digitos] : mascara.toCharArray();
+        long resto = valor;
+        for (int i = texto.length - 1; i >= 0; i--) {
+            if (mascara == null || texto[i] == '#') {
+                texto[i] = (char) ('0' + resto % 10);
+                resto /= 10;
+            }
+        }
+        return new String(texto);
+    }
+
+    /**
+     * Calcula os dois dígitos verificadores a partir dos dígitos da base,
+     * extraídos da direita para a esquerda.
+     *
+     * @return Dígitos verificadores como número de 0 a 99.
+     */
+    private static int digitos(final long base, final int digitos, final int[] peso) {
+
+        long resto = base;
+        int soma1 = 0;
+        int soma2 = 0;
+        for (int i = digitos - 3; i >= 0; i--) {
+
+            int d = (int) (resto % 10);
+            resto /= 10;
+            soma1 += d * peso[i + 1];
+            soma2 += d * peso[i];
+        }
+        int dv1 = digito(soma1);
+        return dv1 * 10 + digito(soma2 + dv1 * peso[digitos - 2]);
+    }
+
+    /**
+     * @return Valor de um dígito ou letra maiúscula no cálculo do CNPJ
+     * alfanumérico ({@code c - '0'}), ou -1 para outros caracteres.
+     */
+    static int valorAlfanumerico(final char c) {
+
+        return (c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z') ? c - '0' : -1;
+    }
+
+    /**
+     * Converte a soma ponderada no dígito verificador do módulo 11.
+     *
+     * @param soma Soma dos dígitos multiplicados pelos pesos.
+     * @return Dígito verificador, 0 quando o resto for 0 ou 1.
+     */
+    static int digito(final int soma) {
+
+        int dv = 11 - soma % 11;
+        return dv > 9 ? 0 : dv;
+    }
+
+    /**
+     * Calcula as duas somas ponderadas em uma única passada e compara os dois
+     * últimos dígitos com os dígitos verificadores. Com {@code alfanumerico},
+     * as posições antes dos verificadores também aceitam letras maiúsculas.
+     */
+    private static boolean verificar(final CharSequence campo, final int digitos,
+            final int[] peso, final String mascara, final boolean alfanumerico) {
+
+        if (campo == null) {
+            return false;
+        }
+        int tamanho = campo.length();
+        boolean formatado = tamanho == mascara.length();
+        if (tamanho == 0 || (!formatado && tamanho > digitos)) {
+            return false;
+        }
+
+        // Sem pontuação, os dígitos que faltam são zeros à esquerda e não
+        // alteram as somas.
+        int posicao = formatado ? 0 : digitos - tamanho;
+        int maximo = alfanumerico ? 'Z' - '0' : 9;
+        int soma1 = 0;
+        int soma2 = 0;
+        int dv1 = 0;
+        int dv2 = 0;
+        for (int i = 0; i < tamanho; i++) {
+
+            char c = campo.charAt(i);
+            if (formatado && mascara.charAt(i) != '#') {
+                if (c != mascara.charAt(i)) {
+                    return false;
+                }
+                continue;
+            }
+            // Dígitos valem de 0 a 9 e letras de 17 a 42, só antes dos
+            // verificadores do CNPJ; os símbolos entre '9' e 'A' ficam fora.
+            int d = c - '0';
+            if (d < 0 || d > (posicao < digitos - 2 ? maximo : 9) || (d > 9 && d < 'A' - '0')) {
+                return false;
+            }
+            if (posicao < digitos - 2) {
+                soma1 += d * peso[posicao + 1];
+                soma2 += d * peso[posicao];
+            } else if (posicao == digitos - 2) {
+                dv1 = d;
+                soma2 += d * peso[posicao];
+            } else {
+                dv2 = d;
+            }
+            posicao++;
+        }
+        return dv1 == digito(soma1) && dv2 == digito(soma2);
+    }
+
+    /**
+     * Mesmo algoritmo de
+     * {@link #verificar(CharSequence, int, int[], String, boolean)} sobre
+     * bytes ASCII.
+     */
+    private static boolean verificar(final ByteBuffer buffer, final int inicio,
+            final int tamanho, final int digitos, final int[] peso, final String mascara,
+            final boolean alfanumerico) {
+
+        boolean formatado = tamanho == mascara.length();
+        if (tamanho <= 0 || (!formatado && tamanho > digitos)) {
+            return false;
+        }
+
+        int posicao = formatado ? 0 : digitos - tamanho;
+        int maximo = alfanumerico ? 'Z' - '0' : 9;
+        int soma1 = 0;
+        int soma2 = 0;
+        int dv1 = 0;
+        int dv2 = 0;
+        for (int i = 0; i < tamanho; i++) {
+
+            int c = buffer.get(inicio + i);
+            if (formatado && mascara.charAt(i) != '#') {
+                if (c != mascara.charAt(i)) {
+                    return false;
+                }
+                continue;
+            }
+            // Dígitos valem de 0 a 9 e letras de 17 a 42, só antes dos
+            // verificadores do CNPJ; os símbolos entre '9' e 'A' ficam fora.
+            int d = c - '0';
+            if (d < 0 || d > (posicao < digitos - 2 ? maximo : 9) || (d > 9 && d < 'A' - '0')) {
+                return false;
+            }
+            if (posicao < digitos - 2) {
+                soma1 += d * peso[posicao + 1];
+                soma2 += d * peso[posicao];
+            } else if (posicao == digitos - 2) {
+                dv1 = d;
+                soma2 += d * peso[posicao];
+            } else {
+                dv2 = d;
+            }
+            posicao++;
+        }
+        return dv1 == digito(soma1) && dv2 == digito(soma2);
+    }
+}
@@ -0,0 +1,191 @@
+package util;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Implementações da varredura de classes de caracteres sobre blocos de
+ * bytes ASCII, usadas por {@link EscaneadorCaracteres} em campos longos.
+ *
+ * {@link #SWAR} lê 8 bytes por vez em um long e testa as 8 posições de uma
+ * só vez com aritmética de bits (SIMD dentro de um registrador). O
+ * resultado é idêntico ao de {@link #ESCALAR}, que consulta a tabela de
+ * classes byte a byte.
+ *
+ * A implementação usada é escolhida na partida pela propriedade
+ * {@code -Dutil.escaneamento=escalar|swar}; o padrão é {@link #SWAR}.
+ */
+public enum EscaneadorBlocos {
+
+    /**
+     * Consulta a tabela de classes byte a byte.
+     */
+    ESCALAR {
+        @Override
+        boolean somente(final byte[] dados, final int inicio, final int tamanho, final int classe) {
+
+            return somenteEscalar(dados, inicio, inicio + tamanho, classe);
+        }
+
+        @Override
+        boolean somente(final ByteBuffer buffer, final int inicio, final int tamanho, final int classe) {
+
+            return somenteEscalar(buffer, inicio, inicio + tamanho, classe);
+        }
+    },
+
+    /**
+     * Testa 8 bytes por vez em um long.
+     */
+    SWAR {
+        @Override
+        boolean somente(final byte[] dados, final int inicio, final int tamanho, final int classe) {
+
+            int i = inicio;
+            int fim = inicio + tamanho;
+            for (; i <= fim - Long.BYTES; i += Long.BYTES) {
+                if (!palavra((long) LONGS.get(dados, i), classe)) {
+                    return false;
+                }
+            }
+            return somenteEscalar(dados, i, fim, classe);
+        }
+
+        @Override
+        boolean somente(final ByteBuffer buffer, final int inicio, final int tamanho, final int classe) {
+
+            int i = inicio;
+            int fim = inicio + tamanho;
+            for (; i <= fim - Long.BYTES; i += Long.BYTES) {
+                // A ordem dos bytes não importa: todas as posições são testadas.
+                if (!palavra(buffer.getLong(i), classe)) {
+                    return false;
+                }
+            }
+            return somenteEscalar(buffer, i, fim, classe);
+        }
+    };
+
+    /**
+     * Implementação escolhida na partida.
+     */
+    public static final EscaneadorBlocos SELECIONADO =
+            "escalar".equalsIgnoreCase(System.getProperty("util.escaneamento")) ? ESCALAR : SWAR;
+
+    private static final VarHandle LONGS =
+            MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+    private static final long UNS = 0x0101010101010101L;
+    private static final long ALTOS = 0x8080808080808080L;
+    private static final long MINUSCULA = 0x2020202020202020L;
+
+    /**
+     * Testa se todos os bytes do trecho pertencem à classe, com os valores
+     * de {@link EscaneadorCaracteres}.
+     */
+    abstract boolean somente(byte[] dados, int inicio, int tamanho, int classe);
+
+    /**
+     * Testa se todos os bytes do trecho do buffer, lido por posição
+     * absoluta, pertencem à classe.
+     */
+    abstract boolean somente(ByteBuffer buffer, int inicio, int tamanho, int classe);
+
+    /**
+     * Testa se o trecho contém somente dígitos ASCII.
+     *
+     * @param dados Bytes a serem testados.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes.
+     * @return true se o conteúdo for composto somente por dígitos.
+     */
+    public boolean inteiro(final byte[] dados, final int inicio, final int tamanho) {
+
+        return somente(dados, inicio, tamanho, EscaneadorCaracteres.DIGITO);
+    }
+
+    /**
+     * Testa se o trecho contém somente dígitos hexadecimais ASCII.
+     *
+     * @param dados Bytes a serem testados.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes.
+     * @return true se o conteúdo for hexadecimal.
+     */
+    public boolean hexa(final byte[] dados, final int inicio, final int tamanho) {
+
+        return somente(dados, inicio, tamanho, EscaneadorCaracteres.HEXA);
+    }
+
+    /**
+     * Testa se o trecho contém somente letras e espaços ASCII.
+     *
+     * @param dados Bytes a serem testados.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes.
+     * @return true se o conteúdo for composto somente por letras.
+     */
+    public boolean alfabetico(final byte[] dados, final int inicio, final int tamanho) {
+
+        return somente(dados, inicio, tamanho, EscaneadorCaracteres.ALFABETICO);
+    }
+
+    /**
+     * Testa os 8 bytes de uma palavra. Cada byte é uma faixa independente:
+     * como todos estão abaixo de 0x80, as somas não transbordam para o
+     * byte vizinho.
+     */
+    static boolean palavra(final long x, final int classe) {
+
+        if ((x & ALTOS) != 0) {
+            return false;
+        }
+        long atende;
+        if (classe == EscaneadorCaracteres.DIGITO) {
+            atende = faixa(x, '0', '9');
+        } else if (classe == EscaneadorCaracteres.HEXA) {
+            atende = faixa(x, '0', '9') | faixa(x | MINUSCULA, 'a', 'f');
+        } else {
+            // [a-zA-Z], [\t\n\x0B\f\r] e ' '
+            atende = faixa(x | MINUSCULA, 'a', 'z') | faixa(x, '\t', '\r') | faixa(x, ' ', ' ');
+        }
+        return atende == ALTOS;
+    }
+
+    /**
+     * Marca com o bit alto cada byte entre {@code de} e {@code ate},
+     * inclusive. Os bytes devem estar abaixo de 0x80.
+     */
+    private static long faixa(final long x, final int de, final int ate) {
+
+        return (x + (0x80 - de) * UNS) & ~(x + (0x7F - ate) * UNS) & ALTOS;
+    }
+
+    private static boolean somenteEscalar(final byte[] dados, final int inicio, final int fim,
+            final int classe) {
+
+        for (int i = inicio; i < fim; i++) {
+
+            int c = dados[i];
+            if (c < 0 || (EscaneadorCaracteres.CLASSES[c] & classe) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean somenteEscalar(final ByteBuffer buffer, final int inicio, final int fim,
+            final int classe) {
+
+        for (int i = inicio; i < fim; i++) {
+
+            int c = buffer.get(i);
+            if (c < 0 || (EscaneadorCaracteres.CLASSES[c] & classe) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,297 @@
+package util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Classe de varredura de classes de caracteres sem alocação.
+ *
+ * Substitui as expressões regulares simples de {@link Validador} por uma
+ * tabela de classes indexada pelo código do caractere. Em bytes ASCII, os
+ * campos a partir de {@link #LIMIAR_BLOCOS} bytes são varridos pela
+ * implementação de {@link EscaneadorBlocos} escolhida na partida.
+ *
+ * As sequências de caracteres, inclusive String, são sempre varridas
+ * caractere a caractere: a String não expõe os seus bytes sem uma cópia, e
+ * copiar o campo custa tanto quanto varrê-lo. Campos longos que chegam em
+ * bytes devem usar as variantes de byte[] ou ByteBuffer.
+ */
+public final class EscaneadorCaracteres {
+
+    /**
+     * Classe de caractere [0-9].
+     */
+    static final int DIGITO = 1;
+
+    /**
+     * Classe de caractere [0-9a-fA-F].
+     */
+    static final int HEXA = 2;
+
+    /**
+     * Classe de caractere [a-zA-Z\s].
+     */
+    static final int ALFABETICO = 4;
+
+    /**
+     * Classe do caractere '.', usado pelo número real.
+     */
+    static final int PONTO = 8;
+
+    /**
+     * Tamanho a partir do qual os campos em bytes são varridos em blocos de
+     * 8 bytes. Com exatamente 8 bytes os blocos já são mais rápidos, mas entre
+     * 9 e 15 a sobra é testada byte a byte e o ganho some; a partir de 16 eles
+     * são sempre mais rápidos (veja benchmark/BenchmarkEscaneamento).
+     */
+    static final int LIMIAR_BLOCOS = 16;
+
+    /**
+     * Tabela de classes dos caracteres ASCII.
+     */
+    static final byte[] CLASSES = new byte[128];
+
+    static {
+        for (char c = '0'; c <= '9'; c++) {
+            CLASSES[c] = DIGITO | HEXA;
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            CLASSES[c] = ALFABETICO;
+            CLASSES[c - 'a' + 'A'] = ALFABETICO;
+        }
+        for (char c = 'a'; c <= 'f'; c++) {
+            CLASSES[c] |= HEXA;
+            CLASSES[c - 'a' + 'A'] |= HEXA;
+        }
+        // Equivalente a \s: [ \t\n\x0B\f\r]
+        CLASSES[' '] = ALFABETICO;
+        CLASSES['\t'] = ALFABETICO;
+        CLASSES['\n'] = ALFABETICO;
+        CLASSES[0x0B] = ALFABETICO;
+        CLASSES['\f'] = ALFABETICO;
+        CLASSES['\r'] = ALFABETICO;
+        CLASSES['.'] = PONTO;
+    }
+
+    private EscaneadorCaracteres() {
+        //construtor privado para que a classe não seja instanciada
+    }
+
+    /**
+     * Retorna a classe de um caractere.
+     *
+     * @param c Caractere a ser classificado.
+     * @return Combinação das classes do caractere, ou 0 se não for ASCII.
+     */
+    static int classe(final int c) {
+
+        return c < 128 ? CLASSES[c] : 0;
+    }
+
+    /**
+     * Testa se todos os caracteres pertencem à classe informada.
+     *
+     * @param campo Sequência a ser testada.
+     * @param mascara Classe esperada.
+     * @return true se todos os caracteres pertencerem à classe.
+     */
+    private static boolean somente(final CharSequence campo, final int mascara) {
+
+        for (int i = 0, tamanho = campo.length(); i < tamanho; i++) {
+
+            char c = campo.charAt(i);
+            if (c >= 128 || (CLASSES[c] & mascara) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Testa se a sequência contém somente dígitos, como "[0-9]*".
+     *
+     * @param campo Sequência a ser testada.
+     * @return true se o conteúdo for composto somente por dígitos.
+     */
+    public static boolean inteiro(final CharSequence campo) {
+
+        return somente(campo, DIGITO);
+    }
+
+    /**
+     * Testa se a sequência contém somente dígitos hexadecimais, como
+     * "[0-9a-fA-F]*".
+     *
+     * @param campo Sequência a ser testada.
+     * @return true se o conteúdo for hexadecimal.
+     */
+    public static boolean hexa(final CharSequence campo) {
+
+        return somente(campo, HEXA);
+    }
+
+    /**
+     * Testa se a sequência contém somente letras e espaços, como
+     * "[a-zA-Z\s]*".
+     *
+     * @param campo Sequência a ser testada.
+     * @return true se o conteúdo for composto somente por letras.
+     */
+    public static boolean alfabetico(final CharSequence campo) {
+
+        return somente(campo, ALFABETICO);
+    }
+
+    /**
+     * Testa se a sequência contém um número real, como "[0-9]*\.[0-9]*".
+     *
+     * @param campo Sequência a ser testada.
+     * @return true se o conteúdo tiver exatamente um ponto e o restante dígitos.
+     */
+    public static boolean real(final CharSequence campo) {
+
+        boolean ponto = false;
+        for (int i = 0, tamanho = campo.length(); i < tamanho; i++) {
+
+            char c = campo.charAt(i);
+            if (c == '.') {
+                if (ponto) {
+                    return false;
+                }
+                ponto = true;
+            } else if (c >= 128 || (CLASSES[c] & DIGITO) == 0) {
+                return false;
+            }
+        }
+        return ponto;
+    }
+
+    private static boolean somente(final ByteBuffer buffer, final int inicio,
+            final int tamanho, final int mascara) {
+
+        if (tamanho >= LIMIAR_BLOCOS) {
+            return EscaneadorBlocos.SELECIONADO.somente(buffer, inicio, tamanho, mascara);
+        }
+        for (int i = inicio, fim = inicio + tamanho; i < fim; i++) {
+
+            int c = buffer.get(i);
+            if (c < 0 || (CLASSES[c] & mascara) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean somente(final byte[] dados, final int inicio,
+            final int tamanho, final int mascara) {
+
+        if (tamanho >= LIMIAR_BLOCOS) {
+            return EscaneadorBlocos.SELECIONADO.somente(dados, inicio, tamanho, mascara);
+        }
+        return EscaneadorBlocos.ESCALAR.somente(dados, inicio, tamanho, mascara);
+    }
+
+    /**
+     * Testa se o trecho do vetor contém somente dígitos ASCII.
+     *
+     * @param dados Bytes a serem testados.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes do campo.
+     * @return true se o conteúdo for composto somente por dígitos.
+     */
+    public static boolean inteiro(final byte[] dados, final int inicio, final int tamanho) {
+
+        return somente(dados, inicio, tamanho, DIGITO);
+    }
+
+    /**
+     * Testa se o trecho do vetor contém somente dígitos hexadecimais ASCII,
+     * como um blob codificado em hexadecimal.
+     *
+     * @param dados Bytes a serem testados.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes do campo.
+     * @return true se o conteúdo for hexadecimal.
+     */
+    public static boolean hexa(final byte[] dados, final int inicio, final int tamanho) {
+
+        return somente(dados, inicio, tamanho, HEXA);
+    }
+
+    /**
+     * Testa se o trecho do vetor contém somente letras e espaços ASCII.
+     *
+     * @param dados Bytes a serem testados.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes do campo.
+     * @return true se o conteúdo for composto somente por letras.
+     */
+    public static boolean alfabetico(final byte[] dados, final int inicio, final int tamanho) {
+
+        return somente(dados, inicio, tamanho, ALFABETICO);
+    }
+
+    /**
+     * Testa se o trecho do buffer contém somente dígitos ASCII.
+     *
+     * @param buffer Buffer lido por posição absoluta.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes do campo.
+     * @return true se o conteúdo for composto somente por dígitos.
+     */
+    public static boolean inteiro(final ByteBuffer buffer, final int inicio, final int tamanho) {
+
+        return somente(buffer, inicio, tamanho, DIGITO);
+    }
+
+    /**
+     * Testa se o trecho do buffer contém somente dígitos hexadecimais ASCII.
+     *
+     * @param buffer Buffer lido por posição absoluta.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes do campo.
+     * @return true se o conteúdo for hexadecimal.
+     */
+    public static boolean hexa(final ByteBuffer buffer, final int inicio, final int tamanho) {
+
+        return somente(buffer, inicio, tamanho, HEXA);
+    }
+
+    /**
+     * Testa se o trecho do buffer contém somente letras e espaços ASCII.
+     *
+     * @param buffer Buffer lido por posição absoluta.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes do campo.
+     * @return true se o conteúdo for composto somente por letras.
+     */
+    public static boolean alfabetico(final ByteBuffer buffer, final int inicio, final int tamanho) {
+
+        return somente(buffer, inicio, tamanho, ALFABETICO);
+    }
+
+    /**
+     * Testa se o trecho do buffer contém um número real ASCII.
+     *
+     * @param buffer Buffer lido por posição absoluta.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes do campo.
+     * @return true se o conteúdo tiver exatamente um ponto e o restante dígitos.
+     */
+    public static boolean real(final ByteBuffer buffer, final int inicio, final int tamanho) {
+
+        boolean ponto = false;
+        for (int i = inicio, fim = inicio + tamanho; i < fim; i++) {
+
+            int c = buffer.get(i);
+            if (c == '.') {
+                if (ponto) {
+                    return false;
+                }
+                ponto = true;
+            } else if (c < 0 || (CLASSES[c] & DIGITO) == 0) {
+                return false;
+            }
+        }
+        return ponto;
+    }
+}
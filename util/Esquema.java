@@ -0,0 +1,203 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Declaração dos campos de um registro e das restrições de cada campo.
+ *
+ * Depois de declarado, o esquema é compilado em um {@link ValidadorEsquema},
+ * que valida cada campo com uma única varredura do valor:
+ *
+ * <pre>
+ * Esquema esquema = new Esquema();
+ * esquema.campo("documento").obrigatorio().maxChars(14).cpf();
+ * esquema.campo("nome").minChars(3).alfabetico();
+ * esquema.campo("nascimento").data("dd/MM/yyyy");
+ * ValidadorEsquema validador = esquema.compilar();
+ * </pre>
+ *
+ * Um campo vazio só é verificado pela restrição {@link Restricao#OBRIGATORIO};
+ * se ela não for declarada, o campo vazio é aceito.
+ */
+public final class Esquema {
+
+    private final List<Campo> campos = new ArrayList<>();
+
+    /**
+     * Declara o próximo campo do registro.
+     *
+     * @param nome Nome do campo, usado nos relatórios.
+     * @return Campo para a declaração das restrições.
+     */
+    public Campo campo(final String nome) {
+
+        Campo campo = new Campo(nome);
+        campos.add(campo);
+        return campo;
+    }
+
+    /**
+     * Compila o esquema. Alterações posteriores no esquema não afetam o
+     * validador compilado.
+     *
+     * @return Validador imutável, que pode ser compartilhado entre threads.
+     */
+    public ValidadorEsquema compilar() {
+
+        if (campos.isEmpty()) {
+            throw new IllegalStateException("Nenhum campo declarado.");
+        }
+        String[] nomes = new String[campos.size()];
+        int[] restricoes = new int[campos.size()];
+        int[] minimos = new int[campos.size()];
+        int[] maximos = new int[campos.size()];
+        String[] mascaras = new String[campos.size()];
+        for (int i = 0; i < campos.size(); i++) {
+
+            Campo campo = campos.get(i);
+            nomes[i] = campo.nome;
+            restricoes[i] = campo.restricoes;
+            minimos[i] = campo.minimo;
+            maximos[i] = campo.maximo;
+            mascaras[i] = campo.mascara;
+        }
+        return new ValidadorEsquema(nomes, restricoes, minimos, maximos, mascaras);
+    }
+
+    /**
+     * Restrições declaradas para um campo.
+     */
+    public static final class Campo {
+
+        private final String nome;
+        private int restricoes;
+        private int minimo;
+        private int maximo;
+        private String mascara;
+
+        private Campo(final String nome) {
+
+            this.nome = nome;
+        }
+
+        private Campo adicionar(final Restricao restricao) {
+
+            restricoes |= restricao.bit();
+            return this;
+        }
+
+        /**
+         * @return Este campo.
+         */
+        public Campo obrigatorio() {
+
+            return adicionar(Restricao.OBRIGATORIO);
+        }
+
+        /**
+         * @param qtde Quantidade mínima de caracteres.
+         * @return Este campo.
+         */
+        public Campo minChars(final int qtde) {
+
+            minimo = qtde;
+            return adicionar(Restricao.MIN_CHARS);
+        }
+
+        /**
+         * @param qtde Quantidade máxima de caracteres.
+         * @return Este campo.
+         */
+        public Campo maxChars(final int qtde) {
+
+            maximo = qtde;
+            return adicionar(Restricao.MAX_CHARS);
+        }
+
+        /**
+         * @return Este campo.
+         */
+        public Campo inteiro() {
+
+            return adicionar(Restricao.INTEIRO);
+        }
+
+        /**
+         * @return Este campo.
+         */
+        public Campo numero() {
+
+            return adicionar(Restricao.NUMERO);
+        }
+
+        /**
+         * @return Este campo.
+         */
+        public Campo hexa() {
+
+            return adicionar(Restricao.HEXA);
+        }
+
+        /**
+         * @return Este campo.
+         */
+        public Campo real() {
+
+            return adicionar(Restricao.REAL);
+        }
+
+        /**
+         * @return Este campo.
+         */
+        public Campo alfabetico() {
+
+            return adicionar(Restricao.ALFABETICO);
+        }
+
+        /**
+         * @return Este campo.
+         */
+        public Campo email() {
+
+            return adicionar(Restricao.EMAIL);
+        }
+
+        /**
+         * @return Este campo.
+         */
+        public Campo cpf() {
+
+            return adicionar(Restricao.CPF);
+        }
+
+        /**
+         * @return Este campo.
+         */
+        public Campo cnpj() {
+
+            return adicionar(Restricao.CNPJ);
+        }
+
+        /**
+         * @return Este campo.
+         */
+        public Campo gtin() {
+
+            return adicionar(Restricao.GTIN);
+        }
+
+        /**
+         * @param formato Formato da data, como em {@link Validador#data}.
+         * @return Este campo.
+         */
+        public Campo data(final String formato) {
+
+            if (Validador.vazio(formato)) {
+                throw new IllegalArgumentException("Informe a máscara da data.");
+            }
+            mascara = formato;
+            return adicionar(Restricao.DATA);
+        }
+    }
+}
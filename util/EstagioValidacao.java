@@ -0,0 +1,452 @@
+package util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Estágio de validação não bloqueante para fluxos reativos
+ * ({@link java.util.concurrent.Flow}).
+ *
+ * O estágio assina um publicador de registros, aplica a regra a cada um e
+ * publica os registros em lotes em duas saídas separadas: {@link #validos()}
+ * e {@link #invalidos()}. Um lote é publicado quando atinge o tamanho
+ * configurado ou, se incompleto, a cada intervalo de tempo.
+ *
+ * A demanda é repassada ao publicador de origem: só são pedidos os registros
+ * que cabem na demanda das duas saídas mais um lote de folga em cada uma,
+ * de modo que o buffer do estágio é sempre limitado. Cada saída aceita um
+ * único assinante; a origem só é consumida depois que as duas saídas forem
+ * assinadas.
+ *
+ * O estado é protegido pelo monitor do estágio, mas nenhum sinal é emitido
+ * com o monitor tomado: os sinais para os assinantes e os pedidos à origem
+ * são emitidos, um de cada vez, pela thread que estiver drenando o estágio.
+ * Enquanto um assinante lento processa um lote, as outras threads (a
+ * origem, o temporizador ou o assinante da outra saída pedindo demanda) não
+ * esperam por ele: registram o trabalho e retornam, e a thread que está
+ * drenando o atende em seguida.
+ *
+ * Uma exceção da regra não chega à origem: o estágio cancela a assinatura
+ * da origem e encerra as duas saídas com onError. Um assinante que lança
+ * exceção em um sinal é tratado como se tivesse cancelado a sua saída.
+ *
+ * @param <T> Tipo dos registros.
+ */
+public final class EstagioValidacao<T> implements Flow.Subscriber<T> {
+
+    /**
+     * Lotes de folga mantidos além da demanda de cada saída.
+     */
+    private static final int LOTES_FOLGA = 1;
+
+    private final Predicate<? super T> regra;
+    private final int tamanhoLote;
+    private final long intervalo;
+    private final ScheduledExecutorService agendador;
+    private final Saida validos = new Saida();
+    private final Saida invalidos = new Saida();
+
+    /**
+     * Quantidade de pedidos de drenagem ainda não atendidos; só a thread que
+     * o eleva de 0 drena o estágio.
+     */
+    private final AtomicInteger trabalho = new AtomicInteger();
+
+    private ScheduledFuture<?> temporizador;
+    private Flow.Subscription origem;
+    private long pendentes;
+    private boolean concluido;
+    private boolean cancelarOrigem;
+    private Throwable erro;
+
+    /**
+     * @param regra Regra aplicada a cada registro, por exemplo
+     * {@code Regra.CPF::testar}.
+     * @param tamanhoLote Quantidade máxima de registros por lote.
+     * @param intervalo Intervalo, em milissegundos, para publicar lotes
+     * incompletos.
+     * @param agendador Executor do temporizador dos lotes incompletos,
+     * iniciado quando a origem é assinada.
+     */
+    public EstagioValidacao(final Predicate<? super T> regra, final int tamanhoLote,
+            final long intervalo, final ScheduledExecutorService agendador) {
+
+        if (tamanhoLote <= 0 || intervalo <= 0) {
+            throw new IllegalArgumentException("Tamanho do lote e intervalo devem ser positivos.");
+        }
+        this.regra = Objects.requireNonNull(regra);
+        this.tamanhoLote = tamanhoLote;
+        this.intervalo = intervalo;
+        this.agendador = Objects.requireNonNull(agendador);
+    }
+
+    /**
+     * @return Publicador dos lotes de registros que atenderam à regra.
+     */
+    public Flow.Publisher<List<T>> validos() {
+
+        return validos;
+    }
+
+    /**
+     * @return Publicador dos lotes de registros que não atenderam à regra.
+     */
+    public Flow.Publisher<List<T>> invalidos() {
+
+        return invalidos;
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+
+        boolean aceita;
+        synchronized (this) {
+            aceita = origem == null;
+            if (aceita) {
+                origem = subscription;
+                temporizador = agendador.scheduleAtFixedRate(this::publicarIncompletos,
+                        intervalo, intervalo, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (!aceita) {
+            subscription.cancel();
+            return;
+        }
+        drenar();
+    }
+
+    @Override
+    public void onNext(final T registro) {
+
+        // A regra é aplicada fora do monitor; a origem já emite um registro
+        // de cada vez.
+        boolean valido;
+        try {
+            valido = regra.test(registro);
+        } catch (RuntimeException e) {
+            falhar(e);
+            return;
+        }
+        synchronized (this) {
+            if (concluido) {
+                return;
+            }
+            pendentes--;
+            (valido ? validos : invalidos).adicionar(registro);
+        }
+        drenar();
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+
+        synchronized (this) {
+            if (concluido) {
+                return;
+            }
+            concluido = true;
+            erro = throwable;
+            cancelarTemporizador();
+        }
+        drenar();
+    }
+
+    @Override
+    public void onComplete() {
+
+        synchronized (this) {
+            if (concluido) {
+                return;
+            }
+            concluido = true;
+            cancelarTemporizador();
+            validos.fecharLote();
+            invalidos.fecharLote();
+        }
+        drenar();
+    }
+
+    /**
+     * Encerra o estágio por uma exceção da regra: a origem é cancelada pela
+     * thread que drena, e as saídas recebem o erro.
+     */
+    private void falhar(final Throwable e) {
+
+        synchronized (this) {
+            if (concluido) {
+                return;
+            }
+            concluido = true;
+            cancelarOrigem = true;
+            erro = e;
+            cancelarTemporizador();
+        }
+        drenar();
+    }
+
+    private void publicarIncompletos() {
+
+        synchronized (this) {
+            validos.fecharLoteSeHouverDemanda();
+            invalidos.fecharLoteSeHouverDemanda();
+        }
+        drenar();
+    }
+
+    private void cancelarTemporizador() {
+
+        if (temporizador != null) {
+            temporizador.cancel(false);
+        }
+    }
+
+    /**
+     * Emite os sinais pendentes até não haver mais nenhum. Chamadas
+     * concorrentes ou reentrantes, como um request feito dentro de onNext,
+     * apenas contam um pedido, atendido pela thread que já está drenando.
+     */
+    private void drenar() {
+
+        if (trabalho.getAndIncrement() != 0) {
+            return;
+        }
+        int pedidos = 1;
+        do {
+            for (Runnable sinal = proximoSinal(); sinal != null; sinal = proximoSinal()) {
+                sinal.run();
+            }
+            pedidos = trabalho.addAndGet(-pedidos);
+        } while (pedidos != 0);
+    }
+
+    /**
+     * Escolhe, com o monitor tomado, o próximo sinal: um lote ou o
+     * encerramento de uma das saídas, o cancelamento da origem depois que as
+     * duas saídas forem canceladas, ou o pedido à origem dos registros que
+     * cabem nas duas saídas.
+     *
+     * @return Sinal a ser emitido fora do monitor, ou null se não houver.
+     */
+    private synchronized Runnable proximoSinal() {
+
+        if (cancelarOrigem) {
+            cancelarOrigem = false;
+            return origem::cancel;
+        }
+        Runnable sinal = validos.proximoSinal();
+        if (sinal == null) {
+            sinal = invalidos.proximoSinal();
+        }
+        if (sinal != null || concluido || origem == null || !validos.iniciada() || !invalidos.iniciada()) {
+            return sinal;
+        }
+        Flow.Subscription assinatura = origem;
+        if (validos.cancelada && invalidos.cancelada) {
+            concluido = true;
+            cancelarTemporizador();
+            return assinatura::cancel;
+        }
+        long pedir = Math.min(validos.espaco(), invalidos.espaco()) - pendentes;
+        if (pedir <= 0) {
+            return null;
+        }
+        pendentes += pedir;
+        return () -> assinatura.request(pedir);
+    }
+
+    /**
+     * Uma das saídas do estágio. Todo o estado é protegido pelo monitor do
+     * estágio; os sinais para o assinante são emitidos por
+     * {@link EstagioValidacao#drenar()}.
+     */
+    private final class Saida implements Flow.Publisher<List<T>>, Flow.Subscription {
+
+        private final ArrayDeque<List<T>> prontos = new ArrayDeque<>();
+        private List<T> atual = new ArrayList<>();
+        private Flow.Subscriber<? super List<T>> assinante;
+        private boolean inscrita;
+        private long demanda;
+        private long buffer;
+        private boolean cancelada;
+        private boolean encerrada;
+        private Throwable erroSaida;
+
+        @Override
+        public void subscribe(final Flow.Subscriber<? super List<T>> subscriber) {
+
+            Objects.requireNonNull(subscriber);
+            boolean aceito;
+            synchronized (EstagioValidacao.this) {
+                aceito = assinante == null;
+                if (aceito) {
+                    assinante = subscriber;
+                }
+            }
+            if (!aceito) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(final long n) {
+                    }
+
+                    @Override
+                    public void cancel() {
+                    }
+                });
+                subscriber.onError(new IllegalStateException("Saída aceita um único assinante."));
+                return;
+            }
+            subscriber.onSubscribe(this);
+            synchronized (EstagioValidacao.this) {
+                inscrita = true;
+            }
+            drenar();
+        }
+
+        @Override
+        public void request(final long n) {
+
+            synchronized (EstagioValidacao.this) {
+                if (encerrada || cancelada) {
+                    return;
+                }
+                if (n <= 0) {
+                    cancelar();
+                    erroSaida = new IllegalArgumentException("Demanda deve ser positiva: " + n);
+                } else {
+                    demanda = demanda + n < 0 ? Long.MAX_VALUE : demanda + n;
+                }
+            }
+            drenar();
+        }
+
+        @Override
+        public void cancel() {
+
+            synchronized (EstagioValidacao.this) {
+                cancelar();
+                erroSaida = null;
+                encerrada = true;
+            }
+            drenar();
+        }
+
+        /**
+         * Emite um sinal para o assinante. Se ele lançar exceção, a saída é
+         * cancelada, como prevê o contrato do {@link Flow}, e a exceção não
+         * interrompe a drenagem.
+         */
+        private Runnable emitir(final Runnable sinal) {
+
+            return () -> {
+                try {
+                    sinal.run();
+                } catch (RuntimeException e) {
+                    synchronized (EstagioValidacao.this) {
+                        cancelar();
+                        encerrada = true;
+                    }
+                }
+            };
+        }
+
+        private void cancelar() {
+
+            cancelada = true;
+            prontos.clear();
+            atual = new ArrayList<>();
+            buffer = 0;
+        }
+
+        boolean iniciada() {
+
+            return assinante != null || cancelada;
+        }
+
+        /**
+         * Quantidade de registros que a saída ainda pode receber sem
+         * ultrapassar a demanda mais a folga.
+         */
+        long espaco() {
+
+            if (cancelada) {
+                return Long.MAX_VALUE;
+            }
+            long lotes = Math.min(demanda, Long.MAX_VALUE / tamanhoLote - LOTES_FOLGA) + LOTES_FOLGA;
+            return Math.max(0, lotes * tamanhoLote - buffer);
+        }
+
+        void adicionar(final T registro) {
+
+            if (cancelada) {
+                return;
+            }
+            atual.add(registro);
+            buffer++;
+            if (atual.size() == tamanhoLote) {
+                fecharLote();
+            }
+        }
+
+        void fecharLote() {
+
+            if (!atual.isEmpty()) {
+                prontos.addLast(atual);
+                atual = new ArrayList<>(tamanhoLote);
+            }
+        }
+
+        void fecharLoteSeHouverDemanda() {
+
+            if (demanda > prontos.size()) {
+                fecharLote();
+            }
+        }
+
+        /**
+         * Retira o próximo sinal para o assinante: um lote dentro da demanda,
+         * ou o erro ou a conclusão quando não houver mais lotes a entregar.
+         *
+         * @return Sinal a ser emitido fora do monitor, ou null se não houver.
+         */
+        Runnable proximoSinal() {
+
+            if (encerrada || !inscrita) {
+                return null;
+            }
+            Flow.Subscriber<? super List<T>> s = assinante;
+            if (erroSaida != null) {
+                Throwable e = erroSaida;
+                erroSaida = null;
+                encerrada = true;
+                return emitir(() -> s.onError(e));
+            }
+            if (cancelada) {
+                return null;
+            }
+            if (demanda > 0 && !prontos.isEmpty()) {
+                List<T> lote = prontos.removeFirst();
+                buffer -= lote.size();
+                demanda--;
+                return emitir(() -> s.onNext(lote));
+            }
+            if (erro != null) {
+                Throwable e = erro;
+                encerrada = true;
+                return emitir(() -> s.onError(e));
+            }
+            if (concluido && prontos.isEmpty() && atual.isEmpty()) {
+                encerrada = true;
+                return emitir(s::onComplete);
+            }
+            return null;
+        }
+    }
+}
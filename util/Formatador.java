@@ -0,0 +1,325 @@
+package util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Formatação de valores em reais e de datas sem {@link java.text.NumberFormat}
+ * nem {@link java.text.SimpleDateFormat}.
+ *
+ * Os valores são escritos em um destino fornecido pelo chamador
+ * ({@link StringBuilder}, char[] ou byte[] em ASCII), sem criar objetos por
+ * campo. Os métodos não têm estado compartilhado e podem ser chamados de
+ * várias threads.
+ *
+ * Moeda: "R$ 1.234,56", com espaço comum após o símbolo e o sinal antes
+ * dele ("-R$ 0,50"). Datas: "dd/MM/yyyy" ou "yyyy-MM-dd", para anos de 0 a
+ * 9999.
+ */
+public final class Formatador {
+
+    /**
+     * Formatos de data.
+     */
+    public enum FormatoData {
+        /**
+         * dd/MM/yyyy.
+         */
+        BRASIL,
+        /**
+         * yyyy-MM-dd.
+         */
+        ISO
+    }
+
+    /**
+     * Maior quantidade de caracteres de um valor em reais
+     * ("-R$ 92.233.720.368.547.758,08").
+     */
+    public static final int TAMANHO_MAXIMO_MOEDA = 29;
+
+    /**
+     * Quantidade de caracteres de uma data.
+     */
+    public static final int TAMANHO_DATA = 10;
+
+    /**
+     * Dias entre 0000-03-01 e 1970-01-01, no calendário gregoriano proléptico.
+     */
+    private static final long DIAS_ATE_1970 = 719_468;
+
+    private static final ThreadLocal<char[]> RASCUNHO =
+            ThreadLocal.withInitial(() -> new char[TAMANHO_MAXIMO_MOEDA]);
+
+    private Formatador() {
+        //construtor privado para que a classe não seja instanciada
+    }
+
+    /**
+     * Escreve um valor em reais.
+     *
+     * @param centavos Valor em centavos.
+     * @param destino Vetor que recebe o texto.
+     * @param posicao Posição do primeiro caractere.
+     * @return Posição seguinte ao último caractere escrito.
+     */
+    public static int moeda(final long centavos, final char[] destino, final int posicao) {
+
+        // Trabalha com o valor negativo para incluir Long.MIN_VALUE.
+        long negativo = centavos > 0 ? -centavos : centavos;
+        long reais = negativo / 100;
+        int digitos = 1;
+        for (long resto = reais / 10; resto != 0; resto /= 10) {
+            digitos++;
+        }
+        int tamanho = (centavos < 0 ? 1 : 0) + 3 + digitos + (digitos - 1) / 3 + 3;
+        int fim = posicao + tamanho;
+
+        int i = fim;
+        destino[--i] = (char) ('0' - negativo % 10);
+        destino[--i] = (char) ('0' - negativo / 10 % 10);
+        destino[--i] = ',';
+        for (int escritos = 0; escritos < digitos; escritos++) {
+            if (escritos > 0 && escritos % 3 == 0) {
+                destino[--i] = '.';
+            }
+            destino[--i] = (char) ('0' - reais % 10);
+            reais /= 10;
+        }
+        destino[--i] = ' ';
+        destino[--i] = '$';
+        destino[--i] = 'R';
+        if (centavos < 0) {
+            destino[--i] = '-';
+        }
+        return fim;
+    }
+
+    /**
+     * Escreve um valor em reais.
+     *
+     * @param centavos Valor em centavos.
+     * @param destino Recebe o texto no fim.
+     * @return O próprio destino.
+     */
+    public static StringBuilder moeda(final long centavos, final StringBuilder destino) {
+
+        char[] rascunho = RASCUNHO.get();
+        return destino.append(rascunho, 0, moeda(centavos, rascunho, 0));
+    }
+
+    /**
+     * Escreve um valor em reais em ASCII.
+     *
+     * @param centavos Valor em centavos.
+     * @param destino Vetor que recebe o texto.
+     * @param posicao Posição do primeiro byte.
+     * @return Posição seguinte ao último byte escrito.
+     */
+    public static int moeda(final long centavos, final byte[] destino, final int posicao) {
+
+        char[] rascunho = RASCUNHO.get();
+        return copiar(rascunho, moeda(centavos, rascunho, 0), destino, posicao);
+    }
+
+    /**
+     * Escreve um valor em reais, arredondado para centavos com
+     * {@link RoundingMode#HALF_EVEN}, como {@link java.text.NumberFormat}.
+     *
+     * @param valor Valor em reais.
+     * @param destino Recebe o texto no fim.
+     * @return O próprio destino.
+     * @throws ArithmeticException Se o valor não couber em long centavos.
+     */
+    public static StringBuilder moeda(final BigDecimal valor, final StringBuilder destino) {
+
+        return moeda(centavos(valor), destino);
+    }
+
+    /**
+     * Escreve um valor em reais, arredondado para centavos.
+     *
+     * @param valor Valor em reais.
+     * @param destino Vetor que recebe o texto.
+     * @param posicao Posição do primeiro caractere.
+     * @return Posição seguinte ao último caractere escrito.
+     * @throws ArithmeticException Se o valor não couber em long centavos.
+     */
+    public static int moeda(final BigDecimal valor, final char[] destino, final int posicao) {
+
+        return moeda(centavos(valor), destino, posicao);
+    }
+
+    /**
+     * Escreve um valor em reais em ASCII, arredondado para centavos.
+     *
+     * @param valor Valor em reais.
+     * @param destino Vetor que recebe o texto.
+     * @param posicao Posição do primeiro byte.
+     * @return Posição seguinte ao último byte escrito.
+     * @throws ArithmeticException Se o valor não couber em long centavos.
+     */
+    public static int moeda(final BigDecimal valor, final byte[] destino, final int posicao) {
+
+        return moeda(centavos(valor), destino, posicao);
+    }
+
+    /**
+     * Converte reais em centavos.
+     */
+    private static long centavos(final BigDecimal valor) {
+
+        BigDecimal escalado = valor.scale() == 2 ? valor : valor.setScale(2, RoundingMode.HALF_EVEN);
+        return escalado.unscaledValue().longValueExact();
+    }
+
+    /**
+     * Escreve uma data.
+     *
+     * @param data Data, com ano de 0 a 9999.
+     * @param formato Formato da data.
+     * @param destino Vetor que recebe o texto.
+     * @param posicao Posição do primeiro caractere.
+     * @return Posição seguinte ao último caractere escrito.
+     */
+    public static int data(final LocalDate data, final FormatoData formato, final char[] destino,
+            final int posicao) {
+
+        return data(data.getYear(), data.getMonthValue(), data.getDayOfMonth(), formato,
+                destino, posicao);
+    }
+
+    /**
+     * Escreve uma data.
+     *
+     * @param data Data, com ano de 0 a 9999.
+     * @param formato Formato da data.
+     * @param destino Recebe o texto no fim.
+     * @return O próprio destino.
+     */
+    public static StringBuilder data(final LocalDate data, final FormatoData formato,
+            final StringBuilder destino) {
+
+        char[] rascunho = RASCUNHO.get();
+        return destino.append(rascunho, 0, data(data, formato, rascunho, 0));
+    }
+
+    /**
+     * Escreve uma data em ASCII.
+     *
+     * @param data Data, com ano de 0 a 9999.
+     * @param formato Formato da data.
+     * @param destino Vetor que recebe o texto.
+     * @param posicao Posição do primeiro byte.
+     * @return Posição seguinte ao último byte escrito.
+     */
+    public static int data(final LocalDate data, final FormatoData formato, final byte[] destino,
+            final int posicao) {
+
+        char[] rascunho = RASCUNHO.get();
+        return copiar(rascunho, data(data, formato, rascunho, 0), destino, posicao);
+    }
+
+    /**
+     * Escreve a data de um dia contado a partir de 1970-01-01, como
+     * {@link LocalDate#toEpochDay()}.
+     *
+     * @param epochDia Dias desde 1970-01-01.
+     * @param formato Formato da data.
+     * @param destino Vetor que recebe o texto.
+     * @param posicao Posição do primeiro caractere.
+     * @return Posição seguinte ao último caractere escrito.
+     */
+    public static int data(final long epochDia, final FormatoData formato, final char[] destino,
+            final int posicao) {
+
+        // Calendário civil a partir de dias (H. Hinnant), com anos iniciando
+        // em março para que o dia bissexto seja o último do ano.
+        long z = epochDia + DIAS_ATE_1970;
+        long era = Math.floorDiv(z, 146_097);
+        long diaEra = z - era * 146_097;
+        long anoEra = (diaEra - diaEra / 1460 + diaEra / 36_524 - diaEra / 146_096) / 365;
+        long diaAno = diaEra - (365 * anoEra + anoEra / 4 - anoEra / 100);
+        long mesMarco = (5 * diaAno + 2) / 153;
+        int dia = (int) (diaAno - (153 * mesMarco + 2) / 5 + 1);
+        int mes = (int) (mesMarco < 10 ? mesMarco + 3 : mesMarco - 9);
+        long ano = anoEra + era * 400 + (mes <= 2 ? 1 : 0);
+        if (ano < 0 || ano > 9999) {
+            throw new IllegalArgumentException("Ano fora da faixa 0-9999: " + ano);
+        }
+        return data((int) ano, mes, dia, formato, destino, posicao);
+    }
+
+    /**
+     * Escreve a data de um dia contado a partir de 1970-01-01.
+     *
+     * @param epochDia Dias desde 1970-01-01.
+     * @param formato Formato da data.
+     * @param destino Recebe o texto no fim.
+     * @return O próprio destino.
+     */
+    public static StringBuilder data(final long epochDia, final FormatoData formato,
+            final StringBuilder destino) {
+
+        char[] rascunho = RASCUNHO.get();
+        return destino.append(rascunho, 0, data(epochDia, formato, rascunho, 0));
+    }
+
+    /**
+     * Escreve em ASCII a data de um dia contado a partir de 1970-01-01.
+     *
+     * @param epochDia Dias desde 1970-01-01.
+     * @param formato Formato da data.
+     * @param destino Vetor que recebe o texto.
+     * @param posicao Posição do primeiro byte.
+     * @return Posição seguinte ao último byte escrito.
+     */
+    public static int data(final long epochDia, final FormatoData formato, final byte[] destino,
+            final int posicao) {
+
+        char[] rascunho = RASCUNHO.get();
+        return copiar(rascunho, data(epochDia, formato, rascunho, 0), destino, posicao);
+    }
+
+    private static int data(final int ano, final int mes, final int dia, final FormatoData formato,
+            final char[] destino, final int posicao) {
+
+        if (ano < 0 || ano > 9999) {
+            throw new IllegalArgumentException("Ano fora da faixa 0-9999: " + ano);
+        }
+        int i = posicao;
+        if (formato == FormatoData.BRASIL) {
+            i = doisDigitos(dia, destino, i);
+            destino[i++] = '/';
+            i = doisDigitos(mes, destino, i);
+            destino[i++] = '/';
+            i = doisDigitos(ano / 100, destino, i);
+            i = doisDigitos(ano % 100, destino, i);
+        } else {
+            i = doisDigitos(ano / 100, destino, i);
+            i = doisDigitos(ano % 100, destino, i);
+            destino[i++] = '-';
+            i = doisDigitos(mes, destino, i);
+            destino[i++] = '-';
+            i = doisDigitos(dia, destino, i);
+        }
+        return i;
+    }
+
+    private static int doisDigitos(final int valor, final char[] destino, final int posicao) {
+
+        destino[posicao] = (char) ('0' + valor / 10);
+        destino[posicao + 1] = (char) ('0' + valor % 10);
+        return posicao + 2;
+    }
+
+    private static int copiar(final char[] origem, final int tamanho, final byte[] destino,
+            final int posicao) {
+
+        for (int i = 0; i < tamanho; i++) {
+            destino[posicao + i] = (byte) origem[i];
+        }
+        return posicao + tamanho;
+    }
+}
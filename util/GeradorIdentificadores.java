@@ -0,0 +1,340 @@
+package util;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Gerador paralelo de identificadores sintéticos para testes de carga e
+ * benchmarks.
+ *
+ * Os identificadores são escritos em ASCII, um por linha, diretamente em
+ * blocos de bytes, sem criar uma String por valor. Cada bloco é gerado em
+ * um {@link ForkJoinPool} próprio com um gerador pseudoaleatório derivado
+ * da semente e da posição do bloco, e os blocos são escritos na ordem: a
+ * mesma semente produz o mesmo arquivo qualquer que seja o paralelismo.
+ *
+ * Uma fração dos valores pode ser gerada inválida de propósito; nesses, o
+ * último dígito verificador é trocado por outro dígito.
+ */
+public final class GeradorIdentificadores implements AutoCloseable {
+
+    /**
+     * Identificadores gerados.
+     */
+    public enum Tipo {
+        /**
+         * CPF, 11 dígitos.
+         */
+        CPF(11),
+        /**
+         * CNPJ, 14 dígitos.
+         */
+        CNPJ(14),
+        /**
+         * CNPJ alfanumérico, 12 posições de dígitos ou letras maiúsculas e 2
+         * dígitos verificadores.
+         */
+        CNPJ_ALFANUMERICO(14),
+        /**
+         * GTIN-8 (EAN-8).
+         */
+        GTIN_8(8),
+        /**
+         * GTIN-13 (EAN-13).
+         */
+        GTIN_13(13),
+        /**
+         * GTIN-14, com dígito indicador de 1 a 8.
+         */
+        GTIN_14(14),
+        /**
+         * SSCC, 18 dígitos.
+         */
+        SSCC(18);
+
+        private final int tamanho;
+
+        Tipo(final int tamanho) {
+
+            this.tamanho = tamanho;
+        }
+
+        /**
+         * @return Quantidade de dígitos.
+         */
+        public int tamanho() {
+
+            return tamanho;
+        }
+    }
+
+    /**
+     * Quantidade de identificadores por bloco.
+     */
+    static final int TAMANHO_BLOCO = 1 << 16;
+
+    /**
+     * Tamanho do buffer de escrita do arquivo, em bytes.
+     */
+    private static final int TAMANHO_BUFFER = 1 << 16;
+
+    private static final byte[] ALFANUMERICOS =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Prefixos GS1 atribuídos, para que os códigos de barras gerados sejam
+     * aceitos por {@link Gtin}.
+     */
+    private static final int[] PREFIXOS;
+
+    /**
+     * Faixa de {@link #PREFIXOS} que começa com o dígito indicador 1 a 8 do
+     * GTIN-14: o prefixo consultado são os três primeiros dígitos, inclusive
+     * o indicador.
+     */
+    private static final int INICIO_INDICADOR;
+    private static final int FIM_INDICADOR;
+
+    static {
+        int quantidade = 0;
+        int[] prefixos = new int[1000];
+        for (int prefixo = 0; prefixo < prefixos.length; prefixo++) {
+            if (PrefixoGs1.codigo(prefixo) != PrefixoGs1.NENHUM) {
+                prefixos[quantidade++] = prefixo;
+            }
+        }
+        PREFIXOS = Arrays.copyOf(prefixos, quantidade);
+        INICIO_INDICADOR = posicao(100);
+        FIM_INDICADOR = posicao(900);
+    }
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Cria o gerador com o paralelismo igual ao número de processadores.
+     */
+    public GeradorIdentificadores() {
+
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param paralelismo Quantidade de threads de geração.
+     */
+    public GeradorIdentificadores(final int paralelismo) {
+
+        this.pool = new ForkJoinPool(paralelismo);
+    }
+
+    /**
+     * Gera os identificadores em um stream. O stream não é fechado.
+     *
+     * @param tipo Tipo de identificador.
+     * @param quantidade Quantidade de identificadores.
+     * @param semente Semente do gerador pseudoaleatório.
+     * @param fracaoInvalidos Fração, de 0 a 1, de identificadores inválidos.
+     * @param saida Stream que recebe um identificador por linha.
+     * @return Quantidade de identificadores inválidos gerados.
+     * @throws IOException Se o stream não puder ser escrito.
+     */
+    public long gerar(final Tipo tipo, final long quantidade, final long semente,
+            final double fracaoInvalidos, final OutputStream saida) throws IOException {
+
+        if (quantidade < 0 || !(fracaoInvalidos >= 0 && fracaoInvalidos <= 1)) {
+            throw new IllegalArgumentException("Quantidade ou fração inválida.");
+        }
+        int limite = 2 * pool.getParallelism();
+        ArrayDeque<ForkJoinTask<Bloco>> pendentes = new ArrayDeque<>(limite);
+        long invalidos = 0;
+        try {
+            for (long inicio = 0; inicio < quantidade; inicio += TAMANHO_BLOCO) {
+
+                if (pendentes.size() == limite) {
+                    invalidos += escrever(pendentes.removeFirst().join(), saida);
+                }
+                long indice = inicio / TAMANHO_BLOCO;
+                int itens = (int) Math.min(TAMANHO_BLOCO, quantidade - inicio);
+                pendentes.addLast(pool.submit(() ->
+                        Bloco.gerar(tipo, itens, semente, indice, fracaoInvalidos)));
+            }
+            while (!pendentes.isEmpty()) {
+                invalidos += escrever(pendentes.removeFirst().join(), saida);
+            }
+        } finally {
+            for (ForkJoinTask<Bloco> tarefa : pendentes) {
+                tarefa.cancel(false);
+            }
+        }
+        return invalidos;
+    }
+
+    /**
+     * Gera os identificadores em um arquivo, substituindo o conteúdo.
+     *
+     * @param tipo Tipo de identificador.
+     * @param quantidade Quantidade de identificadores.
+     * @param semente Semente do gerador pseudoaleatório.
+     * @param fracaoInvalidos Fração, de 0 a 1, de identificadores inválidos.
+     * @param arquivo Arquivo que recebe um identificador por linha.
+     * @return Quantidade de identificadores inválidos gerados.
+     * @throws IOException Se o arquivo não puder ser escrito.
+     */
+    public long gerar(final Tipo tipo, final long quantidade, final long semente,
+            final double fracaoInvalidos, final Path arquivo) throws IOException {
+
+        try (OutputStream saida = new BufferedOutputStream(Files.newOutputStream(arquivo),
+                TAMANHO_BUFFER)) {
+            return gerar(tipo, quantidade, semente, fracaoInvalidos, saida);
+        }
+    }
+
+    private static long escrever(final Bloco bloco, final OutputStream saida) throws IOException {
+
+        saida.write(bloco.bytes);
+        return bloco.invalidos;
+    }
+
+    /**
+     * @return Quantidade de threads de geração.
+     */
+    public int paralelismo() {
+
+        return pool.getParallelism();
+    }
+
+    /**
+     * Encerra as threads de geração.
+     */
+    @Override
+    public void close() {
+
+        pool.shutdown();
+    }
+
+    /**
+     * Gera um único identificador válido como número.
+     *
+     * @param tipo Tipo de identificador, exceto
+     * {@link Tipo#CNPJ_ALFANUMERICO}, que não tem forma numérica.
+     * @param aleatorio Gerador pseudoaleatório.
+     * @return Identificador válido.
+     */
+    static long sortear(final Tipo tipo, final SplittableRandom aleatorio) {
+
+        switch (tipo) {
+            case CPF:
+                return DigitoVerificador.completarCpf(aleatorio.nextLong(Numeros.potencia10(9)));
+            case CNPJ:
+                return DigitoVerificador.completarCnpj(aleatorio.nextLong(Numeros.potencia10(12)));
+            case GTIN_14:
+                return Gtin.completar(codigoGs1(aleatorio, tipo.tamanho - 1,
+                        INICIO_INDICADOR, FIM_INDICADOR));
+            default:
+                return Gtin.completar(codigoGs1(aleatorio, tipo.tamanho - 1, 0, PREFIXOS.length));
+        }
+    }
+
+    /**
+     * Sorteia um prefixo GS1 atribuído seguido de dígitos aleatórios.
+     *
+     * @param digitos Total de dígitos, incluindo os 3 do prefixo.
+     * @param de Primeira posição de {@link #PREFIXOS} sorteada.
+     * @param ate Posição seguinte à última sorteada.
+     */
+    private static long codigoGs1(final SplittableRandom aleatorio, final int digitos,
+            final int de, final int ate) {
+
+        long prefixo = PREFIXOS[aleatorio.nextInt(de, ate)];
+        long resto = Numeros.potencia10(digitos - 3);
+        return prefixo * resto + aleatorio.nextLong(resto);
+    }
+
+    /**
+     * @return Posição do primeiro prefixo atribuído maior ou igual ao
+     * informado.
+     */
+    private static int posicao(final int prefixo) {
+
+        int i = Arrays.binarySearch(PREFIXOS, prefixo);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    /**
+     * Bloco de identificadores já escritos em ASCII.
+     */
+    private static final class Bloco {
+
+        private final byte[] bytes;
+        private final long invalidos;
+
+        private Bloco(final byte[] bytes, final long invalidos) {
+
+            this.bytes = bytes;
+            this.invalidos = invalidos;
+        }
+
+        static Bloco gerar(final Tipo tipo, final int itens, final long semente,
+                final long indice, final double fracaoInvalidos) {
+
+            // Sementes misturadas para que blocos vizinhos sejam independentes.
+            SplittableRandom aleatorio = new SplittableRandom(
+                    Numeros.espalhar(semente + Numeros.espalhar(indice)));
+            int largura = tipo.tamanho + 1;
+            byte[] bytes = new byte[itens * largura];
+            long invalidos = 0;
+            for (int i = 0, fim = largura - 1; i < itens; i++, fim += largura) {
+
+                bytes[fim] = '\n';
+                if (tipo == Tipo.CNPJ_ALFANUMERICO) {
+                    invalidos += alfanumerico(bytes, fim - tipo.tamanho, aleatorio, fracaoInvalidos);
+                    continue;
+                }
+                long valor = sortear(tipo, aleatorio);
+                if (fracaoInvalidos > 0 && aleatorio.nextDouble() < fracaoInvalidos) {
+                    int ultimo = (int) (valor % 10);
+                    valor += (ultimo + 1 + aleatorio.nextInt(9)) % 10 - ultimo;
+                    invalidos++;
+                }
+                for (int j = fim - 1; j > fim - largura; j--) {
+                    bytes[j] = (byte) ('0' + valor % 10);
+                    valor /= 10;
+                }
+            }
+            return new Bloco(bytes, invalidos);
+        }
+
+        /**
+         * Escreve um CNPJ alfanumérico, com os mesmos sorteios de
+         * invalidação dos demais tipos.
+         *
+         * @return 1 se o CNPJ foi gerado inválido.
+         */
+        private static int alfanumerico(final byte[] bytes, final int inicio,
+                final SplittableRandom aleatorio, final double fracaoInvalidos) {
+
+            int base = DigitoVerificador.TAMANHO_CNPJ - 2;
+            for (int j = 0; j < base; j++) {
+                bytes[inicio + j] = ALFANUMERICOS[aleatorio.nextInt(ALFANUMERICOS.length)];
+            }
+            int dv = DigitoVerificador.digitosCnpj(bytes, inicio);
+            int invalido = 0;
+            if (fracaoInvalidos > 0 && aleatorio.nextDouble() < fracaoInvalidos) {
+                dv += (dv % 10 + 1 + aleatorio.nextInt(9)) % 10 - dv % 10;
+                invalido = 1;
+            }
+            bytes[inicio + base] = (byte) ('0' + dv / 10);
+            bytes[inicio + base + 1] = (byte) ('0' + dv % 10);
+            return invalido;
+        }
+
+    }
+}
@@ -0,0 +1,345 @@
+package util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Classe de validação de códigos de barras GS1 (GTIN-8, GTIN-12, GTIN-13,
+ * GTIN-14, GSIN, SSCC).
+ *
+ * O dígito verificador é calculado por aritmética de caracteres, sem
+ * converter cada dígito em String e sem lançar exceção para entradas que não
+ * sejam numéricas. O tamanho do código determina a simbologia; o prefixo GS1
+ * consultado em {@link PrefixoGs1} são os três primeiros dígitos em todas as
+ * simbologias, como na validação original.
+ */
+public final class Gtin {
+
+    /**
+     * Simbologias GS1 reconhecidas, identificadas pela quantidade de dígitos.
+     */
+    public enum Simbologia {
+
+        /**
+         * GTIN-8 (EAN-8).
+         */
+        GTIN_8(8),
+        /**
+         * GTIN-12 (UPC-A).
+         */
+        GTIN_12(12),
+        /**
+         * GTIN-13 (EAN-13).
+         */
+        GTIN_13(13),
+        /**
+         * GTIN-14.
+         */
+        GTIN_14(14),
+        /**
+         * GSIN, número de identificação de remessa.
+         */
+        GSIN(17),
+        /**
+         * SSCC.
+         */
+        SSCC(18);
+
+        private static final Simbologia[] POR_TAMANHO = new Simbologia[19];
+
+        static {
+            for (Simbologia simbologia : values()) {
+                POR_TAMANHO[simbologia.tamanho] = simbologia;
+            }
+        }
+
+        private final int tamanho;
+
+        Simbologia(final int tamanho) {
+
+            this.tamanho = tamanho;
+        }
+
+        /**
+         * @return Quantidade de dígitos, incluindo o verificador.
+         */
+        public int tamanho() {
+
+            return tamanho;
+        }
+
+        /**
+         * @param tamanho Quantidade de dígitos do código.
+         * @return Simbologia com o tamanho informado, ou null se não houver.
+         */
+        public static Simbologia porTamanho(final int tamanho) {
+
+            return tamanho >= 0 && tamanho < POR_TAMANHO.length ? POR_TAMANHO[tamanho] : null;
+        }
+    }
+
+    private Gtin() {
+        //construtor privado para que a classe não seja instanciada
+    }
+
+    /**
+     * Testa se a sequência contém um código de barras válido: tamanho de uma
+     * das simbologias, somente dígitos, prefixo GS1 conhecido e dígito
+     * verificador correto.
+     *
+     * @param codigoBarras Sequência a ser testada.
+     * @return true se codigo de barras for valido.
+     */
+    public static boolean valido(final CharSequence codigoBarras) {
+
+        return simbologia(codigoBarras) != null;
+    }
+
+    /**
+     * Valida o código de barras e identifica a sua simbologia.
+     *
+     * @param codigoBarras Sequência a ser testada.
+     * @return Simbologia do código, ou null se o código for inválido.
+     */
+    public static Simbologia simbologia(final CharSequence codigoBarras) {
+
+        if (codigoBarras == null) {
+            return null;
+        }
+        int tamanho = codigoBarras.length();
+        Simbologia simbologia = Simbologia.porTamanho(tamanho);
+        if (simbologia == null) {
+            return null;
+        }
+
+        // Pesos 3 e 1 alternados, a partir do dígito à esquerda do verificador.
+        int total = 0;
+        int prefixo = 0;
+        for (int i = 0; i < tamanho - 1; i++) {
+
+            int d = codigoBarras.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return null;
+            }
+            if (i < 3) {
+                prefixo = prefixo * 10 + d;
+            }
+            total += ((tamanho - i) & 1) == 0 ? 3 * d : d;
+        }
+        int verificador = codigoBarras.charAt(tamanho - 1) - '0';
+        return verificador == digito(total) && PrefixoGs1.codigo(prefixo) != PrefixoGs1.NENHUM
+                ? simbologia : null;
+    }
+
+    /**
+     * Testa se o trecho do buffer contém um código de barras válido em ASCII.
+     *
+     * @param buffer Buffer com o código, lido por posição absoluta.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes do campo.
+     * @return true se codigo de barras for valido.
+     */
+    public static boolean valido(final ByteBuffer buffer, final int inicio, final int tamanho) {
+
+        return simbologia(buffer, inicio, tamanho) != null;
+    }
+
+    /**
+     * Valida o código de barras em ASCII e identifica a sua simbologia.
+     *
+     * @param buffer Buffer com o código, lido por posição absoluta.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes do campo.
+     * @return Simbologia do código, ou null se o código for inválido.
+     */
+    public static Simbologia simbologia(final ByteBuffer buffer, final int inicio, final int tamanho) {
+
+        Simbologia simbologia = Simbologia.porTamanho(tamanho);
+        if (simbologia == null) {
+            return null;
+        }
+
+        int total = 0;
+        int prefixo = 0;
+        for (int i = 0; i < tamanho - 1; i++) {
+
+            int d = buffer.get(inicio + i) - '0';
+            if (d < 0 || d > 9) {
+                return null;
+            }
+            if (i < 3) {
+                prefixo = prefixo * 10 + d;
+            }
+            total += ((tamanho - i) & 1) == 0 ? 3 * d : d;
+        }
+        int verificador = buffer.get(inicio + tamanho - 1) - '0';
+        return verificador == digito(total) && PrefixoGs1.codigo(prefixo) != PrefixoGs1.NENHUM
+                ? simbologia : null;
+    }
+
+    /**
+     * Testa se o código, representado como número, é válido na simbologia
+     * informada. Os zeros à esquerda perdidos na conversão para long são
+     * restaurados pelo tamanho da simbologia.
+     *
+     * @param codigoBarras Código de barras como número.
+     * @param simbologia Simbologia do código.
+     * @return true se codigo de barras for valido.
+     */
+    public static boolean valido(final long codigoBarras, final Simbologia simbologia) {
+
+        if (codigoBarras < 0 || codigoBarras >= Numeros.potencia10(simbologia.tamanho)) {
+            return false;
+        }
+
+        int total = 0;
+        boolean tres = true;
+        for (long resto = codigoBarras / 10; resto != 0; resto /= 10) {
+
+            int d = (int) (resto % 10);
+            total += tres ? 3 * d : d;
+            tres = !tres;
+        }
+        return (int) (codigoBarras % 10) == digito(total)
+                && PrefixoGs1.codigo(prefixo(codigoBarras, simbologia)) != PrefixoGs1.NENHUM;
+    }
+
+    /**
+     * Valida o código representado como número, assumindo a menor simbologia
+     * em que ele cabe. Por exemplo, um UPC lido como 36000291452 é tratado
+     * como GTIN-12.
+     *
+     * @param codigoBarras Código de barras como número.
+     * @return Simbologia do código, ou null se o código for inválido.
+     */
+    public static Simbologia simbologia(final long codigoBarras) {
+
+        if (codigoBarras < 0) {
+            return null;
+        }
+        for (Simbologia simbologia : Simbologia.values()) {
+            if (codigoBarras < Numeros.potencia10(simbologia.tamanho)) {
+                return valido(codigoBarras, simbologia) ? simbologia : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Testa se o código representado como número é válido na menor
+     * simbologia em que ele cabe.
+     *
+     * @param codigoBarras Código de barras como número.
+     * @return true se codigo de barras for valido.
+     */
+    public static boolean valido(final long codigoBarras) {
+
+        return simbologia(codigoBarras) != null;
+    }
+
+    /**
+     * Extrai o prefixo GS1, os 3 primeiros dígitos do código representado
+     * como número, contando os zeros à esquerda do tamanho da simbologia.
+     *
+     * @param codigoBarras Código de barras como número.
+     * @param simbologia Simbologia do código.
+     * @return Prefixo, de 0 a 999.
+     */
+    public static int prefixo(final long codigoBarras, final Simbologia simbologia) {
+
+        return (int) (codigoBarras / Numeros.potencia10(simbologia.tamanho - 3) % 1000);
+    }
+
+    /**
+     * Calcula o dígito verificador do módulo 10 para os dígitos informados.
+     * Os pesos 3 e 1 alternam a partir do dígito mais à direita, de modo que
+     * o resultado não depende da simbologia.
+     *
+     * @param corpo Código sem o dígito verificador, como número.
+     * @return Dígito verificador, de 0 a 9.
+     */
+    public static int digitoVerificador(final long corpo) {
+
+        if (corpo < 0) {
+            throw new IllegalArgumentException("Código negativo: " + corpo);
+        }
+        int total = 0;
+        boolean tres = true;
+        for (long resto = corpo; resto != 0; resto /= 10) {
+
+            int d = (int) (resto % 10);
+            total += tres ? 3 * d : d;
+            tres = !tres;
+        }
+        return digito(total);
+    }
+
+    /**
+     * Completa o código com o dígito verificador.
+     *
+     * @param corpo Código sem o dígito verificador, como número.
+     * @return Código com o dígito verificador, como número.
+     */
+    public static long completar(final long corpo) {
+
+        return corpo * 10 + digitoVerificador(corpo);
+    }
+
+    /**
+     * Converte o código em dígitos para número, sem validá-lo.
+     *
+     * @param codigoBarras Código com até 18 dígitos.
+     * @return Código como número, ou -1 se houver outros caracteres ou o
+     * tamanho for inválido.
+     */
+    public static long paraLong(final CharSequence codigoBarras) {
+
+        if (codigoBarras == null || codigoBarras.length() == 0
+                || codigoBarras.length() > Numeros.DIGITOS_LONG) {
+            return -1;
+        }
+        long valor = 0;
+        for (int i = 0; i < codigoBarras.length(); i++) {
+
+            int d = codigoBarras.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            valor = valor * 10 + d;
+        }
+        return valor;
+    }
+
+    /**
+     * Escreve o código com o tamanho da simbologia, restaurando os zeros à
+     * esquerda.
+     *
+     * @param codigoBarras Código de barras como número.
+     * @param simbologia Simbologia do código.
+     * @return Código com {@link Simbologia#tamanho()} dígitos.
+     */
+    public static String texto(final long codigoBarras, final Simbologia simbologia) {
+
+        if (codigoBarras < 0 || codigoBarras >= Numeros.potencia10(simbologia.tamanho)) {
+            throw new IllegalArgumentException("Código não cabe em " + simbologia + ": " + codigoBarras);
+        }
+        char[] texto = new char[simbologia.tamanho];
+        long resto = codigoBarras;
+        for (int i = texto.length - 1; i >= 0; i--) {
+            texto[i] = (char) ('0' + resto % 10);
+            resto /= 10;
+        }
+        return new String(texto);
+    }
+
+    /**
+     * Converte a soma ponderada no dígito verificador do módulo 10.
+     *
+     * @param total Soma dos dígitos multiplicados pelos pesos 3 e 1.
+     * @return Dígito verificador.
+     */
+    static int digito(final int total) {
+
+        int resto = total % 10;
+        return resto == 0 ? 0 : 10 - resto;
+    }
+}
@@ -0,0 +1,106 @@
+package util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latências em nanossegundos, seguro para uso entre threads.
+ *
+ * Cada potência de 2 é dividida em 8 faixas lineares, o que limita o erro
+ * relativo dos percentis a 12,5% com um vetor fixo de 512 contadores. O
+ * registro é um único incremento atômico, sem alocação nem bloqueio.
+ */
+public final class HistogramaLatencia {
+
+    private static final int SUBFAIXAS_BITS = 3;
+    private static final int SUBFAIXAS = 1 << SUBFAIXAS_BITS;
+
+    private final AtomicLongArray contadores = new AtomicLongArray(64 * SUBFAIXAS);
+
+    /**
+     * Registra uma medida.
+     *
+     * @param nanos Latência em nanossegundos; valores negativos contam como 0.
+     */
+    public void registrar(final long nanos) {
+
+        contadores.incrementAndGet(faixa(Math.max(0, nanos)));
+    }
+
+    /**
+     * @return Quantidade de medidas registradas.
+     */
+    public long quantidade() {
+
+        long total = 0;
+        for (int i = 0; i < contadores.length(); i++) {
+            total += contadores.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Calcula um percentil aproximado pelo limite superior da faixa.
+     *
+     * @param percentil Percentil desejado, entre 0 e 100.
+     * @return Latência em nanossegundos, ou 0 se não houver medidas.
+     */
+    public long percentil(final double percentil) {
+
+        long[] copia = new long[contadores.length()];
+        long total = 0;
+        for (int i = 0; i < copia.length; i++) {
+            copia[i] = contadores.get(i);
+            total += copia[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long alvo = Math.max(1, (long) Math.ceil(total * percentil / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < copia.length; i++) {
+            acumulado += copia[i];
+            if (acumulado >= alvo) {
+                return limite(i);
+            }
+        }
+        return limite(copia.length - 1);
+    }
+
+    /**
+     * Zera o histograma.
+     */
+    public void zerar() {
+
+        for (int i = 0; i < contadores.length(); i++) {
+            contadores.set(i, 0);
+        }
+    }
+
+    /**
+     * Índice da faixa: os valores até 8 têm faixa própria; os demais usam a
+     * potência de 2 e os 3 bits seguintes ao bit mais significativo.
+     */
+    static int faixa(final long valor) {
+
+        if (valor < SUBFAIXAS) {
+            return (int) valor;
+        }
+        int expoente = 63 - Long.numberOfLeadingZeros(valor);
+        int sub = (int) (valor >>> (expoente - SUBFAIXAS_BITS)) & (SUBFAIXAS - 1);
+        return (expoente - SUBFAIXAS_BITS + 1) * SUBFAIXAS + sub;
+    }
+
+    /**
+     * Maior valor que pertence à faixa.
+     */
+    static long limite(final int faixa) {
+
+        if (faixa < SUBFAIXAS) {
+            return faixa;
+        }
+        int expoente = faixa / SUBFAIXAS + SUBFAIXAS_BITS - 1;
+        long sub = faixa % SUBFAIXAS;
+        long base = (SUBFAIXAS + sub) << (expoente - SUBFAIXAS_BITS);
+        return base + (1L << (expoente - SUBFAIXAS_BITS)) - 1;
+    }
+}
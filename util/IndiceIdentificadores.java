@@ -0,0 +1,255 @@
+package util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Índice de identificadores numéricos (CPF, CNPJ ou GTIN como long), como
+ * uma lista de bloqueio, mantido fora do heap em um arquivo mapeado em
+ * memória.
+ *
+ * O arquivo guarda os valores ordenados e sem repetição e, opcionalmente,
+ * um filtro de Bloom. A consulta passa primeiro pelo filtro, que descarta
+ * a maior parte dos valores ausentes com um único acesso a uma linha de
+ * cache, e depois por uma busca binária: os primeiros níveis usam uma
+ * amostra de 1 a cada {@value #PASSO_AMOSTRA} valores mantida no heap, e o
+ * restante é feito no arquivo mapeado. O heap usado é de 8 bytes a cada
+ * {@value #PASSO_AMOSTRA} valores.
+ *
+ * O índice é imutável e pode ser consultado por várias threads. Um arquivo
+ * comporta até cerca de 268 milhões de valores (2 GB).
+ *
+ * <pre>
+ * IndiceIdentificadores.gravar(cpfs, arquivo, 10);
+ * IndiceIdentificadores bloqueados = IndiceIdentificadores.abrir(arquivo);
+ * boolean bloqueado = bloqueados.contem(DigitoVerificador.cpfParaLong(cpf));
+ * </pre>
+ */
+public final class IndiceIdentificadores {
+
+    /**
+     * Valores entre duas entradas da amostra mantida no heap.
+     */
+    static final int PASSO_AMOSTRA = 256;
+
+    private static final int ASSINATURA = 0x49445831;
+    private static final int CABECALHO = 24;
+    private static final int LONGS_BLOCO = 8;
+    private static final int BITS_BLOCO = LONGS_BLOCO * Long.SIZE;
+
+    private final ByteBuffer mapa;
+    private final int quantidade;
+    private final long[] amostra;
+    private final int blocos;
+    private final int funcoes;
+    private final int inicioFiltro;
+
+    private IndiceIdentificadores(final ByteBuffer mapa) {
+
+        if (mapa.capacity() < CABECALHO || mapa.getInt(0) != ASSINATURA) {
+            throw new IllegalArgumentException("Arquivo não é um índice de identificadores.");
+        }
+        this.mapa = mapa;
+        this.blocos = mapa.getInt(4);
+        this.quantidade = (int) mapa.getLong(8);
+        this.funcoes = mapa.getInt(16);
+        this.inicioFiltro = CABECALHO + quantidade * Long.BYTES;
+        if (mapa.capacity() != inicioFiltro + (long) blocos * LONGS_BLOCO * Long.BYTES) {
+            throw new IllegalArgumentException("Índice de identificadores truncado.");
+        }
+        this.amostra = new long[(quantidade + PASSO_AMOSTRA - 1) / PASSO_AMOSTRA];
+        for (int i = 0; i < amostra.length; i++) {
+            amostra[i] = valor(i * PASSO_AMOSTRA);
+        }
+    }
+
+    /**
+     * Grava um índice. Os valores são ordenados e as repetições removidas;
+     * o vetor informado não é alterado.
+     *
+     * @param valores Identificadores como número.
+     * @param arquivo Arquivo do índice, substituído se existir.
+     * @param bitsPorValor Tamanho do filtro de Bloom em bits por valor, ou 0
+     * para não usar filtro. Com 10 bits, cerca de 1% dos valores ausentes
+     * passam pelo filtro e precisam da busca binária.
+     * @throws IOException Se o arquivo não puder ser gravado.
+     */
+    public static void gravar(final long[] valores, final Path arquivo, final int bitsPorValor)
+            throws IOException {
+
+        if (bitsPorValor < 0) {
+            throw new IllegalArgumentException("Bits por valor negativo: " + bitsPorValor);
+        }
+        long[] ordenados = valores.clone();
+        Arrays.sort(ordenados);
+        int distintos = 0;
+        for (int i = 0; i < ordenados.length; i++) {
+            if (i == 0 || ordenados[i] != ordenados[distintos - 1]) {
+                ordenados[distintos++] = ordenados[i];
+            }
+        }
+
+        int blocos = bitsPorValor == 0 || distintos == 0 ? 0
+                : (int) Math.max(1, ((long) distintos * bitsPorValor + BITS_BLOCO - 1) / BITS_BLOCO);
+        // Quantidade ótima de funções: bits por valor * ln 2.
+        int funcoes = Math.max(1, (int) Math.round(bitsPorValor * Math.log(2)));
+        long tamanho = CABECALHO + (long) distintos * Long.BYTES + (long) blocos * LONGS_BLOCO * Long.BYTES;
+        if (tamanho > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Índice maior que 2 GB: " + distintos + " valores.");
+        }
+
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanho);
+            mapa.order(ByteOrder.LITTLE_ENDIAN);
+            mapa.putInt(0, ASSINATURA);
+            mapa.putInt(4, blocos);
+            mapa.putLong(8, distintos);
+            mapa.putInt(16, funcoes);
+            for (int i = 0; i < distintos; i++) {
+                mapa.putLong(CABECALHO + i * Long.BYTES, ordenados[i]);
+            }
+            int inicioFiltro = CABECALHO + distintos * Long.BYTES;
+            for (int i = 0; i < distintos && blocos > 0; i++) {
+
+                long hash = Numeros.espalhar(ordenados[i]);
+                int base = inicioFiltro + bloco(hash, blocos) * LONGS_BLOCO * Long.BYTES;
+                for (int j = 0; j < funcoes; j++) {
+                    int bit = bit(hash, j);
+                    int posicao = base + (bit >>> 6) * Long.BYTES;
+                    mapa.putLong(posicao, mapa.getLong(posicao) | 1L << bit);
+                }
+            }
+            mapa.force();
+        }
+    }
+
+    /**
+     * Abre um índice gravado por {@link #gravar(long[], Path, int)}.
+     *
+     * @param arquivo Arquivo do índice.
+     * @return Índice mapeado em memória.
+     * @throws IOException Se o arquivo não puder ser lido.
+     */
+    public static IndiceIdentificadores abrir(final Path arquivo) throws IOException {
+
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+            return new IndiceIdentificadores(mapa.order(ByteOrder.LITTLE_ENDIAN));
+        }
+    }
+
+    /**
+     * @return Quantidade de valores distintos do índice.
+     */
+    public int quantidade() {
+
+        return quantidade;
+    }
+
+    /**
+     * @return true se o índice tiver filtro de Bloom.
+     */
+    public boolean filtro() {
+
+        return blocos > 0;
+    }
+
+    /**
+     * Testa se o valor está no índice.
+     *
+     * @param valor Identificador como número.
+     * @return true se o valor estiver no índice.
+     */
+    public boolean contem(final long valor) {
+
+        return talvezContenha(valor) && buscar(valor) >= 0;
+    }
+
+    /**
+     * Consulta apenas o filtro de Bloom. Sem filtro, sempre retorna true.
+     *
+     * @param valor Identificador como número.
+     * @return false se o valor certamente não estiver no índice.
+     */
+    public boolean talvezContenha(final long valor) {
+
+        if (blocos == 0) {
+            return true;
+        }
+        long hash = Numeros.espalhar(valor);
+        int base = inicioFiltro + bloco(hash, blocos) * LONGS_BLOCO * Long.BYTES;
+        for (int j = 0; j < funcoes; j++) {
+            int bit = bit(hash, j);
+            if ((mapa.getLong(base + (bit >>> 6) * Long.BYTES) & 1L << bit) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Busca binária: na amostra do heap e depois no trecho do arquivo entre
+     * duas entradas da amostra.
+     *
+     * @return Posição do valor, ou -1 se não estiver no índice.
+     */
+    private int buscar(final long valor) {
+
+        int trecho = Arrays.binarySearch(amostra, valor);
+        if (trecho >= 0) {
+            return trecho * PASSO_AMOSTRA;
+        }
+        trecho = -trecho - 2;
+        if (trecho < 0) {
+            return -1;
+        }
+        int baixo = trecho * PASSO_AMOSTRA + 1;
+        int alto = Math.min(quantidade, baixo + PASSO_AMOSTRA - 1) - 1;
+        while (baixo <= alto) {
+
+            int meio = (baixo + alto) >>> 1;
+            long atual = valor(meio);
+            if (atual < valor) {
+                baixo = meio + 1;
+            } else if (atual > valor) {
+                alto = meio - 1;
+            } else {
+                return meio;
+            }
+        }
+        return -1;
+    }
+
+    private long valor(final int posicao) {
+
+        return mapa.getLong(CABECALHO + posicao * Long.BYTES);
+    }
+
+    /**
+     * Bloco de 512 bits (uma linha de cache) que recebe todos os bits do
+     * valor.
+     */
+    private static int bloco(final long hash, final int blocos) {
+
+        return (int) (((hash >>> 32) * blocos) >>> 32);
+    }
+
+    /**
+     * Bit da função {@code j} dentro do bloco, por hash duplo.
+     */
+    private static int bit(final long hash, final int j) {
+
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 41) | 1;
+        return (h1 + j * h2) & (BITS_BLOCO - 1);
+    }
+}
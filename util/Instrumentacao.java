@@ -0,0 +1,502 @@
+package util;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.LongPredicate;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Contadores e latências dos métodos de {@link Validador}.
+ *
+ * A instrumentação é ligada na partida da JVM com
+ * {@code -Dutil.instrumentacao=true}. Desligada, a verificação é uma
+ * constante que o JIT elimina, e os métodos de {@link Validador} custam o
+ * mesmo que sem instrumentação. Ligada, cada chamada incrementa contadores
+ * {@link LongAdder}, sem bloqueio; a medição de latência, que exige duas
+ * leituras do relógio, é ligada à parte por {@link #latencia(boolean)} ou
+ * pela propriedade {@code -Dutil.instrumentacao.latencia=true}.
+ *
+ * Os números são consultados por {@link #instantaneo()} ou pelo MBean
+ * {@value #NOME_MBEAN}, registrado automaticamente quando a instrumentação
+ * está ligada.
+ */
+public final class Instrumentacao {
+
+    /**
+     * Indica se a instrumentação foi ligada na partida da JVM.
+     */
+    public static final boolean ATIVA = Boolean.getBoolean("util.instrumentacao");
+
+    /**
+     * Nome do MBean de instrumentação.
+     */
+    public static final String NOME_MBEAN = "util:type=Validador";
+
+    /**
+     * Métodos instrumentados.
+     */
+    public enum Metodo {
+        INTEIRO, NUMERO, HEXA, MIN_CHARS, MAX_CHARS, REAL, ALFABETICO, EMAIL, DATA,
+        MODULO11, CNPJ, CPF, MD5, GTIN, PAIS
+    }
+
+    private static final Metodo[] METODOS = Metodo.values();
+
+    private static volatile boolean latencia = Boolean.getBoolean("util.instrumentacao.latencia");
+
+    static {
+        if (ATIVA) {
+            registrarMBean();
+        }
+    }
+
+    private Instrumentacao() {
+        //construtor privado para que a classe não seja instanciada
+    }
+
+    /**
+     * Contadores e histogramas, criados no primeiro registro ou consulta.
+     * Com a instrumentação desligada, as chamadas de {@link Validador} não
+     * carregam esta classe.
+     */
+    private static final class Contadores {
+
+        static final LongAdder[] APROVADAS = adders();
+        static final LongAdder[] REPROVADAS = adders();
+        static final LongAdder[] SEM_RESULTADO = adders();
+        static final LongAdder[] EXCECOES = adders();
+        static final HistogramaLatencia[] LATENCIAS = new HistogramaLatencia[METODOS.length];
+
+        static {
+            for (int i = 0; i < LATENCIAS.length; i++) {
+                LATENCIAS[i] = new HistogramaLatencia();
+            }
+        }
+
+        private static LongAdder[] adders() {
+
+            LongAdder[] adders = new LongAdder[METODOS.length];
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+    }
+
+    /**
+     * Liga ou desliga a medição de latência. Sem efeito se a instrumentação
+     * estiver desligada.
+     *
+     * @param ligada true para medir a latência de cada chamada.
+     */
+    public static void latencia(final boolean ligada) {
+
+        latencia = ligada;
+    }
+
+    /**
+     * @return true se a latência estiver sendo medida.
+     */
+    public static boolean latencia() {
+
+        return ATIVA && latencia;
+    }
+
+    /*
+     * Os métodos abaixo recebem a regra e os seus argumentos separados para
+     * que as regras sejam lambdas sem captura, criadas uma só vez: uma lambda
+     * que captura o valor seria alocada a cada chamada.
+     */
+
+    /**
+     * Executa e registra uma validação.
+     *
+     * @param metodo Método chamado.
+     * @param regra Validação instrumentada.
+     * @param valor Valor validado.
+     * @return O resultado da validação, para ser retornado pelo chamador.
+     */
+    static boolean medir(final Metodo metodo, final Predicate<String> regra, final String valor) {
+
+        long inicio = inicio();
+        return registrar(metodo, regra.test(valor), inicio);
+    }
+
+    /**
+     * Executa e registra a validação de um valor numérico.
+     *
+     * @see #medir(Metodo, Predicate, String)
+     */
+    static boolean medir(final Metodo metodo, final LongPredicate regra, final long valor) {
+
+        long inicio = inicio();
+        return registrar(metodo, regra.test(valor), inicio);
+    }
+
+    /**
+     * Executa e registra uma validação com um parâmetro, como uma máscara
+     * ou um tamanho.
+     *
+     * @see #medir(Metodo, Predicate, String)
+     */
+    static <P> boolean medir(final Metodo metodo, final BiPredicate<String, P> regra,
+            final String valor, final P parametro) {
+
+        long inicio = inicio();
+        return registrar(metodo, regra.test(valor, parametro), inicio);
+    }
+
+    /**
+     * Executa e registra uma chamada sem resultado de validação, como um
+     * cálculo ou uma consulta. Um resultado null é contado como chamada sem
+     * resultado, e não como reprovada.
+     *
+     * @param metodo Método chamado.
+     * @param calculo Cálculo instrumentado.
+     * @param valor Argumento do cálculo.
+     * @return O valor calculado, para ser retornado pelo chamador.
+     */
+    static <T> T calcular(final Metodo metodo, final Function<String, T> calculo, final String valor) {
+
+        long inicio = inicio();
+        return registrar(metodo, calculo.apply(valor), inicio);
+    }
+
+    /**
+     * Executa e registra um cálculo sobre um inteiro.
+     *
+     * @see #calcular(Metodo, Function, String)
+     */
+    static <T> T calcular(final Metodo metodo, final IntFunction<T> calculo, final int valor) {
+
+        long inicio = inicio();
+        return registrar(metodo, calculo.apply(valor), inicio);
+    }
+
+    /**
+     * Executa e registra um cálculo com um parâmetro.
+     *
+     * @see #calcular(Metodo, Function, String)
+     */
+    static <P, T> T calcular(final Metodo metodo, final BiFunction<String, P, T> calculo,
+            final String valor, final P parametro) {
+
+        long inicio = inicio();
+        return registrar(metodo, calculo.apply(valor, parametro), inicio);
+    }
+
+    private static long inicio() {
+
+        return ATIVA && latencia ? System.nanoTime() : 0;
+    }
+
+    private static boolean registrar(final Metodo metodo, final boolean valido, final long inicio) {
+
+        if (ATIVA) {
+            (valido ? Contadores.APROVADAS : Contadores.REPROVADAS)[metodo.ordinal()].increment();
+            latencia(metodo, inicio);
+        }
+        return valido;
+    }
+
+    private static <T> T registrar(final Metodo metodo, final T resultado, final long inicio) {
+
+        if (ATIVA) {
+            LongAdder[] contadores = resultado != null ? Contadores.APROVADAS : Contadores.SEM_RESULTADO;
+            contadores[metodo.ordinal()].increment();
+            latencia(metodo, inicio);
+        }
+        return resultado;
+    }
+
+    private static void latencia(final Metodo metodo, final long inicio) {
+
+        if (inicio != 0) {
+            Contadores.LATENCIAS[metodo.ordinal()].registrar(System.nanoTime() - inicio);
+        }
+    }
+
+    /**
+     * Registra uma chamada reprovada sem executar nem medir a validação, como
+     * uma entrada rejeitada antes do cálculo.
+     *
+     * @param metodo Método chamado.
+     */
+    static void falha(final Metodo metodo) {
+
+        if (ATIVA) {
+            Contadores.REPROVADAS[metodo.ordinal()].increment();
+        }
+    }
+
+    /**
+     * Registra uma exceção tratada internamente, que resultou em falha em
+     * vez de ser propagada.
+     *
+     * @param metodo Método em que a exceção ocorreu.
+     */
+    static void excecao(final Metodo metodo) {
+
+        if (ATIVA) {
+            Contadores.EXCECOES[metodo.ordinal()].increment();
+        }
+    }
+
+    /**
+     * Zera todos os contadores e histogramas.
+     */
+    public static void zerar() {
+
+        for (int i = 0; i < METODOS.length; i++) {
+            Contadores.APROVADAS[i].reset();
+            Contadores.REPROVADAS[i].reset();
+            Contadores.SEM_RESULTADO[i].reset();
+            Contadores.EXCECOES[i].reset();
+            Contadores.LATENCIAS[i].zerar();
+        }
+    }
+
+    /**
+     * Lê os números atuais de cada método. A leitura não é atômica entre
+     * contadores: chamadas simultâneas podem aparecer em um e não no outro.
+     *
+     * @return Estatísticas por método.
+     */
+    public static Map<Metodo, Estatistica> instantaneo() {
+
+        Map<Metodo, Estatistica> mapa = new EnumMap<>(Metodo.class);
+        for (Metodo metodo : METODOS) {
+            int i = metodo.ordinal();
+            mapa.put(metodo, new Estatistica(Contadores.APROVADAS[i].sum(),
+                    Contadores.REPROVADAS[i].sum(), Contadores.SEM_RESULTADO[i].sum(),
+                    Contadores.EXCECOES[i].sum(), Contadores.LATENCIAS[i]));
+        }
+        return Collections.unmodifiableMap(mapa);
+    }
+
+    /**
+     * Registra o MBean de instrumentação no servidor de MBeans da plataforma.
+     * Chamadas repetidas não têm efeito.
+     */
+    public static void registrarMBean() {
+
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(new MBean(), new ObjectName(NOME_MBEAN));
+        } catch (InstanceAlreadyExistsException e) {
+            // Já registrado
+        } catch (JMException e) {
+            throw new IllegalStateException("Não foi possível registrar " + NOME_MBEAN, e);
+        }
+    }
+
+    /**
+     * Estatísticas de um método em um instante.
+     */
+    public static final class Estatistica {
+
+        private final long aprovadas;
+        private final long reprovadas;
+        private final long semResultado;
+        private final long excecoes;
+        private final long p50;
+        private final long p99;
+        private final long medidas;
+
+        Estatistica(final long aprovadas, final long reprovadas, final long semResultado,
+                final long excecoes, final HistogramaLatencia latencias) {
+
+            this.aprovadas = aprovadas;
+            this.reprovadas = reprovadas;
+            this.semResultado = semResultado;
+            this.excecoes = excecoes;
+            this.p50 = latencias.percentil(50);
+            this.p99 = latencias.percentil(99);
+            this.medidas = latencias.quantidade();
+        }
+
+        /**
+         * @return Quantidade de chamadas.
+         */
+        public long chamadas() {
+
+            return aprovadas + reprovadas + semResultado;
+        }
+
+        /**
+         * @return Chamadas com valor válido, ou com resultado calculado.
+         */
+        public long aprovadas() {
+
+            return aprovadas;
+        }
+
+        /**
+         * @return Chamadas com valor inválido.
+         */
+        public long reprovadas() {
+
+            return reprovadas;
+        }
+
+        /**
+         * @return Consultas sem resultado, como um prefixo GS1 não atribuído
+         * em {@link Validador#verificaPais(int)}.
+         */
+        public long semResultado() {
+
+            return semResultado;
+        }
+
+        /**
+         * @return Exceções tratadas internamente.
+         */
+        public long excecoes() {
+
+            return excecoes;
+        }
+
+        /**
+         * @return Mediana da latência em nanossegundos, ou 0 sem medidas.
+         */
+        public long p50() {
+
+            return p50;
+        }
+
+        /**
+         * @return Percentil 99 da latência em nanossegundos, ou 0 sem medidas.
+         */
+        public long p99() {
+
+            return p99;
+        }
+
+        /**
+         * @return Quantidade de chamadas com latência medida.
+         */
+        public long medidas() {
+
+            return medidas;
+        }
+
+        @Override
+        public String toString() {
+
+            return "Estatistica[chamadas=" + chamadas() + ", aprovadas=" + aprovadas
+                    + ", reprovadas=" + reprovadas + ", semResultado=" + semResultado
+                    + ", excecoes=" + excecoes
+                    + ", p50=" + p50 + "ns, p99=" + p99 + "ns]";
+        }
+    }
+
+    /**
+     * Interface de gerenciamento exposta por JMX. Cada atributo é um mapa do
+     * nome do método para o valor.
+     */
+    public interface InstrumentacaoMXBean {
+
+        boolean isAtiva();
+
+        boolean isLatencia();
+
+        void setLatencia(boolean ligada);
+
+        Map<String, Long> getChamadas();
+
+        Map<String, Long> getReprovadas();
+
+        Map<String, Long> getSemResultado();
+
+        Map<String, Long> getExcecoes();
+
+        Map<String, Long> getP50Nanos();
+
+        Map<String, Long> getP99Nanos();
+
+        void zerar();
+    }
+
+    private static final class MBean implements InstrumentacaoMXBean {
+
+        @Override
+        public boolean isAtiva() {
+
+            return ATIVA;
+        }
+
+        @Override
+        public boolean isLatencia() {
+
+            return latencia();
+        }
+
+        @Override
+        public void setLatencia(final boolean ligada) {
+
+            latencia(ligada);
+        }
+
+        @Override
+        public Map<String, Long> getChamadas() {
+
+            return coluna(Estatistica::chamadas);
+        }
+
+        @Override
+        public Map<String, Long> getReprovadas() {
+
+            return coluna(Estatistica::reprovadas);
+        }
+
+        @Override
+        public Map<String, Long> getSemResultado() {
+
+            return coluna(Estatistica::semResultado);
+        }
+
+        @Override
+        public Map<String, Long> getExcecoes() {
+
+            return coluna(Estatistica::excecoes);
+        }
+
+        @Override
+        public Map<String, Long> getP50Nanos() {
+
+            return coluna(Estatistica::p50);
+        }
+
+        @Override
+        public Map<String, Long> getP99Nanos() {
+
+            return coluna(Estatistica::p99);
+        }
+
+        @Override
+        public void zerar() {
+
+            Instrumentacao.zerar();
+        }
+
+        private static Map<String, Long> coluna(final ToLongFunction<Estatistica> valor) {
+
+            Map<String, Long> mapa = new LinkedHashMap<>();
+            instantaneo().forEach((metodo, estatistica) ->
+                    mapa.put(metodo.name(), valor.applyAsLong(estatistica)));
+            return mapa;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cache de internação dos domínios de email, para agregar por domínio
+ * grandes volumes de endereços.
+ *
+ * O domínio é lido diretamente do trecho do campo, depois do '@' devolvido
+ * por {@link ValidadorEmail}, e convertido para minúsculas ASCII. Se já
+ * estiver no cache, a mesma instância de String é devolvida sem criar
+ * objetos; caso contrário, a String é criada e guardada. Domínios iguais a
+ * menos da caixa resultam na mesma String, que pode ser usada como chave de
+ * agregação e comparada por igualdade de referência enquanto estiver no
+ * cache.
+ *
+ * A tabela tem tamanho fixo e é associativa em conjuntos de 4 entradas,
+ * sem bloqueio. Com o conjunto cheio, uma das entradas é substituída; o
+ * domínio substituído volta a ser criado na próxima vez, com o mesmo valor.
+ */
+public final class InternadorDominios {
+
+    /**
+     * Capacidade padrão da tabela.
+     */
+    public static final int CAPACIDADE_PADRAO = 1 << 14;
+
+    /**
+     * Entradas por conjunto.
+     */
+    private static final int VIAS = 4;
+
+    private final AtomicReferenceArray<String> dominios;
+    private final int mascara;
+    private final LongAdder acertos = new LongAdder();
+    private final LongAdder falhas = new LongAdder();
+
+    /**
+     * Cria o cache com a capacidade padrão.
+     */
+    public InternadorDominios() {
+
+        this(CAPACIDADE_PADRAO);
+    }
+
+    /**
+     * @param capacidade Quantidade de domínios, arredondada para cima para
+     * uma potência de 2.
+     */
+    public InternadorDominios(final int capacidade) {
+
+        if (capacidade <= 0 || capacidade > 1 << 30) {
+            throw new IllegalArgumentException("Capacidade inválida: " + capacidade);
+        }
+        int tamanho = Math.max(VIAS, Integer.highestOneBit(capacidade - 1) << 1);
+        dominios = new AtomicReferenceArray<>(tamanho);
+        mascara = tamanho - 1;
+    }
+
+    /**
+     * Valida o email e interna o domínio.
+     *
+     * @param email Email a ser validado.
+     * @param opcoes Opções de {@link ValidadorEmail}, ou 0.
+     * @return Domínio em minúsculas, ou null se o email for inválido.
+     */
+    public String dominio(final CharSequence email, final int opcoes) {
+
+        int arroba = ValidadorEmail.arroba(email, opcoes);
+        return arroba < 0 ? null : internar(email, arroba + 1, email.length());
+    }
+
+    /**
+     * Valida o email em UTF-8 e interna o domínio.
+     *
+     * @param buffer Buffer lido por posição absoluta.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes do campo.
+     * @param opcoes Opções de {@link ValidadorEmail}, ou 0.
+     * @return Domínio em minúsculas, ou null se o email for inválido.
+     */
+    public String dominio(final ByteBuffer buffer, final int inicio, final int tamanho,
+            final int opcoes) {
+
+        int arroba = ValidadorEmail.arroba(buffer, inicio, tamanho, opcoes);
+        return arroba < 0 ? null : internar(buffer, arroba + 1, inicio + tamanho);
+    }
+
+    /**
+     * Interna um trecho de texto, em minúsculas ASCII.
+     *
+     * @param texto Texto com o domínio.
+     * @param inicio Posição do primeiro caractere.
+     * @param fim Posição seguinte ao último caractere.
+     * @return String única do domínio.
+     */
+    public String internar(final CharSequence texto, final int inicio, final int fim) {
+
+        // Mesmo cálculo de String.hashCode() sobre o texto em minúsculas,
+        // para comparar com o hash já guardado nas Strings internadas.
+        int hash = 0;
+        for (int i = inicio; i < fim; i++) {
+            hash = 31 * hash + minuscula(texto.charAt(i));
+        }
+        int base = base(hash);
+        for (int i = base; i < base + VIAS; i++) {
+            String dominio = dominios.get(i);
+            if (dominio != null && dominio.hashCode() == hash && igual(dominio, texto, inicio, fim)) {
+                acertos.increment();
+                return dominio;
+            }
+        }
+        char[] minusculas = new char[fim - inicio];
+        for (int i = inicio; i < fim; i++) {
+            minusculas[i - inicio] = minuscula(texto.charAt(i));
+        }
+        return guardar(new String(minusculas), base, hash);
+    }
+
+    /**
+     * Interna um trecho de buffer em UTF-8, em minúsculas ASCII. Domínios
+     * só com ASCII são comparados direto nos bytes.
+     *
+     * @param buffer Buffer lido por posição absoluta.
+     * @param inicio Posição do primeiro byte.
+     * @param fim Posição seguinte ao último byte.
+     * @return String única do domínio.
+     */
+    public String internar(final ByteBuffer buffer, final int inicio, final int fim) {
+
+        int hash = 0;
+        for (int i = inicio; i < fim; i++) {
+            int c = buffer.get(i);
+            if (c < 0) {
+                byte[] bytes = new byte[fim - inicio];
+                buffer.get(inicio, bytes);
+                String texto = new String(bytes, StandardCharsets.UTF_8);
+                return internar(texto, 0, texto.length());
+            }
+            hash = 31 * hash + minuscula((char) c);
+        }
+        int base = base(hash);
+        for (int i = base; i < base + VIAS; i++) {
+            String dominio = dominios.get(i);
+            if (dominio != null && dominio.hashCode() == hash && igual(dominio, buffer, inicio, fim)) {
+                acertos.increment();
+                return dominio;
+            }
+        }
+        char[] minusculas = new char[fim - inicio];
+        for (int i = inicio; i < fim; i++) {
+            minusculas[i - inicio] = minuscula((char) buffer.get(i));
+        }
+        return guardar(new String(minusculas), base, hash);
+    }
+
+    /**
+     * @return Quantidade de domínios encontrados no cache.
+     */
+    public long acertos() {
+
+        return acertos.sum();
+    }
+
+    /**
+     * @return Quantidade de domínios criados.
+     */
+    public long falhas() {
+
+        return falhas.sum();
+    }
+
+    /**
+     * Esvazia o cache e zera os contadores.
+     */
+    public void limpar() {
+
+        for (int i = 0; i < dominios.length(); i++) {
+            dominios.set(i, null);
+        }
+        acertos.reset();
+        falhas.reset();
+    }
+
+    private String guardar(final String dominio, final int base, final int hash) {
+
+        falhas.increment();
+        for (int i = base; i < base + VIAS; i++) {
+
+            String atual = dominios.get(i);
+            if (atual == null && dominios.compareAndSet(i, null, dominio)) {
+                return dominio;
+            }
+            atual = dominios.get(i);
+            // Outra thread pode ter guardado o mesmo domínio.
+            if (atual != null && atual.hashCode() == hash && atual.equals(dominio)) {
+                return atual;
+            }
+        }
+        // Conjunto cheio: a via é escolhida pelos bits altos do hash, que não
+        // foram usados para escolher o conjunto.
+        dominios.set(base + (int) (Numeros.espalhar(hash) >>> 62), dominio);
+        return dominio;
+    }
+
+    private int base(final int hash) {
+
+        return (int) Numeros.espalhar(hash) & mascara & -VIAS;
+    }
+
+    private static char minuscula(final char c) {
+
+        return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+    }
+
+    private static boolean igual(final String dominio, final CharSequence texto, final int inicio,
+            final int fim) {
+
+        if (dominio.length() != fim - inicio) {
+            return false;
+        }
+        for (int i = inicio; i < fim; i++) {
+            if (dominio.charAt(i - inicio) != minuscula(texto.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean igual(final String dominio, final ByteBuffer buffer, final int inicio,
+            final int fim) {
+
+        if (dominio.length() != fim - inicio) {
+            return false;
+        }
+        for (int i = inicio; i < fim; i++) {
+            if (dominio.charAt(i - inicio) != minuscula((char) buffer.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
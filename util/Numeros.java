@@ -0,0 +1,52 @@
+package util;
+
+/**
+ * Funções numéricas compartilhadas pelas classes do pacote: a mistura de
+ * bits usada como hash das chaves long e as potências de 10 que cabem em um
+ * long.
+ */
+final class Numeros {
+
+    /**
+     * Quantidade de dígitos decimais que sempre cabem em um long.
+     */
+    static final int DIGITOS_LONG = 18;
+
+    private static final long[] POTENCIAS = new long[DIGITOS_LONG + 1];
+
+    static {
+        POTENCIAS[0] = 1;
+        for (int i = 1; i < POTENCIAS.length; i++) {
+            POTENCIAS[i] = POTENCIAS[i - 1] * 10;
+        }
+    }
+
+    private Numeros() {
+        //construtor privado para que a classe não seja instanciada
+    }
+
+    /**
+     * Mistura os bits do valor (finalizador do MurmurHash3), de modo que
+     * valores próximos tenham hashes independentes em todos os bits.
+     *
+     * @param valor Valor a ser misturado.
+     * @return Hash de 64 bits.
+     */
+    static long espalhar(long valor) {
+
+        valor ^= valor >>> 33;
+        valor *= 0xff51afd7ed558ccdL;
+        valor ^= valor >>> 33;
+        valor *= 0xc4ceb9fe1a85ec53L;
+        return valor ^ (valor >>> 33);
+    }
+
+    /**
+     * @param expoente Expoente, de 0 a {@link #DIGITOS_LONG}.
+     * @return 10 elevado ao expoente.
+     */
+    static long potencia10(final int expoente) {
+
+        return POTENCIAS[expoente];
+    }
+}
@@ -0,0 +1,213 @@
+package util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Classe de consulta do país ou organização GS1 pelo prefixo de três dígitos
+ * do código de barras.
+ *
+ * As faixas são carregadas uma única vez em uma tabela de 1000 posições, de
+ * modo que a consulta é um acesso direto ao vetor. Cada país recebe também
+ * um código inteiro estável, útil para agregar resultados sem comparar
+ * Strings.
+ */
+public final class PrefixoGs1 {
+
+    /**
+     * Código retornado quando o prefixo não pertence a nenhuma faixa.
+     */
+    public static final int NENHUM = -1;
+
+    private static final String[] PAISES = new String[1000];
+    private static final short[] CODIGOS = new short[1000];
+    private static final List<String> NOMES = new ArrayList<>();
+    private static final Map<String, Integer> INDICE = new HashMap<>();
+
+    static {
+        Arrays.fill(CODIGOS, (short) NENHUM);
+        faixa(789, 790, "Brasil");
+        faixa(2, 19, "E.U.A.");
+        faixa(20, 29, "Distribuição restringida\ndefinido pela organização membro GS1");
+        faixa(30, 39, "E.U.A (reservado para medicamentos)");
+        faixa(40, 49, "Distribuição restringida\ndefinido pela organização membro GS1");
+        faixa(50, 59, "Coupons");
+        faixa(60, 139, "E.U.A.");
+        faixa(200, 299, "Distribuição restringida\ndefinido pela organização membro GS1");
+        faixa(300, 379, "França");
+        faixa(380, 380, "Bulgária");
+        faixa(383, 383, "Eslovénia");
+        faixa(385, 385, "Croácia");
+        faixa(387, 387, "Bósnia e Herzegovina");
+        faixa(400, 440, "Alemanha");
+        faixa(450, 459, "Japão");
+        faixa(490, 499, "Japão");
+        faixa(460, 469, "Rússia");
+        faixa(470, 470, "Quirguistão");
+        faixa(471, 471, "Ilha de Taiwan");
+        faixa(474, 474, "Estônia");
+        faixa(475, 475, "Letônia");
+        faixa(476, 476, "Azerbaijão");
+        faixa(477, 477, "Lituânia");
+        faixa(478, 478, "Usbequistão");
+        faixa(479, 479, "Sri Lanka");
+        faixa(480, 480, "Filipinas");
+        faixa(481, 481, "Bielorrússia");
+        faixa(482, 482, "Ucrânia");
+        faixa(484, 484, "Moldávia");
+        faixa(485, 485, "Armênia");
+        faixa(486, 486, "Geórgia");
+        faixa(487, 487, "Cazaquistão");
+        faixa(489, 489, "Hong Kong");
+        faixa(500, 509, "Reino Unido");
+        faixa(520, 521, "Grécia");
+        faixa(528, 528, "Líbano");
+        faixa(529, 529, "Chipre");
+        faixa(530, 530, "Albânia");
+        faixa(531, 531, "República da Macedônia");
+        faixa(535, 535, "Malta");
+        faixa(539, 539, "República da Irlanda");
+        faixa(540, 549, "Bélgica & Luxemburgo");
+        faixa(560, 560, "Portugal");
+        faixa(569, 569, "Islândia");
+        faixa(570, 579, "Dinamarca");
+        faixa(590, 590, "Polónia");
+        faixa(594, 594, "Romênia");
+        faixa(599, 599, "Hungria");
+        faixa(600, 601, "África do Sul");
+        faixa(603, 603, "Gana");
+        faixa(608, 608, "Bahrein");
+        faixa(609, 609, "lhas Maurício");
+        faixa(611, 611, "Marrocos");
+        faixa(613, 613, "Argélia");
+        faixa(616, 616, "Quênia");
+        faixa(618, 618, "Costa do Marfim");
+        faixa(619, 619, "Tunísia");
+        faixa(621, 621, "Síria");
+        faixa(622, 622, "Egito");
+        faixa(624, 624, "Líbia");
+        faixa(625, 625, "Jordânia");
+        faixa(626, 626, "Irã");
+        faixa(627, 627, "Kuwait");
+        faixa(628, 628, "Arábia Saudita");
+        faixa(629, 629, "Emirados Árabes Unidos");
+        faixa(640, 649, "Finlândia");
+        faixa(690, 699, "República Popular da China");
+        faixa(700, 709, "Noruega");
+        faixa(729, 729, "Israel");
+        faixa(730, 739, "Suécia");
+        faixa(740, 740, "Guatemala");
+        faixa(741, 741, "El Salvador");
+        faixa(742, 742, "Honduras");
+        faixa(743, 743, "Nicarágua");
+        faixa(744, 744, "Costa Rica");
+        faixa(745, 745, "Panamá");
+        faixa(746, 746, "República Dominicana");
+        faixa(750, 750, "México");
+        faixa(754, 755, "Canadá");
+        faixa(759, 759, "Venezuela");
+        faixa(760, 769, "Suíça");
+        faixa(770, 770, "Colômbia");
+        faixa(773, 773, "Uruguai");
+        faixa(775, 775, "Peru");
+        faixa(777, 777, "Bolívia");
+        faixa(779, 779, "Argentina");
+        faixa(780, 780, "Chile");
+        faixa(784, 784, "Paraguai");
+        faixa(786, 786, "Equador");
+        faixa(800, 839, "Itália");
+        faixa(840, 849, "Espanha");
+        faixa(850, 850, "Cuba");
+        faixa(858, 858, "Eslováquia");
+        faixa(859, 859, "República Checa");
+        faixa(860, 860, "Sérvia e Montenegro");
+        faixa(865, 865, "Mongólia");
+        faixa(867, 867, "Coreia do Norte");
+        faixa(868, 869, "Turquia");
+        faixa(870, 879, "Holanda");
+        faixa(880, 880, "Coreia do Sul");
+        faixa(884, 884, "Cambodja");
+        faixa(885, 885, "Tailândia");
+        faixa(888, 888, "Singapura");
+        faixa(890, 890, "Índia");
+        faixa(893, 893, "Vietnam");
+        faixa(899, 899, "Indonésia");
+        faixa(900, 919, "Áustria");
+        faixa(930, 939, "Austrália");
+        faixa(940, 949, "Nova Zelândia");
+        faixa(950, 950, "GS1 Global Office");
+        faixa(955, 955, "Malásia");
+        faixa(958, 958, "Macau");
+        faixa(977, 977, "Publicações periódicas seriadas (ISSN)");
+        faixa(978, 979, "International ISBN Agency");
+        faixa(980, 980, "Refund receipts");
+        faixa(981, 982, "Coupons e meios de pagamento");
+        faixa(990, 999, "Coupons");
+    }
+
+    private PrefixoGs1() {
+        //construtor privado para que a classe não seja instanciada
+    }
+
+    /**
+     * Registra uma faixa de prefixos. Uma faixa não sobrescreve prefixos já
+     * registrados, preservando a precedência da ordem de declaração.
+     */
+    private static void faixa(final int inicio, final int fim, final String nome) {
+
+        Integer codigo = INDICE.get(nome);
+        if (codigo == null) {
+            codigo = NOMES.size();
+            NOMES.add(nome);
+            INDICE.put(nome, codigo);
+        }
+        for (int prefixo = inicio; prefixo <= fim; prefixo++) {
+            if (PAISES[prefixo] == null) {
+                PAISES[prefixo] = nome;
+                CODIGOS[prefixo] = codigo.shortValue();
+            }
+        }
+    }
+
+    /**
+     * Verifica qual pais pertence o prefixo do codigo de barras.
+     *
+     * @param prefixo Três primeiros dígitos do código de barras.
+     * @return null se o prefixo for invalido ou String com o nome do pais.
+     */
+    public static String pais(final int prefixo) {
+
+        return prefixo >= 0 && prefixo < PAISES.length ? PAISES[prefixo] : null;
+    }
+
+    /**
+     * Verifica qual pais pertence o prefixo do codigo de barras.
+     *
+     * @param prefixo Três primeiros dígitos do código de barras.
+     * @return {@link #NENHUM} se o prefixo for invalido ou o código do pais.
+     */
+    public static int codigo(final int prefixo) {
+
+        return prefixo >= 0 && prefixo < CODIGOS.length ? CODIGOS[prefixo] : NENHUM;
+    }
+
+    /**
+     * @param codigo Código retornado por {@link #codigo(int)}.
+     * @return Nome do pais.
+     */
+    public static String nome(final int codigo) {
+
+        return NOMES.get(codigo);
+    }
+
+    /**
+     * @return Quantidade de códigos de pais distintos.
+     */
+    public static int quantidade() {
+
+        return NOMES.size();
+    }
+}
@@ -0,0 +1,30 @@
+package util;
+
+/**
+ * Provedor de regras de validação, carregado por
+ * {@link java.util.ServiceLoader} na primeira consulta a
+ * {@link RegistroRegras}.
+ *
+ * Um módulo que acrescenta regras (PIS/PASEP, RENAVAM, placa, CEP,
+ * inscrição estadual) implementa esta interface em uma classe pública com
+ * construtor sem parâmetros e a declara no arquivo
+ * {@code META-INF/services/util.ProvedorRegras} do seu jar:
+ *
+ * <pre>
+ * public final class RegrasVeiculo implements ProvedorRegras {
+ *     public void registrar(RegistroRegras.Registro registro) {
+ *         registro.regra("renavam", Renavam::valido);
+ *         registro.fabrica("placa", formato -&gt; placa -&gt; Placa.valida(placa, formato));
+ *     }
+ * }
+ * </pre>
+ */
+public interface ProvedorRegras {
+
+    /**
+     * Registra as regras do provedor. É chamado uma única vez.
+     *
+     * @param registro Recebe as regras e fábricas do provedor.
+     */
+    void registrar(RegistroRegras.Registro registro);
+}
@@ -0,0 +1,343 @@
+package util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Registro de regras de validação por nome, para pipelines configurados
+ * por arquivo.
+ *
+ * O nome é resolvido uma única vez para a própria regra ou para um
+ * {@link MethodHandle} já ligado a ela; guardado em um campo final, o
+ * {@link MethodHandle} é uma constante para o JIT, e a chamada é inlinada
+ * como uma chamada estática direta, sem reflexão nem switch por nome:
+ *
+ * <pre>
+ * static final MethodHandle REGRA = RegistroRegras.manipulador(config.getProperty("regra"));
+ * ...
+ * boolean valido = (boolean) REGRA.invokeExact(valor);
+ * </pre>
+ *
+ * Regras com parâmetro são criadas por uma fábrica e pedidas como
+ * {@code "nome:parametro"}, por exemplo {@code "data:dd/MM/yyyy"}; as
+ * primeiras {@link #LIMITE_CRIADAS} regras criadas são reaproveitadas nas
+ * consultas seguintes, e as demais são criadas a cada consulta.
+ *
+ * Regras embutidas: {@code inteiro}, {@code numero}, {@code hexa},
+ * {@code real}, {@code alfabetico}, {@code email}, {@code cpf},
+ * {@code cnpj} e {@code gtin} (as constantes de {@link Regra}), e as
+ * fábricas {@code data:mascara}, {@code min_chars:n} e
+ * {@code max_chars:n}. As demais vêm dos {@link ProvedorRegras} encontrados
+ * por {@link ServiceLoader} na primeira consulta, ou de
+ * {@link #registrar(String, RegraValidacao)}. Os nomes não diferenciam
+ * maiúsculas de minúsculas e não podem ser registrados duas vezes.
+ *
+ * Um provedor que não pode ser carregado ou que lança exceção ao registrar
+ * não impede o uso do registro: a falha é registrada em
+ * {@link #falhasProvedores()} e no log da plataforma, e as regras que ele
+ * registrou antes da falha continuam disponíveis.
+ */
+public final class RegistroRegras {
+
+    /**
+     * Separa o nome da fábrica do parâmetro.
+     */
+    private static final char SEPARADOR = ':';
+
+    /**
+     * Quantidade máxima de regras criadas por fábricas guardadas para
+     * reaproveitamento.
+     */
+    static final int LIMITE_CRIADAS = 64;
+
+    private RegistroRegras() {
+        //construtor privado para que a classe não seja instanciada
+    }
+
+    /**
+     * Recebe as regras de um {@link ProvedorRegras}.
+     */
+    public static final class Registro {
+
+        private Registro() {
+        }
+
+        /**
+         * Registra uma regra.
+         *
+         * @param nome Nome da regra.
+         * @param regra Regra.
+         * @return O próprio registro.
+         * @throws IllegalArgumentException Se o nome já estiver registrado.
+         */
+        public Registro regra(final String nome, final RegraValidacao regra) {
+
+            adicionar(Carregadas.REGRAS, nome, regra);
+            return this;
+        }
+
+        /**
+         * Registra uma fábrica de regras com parâmetro.
+         *
+         * @param nome Nome da fábrica.
+         * @param fabrica Cria a regra a partir do parâmetro; lança
+         * IllegalArgumentException se o parâmetro for inválido.
+         * @return O próprio registro.
+         * @throws IllegalArgumentException Se o nome já estiver registrado.
+         */
+        public Registro fabrica(final String nome, final Function<String, RegraValidacao> fabrica) {
+
+            adicionar(Carregadas.FABRICAS, nome, fabrica);
+            return this;
+        }
+    }
+
+    /**
+     * Resolve uma regra pelo nome.
+     *
+     * @param nome Nome da regra, ou {@code "fabrica:parametro"}.
+     * @return Regra registrada ou criada pela fábrica.
+     * @throws IllegalArgumentException Se o nome não estiver registrado ou o
+     * parâmetro for inválido.
+     */
+    public static RegraValidacao regra(final String nome) {
+
+        String chave = nome.toLowerCase(Locale.ROOT);
+        RegraValidacao regra = Carregadas.REGRAS.get(chave);
+        if (regra != null) {
+            return regra;
+        }
+        int separador = nome.indexOf(SEPARADOR);
+        if (separador < 0) {
+            throw new IllegalArgumentException("Regra não registrada: " + nome);
+        }
+        // O parâmetro mantém as maiúsculas, como em "dd/MM/yyyy".
+        String chaveCriada = chave.substring(0, separador) + nome.substring(separador);
+        regra = Carregadas.CRIADAS.get(chaveCriada);
+        if (regra != null) {
+            return regra;
+        }
+        Function<String, RegraValidacao> fabrica = Carregadas.FABRICAS.get(chave.substring(0, separador));
+        if (fabrica == null) {
+            throw new IllegalArgumentException("Fábrica de regras não registrada: " + nome);
+        }
+        RegraValidacao criada = fabrica.apply(nome.substring(separador + 1));
+        if (Carregadas.CRIADAS.size() >= LIMITE_CRIADAS) {
+            return criada;
+        }
+        RegraValidacao anterior = Carregadas.CRIADAS.putIfAbsent(chaveCriada, criada);
+        return anterior != null ? anterior : criada;
+    }
+
+    /**
+     * Resolve uma regra pelo nome para um {@link MethodHandle} do tipo
+     * {@code (String)boolean}.
+     *
+     * @param nome Nome da regra, ou {@code "fabrica:parametro"}.
+     * @return {@link RegraValidacao#testar(String)} ligado à regra.
+     * @throws IllegalArgumentException Se o nome não estiver registrado.
+     */
+    public static MethodHandle manipulador(final String nome) {
+
+        return Carregadas.TESTAR.bindTo(regra(nome));
+    }
+
+    /**
+     * Resolve uma regra pelo nome para um {@link MethodHandle} do tipo
+     * {@code (ByteBuffer, int, int)boolean}.
+     *
+     * @param nome Nome da regra, ou {@code "fabrica:parametro"}.
+     * @return {@link RegraValidacao#testar(ByteBuffer, int, int)} ligado à
+     * regra.
+     * @throws IllegalArgumentException Se o nome não estiver registrado.
+     */
+    public static MethodHandle manipuladorBuffer(final String nome) {
+
+        return Carregadas.TESTAR_BUFFER.bindTo(regra(nome));
+    }
+
+    /**
+     * Registra uma regra em tempo de execução.
+     *
+     * @param nome Nome da regra.
+     * @param regra Regra, por exemplo uma lambda.
+     * @throws IllegalArgumentException Se o nome já estiver registrado.
+     */
+    public static void registrar(final String nome, final RegraValidacao regra) {
+
+        adicionar(Carregadas.REGRAS, nome, regra);
+    }
+
+    /**
+     * Registra uma fábrica de regras com parâmetro em tempo de execução.
+     *
+     * @param nome Nome da fábrica.
+     * @param fabrica Cria a regra a partir do parâmetro.
+     * @throws IllegalArgumentException Se o nome já estiver registrado.
+     */
+    public static void registrarFabrica(final String nome,
+            final Function<String, RegraValidacao> fabrica) {
+
+        adicionar(Carregadas.FABRICAS, nome, fabrica);
+    }
+
+    /**
+     * @return Nomes das regras e das fábricas registradas, estas seguidas
+     * de ':', em ordem alfabética.
+     */
+    public static Set<String> nomes() {
+
+        Set<String> nomes = new TreeSet<>(Carregadas.REGRAS.keySet());
+        for (String fabrica : Carregadas.FABRICAS.keySet()) {
+            nomes.add(fabrica + SEPARADOR);
+        }
+        return nomes;
+    }
+
+    /**
+     * @return Falhas dos {@link ProvedorRegras} ao serem carregados ou ao
+     * registrarem as suas regras, na ordem em que ocorreram.
+     */
+    public static List<Throwable> falhasProvedores() {
+
+        return Carregadas.FALHAS;
+    }
+
+    private static <T> void adicionar(final Map<String, T> mapa, final String nome, final T valor) {
+
+        if (nome.isEmpty() || nome.indexOf(SEPARADOR) >= 0) {
+            throw new IllegalArgumentException("Nome de regra inválido: " + nome);
+        }
+        if (mapa.putIfAbsent(nome.toLowerCase(Locale.ROOT), valor) != null) {
+            throw new IllegalArgumentException("Regra já registrada: " + nome);
+        }
+    }
+
+    /**
+     * Regras carregadas na primeira consulta ao registro.
+     */
+    private static final class Carregadas {
+
+        /**
+         * Falhas seguidas do ServiceLoader após as quais a busca de
+         * provedores é abandonada.
+         */
+        private static final int FALHAS_SEGUIDAS = 16;
+
+        static final Map<String, RegraValidacao> REGRAS = new ConcurrentHashMap<>();
+        static final Map<String, Function<String, RegraValidacao>> FABRICAS = new ConcurrentHashMap<>();
+        static final Map<String, RegraValidacao> CRIADAS = new ConcurrentHashMap<>();
+        static final List<Throwable> FALHAS;
+        static final MethodHandle TESTAR;
+        static final MethodHandle TESTAR_BUFFER;
+
+        static {
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+                TESTAR = lookup.findVirtual(RegraValidacao.class, "testar",
+                        MethodType.methodType(boolean.class, String.class));
+                TESTAR_BUFFER = lookup.findVirtual(RegraValidacao.class, "testar",
+                        MethodType.methodType(boolean.class, ByteBuffer.class, int.class, int.class));
+            } catch (NoSuchMethodException | IllegalAccessException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+            Registro registro = new Registro();
+            new Embutidas().registrar(registro);
+            List<Throwable> falhas = new ArrayList<>();
+            Iterator<ProvedorRegras> provedores = ServiceLoader.load(ProvedorRegras.class).iterator();
+            int seguidas = 0;
+            while (seguidas < FALHAS_SEGUIDAS) {
+                ProvedorRegras provedor;
+                try {
+                    if (!provedores.hasNext()) {
+                        break;
+                    }
+                    provedor = provedores.next();
+                    seguidas = 0;
+                } catch (ServiceConfigurationError e) {
+                    // O iterador tenta seguir para o próximo provedor listado,
+                    // o que nem sempre é possível.
+                    falha(falhas, "Provedor de regras não carregado", e);
+                    seguidas++;
+                    continue;
+                }
+                try {
+                    provedor.registrar(registro);
+                } catch (RuntimeException | LinkageError e) {
+                    falha(falhas, "Falha ao registrar as regras de " + provedor.getClass().getName(), e);
+                }
+            }
+            FALHAS = Collections.unmodifiableList(falhas);
+        }
+
+        private static void falha(final List<Throwable> falhas, final String mensagem, final Throwable e) {
+
+            falhas.add(e);
+            System.getLogger(RegistroRegras.class.getName()).log(System.Logger.Level.WARNING, mensagem, e);
+        }
+    }
+
+    /**
+     * Regras de {@link Validador}.
+     */
+    private static final class Embutidas implements ProvedorRegras {
+
+        @Override
+        public void registrar(final Registro registro) {
+
+            for (Regra regra : Regra.values()) {
+                registro.regra(regra.name(), regra);
+            }
+            registro.fabrica("data", Embutidas::data);
+            registro.fabrica("min_chars", parametro -> {
+                int minimo = quantidade(parametro);
+                return valor -> Validador.minChars(valor, minimo);
+            });
+            registro.fabrica("max_chars", parametro -> {
+                int maximo = quantidade(parametro);
+                return valor -> Validador.maxChars(valor, maximo);
+            });
+        }
+
+        private static RegraValidacao data(final String mascara) {
+
+            if (mascara.isEmpty()) {
+                throw new IllegalArgumentException("Máscara de data vazia.");
+            }
+            return new RegraValidacao() {
+                @Override
+                public boolean testar(final String valor) {
+                    return Validador.data(valor, mascara);
+                }
+
+                @Override
+                public boolean testar(final ByteBuffer buffer, final int inicio, final int tamanho) {
+                    return tamanho > 0 && ValidadorData.valida(buffer, inicio, tamanho, mascara);
+                }
+            };
+        }
+
+        private static int quantidade(final String parametro) {
+
+            try {
+                return Integer.parseInt(parametro);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Quantidade inválida: " + parametro, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Regras de validação de {@link Validador} que não dependem de parâmetros.
+ * São as regras embutidas de {@link RegistroRegras}, com o nome da
+ * constante em minúsculas.
+ */
+public enum Regra implements RegraValidacao {
+
+    /**
+     * {@link Validador#inteiro(String)}.
+     */
+    INTEIRO {
+        @Override
+        public boolean testar(final String valor) {
+            return Validador.inteiro(valor);
+        }
+
+        @Override
+        public boolean testar(final ByteBuffer buffer, final int inicio, final int tamanho) {
+            return tamanho > 0 && EscaneadorCaracteres.inteiro(buffer, inicio, tamanho);
+        }
+    },
+    /**
+     * {@link Validador#numero(String)}.
+     */
+    NUMERO {
+        @Override
+        public boolean testar(final String valor) {
+            return Validador.numero(valor);
+        }
+
+        @Override
+        public boolean testar(final ByteBuffer buffer, final int inicio, final int tamanho) {
+            return tamanho > 0 && (EscaneadorCaracteres.inteiro(buffer, inicio, tamanho)
+                    || EscaneadorCaracteres.real(buffer, inicio, tamanho));
+        }
+    },
+    /**
+     * {@link Validador#hexa(String)}.
+     */
+    HEXA {
+        @Override
+        public boolean testar(final String valor) {
+            return Validador.hexa(valor);
+        }
+
+        @Override
+        public boolean testar(final ByteBuffer buffer, final int inicio, final int tamanho) {
+            return tamanho > 0 && EscaneadorCaracteres.hexa(buffer, inicio, tamanho);
+        }
+    },
+    /**
+     * {@link Validador#real(String)}.
+     */
+    REAL {
+        @Override
+        public boolean testar(final String valor) {
+            return Validador.real(valor);
+        }
+
+        @Override
+        public boolean testar(final ByteBuffer buffer, final int inicio, final int tamanho) {
+            return tamanho > 0 && EscaneadorCaracteres.real(buffer, inicio, tamanho);
+        }
+    },
+    /**
+     * {@link Validador#alfabetico(String)}.
+     */
+    ALFABETICO {
+        @Override
+        public boolean testar(final String valor) {
+            return Validador.alfabetico(valor);
+        }
+
+        @Override
+        public boolean testar(final ByteBuffer buffer, final int inicio, final int tamanho) {
+            return tamanho > 0 && EscaneadorCaracteres.alfabetico(buffer, inicio, tamanho);
+        }
+    },
+    /**
+     * {@link Validador#email(String)}.
+     */
+    EMAIL {
+        @Override
+        public boolean testar(final String valor) {
+            return Validador.email(valor);
+        }
+
+        @Override
+        public boolean testar(final ByteBuffer buffer, final int inicio, final int tamanho) {
+            return tamanho > 0 && ValidadorEmail.valido(buffer, inicio, tamanho);
+        }
+    },
+    /**
+     * {@link Validador#cpf(String)}.
+     */
+    CPF {
+        @Override
+        public boolean testar(final String valor) {
+            return Validador.cpf(valor);
+        }
+
+        @Override
+        public boolean testar(final ByteBuffer buffer, final int inicio, final int tamanho) {
+            return DigitoVerificador.cpf(buffer, inicio, tamanho);
+        }
+    },
+    /**
+     * {@link Validador#cnpj(String)}.
+     */
+    CNPJ {
+        @Override
+        public boolean testar(final String valor) {
+            return Validador.cnpj(valor);
+        }
+
+        @Override
+        public boolean testar(final ByteBuffer buffer, final int inicio, final int tamanho) {
+            return DigitoVerificador.cnpj(buffer, inicio, tamanho);
+        }
+    },
+    /**
+     * {@link Validador#isCodigoValido(String)}.
+     */
+    GTIN {
+        @Override
+        public boolean testar(final String valor) {
+            return Validador.isCodigoValido(valor);
+        }
+
+        @Override
+        public boolean testar(final ByteBuffer buffer, final int inicio, final int tamanho) {
+            return Gtin.valido(buffer, inicio, tamanho);
+        }
+    };
+
+    /**
+     * Aplica a regra ao valor.
+     *
+     * @param valor String a ser testada.
+     * @return true se o valor atender à regra.
+     */
+    @Override
+    public abstract boolean testar(String valor);
+
+    /**
+     * Aplica a regra ao trecho de um buffer com o valor em ASCII, sem criar
+     * uma String.
+     *
+     * @param buffer Buffer lido por posição absoluta.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes do campo.
+     * @return true se o valor atender à regra.
+     */
+    @Override
+    public abstract boolean testar(ByteBuffer buffer, int inicio, int tamanho);
+}
@@ -0,0 +1,51 @@
+package util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+/**
+ * Regra de validação registrada por nome em {@link RegistroRegras}.
+ *
+ * Basta implementar {@link #testar(String)}, o que permite registrar uma
+ * regra como lambda. As regras embutidas ({@link Regra}) também testam
+ * trechos de buffer sem criar uma String; as demais recebem a versão padrão,
+ * que decodifica o trecho em ISO-8859-1, em que cada byte é um caractere.
+ * Como é um {@link Predicate}, uma regra pode ser usada diretamente em
+ * {@link EstagioValidacao}.
+ *
+ * As implementações devem ser seguras entre threads.
+ */
+@FunctionalInterface
+public interface RegraValidacao extends Predicate<String> {
+
+    /**
+     * Aplica a regra ao valor.
+     *
+     * @param valor String a ser testada.
+     * @return true se o valor atender à regra.
+     */
+    boolean testar(String valor);
+
+    /**
+     * Aplica a regra ao trecho de um buffer com o valor em ISO-8859-1 (os
+     * bytes ASCII são os próprios caracteres).
+     *
+     * @param buffer Buffer lido por posição absoluta.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes do campo.
+     * @return true se o valor atender à regra.
+     */
+    default boolean testar(final ByteBuffer buffer, final int inicio, final int tamanho) {
+
+        byte[] bytes = new byte[tamanho];
+        buffer.get(inicio, bytes);
+        return testar(new String(bytes, StandardCharsets.ISO_8859_1));
+    }
+
+    @Override
+    default boolean test(final String valor) {
+
+        return testar(valor);
+    }
+}
@@ -0,0 +1,68 @@
+package util;
+
+/**
+ * Restrições que podem ser declaradas para um campo de {@link Esquema}.
+ */
+public enum Restricao {
+
+    /**
+     * O campo não pode ser nulo nem vazio, como {@link Validador#vazio}.
+     */
+    OBRIGATORIO,
+    /**
+     * Quantidade mínima de caracteres, como {@link Validador#minChars}.
+     */
+    MIN_CHARS,
+    /**
+     * Quantidade máxima de caracteres, como {@link Validador#maxChars}.
+     */
+    MAX_CHARS,
+    /**
+     * {@link Validador#inteiro(String)}.
+     */
+    INTEIRO,
+    /**
+     * {@link Validador#numero(String)}.
+     */
+    NUMERO,
+    /**
+     * {@link Validador#hexa(String)}.
+     */
+    HEXA,
+    /**
+     * {@link Validador#real(String)}.
+     */
+    REAL,
+    /**
+     * {@link Validador#alfabetico(String)}.
+     */
+    ALFABETICO,
+    /**
+     * {@link Validador#email(String)}.
+     */
+    EMAIL,
+    /**
+     * {@link Validador#cpf(String)}.
+     */
+    CPF,
+    /**
+     * {@link Validador#cnpj(String)}.
+     */
+    CNPJ,
+    /**
+     * {@link Validador#isCodigoValido(String)}.
+     */
+    GTIN,
+    /**
+     * {@link Validador#data(String, String)}.
+     */
+    DATA;
+
+    /**
+     * @return Bit da restrição na máscara de falhas.
+     */
+    public int bit() {
+
+        return 1 << ordinal();
+    }
+}
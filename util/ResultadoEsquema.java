@@ -0,0 +1,82 @@
+package util;
+
+import java.util.EnumSet;
+
+/**
+ * Falhas de cada campo de um registro validado por {@link ValidadorEsquema}.
+ *
+ * O mesmo resultado pode ser reaproveitado para vários registros; cada
+ * validação sobrescreve as falhas anteriores.
+ */
+public final class ResultadoEsquema {
+
+    private final String[] nomes;
+    final int[] falhas;
+
+    ResultadoEsquema(final String[] nomes) {
+
+        this.nomes = nomes;
+        this.falhas = new int[nomes.length];
+    }
+
+    /**
+     * @return true se nenhum campo falhou.
+     */
+    public boolean valido() {
+
+        for (int falha : falhas) {
+            if (falha != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param campo Índice do campo.
+     * @return Máscara de bits das restrições que falharam, ou 0.
+     */
+    public int falhas(final int campo) {
+
+        return falhas[campo];
+    }
+
+    /**
+     * @param campo Índice do campo.
+     * @param restricao Restrição consultada.
+     * @return true se o campo falhou na restrição.
+     */
+    public boolean falhou(final int campo, final Restricao restricao) {
+
+        return (falhas[campo] & restricao.bit()) != 0;
+    }
+
+    /**
+     * @param campo Índice do campo.
+     * @return Restrições em que o campo falhou.
+     */
+    public EnumSet<Restricao> restricoes(final int campo) {
+
+        EnumSet<Restricao> conjunto = EnumSet.noneOf(Restricao.class);
+        for (Restricao restricao : Restricao.values()) {
+            if (falhou(campo, restricao)) {
+                conjunto.add(restricao);
+            }
+        }
+        return conjunto;
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder sb = new StringBuilder("ResultadoEsquema[");
+        boolean primeiro = true;
+        for (int i = 0; i < falhas.length; i++) {
+            if (falhas[i] != 0) {
+                sb.append(primeiro ? "" : ", ").append(nomes[i]).append('=').append(restricoes(i));
+                primeiro = false;
+            }
+        }
+        return sb.append(']').toString();
+    }
+}
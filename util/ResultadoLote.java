@@ -0,0 +1,154 @@
+package util;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado da validação de um lote: quantidades por regra e linhas
+ * inválidas em ordem crescente.
+ */
+public final class ResultadoLote {
+
+    private final long total;
+    private final Map<Regra, long[]> invalidas;
+
+    ResultadoLote(final long total, final Map<Regra, long[]> invalidas) {
+
+        this.total = total;
+        this.invalidas = new EnumMap<>(invalidas);
+    }
+
+    /**
+     * @return Quantidade de linhas validadas.
+     */
+    public long total() {
+
+        return total;
+    }
+
+    /**
+     * @param regra Regra consultada.
+     * @return Quantidade de linhas que atenderam à regra.
+     */
+    public long validos(final Regra regra) {
+
+        return total - invalidos(regra);
+    }
+
+    /**
+     * @param regra Regra consultada.
+     * @return Quantidade de linhas que não atenderam à regra.
+     */
+    public long invalidos(final Regra regra) {
+
+        return linhas(regra).length;
+    }
+
+    /**
+     * @param regra Regra consultada.
+     * @return Índices, a partir de 0, das linhas que não atenderam à regra,
+     * em ordem crescente.
+     */
+    public long[] linhasInvalidas(final Regra regra) {
+
+        return linhas(regra).clone();
+    }
+
+    private long[] linhas(final Regra regra) {
+
+        long[] linhas = invalidas.get(regra);
+        if (linhas == null) {
+            throw new IllegalArgumentException("Regra não aplicada ao lote: " + regra);
+        }
+        return linhas;
+    }
+
+    @Override
+    public String toString() {
+
+        StringBuilder sb = new StringBuilder("ResultadoLote[total=").append(total);
+        for (Map.Entry<Regra, long[]> entrada : invalidas.entrySet()) {
+            sb.append(", ").append(entrada.getKey()).append('=')
+                    .append(total - entrada.getValue().length).append('/')
+                    .append(entrada.getValue().length);
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Linhas inválidas de um bloco contíguo, relativas ao início do bloco.
+     */
+    static final class Bloco {
+
+        final int tamanho;
+        final int[][] invalidas;
+        final int[] quantidade;
+
+        Bloco(final int tamanho, final int regras) {
+
+            this.tamanho = tamanho;
+            this.invalidas = new int[regras][];
+            this.quantidade = new int[regras];
+        }
+
+        /**
+         * Valida as linhas do bloco com cada regra.
+         */
+        static Bloco validar(final List<String> linhas, final int inicio,
+                final int fim, final Regra[] regras) {
+
+            Bloco bloco = new Bloco(fim - inicio, regras.length);
+            for (int r = 0; r < regras.length; r++) {
+
+                Regra regra = regras[r];
+                int[] falhas = new int[16];
+                int n = 0;
+                for (int i = inicio; i < fim; i++) {
+
+                    if (!regra.testar(linhas.get(i))) {
+                        if (n == falhas.length) {
+                            falhas = Arrays.copyOf(falhas, n * 2);
+                        }
+                        falhas[n++] = i - inicio;
+                    }
+                }
+                bloco.invalidas[r] = falhas;
+                bloco.quantidade[r] = n;
+            }
+            return bloco;
+        }
+    }
+
+    /**
+     * Junta os blocos, na ordem em que aparecem na entrada.
+     */
+    static ResultadoLote juntar(final Iterable<Bloco> blocos, final Regra[] regras) {
+
+        long total = 0;
+        long[] quantidade = new long[regras.length];
+        for (Bloco bloco : blocos) {
+            total += bloco.tamanho;
+            for (int r = 0; r < regras.length; r++) {
+                quantidade[r] += bloco.quantidade[r];
+            }
+        }
+
+        Map<Regra, long[]> invalidas = new EnumMap<>(Regra.class);
+        for (int r = 0; r < regras.length; r++) {
+
+            long[] linhas = new long[Math.toIntExact(quantidade[r])];
+            int n = 0;
+            long base = 0;
+            for (Bloco bloco : blocos) {
+                for (int i = 0; i < bloco.quantidade[r]; i++) {
+                    linhas[n++] = base + bloco.invalidas[r][i];
+                }
+                base += bloco.tamanho;
+            }
+            invalidas.put(regras[r], linhas);
+        }
+        return new ResultadoLote(total, invalidas);
+    }
+}
@@ -0,0 +1,151 @@
+package util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Classe de cálculo do resumo MD5 em hexadecimal.
+ *
+ * Cada thread reaproveita a sua instância de {@link MessageDigest} e o seu
+ * buffer de leitura, e a conversão para hexadecimal usa uma tabela, sem
+ * {@link java.math.BigInteger} nem {@link String#format}. Textos são
+ * codificados em UTF-8; arquivos e streams são lidos em blocos.
+ */
+public final class ResumoMD5 {
+
+    /**
+     * Tamanho do bloco de leitura de streams e arquivos.
+     */
+    static final int TAMANHO_BLOCO = 64 * 1024;
+
+    private static final char[] HEXA = "0123456789abcdef".toCharArray();
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 indisponível.", e);
+        }
+    });
+
+    private static final ThreadLocal<byte[]> BLOCO =
+            ThreadLocal.withInitial(() -> new byte[TAMANHO_BLOCO]);
+
+    private ResumoMD5() {
+        //construtor privado para que a classe não seja instanciada
+    }
+
+    /**
+     * Calcula o MD5 de uma String codificada em UTF-8. Com caracteres fora
+     * do ASCII, o resultado difere do antigo {@link Validador#calcularMD5},
+     * que usava o charset padrão e truncava os bytes.
+     *
+     * @param campo String a ser calculada.
+     * @return String md5, com 32 dígitos hexadecimais minúsculos.
+     */
+    public static String hex(final String campo) {
+
+        return hex(campo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Calcula o MD5 de um vetor de bytes.
+     *
+     * @param bytes Bytes a serem calculados.
+     * @return String md5, com 32 dígitos hexadecimais minúsculos.
+     */
+    public static String hex(final byte[] bytes) {
+
+        return hex(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Calcula o MD5 de um trecho de um vetor de bytes.
+     *
+     * @param bytes Vetor com os bytes a serem calculados.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes.
+     * @return String md5, com 32 dígitos hexadecimais minúsculos.
+     */
+    public static String hex(final byte[] bytes, final int inicio, final int tamanho) {
+
+        MessageDigest digest = DIGEST.get();
+        digest.update(bytes, inicio, tamanho);
+        return paraHex(digest.digest());
+    }
+
+    /**
+     * Calcula o MD5 dos bytes restantes do buffer, que é consumido.
+     *
+     * @param buffer Buffer a ser calculado.
+     * @return String md5, com 32 dígitos hexadecimais minúsculos.
+     */
+    public static String hex(final ByteBuffer buffer) {
+
+        MessageDigest digest = DIGEST.get();
+        digest.update(buffer);
+        return paraHex(digest.digest());
+    }
+
+    /**
+     * Calcula o MD5 de um stream, lido em blocos até o fim. O stream não é
+     * fechado.
+     *
+     * @param entrada Stream a ser calculado.
+     * @return String md5, com 32 dígitos hexadecimais minúsculos.
+     * @throws IOException Se o stream não puder ser lido.
+     */
+    public static String hex(final InputStream entrada) throws IOException {
+
+        MessageDigest digest = DIGEST.get();
+        byte[] bloco = BLOCO.get();
+        try {
+            int lidos;
+            while ((lidos = entrada.read(bloco)) != -1) {
+                digest.update(bloco, 0, lidos);
+            }
+            return paraHex(digest.digest());
+        } catch (IOException e) {
+            digest.reset();
+            throw e;
+        }
+    }
+
+    /**
+     * Calcula o MD5 de um arquivo, lido em blocos.
+     *
+     * @param arquivo Arquivo a ser calculado.
+     * @return String md5, com 32 dígitos hexadecimais minúsculos.
+     * @throws IOException Se o arquivo não puder ser lido.
+     */
+    public static String hex(final Path arquivo) throws IOException {
+
+        try (InputStream entrada = Files.newInputStream(arquivo)) {
+            return hex(entrada);
+        }
+    }
+
+    /**
+     * Converte bytes em hexadecimal minúsculo.
+     *
+     * @param bytes Bytes a serem convertidos.
+     * @return String com dois dígitos hexadecimais por byte.
+     */
+    public static String paraHex(final byte[] bytes) {
+
+        char[] hexa = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+
+            int b = bytes[i] & 0xFF;
+            hexa[i * 2] = HEXA[b >>> 4];
+            hexa[i * 2 + 1] = HEXA[b & 0x0F];
+        }
+        return new String(hexa);
+    }
+}
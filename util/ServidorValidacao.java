@@ -0,0 +1,341 @@
+package util;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Servidor HTTP local que expõe as validações de {@link Validador} para
+ * serviços que não rodam na JVM.
+ *
+ * Cada requisição valida um lote: o corpo do POST traz um valor por linha e
+ * a resposta traz uma linha por valor, na mesma ordem, com "1" (válido) ou
+ * "0" (inválido). Os valores são validados diretamente sobre os bytes do
+ * corpo, sem criar uma String por valor.
+ *
+ * <pre>
+ * POST /cpf | /cnpj | /email | /gtin      corpo: um valor por linha
+ * POST /data?mascara=dd/MM/yyyy          corpo: uma data por linha
+ * POST /pais                             corpo: um prefixo GS1 por linha;
+ *                                        resposta: "codigo;nome" ou vazio
+ * GET  /metricas                         requisições, valores e latências
+ * </pre>
+ *
+ * Os caminhos são comparados por inteiro: qualquer outro caminho recebe 404
+ * e outro método recebe 405. Corpos maiores que {@link #LIMITE_CORPO}
+ * recebem 413, sem serem lidos até o fim. As demais respostas de erro (404,
+ * 405 e 400) só são enviadas depois de o corpo ser lido, para que a conexão
+ * possa ser reaproveitada.
+ *
+ * As conexões são mantidas abertas entre requisições (HTTP/1.1 keep-alive).
+ * As requisições são atendidas pelo executor informado na criação ou, por
+ * padrão, por um pool fixo de {@link #threadsPadrao()} threads.
+ */
+public final class ServidorValidacao implements AutoCloseable {
+
+    /**
+     * Porta padrão do servidor.
+     */
+    public static final int PORTA_PADRAO = 8085;
+
+    /**
+     * Tamanho máximo, em bytes, do corpo de uma requisição.
+     */
+    public static final int LIMITE_CORPO = 16 * 1024 * 1024;
+
+    private final HttpServer servidor;
+    private final ExecutorService executor;
+    private final HistogramaLatencia latencias = new HistogramaLatencia();
+    private final LongAdder requisicoes = new LongAdder();
+    private final LongAdder valores = new LongAdder();
+
+    /**
+     * Cria e inicia o servidor com o pool fixo padrão de
+     * {@link #threadsPadrao()} threads.
+     *
+     * @param endereco Endereço e porta de escuta.
+     * @throws IOException Se a porta não puder ser aberta.
+     */
+    public ServidorValidacao(final InetSocketAddress endereco) throws IOException {
+
+        this(endereco, Executors.newFixedThreadPool(threadsPadrao()));
+    }
+
+    /**
+     * Cria e inicia o servidor com o executor informado, que passa a
+     * pertencer ao servidor e é encerrado por {@link #close()}. No Java 21 ou
+     * superior, {@code Executors.newVirtualThreadPerTaskExecutor()} atende
+     * cada requisição em uma thread virtual.
+     *
+     * @param endereco Endereço e porta de escuta.
+     * @param executor Executor das requisições.
+     * @throws IOException Se a porta não puder ser aberta.
+     */
+    public ServidorValidacao(final InetSocketAddress endereco, final ExecutorService executor)
+            throws IOException {
+
+        this.executor = Objects.requireNonNull(executor);
+        servidor = HttpServer.create(endereco, 0);
+        servidor.setExecutor(executor);
+        rota("/cpf", "POST", troca -> validar(troca, Regra.CPF, null));
+        rota("/cnpj", "POST", troca -> validar(troca, Regra.CNPJ, null));
+        rota("/email", "POST", troca -> validar(troca, Regra.EMAIL, null));
+        rota("/gtin", "POST", troca -> validar(troca, Regra.GTIN, null));
+        rota("/data", "POST", troca -> validar(troca, null, parametro(troca, "mascara")));
+        rota("/pais", "POST", this::pais);
+        rota("/metricas", "GET", this::metricas);
+        servidor.start();
+    }
+
+    /**
+     * Inicia o servidor na porta informada no primeiro argumento, ou na
+     * {@link #PORTA_PADRAO}, escutando apenas a interface local.
+     *
+     * @param args Porta opcional.
+     * @throws IOException Se a porta não puder ser aberta.
+     */
+    public static void main(final String[] args) throws IOException {
+
+        int porta = args.length > 0 ? Integer.parseInt(args[0]) : PORTA_PADRAO;
+        ServidorValidacao servidor = new ServidorValidacao(new InetSocketAddress("127.0.0.1", porta));
+        System.out.println("Servidor de validação em http://127.0.0.1:" + servidor.porta());
+    }
+
+    /**
+     * Quantidade de threads do pool padrão: o dobro dos processadores, já
+     * que parte do tempo de cada requisição é gasto lendo o corpo e
+     * escrevendo a resposta. Requisições além disso esperam na fila do pool.
+     *
+     * @return Quantidade de threads.
+     */
+    public static int threadsPadrao() {
+
+        return 2 * Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Registra um caminho exato. O HttpServer associa o contexto a todos os
+     * caminhos que começam com ele, então os demais recebem 404 aqui.
+     */
+    private void rota(final String caminho, final String metodo, final HttpHandler tratador) {
+
+        servidor.createContext(caminho, troca -> {
+            boolean encontrado = caminho.equals(troca.getRequestURI().getPath());
+            if ((!encontrado || !metodo.equals(troca.getRequestMethod())) && ler(troca) == null) {
+                return;
+            }
+            if (!encontrado) {
+                responder(troca, 404, "Caminho não encontrado.\n".getBytes(StandardCharsets.UTF_8));
+            } else if (!metodo.equals(troca.getRequestMethod())) {
+                troca.getResponseHeaders().set("Allow", metodo);
+                responder(troca, 405, ("Use " + metodo + ".\n").getBytes(StandardCharsets.UTF_8));
+            } else {
+                tratador.handle(troca);
+            }
+        });
+    }
+
+    /**
+     * @return Porta em que o servidor está escutando.
+     */
+    public int porta() {
+
+        return servidor.getAddress().getPort();
+    }
+
+    /**
+     * @return Histograma da latência de cada requisição.
+     */
+    public HistogramaLatencia latencias() {
+
+        return latencias;
+    }
+
+    private void validar(final HttpExchange troca, final Regra regra, final String mascara)
+            throws IOException {
+
+        long inicio = System.nanoTime();
+        try {
+            byte[] dados = ler(troca);
+            if (dados == null) {
+                return;
+            }
+            if (regra == null && Validador.vazio(mascara)) {
+                responder(troca, 400, "Informe o parâmetro mascara.\n".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            ByteBuffer corpo = ByteBuffer.wrap(dados);
+            ByteArrayOutputStream saida = new ByteArrayOutputStream(corpo.limit() / 4 + 16);
+            long quantidade = 0;
+            for (int de = 0, ate; de < corpo.limit(); de = ate + 1) {
+
+                ate = fimLinha(corpo, de);
+                int tamanho = tamanhoSemCr(corpo, de, ate);
+                boolean valido = regra != null
+                        ? regra.testar(corpo, de, tamanho)
+                        : tamanho > 0 && ValidadorData.valida(corpo, de, tamanho, mascara);
+                saida.write(valido ? '1' : '0');
+                saida.write('\n');
+                quantidade++;
+            }
+            valores.add(quantidade);
+            responder(troca, 200, saida.toByteArray());
+        } finally {
+            registrar(inicio);
+        }
+    }
+
+    private void pais(final HttpExchange troca) throws IOException {
+
+        long inicio = System.nanoTime();
+        try {
+            byte[] dados = ler(troca);
+            if (dados == null) {
+                return;
+            }
+            ByteBuffer corpo = ByteBuffer.wrap(dados);
+            ByteArrayOutputStream saida = new ByteArrayOutputStream();
+            long quantidade = 0;
+            for (int de = 0, ate; de < corpo.limit(); de = ate + 1) {
+
+                ate = fimLinha(corpo, de);
+                int tamanho = tamanhoSemCr(corpo, de, ate);
+                int prefixo = tamanho > 0 && tamanho <= 3 && EscaneadorCaracteres.inteiro(corpo, de, tamanho)
+                        ? numero(corpo, de, tamanho) : -1;
+                int codigo = PrefixoGs1.codigo(prefixo);
+                if (codigo != PrefixoGs1.NENHUM) {
+                    String linha = codigo + ";" + PrefixoGs1.nome(codigo).replace('\n', ' ');
+                    saida.write(linha.getBytes(StandardCharsets.UTF_8));
+                }
+                saida.write('\n');
+                quantidade++;
+            }
+            valores.add(quantidade);
+            responder(troca, 200, saida.toByteArray());
+        } finally {
+            registrar(inicio);
+        }
+    }
+
+    private void metricas(final HttpExchange troca) throws IOException {
+
+        if (ler(troca) == null) {
+            return;
+        }
+        String texto = String.format(Locale.ROOT,
+                "requisicoes=%d%nvalores=%d%np50_us=%.1f%np99_us=%.1f%np999_us=%.1f%n",
+                requisicoes.sum(), valores.sum(),
+                latencias.percentil(50) / 1e3, latencias.percentil(99) / 1e3,
+                latencias.percentil(99.9) / 1e3);
+        responder(troca, 200, texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void registrar(final long inicio) {
+
+        requisicoes.increment();
+        latencias.registrar(System.nanoTime() - inicio);
+    }
+
+    private static int fimLinha(final ByteBuffer corpo, final int de) {
+
+        int i = de;
+        while (i < corpo.limit() && corpo.get(i) != '\n') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int tamanhoSemCr(final ByteBuffer corpo, final int de, final int ate) {
+
+        return ate > de && corpo.get(ate - 1) == '\r' ? ate - de - 1 : ate - de;
+    }
+
+    private static int numero(final ByteBuffer corpo, final int de, final int tamanho) {
+
+        int valor = 0;
+        for (int i = de; i < de + tamanho; i++) {
+            valor = valor * 10 + corpo.get(i) - '0';
+        }
+        return valor;
+    }
+
+    /**
+     * Lê o corpo inteiro, o que também é necessário para reaproveitar a
+     * conexão. Se o Content-Length ou os bytes recebidos passarem de
+     * {@link #LIMITE_CORPO}, responde 413 e fecha a conexão sem ler o resto.
+     *
+     * @return Corpo da requisição, ou null se já foi respondido 413.
+     */
+    private static byte[] ler(final HttpExchange troca) throws IOException {
+
+        long declarado;
+        try {
+            String cabecalho = troca.getRequestHeaders().getFirst("Content-Length");
+            declarado = cabecalho == null ? -1 : Long.parseLong(cabecalho.trim());
+        } catch (NumberFormatException e) {
+            declarado = Long.MAX_VALUE;
+        }
+        byte[] corpo = null;
+        if (declarado <= LIMITE_CORPO) {
+            try (InputStream entrada = troca.getRequestBody()) {
+                corpo = entrada.readNBytes(LIMITE_CORPO + 1);
+            }
+        }
+        if (corpo == null || corpo.length > LIMITE_CORPO) {
+            troca.getResponseHeaders().set("Connection", "close");
+            responder(troca, 413, ("Corpo maior que " + LIMITE_CORPO + " bytes.\n")
+                    .getBytes(StandardCharsets.UTF_8));
+            return null;
+        }
+        return corpo;
+    }
+
+    private static String parametro(final HttpExchange troca, final String nome) {
+
+        String consulta = troca.getRequestURI().getRawQuery();
+        if (consulta == null) {
+            return null;
+        }
+        for (String par : consulta.split("&")) {
+            int igual = par.indexOf('=');
+            if (igual > 0 && par.substring(0, igual).equals(nome)) {
+                return URLDecoder.decode(par.substring(igual + 1), StandardCharsets.UTF_8);
+            }
+        }
+        return null;
+    }
+
+    private static void responder(final HttpExchange troca, final int status, final byte[] corpo)
+            throws IOException {
+
+        troca.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        troca.sendResponseHeaders(status, corpo.length == 0 ? -1 : corpo.length);
+        try (OutputStream saida = troca.getResponseBody()) {
+            saida.write(corpo);
+        }
+    }
+
+    /**
+     * Para o servidor e as threads de atendimento.
+     */
+    @Override
+    public void close() {
+
+        servidor.stop(0);
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,515 @@
+package util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Classe de validação de arquivos CSV ou de largura fixa mapeados em memória.
+ *
+ * O arquivo é mapeado em janelas com {@link FileChannel#map}, os limites dos
+ * campos são localizados nos próprios bytes e as regras são aplicadas sobre o
+ * buffer mapeado. Somente os campos que falham são convertidos em String,
+ * para serem informados ao {@link Falhas}; o uso de heap não depende do
+ * tamanho do arquivo.
+ *
+ * Uma instância pode ser reutilizada, mas não deve ser usada por mais de uma
+ * thread ao mesmo tempo.
+ */
+public final class ValidacaoArquivo {
+
+    /**
+     * Tamanho padrão da janela de mapeamento, em bytes.
+     */
+    public static final int JANELA_PADRAO = 256 * 1024 * 1024;
+
+    // Estados da procura do fim de um registro CSV.
+    private static final int INICIO_CAMPO = 0;
+    private static final int NO_CAMPO = 1;
+    private static final int ENTRE_ASPAS = 2;
+    private static final int ASPA_FECHADA = 3;
+
+    /**
+     * Recebe os campos que não atenderam à regra configurada.
+     */
+    public interface Falhas {
+
+        /**
+         * @param linha Número da linha no arquivo em que o registro começa, a
+         * partir de 1.
+         * @param campo Índice do campo na ordem em que foi configurado.
+         * @param valor Conteúdo do campo.
+         */
+        void registrar(long linha, int campo, String valor);
+    }
+
+    /**
+     * Totais de uma validação.
+     */
+    public static final class Resumo {
+
+        private final long linhas;
+        private final long[] falhas;
+
+        Resumo(final long linhas, final long[] falhas) {
+
+            this.linhas = linhas;
+            this.falhas = falhas;
+        }
+
+        /**
+         * @return Quantidade de registros validados.
+         */
+        public long linhas() {
+
+            return linhas;
+        }
+
+        /**
+         * @param campo Índice do campo na ordem em que foi configurado.
+         * @return Quantidade de falhas do campo.
+         */
+        public long falhas(final int campo) {
+
+            return falhas[campo];
+        }
+
+        @Override
+        public String toString() {
+
+            return "Resumo[linhas=" + linhas + ", falhas=" + Arrays.toString(falhas) + "]";
+        }
+    }
+
+    /**
+     * Campo configurado: posição na linha e regra aplicada.
+     */
+    private static final class Campo {
+
+        final int posicao;
+        final int largura;
+        final Regra regra;
+        final String mascara;
+
+        Campo(final int posicao, final int largura, final Regra regra, final String mascara) {
+
+            this.posicao = posicao;
+            this.largura = largura;
+            this.regra = regra;
+            this.mascara = mascara;
+        }
+
+        boolean testar(final ByteBuffer buffer, final int inicio, final int tamanho) {
+
+            if (regra != null) {
+                return regra.testar(buffer, inicio, tamanho);
+            }
+            return tamanho > 0 && ValidadorData.valida(buffer, inicio, tamanho, mascara);
+        }
+
+        String descricao() {
+
+            return regra != null ? regra.name() : "DATA(" + mascara + ")";
+        }
+    }
+
+    private final byte separador;
+    private final Charset charset;
+    private final List<Campo> campos = new ArrayList<>();
+    private boolean cabecalho;
+    private int janela = JANELA_PADRAO;
+
+    // Limites dos campos da linha corrente, reaproveitados entre linhas.
+    private int[] inicios = new int[0];
+    private int[] fins = new int[0];
+
+    // Campos entre aspas com aspas duplicadas ("") são copiados sem o
+    // escape para o rascunho, e os seus limites se referem a ele.
+    private boolean[] copiados = new boolean[0];
+    private byte[] rascunho = new byte[64];
+    private ByteBuffer rascunhoBuffer = ByteBuffer.wrap(rascunho);
+    private int usado;
+
+    // Quebras de linha dentro de aspas no último registro localizado.
+    private int quebras;
+
+    private ValidacaoArquivo(final byte separador, final Charset charset) {
+
+        this.separador = separador;
+        this.charset = charset;
+    }
+
+    /**
+     * Cria a validação de um arquivo CSV. Campos entre aspas duplas têm as
+     * aspas removidas e podem conter o separador e quebras de linha; dentro
+     * deles, "" é uma aspa.
+     *
+     * @param separador Separador de campos, por exemplo ';' ou ','.
+     * @param charset Codificação usada para informar os campos inválidos.
+     * @return Validação sem campos configurados.
+     */
+    public static ValidacaoArquivo csv(final char separador, final Charset charset) {
+
+        if (separador >= 128 || separador == '"' || separador == '\n' || separador == '\r') {
+            throw new IllegalArgumentException("Separador inválido: " + separador);
+        }
+        return new ValidacaoArquivo((byte) separador, charset);
+    }
+
+    /**
+     * Cria a validação de um arquivo de largura fixa. Os espaços à esquerda e
+     * à direita de cada campo são ignorados.
+     *
+     * @param charset Codificação usada para informar os campos inválidos.
+     * @return Validação sem campos configurados.
+     */
+    public static ValidacaoArquivo larguraFixa(final Charset charset) {
+
+        return new ValidacaoArquivo((byte) -1, charset);
+    }
+
+    private boolean isCsv() {
+
+        return separador != -1;
+    }
+
+    /**
+     * Aplica uma regra a uma coluna do CSV.
+     *
+     * @param indice Índice da coluna, a partir de 0.
+     * @param regra Regra aplicada.
+     * @return Esta validação.
+     */
+    public ValidacaoArquivo coluna(final int indice, final Regra regra) {
+
+        return adicionar(indice, 0, regra, null);
+    }
+
+    /**
+     * Valida uma coluna do CSV como data no formato informado.
+     *
+     * @param indice Índice da coluna, a partir de 0.
+     * @param mascara Formato da data, como em {@link Validador#data}.
+     * @return Esta validação.
+     */
+    public ValidacaoArquivo colunaData(final int indice, final String mascara) {
+
+        return adicionar(indice, 0, null, mascara);
+    }
+
+    /**
+     * Aplica uma regra a um campo de largura fixa.
+     *
+     * @param inicio Posição do campo na linha, a partir de 0.
+     * @param largura Quantidade de bytes do campo.
+     * @param regra Regra aplicada.
+     * @return Esta validação.
+     */
+    public ValidacaoArquivo campo(final int inicio, final int largura, final Regra regra) {
+
+        return adicionar(inicio, largura, regra, null);
+    }
+
+    /**
+     * Valida um campo de largura fixa como data no formato informado.
+     *
+     * @param inicio Posição do campo na linha, a partir de 0.
+     * @param largura Quantidade de bytes do campo.
+     * @param mascara Formato da data, como em {@link Validador#data}.
+     * @return Esta validação.
+     */
+    public ValidacaoArquivo campoData(final int inicio, final int largura, final String mascara) {
+
+        return adicionar(inicio, largura, null, mascara);
+    }
+
+    private ValidacaoArquivo adicionar(final int posicao, final int largura, final Regra regra,
+            final String mascara) {
+
+        if (posicao < 0 || (isCsv() ? largura != 0 : largura <= 0)) {
+            throw new IllegalArgumentException("Posição ou largura inválida: " + posicao + ", " + largura);
+        }
+        if (regra == null && Validador.vazio(mascara)) {
+            throw new IllegalArgumentException("Informe a regra ou a máscara da data.");
+        }
+        campos.add(new Campo(posicao, largura, regra, mascara));
+        if (isCsv() && posicao >= inicios.length) {
+            inicios = new int[posicao + 1];
+            fins = new int[posicao + 1];
+            copiados = new boolean[posicao + 1];
+        }
+        return this;
+    }
+
+    /**
+     * Indica se a primeira linha é um cabeçalho e não deve ser validada.
+     *
+     * @param cabecalho true para ignorar a primeira linha.
+     * @return Esta validação.
+     */
+    public ValidacaoArquivo cabecalho(final boolean cabecalho) {
+
+        this.cabecalho = cabecalho;
+        return this;
+    }
+
+    /**
+     * Define o tamanho da janela de mapeamento. Nenhuma linha, ou registro
+     * CSV com quebras de linha entre aspas, pode ser maior que a janela.
+     *
+     * @param bytes Tamanho da janela, em bytes.
+     * @return Esta validação.
+     */
+    public ValidacaoArquivo janela(final int bytes) {
+
+        if (bytes <= 0) {
+            throw new IllegalArgumentException("Janela deve ser positiva: " + bytes);
+        }
+        this.janela = bytes;
+        return this;
+    }
+
+    /**
+     * @param campo Índice do campo na ordem em que foi configurado.
+     * @return Descrição da regra aplicada ao campo.
+     */
+    public String descricao(final int campo) {
+
+        return campos.get(campo).descricao();
+    }
+
+    /**
+     * Valida o arquivo. Linhas vazias são ignoradas, mas contam na
+     * numeração; o fim de linha pode ser "\n" ou "\r\n". Em CSV, um campo
+     * entre aspas pode conter quebras de linha, e o registro é informado pela
+     * linha em que começa.
+     *
+     * @param arquivo Arquivo a ser validado.
+     * @param falhas Recebe cada campo que não atendeu à regra.
+     * @return Totais da validação.
+     * @throws IOException Se o arquivo não puder ser lido ou tiver uma linha
+     * maior que a janela.
+     */
+    public Resumo validar(final Path arquivo, final Falhas falhas) throws IOException {
+
+        if (campos.isEmpty()) {
+            throw new IllegalStateException("Nenhum campo configurado.");
+        }
+        long[] totais = new long[campos.size()];
+        long registros = 0;
+        long linha = 0;
+        try (FileChannel canal = FileChannel.open(arquivo, StandardOpenOption.READ)) {
+
+            long tamanho = canal.size();
+            long posicao = 0;
+            while (posicao < tamanho) {
+
+                int limite = (int) Math.min(janela, tamanho - posicao);
+                boolean ultima = posicao + limite == tamanho;
+                MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, posicao, limite);
+
+                int inicio = 0;
+                while (inicio < limite) {
+
+                    int fim = isCsv() ? fimRegistro(buffer, inicio, limite)
+                            : fimLinha(buffer, inicio, limite);
+                    if (fim == limite && !ultima) {
+                        // Registro incompleto: recomeça na próxima janela.
+                        break;
+                    }
+                    linha++;
+                    int conteudo = fim;
+                    if (conteudo > inicio && buffer.get(conteudo - 1) == '\r') {
+                        conteudo--;
+                    }
+                    if (conteudo > inicio && !(cabecalho && linha == 1)) {
+                        registros++;
+                        validarLinha(buffer, inicio, conteudo, linha, totais, falhas);
+                    }
+                    // Quebras de linha dentro de aspas contam na numeração.
+                    linha += quebras;
+                    inicio = fim + 1;
+                }
+                if (inicio == 0) {
+                    throw new IOException("Linha " + (linha + 1) + " maior que a janela de "
+                            + janela + " bytes.");
+                }
+                posicao += Math.min(inicio, limite);
+            }
+        }
+        return new Resumo(registros, totais);
+    }
+
+    /**
+     * @return Posição do '\n' que termina a linha, ou o limite.
+     */
+    private int fimLinha(final ByteBuffer buffer, final int inicio, final int limite) {
+
+        quebras = 0;
+        int fim = inicio;
+        while (fim < limite && buffer.get(fim) != '\n') {
+            fim++;
+        }
+        return fim;
+    }
+
+    /**
+     * Localiza o fim de um registro CSV: o primeiro '\n' fora de aspas. Uma
+     * aspa só abre um campo entre aspas no início do campo; dentro dele, a
+     * aspa seguinte fecha o campo, e uma aspa logo depois reabre (o escape
+     * ""). As quebras de linha dentro de aspas ficam em {@link #quebras}.
+     *
+     * @return Posição do '\n' que termina o registro, ou o limite.
+     */
+    private int fimRegistro(final ByteBuffer buffer, final int inicio, final int limite) {
+
+        quebras = 0;
+        int estado = INICIO_CAMPO;
+        int fim = inicio;
+        for (; fim < limite; fim++) {
+
+            byte b = buffer.get(fim);
+            if (estado == ENTRE_ASPAS) {
+                if (b == '"') {
+                    estado = ASPA_FECHADA;
+                } else if (b == '\n') {
+                    quebras++;
+                }
+            } else if (b == '\n') {
+                break;
+            } else if (b == separador) {
+                estado = INICIO_CAMPO;
+            } else if (b == '"' && estado != NO_CAMPO) {
+                estado = ENTRE_ASPAS;
+            } else {
+                estado = NO_CAMPO;
+            }
+        }
+        return fim;
+    }
+
+    private void validarLinha(final ByteBuffer buffer, final int inicio, final int fim,
+            final long linha, final long[] totais, final Falhas falhas) {
+
+        if (isCsv()) {
+            separar(buffer, inicio, fim);
+        }
+        for (int c = 0; c < campos.size(); c++) {
+
+            Campo campo = campos.get(c);
+            ByteBuffer origem = buffer;
+            int de;
+            int ate;
+            if (isCsv()) {
+                de = inicios[campo.posicao];
+                ate = fins[campo.posicao];
+                if (copiados[campo.posicao]) {
+                    origem = rascunhoBuffer;
+                }
+            } else {
+                de = Math.min(inicio + campo.posicao, fim);
+                ate = Math.min(de + campo.largura, fim);
+                while (de < ate && buffer.get(de) == ' ') {
+                    de++;
+                }
+                while (ate > de && buffer.get(ate - 1) == ' ') {
+                    ate--;
+                }
+            }
+            if (!campo.testar(origem, de, ate - de)) {
+                totais[c]++;
+                falhas.registrar(linha, c, texto(origem, de, ate - de, charset));
+            }
+        }
+    }
+
+    /**
+     * Localiza as colunas configuradas; colunas ausentes ficam vazias.
+     * Campos entre aspas seguem a RFC 4180: "" dentro do campo é uma aspa, e
+     * o que vier entre a aspa final e o separador é ignorado.
+     */
+    private void separar(final ByteBuffer buffer, final int inicio, final int fim) {
+
+        usado = 0;
+        int i = inicio;
+        for (int coluna = 0; coluna < inicios.length; coluna++) {
+
+            copiados[coluna] = false;
+            if (i > fim) {
+                inicios[coluna] = fim;
+                fins[coluna] = fim;
+                continue;
+            }
+            if (i < fim && buffer.get(i) == '"') {
+                int de = ++i;
+                boolean escapado = false;
+                while (i < fim) {
+                    if (buffer.get(i) == '"') {
+                        if (i + 1 < fim && buffer.get(i + 1) == '"') {
+                            escapado = true;
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                if (escapado) {
+                    copiar(buffer, de, i, coluna);
+                } else {
+                    inicios[coluna] = de;
+                    fins[coluna] = i;
+                }
+                while (i < fim && buffer.get(i) != separador) {
+                    i++;
+                }
+            } else {
+                inicios[coluna] = i;
+                while (i < fim && buffer.get(i) != separador) {
+                    i++;
+                }
+                fins[coluna] = i;
+            }
+            // Pula o separador; depois do último campo, i passa de fim.
+            i++;
+        }
+    }
+
+    /**
+     * Copia o conteúdo de um campo entre aspas para o rascunho, trocando
+     * cada "" por uma aspa.
+     */
+    private void copiar(final ByteBuffer buffer, final int de, final int ate, final int coluna) {
+
+        if (usado + ate - de > rascunho.length) {
+            rascunho = Arrays.copyOf(rascunho, Math.max(2 * rascunho.length, usado + ate - de));
+            rascunhoBuffer = ByteBuffer.wrap(rascunho);
+        }
+        inicios[coluna] = usado;
+        for (int i = de; i < ate; i++) {
+
+            byte b = buffer.get(i);
+            rascunho[usado++] = b;
+            if (b == '"') {
+                i++;
+            }
+        }
+        fins[coluna] = usado;
+        copiados[coluna] = true;
+    }
+
+    private static String texto(final ByteBuffer buffer, final int inicio, final int tamanho,
+            final Charset charset) {
+
+        byte[] bytes = new byte[tamanho];
+        buffer.get(inicio, bytes);
+        return new String(bytes, charset);
+    }
+}
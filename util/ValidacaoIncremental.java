@@ -0,0 +1,300 @@
+package util;
+
+/**
+ * Validação de CPF, CNPJ ou código de barras à medida que é digitado.
+ *
+ * Cada caractere recebido atualiza as somas ponderadas dos dígitos
+ * verificadores em tempo constante, sem revalidar o texto inteiro e sem
+ * alocação: CPF e CNPJ usam os pesos do módulo 11 de
+ * {@link DigitoVerificador}, e o código de barras mantém as somas dos
+ * dígitos de posição par e ímpar, que dão a alternância de pesos 3 e 1
+ * qualquer que seja o tamanho final. Os caracteres aceitos são guardados,
+ * de modo que {@link #remover()} também é constante.
+ *
+ * A cada passo são informados:
+ * <ul>
+ * <li>{@link #prefixoValido()}: o texto ainda pode ser completado até um
+ * identificador válido;</li>
+ * <li>{@link #completo()}: o texto tem o tamanho de um identificador;</li>
+ * <li>{@link #valido()}: o texto é um identificador válido.</li>
+ * </ul>
+ *
+ * CPF e CNPJ são aceitos em dígitos puros ou no formato com pontuação, e só
+ * são completos com todos os dígitos: diferentemente de
+ * {@link Validador#cpf(String)}, não há preenchimento com zeros à esquerda.
+ * O CNPJ aceita também letras maiúsculas nas 12 primeiras posições, no
+ * formato alfanumérico, com valor {@code c - '0'} nas somas. Os dígitos
+ * verificadores são conferidos assim que digitados. Instâncias não são
+ * seguras entre threads.
+ */
+public final class ValidacaoIncremental {
+
+    /**
+     * Tamanho máximo de um código de barras (SSCC).
+     */
+    private static final int TAMANHO_GTIN = 18;
+
+    private final int digitos;
+    private final int[] peso;
+    private final String mascara;
+    private final int primeiraPontuacao;
+    private final boolean alfanumerico;
+    private final char[] texto;
+
+    private int tamanho;
+    private int invalidoEm = -1;
+    private boolean formatado;
+    private int quantidadeDigitos;
+    private int soma1;
+    private int soma2;
+    private final int[] somaParidade = new int[2];
+    private long valor;
+
+    private ValidacaoIncremental(final int digitos, final int[] peso, final String mascara,
+            final boolean alfanumerico) {
+
+        this.digitos = digitos;
+        this.peso = peso;
+        this.mascara = mascara;
+        this.alfanumerico = alfanumerico;
+        this.primeiraPontuacao = mascara == null ? -1 : mascara.indexOf('.');
+        this.texto = new char[mascara == null ? digitos : mascara.length()];
+    }
+
+    /**
+     * @return Validação incremental de CPF.
+     */
+    public static ValidacaoIncremental cpf() {
+
+        return new ValidacaoIncremental(DigitoVerificador.TAMANHO_CPF, DigitoVerificador.PESO_CPF,
+                DigitoVerificador.MASCARA_CPF, false);
+    }
+
+    /**
+     * @return Validação incremental de CNPJ, numérico ou alfanumérico.
+     */
+    public static ValidacaoIncremental cnpj() {
+
+        return new ValidacaoIncremental(DigitoVerificador.TAMANHO_CNPJ, DigitoVerificador.PESO_CNPJ,
+                DigitoVerificador.MASCARA_CNPJ, true);
+    }
+
+    /**
+     * @return Validação incremental de código de barras GTIN-8, GTIN-12,
+     * GTIN-13, GTIN-14, GSIN ou SSCC.
+     */
+    public static ValidacaoIncremental gtin() {
+
+        return new ValidacaoIncremental(TAMANHO_GTIN, null, null, false);
+    }
+
+    /**
+     * Acrescenta um caractere ao fim do texto.
+     *
+     * @param c Caractere digitado.
+     * @return {@link #prefixoValido()} depois do caractere.
+     */
+    public boolean adicionar(final char c) {
+
+        if (invalidoEm < 0 && !aceitar(c)) {
+            invalidoEm = tamanho;
+        }
+        tamanho++;
+        return invalidoEm < 0;
+    }
+
+    /**
+     * Acrescenta um trecho ao fim do texto, como um valor colado.
+     *
+     * @param trecho Caracteres digitados.
+     * @return {@link #prefixoValido()} depois do trecho.
+     */
+    public boolean adicionar(final CharSequence trecho) {
+
+        for (int i = 0; i < trecho.length(); i++) {
+            adicionar(trecho.charAt(i));
+        }
+        return invalidoEm < 0;
+    }
+
+    /**
+     * Remove o último caractere, como a tecla de apagar.
+     *
+     * @return {@link #prefixoValido()} depois da remoção.
+     */
+    public boolean remover() {
+
+        if (tamanho == 0) {
+            return true;
+        }
+        tamanho--;
+        if (invalidoEm >= 0) {
+            // Os caracteres a partir do primeiro inválido não entram nas somas.
+            if (tamanho == invalidoEm) {
+                invalidoEm = -1;
+            }
+            return invalidoEm < 0;
+        }
+        char c = texto[tamanho];
+        if ((c >= '0' && c <= '9') || (c >= 'A' && c <= 'Z')) {
+            retirarDigito(c - '0');
+        }
+        formatado = formatado && tamanho > primeiraPontuacao;
+        return true;
+    }
+
+    /**
+     * Apaga todo o texto.
+     */
+    public void limpar() {
+
+        tamanho = 0;
+        invalidoEm = -1;
+        formatado = false;
+        quantidadeDigitos = 0;
+        soma1 = 0;
+        soma2 = 0;
+        somaParidade[0] = 0;
+        somaParidade[1] = 0;
+        valor = 0;
+    }
+
+    /**
+     * @return Quantidade de caracteres recebidos.
+     */
+    public int tamanho() {
+
+        return tamanho;
+    }
+
+    /**
+     * @return true se o texto ainda puder ser completado até um
+     * identificador válido.
+     */
+    public boolean prefixoValido() {
+
+        return invalidoEm < 0;
+    }
+
+    /**
+     * @return true se o texto tiver o tamanho de um identificador: todos os
+     * dígitos do CPF ou CNPJ, ou o tamanho de uma das simbologias do código
+     * de barras.
+     */
+    public boolean completo() {
+
+        if (invalidoEm >= 0) {
+            return false;
+        }
+        if (peso == null) {
+            return Gtin.Simbologia.porTamanho(tamanho) != null;
+        }
+        return formatado ? tamanho == mascara.length() : quantidadeDigitos == digitos;
+    }
+
+    /**
+     * @return true se o texto for um identificador válido. Um código de
+     * barras válido ainda pode ser estendido até uma simbologia maior.
+     */
+    public boolean valido() {
+
+        if (!completo()) {
+            return false;
+        }
+        if (peso != null) {
+            // Os dígitos verificadores foram conferidos ao serem digitados.
+            return true;
+        }
+        Gtin.Simbologia simbologia = Gtin.Simbologia.porTamanho(tamanho);
+        int ultimo = (int) (valor % 10);
+        int paridade = tamanho & 1;
+        int total = 3 * somaParidade[paridade] + somaParidade[paridade ^ 1] - ultimo;
+        return ultimo == Gtin.digito(total)
+                && PrefixoGs1.codigo(Gtin.prefixo(valor, simbologia)) != PrefixoGs1.NENHUM;
+    }
+
+    @Override
+    public String toString() {
+
+        return new String(texto, 0, invalidoEm < 0 ? tamanho : invalidoEm);
+    }
+
+    /**
+     * Confere o caractere na posição atual e atualiza as somas.
+     *
+     * @return false se nenhum identificador válido começar com o texto.
+     */
+    private boolean aceitar(final char c) {
+
+        if (tamanho == texto.length) {
+            return false;
+        }
+        // No CNPJ alfanumérico, as letras valem como dígitos antes dos
+        // verificadores.
+        boolean digito = (c >= '0' && c <= '9') || (alfanumerico && c >= 'A' && c <= 'Z'
+                && quantidadeDigitos < digitos - 2);
+        if (peso == null) {
+            if (!digito) {
+                return false;
+            }
+        } else if (mascara.charAt(tamanho) != '#'
+                && (formatado || (!digito && tamanho == primeiraPontuacao))) {
+            // Pontuação da máscara; a primeira decide o formato.
+            if (c != mascara.charAt(tamanho)) {
+                return false;
+            }
+            formatado = true;
+            texto[tamanho] = c;
+            return true;
+        } else if (!digito || (!formatado && quantidadeDigitos == digitos)) {
+            return false;
+        } else if (!conferir(c - '0')) {
+            return false;
+        }
+        texto[tamanho] = c;
+        somarDigito(c - '0');
+        return true;
+    }
+
+    /**
+     * Confere os dígitos verificadores do CPF ou CNPJ ao serem digitados.
+     */
+    private boolean conferir(final int d) {
+
+        if (quantidadeDigitos == digitos - 2) {
+            return d == DigitoVerificador.digito(soma1);
+        }
+        if (quantidadeDigitos == digitos - 1) {
+            return d == DigitoVerificador.digito(soma2);
+        }
+        return true;
+    }
+
+    private void somarDigito(final int d) {
+
+        int k = quantidadeDigitos++;
+        if (peso == null) {
+            somaParidade[k & 1] += d;
+            valor = valor * 10 + d;
+        } else if (k < digitos - 2) {
+            soma1 += d * peso[k + 1];
+            soma2 += d * peso[k];
+        } else if (k == digitos - 2) {
+            soma2 += d * peso[k];
+        }
+    }
+
+    private void retirarDigito(final int d) {
+
+        int k = --quantidadeDigitos;
+        if (peso == null) {
+            somaParidade[k & 1] -= d;
+            valor /= 10;
+        } else if (k < digitos - 2) {
+            soma1 -= d * peso[k + 1];
+            soma2 -= d * peso[k];
+        } else if (k == digitos - 2) {
+            soma2 -= d * peso[k];
+        }
+    }
+}
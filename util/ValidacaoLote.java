@@ -0,0 +1,493 @@
+package util;
+
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Classe de validação em lote de colunas de CPF, CNPJ e GTIN.
+ *
+ * Cada regra tem um laço próprio, sem escolha da regra por linha, que
+ * percorre a coluna inteira e grava o resultado de cada linha no vetor ou
+ * {@link BitSet} informado, que pode ser reaproveitado entre lotes. As
+ * colunas podem ser um vetor de Strings, uma lista de CharSequence ou bytes
+ * ASCII de largura fixa, em vetor ou buffer; todas as combinações de coluna
+ * e resultado são aceitas.
+ *
+ * As colunas de largura fixa são lidas diretamente dos bytes, sem criar uma
+ * String por linha; os espaços à esquerda e à direita de cada campo são
+ * ignorados. O tamanho da coluna deve ser múltiplo da largura: um registro
+ * incompleto no fim lança IllegalArgumentException, assim como um vetor de
+ * resultado menor que a coluna.
+ */
+public final class ValidacaoLote {
+
+    private static final int CPF = 0;
+    private static final int CNPJ = 1;
+    private static final int GTIN = 2;
+
+    private ValidacaoLote() {
+        //construtor privado para que a classe não seja instanciada
+    }
+
+    /**
+     * Valida uma coluna de CPFs.
+     *
+     * @param valores CPFs a serem validados; posições nulas são inválidas.
+     * @param resultado Vetor que recebe o resultado de cada posição.
+     * @return Quantidade de CPFs válidos.
+     */
+    public static int cpf(final String[] valores, final boolean[] resultado) {
+
+        return validar(CPF, valores, resultado, null);
+    }
+
+    /**
+     * Valida uma coluna de CPFs.
+     *
+     * @param valores CPFs a serem validados; posições nulas são inválidas.
+     * @param resultado BitSet que recebe o resultado de cada posição.
+     * @return Quantidade de CPFs válidos.
+     */
+    public static int cpf(final String[] valores, final BitSet resultado) {
+
+        return validar(CPF, valores, null, resultado);
+    }
+
+    /**
+     * Valida uma coluna de CPFs.
+     *
+     * @param valores CPFs a serem validados; posições nulas são inválidas.
+     * @param resultado Vetor que recebe o resultado de cada posição.
+     * @return Quantidade de CPFs válidos.
+     */
+    public static int cpf(final List<? extends CharSequence> valores, final boolean[] resultado) {
+
+        return validar(CPF, valores, resultado, null);
+    }
+
+    /**
+     * Valida uma coluna de CPFs.
+     *
+     * @param valores CPFs a serem validados; posições nulas são inválidas.
+     * @param resultado BitSet que recebe o resultado de cada posição.
+     * @return Quantidade de CPFs válidos.
+     */
+    public static int cpf(final List<? extends CharSequence> valores, final BitSet resultado) {
+
+        return validar(CPF, valores, null, resultado);
+    }
+
+    /**
+     * Valida uma coluna de CPFs em ASCII com largura fixa.
+     *
+     * @param coluna Bytes da coluna, um registro a cada {@code largura} bytes.
+     * @param largura Quantidade de bytes de cada registro.
+     * @param resultado Vetor que recebe o resultado de cada registro.
+     * @return Quantidade de CPFs válidos.
+     */
+    public static int cpf(final byte[] coluna, final int largura, final boolean[] resultado) {
+
+        return validar(CPF, ByteBuffer.wrap(coluna), largura, resultado, null);
+    }
+
+    /**
+     * Valida uma coluna de CPFs em ASCII com largura fixa.
+     *
+     * @param coluna Bytes da coluna, um registro a cada {@code largura} bytes.
+     * @param largura Quantidade de bytes de cada registro.
+     * @param resultado BitSet que recebe o resultado de cada registro.
+     * @return Quantidade de CPFs válidos.
+     */
+    public static int cpf(final byte[] coluna, final int largura, final BitSet resultado) {
+
+        return validar(CPF, ByteBuffer.wrap(coluna), largura, null, resultado);
+    }
+
+    /**
+     * Valida os registros restantes de um buffer de CPFs em ASCII com largura fixa.
+     * A posição do buffer não é alterada.
+     *
+     * @param coluna Buffer da coluna, um registro a cada {@code largura} bytes.
+     * @param largura Quantidade de bytes de cada registro.
+     * @param resultado Vetor que recebe o resultado de cada registro.
+     * @return Quantidade de CPFs válidos.
+     */
+    public static int cpf(final ByteBuffer coluna, final int largura, final boolean[] resultado) {
+
+        return validar(CPF, coluna, largura, resultado, null);
+    }
+
+    /**
+     * Valida os registros restantes de um buffer de CPFs em ASCII com largura fixa.
+     * A posição do buffer não é alterada.
+     *
+     * @param coluna Buffer da coluna, um registro a cada {@code largura} bytes.
+     * @param largura Quantidade de bytes de cada registro.
+     * @param resultado BitSet que recebe o resultado de cada registro.
+     * @return Quantidade de CPFs válidos.
+     */
+    public static int cpf(final ByteBuffer coluna, final int largura, final BitSet resultado) {
+
+        return validar(CPF, coluna, largura, null, resultado);
+    }
+
+    /**
+     * Valida uma coluna de CNPJs.
+     *
+     * @param valores CNPJs a serem validados; posições nulas são inválidas.
+     * @param resultado Vetor que recebe o resultado de cada posição.
+     * @return Quantidade de CNPJs válidos.
+     */
+    public static int cnpj(final String[] valores, final boolean[] resultado) {
+
+        return validar(CNPJ, valores, resultado, null);
+    }
+
+    /**
+     * Valida uma coluna de CNPJs.
+     *
+     * @param valores CNPJs a serem validados; posições nulas são inválidas.
+     * @param resultado BitSet que recebe o resultado de cada posição.
+     * @return Quantidade de CNPJs válidos.
+     */
+    public static int cnpj(final String[] valores, final BitSet resultado) {
+
+        return validar(CNPJ, valores, null, resultado);
+    }
+
+    /**
+     * Valida uma coluna de CNPJs.
+     *
+     * @param valores CNPJs a serem validados; posições nulas são inválidas.
+     * @param resultado Vetor que recebe o resultado de cada posição.
+     * @return Quantidade de CNPJs válidos.
+     */
+    public static int cnpj(final List<? extends CharSequence> valores, final boolean[] resultado) {
+
+        return validar(CNPJ, valores, resultado, null);
+    }
+
+    /**
+     * Valida uma coluna de CNPJs.
+     *
+     * @param valores CNPJs a serem validados; posições nulas são inválidas.
+     * @param resultado BitSet que recebe o resultado de cada posição.
+     * @return Quantidade de CNPJs válidos.
+     */
+    public static int cnpj(final List<? extends CharSequence> valores, final BitSet resultado) {
+
+        return validar(CNPJ, valores, null, resultado);
+    }
+
+    /**
+     * Valida uma coluna de CNPJs em ASCII com largura fixa.
+     *
+     * @param coluna Bytes da coluna, um registro a cada {@code largura} bytes.
+     * @param largura Quantidade de bytes de cada registro.
+     * @param resultado Vetor que recebe o resultado de cada registro.
+     * @return Quantidade de CNPJs válidos.
+     */
+    public static int cnpj(final byte[] coluna, final int largura, final boolean[] resultado) {
+
+        return validar(CNPJ, ByteBuffer.wrap(coluna), largura, resultado, null);
+    }
+
+    /**
+     * Valida uma coluna de CNPJs em ASCII com largura fixa.
+     *
+     * @param coluna Bytes da coluna, um registro a cada {@code largura} bytes.
+     * @param largura Quantidade de bytes de cada registro.
+     * @param resultado BitSet que recebe o resultado de cada registro.
+     * @return Quantidade de CNPJs válidos.
+     */
+    public static int cnpj(final byte[] coluna, final int largura, final BitSet resultado) {
+
+        return validar(CNPJ, ByteBuffer.wrap(coluna), largura, null, resultado);
+    }
+
+    /**
+     * Valida os registros restantes de um buffer de CNPJs em ASCII com largura fixa.
+     * A posição do buffer não é alterada.
+     *
+     * @param coluna Buffer da coluna, um registro a cada {@code largura} bytes.
+     * @param largura Quantidade de bytes de cada registro.
+     * @param resultado Vetor que recebe o resultado de cada registro.
+     * @return Quantidade de CNPJs válidos.
+     */
+    public static int cnpj(final ByteBuffer coluna, final int largura, final boolean[] resultado) {
+
+        return validar(CNPJ, coluna, largura, resultado, null);
+    }
+
+    /**
+     * Valida os registros restantes de um buffer de CNPJs em ASCII com largura fixa.
+     * A posição do buffer não é alterada.
+     *
+     * @param coluna Buffer da coluna, um registro a cada {@code largura} bytes.
+     * @param largura Quantidade de bytes de cada registro.
+     * @param resultado BitSet que recebe o resultado de cada registro.
+     * @return Quantidade de CNPJs válidos.
+     */
+    public static int cnpj(final ByteBuffer coluna, final int largura, final BitSet resultado) {
+
+        return validar(CNPJ, coluna, largura, null, resultado);
+    }
+
+    /**
+     * Valida uma coluna de códigos de barras GS1.
+     *
+     * @param valores Códigos a serem validados; posições nulas são inválidas.
+     * @param resultado Vetor que recebe o resultado de cada posição.
+     * @return Quantidade de códigos válidos.
+     */
+    public static int gtin(final String[] valores, final boolean[] resultado) {
+
+        return validar(GTIN, valores, resultado, null);
+    }
+
+    /**
+     * Valida uma coluna de códigos de barras GS1.
+     *
+     * @param valores Códigos a serem validados; posições nulas são inválidas.
+     * @param resultado BitSet que recebe o resultado de cada posição.
+     * @return Quantidade de códigos válidos.
+     */
+    public static int gtin(final String[] valores, final BitSet resultado) {
+
+        return validar(GTIN, valores, null, resultado);
+    }
+
+    /**
+     * Valida uma coluna de códigos de barras GS1.
+     *
+     * @param valores Códigos a serem validados; posições nulas são inválidas.
+     * @param resultado Vetor que recebe o resultado de cada posição.
+     * @return Quantidade de códigos válidos.
+     */
+    public static int gtin(final List<? extends CharSequence> valores, final boolean[] resultado) {
+
+        return validar(GTIN, valores, resultado, null);
+    }
+
+    /**
+     * Valida uma coluna de códigos de barras GS1.
+     *
+     * @param valores Códigos a serem validados; posições nulas são inválidas.
+     * @param resultado BitSet que recebe o resultado de cada posição.
+     * @return Quantidade de códigos válidos.
+     */
+    public static int gtin(final List<? extends CharSequence> valores, final BitSet resultado) {
+
+        return validar(GTIN, valores, null, resultado);
+    }
+
+    /**
+     * Valida uma coluna de códigos de barras GS1 em ASCII com largura fixa.
+     *
+     * @param coluna Bytes da coluna, um registro a cada {@code largura} bytes.
+     * @param largura Quantidade de bytes de cada registro.
+     * @param resultado Vetor que recebe o resultado de cada registro.
+     * @return Quantidade de códigos válidos.
+     */
+    public static int gtin(final byte[] coluna, final int largura, final boolean[] resultado) {
+
+        return validar(GTIN, ByteBuffer.wrap(coluna), largura, resultado, null);
+    }
+
+    /**
+     * Valida uma coluna de códigos de barras GS1 em ASCII com largura fixa.
+     *
+     * @param coluna Bytes da coluna, um registro a cada {@code largura} bytes.
+     * @param largura Quantidade de bytes de cada registro.
+     * @param resultado BitSet que recebe o resultado de cada registro.
+     * @return Quantidade de códigos válidos.
+     */
+    public static int gtin(final byte[] coluna, final int largura, final BitSet resultado) {
+
+        return validar(GTIN, ByteBuffer.wrap(coluna), largura, null, resultado);
+    }
+
+    /**
+     * Valida os registros restantes de um buffer de códigos de barras GS1 em ASCII com largura fixa.
+     * A posição do buffer não é alterada.
+     *
+     * @param coluna Buffer da coluna, um registro a cada {@code largura} bytes.
+     * @param largura Quantidade de bytes de cada registro.
+     * @param resultado Vetor que recebe o resultado de cada registro.
+     * @return Quantidade de códigos válidos.
+     */
+    public static int gtin(final ByteBuffer coluna, final int largura, final boolean[] resultado) {
+
+        return validar(GTIN, coluna, largura, resultado, null);
+    }
+
+    /**
+     * Valida os registros restantes de um buffer de códigos de barras GS1 em ASCII com largura fixa.
+     * A posição do buffer não é alterada.
+     *
+     * @param coluna Buffer da coluna, um registro a cada {@code largura} bytes.
+     * @param largura Quantidade de bytes de cada registro.
+     * @param resultado BitSet que recebe o resultado de cada registro.
+     * @return Quantidade de códigos válidos.
+     */
+    public static int gtin(final ByteBuffer coluna, final int largura, final BitSet resultado) {
+
+        return validar(GTIN, coluna, largura, null, resultado);
+    }
+
+    /**
+     * Valida um vetor de texto com o laço da regra, por índice. Apenas um dos
+     * resultados é informado.
+     */
+    private static int validar(final int regra, final String[] valores, final boolean[] vetor,
+            final BitSet bits) {
+
+        preparar(valores.length, vetor, bits);
+        int validos = 0;
+        switch (regra) {
+            case CPF:
+                for (int i = 0; i < valores.length; i++) {
+                    validos += marcar(DigitoVerificador.cpf(valores[i]), i, vetor, bits);
+                }
+                break;
+            case CNPJ:
+                for (int i = 0; i < valores.length; i++) {
+                    validos += marcar(DigitoVerificador.cnpj(valores[i]), i, vetor, bits);
+                }
+                break;
+            default:
+                for (int i = 0; i < valores.length; i++) {
+                    validos += marcar(Gtin.valido(valores[i]), i, vetor, bits);
+                }
+                break;
+        }
+        return validos;
+    }
+
+    /**
+     * Valida uma coluna de texto com o laço da regra. Apenas um dos
+     * resultados é informado.
+     */
+    private static int validar(final int regra, final List<? extends CharSequence> valores,
+            final boolean[] vetor, final BitSet bits) {
+
+        int tamanho = valores.size();
+        preparar(tamanho, vetor, bits);
+        int validos = 0;
+        int i = 0;
+        // O iterador percorre também listas sem acesso por índice.
+        switch (regra) {
+            case CPF:
+                for (CharSequence valor : valores) {
+                    validos += marcar(DigitoVerificador.cpf(valor), i++, vetor, bits);
+                }
+                break;
+            case CNPJ:
+                for (CharSequence valor : valores) {
+                    validos += marcar(DigitoVerificador.cnpj(valor), i++, vetor, bits);
+                }
+                break;
+            default:
+                for (CharSequence valor : valores) {
+                    validos += marcar(Gtin.valido(valor), i++, vetor, bits);
+                }
+                break;
+        }
+        return validos;
+    }
+
+    /**
+     * Valida os registros restantes de uma coluna de largura fixa com o laço
+     * da regra. Apenas um dos resultados é informado.
+     */
+    private static int validar(final int regra, final ByteBuffer coluna, final int largura,
+            final boolean[] vetor, final BitSet bits) {
+
+        if (largura <= 0) {
+            throw new IllegalArgumentException("Largura deve ser positiva: " + largura);
+        }
+        if (coluna.remaining() % largura != 0) {
+            throw new IllegalArgumentException("Registro incompleto no fim da coluna: "
+                    + coluna.remaining() % largura + " de " + largura + " bytes.");
+        }
+        int registros = coluna.remaining() / largura;
+        preparar(registros, vetor, bits);
+        int validos = 0;
+        int de = coluna.position();
+        switch (regra) {
+            case CPF:
+                for (int i = 0; i < registros; i++, de += largura) {
+                    int inicio = inicioCampo(coluna, de, de + largura);
+                    int tamanho = fimCampo(coluna, inicio, de + largura) - inicio;
+                    validos += marcar(DigitoVerificador.cpf(coluna, inicio, tamanho), i, vetor, bits);
+                }
+                break;
+            case CNPJ:
+                for (int i = 0; i < registros; i++, de += largura) {
+                    int inicio = inicioCampo(coluna, de, de + largura);
+                    int tamanho = fimCampo(coluna, inicio, de + largura) - inicio;
+                    validos += marcar(DigitoVerificador.cnpj(coluna, inicio, tamanho), i, vetor, bits);
+                }
+                break;
+            default:
+                for (int i = 0; i < registros; i++, de += largura) {
+                    int inicio = inicioCampo(coluna, de, de + largura);
+                    int tamanho = fimCampo(coluna, inicio, de + largura) - inicio;
+                    validos += marcar(Gtin.valido(coluna, inicio, tamanho), i, vetor, bits);
+                }
+                break;
+        }
+        return validos;
+    }
+
+    private static void preparar(final int tamanho, final boolean[] vetor, final BitSet bits) {
+
+        if (vetor == null) {
+            bits.clear(0, tamanho);
+        } else if (vetor.length < tamanho) {
+            throw new IllegalArgumentException("Vetor de resultado menor que a coluna.");
+        }
+    }
+
+    /**
+     * Grava o resultado da linha; o teste do vetor é o mesmo em todo o laço.
+     *
+     * @return 1 se a linha for válida.
+     */
+    private static int marcar(final boolean valido, final int linha, final boolean[] vetor,
+            final BitSet bits) {
+
+        if (vetor != null) {
+            vetor[linha] = valido;
+        } else if (valido) {
+            bits.set(linha);
+        }
+        return valido ? 1 : 0;
+    }
+
+    /**
+     * @return Posição do primeiro byte do campo que não é espaço, ou
+     * {@code fim}.
+     */
+    private static int inicioCampo(final ByteBuffer buffer, final int inicio, final int fim) {
+
+        int i = inicio;
+        while (i < fim && buffer.get(i) == ' ') {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * @return Posição seguinte ao último byte do campo que não é espaço.
+     */
+    private static int fimCampo(final ByteBuffer buffer, final int inicio, final int fim) {
+
+        int i = fim;
+        while (i > inicio && buffer.get(i - 1) == ' ') {
+            i--;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,157 @@
+package util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Classe de validação paralela de grandes volumes de identificadores.
+ *
+ * A entrada é dividida em blocos contíguos validados em um
+ * {@link ForkJoinPool} próprio. Os blocos são juntados na ordem da entrada,
+ * de modo que o resultado é o mesmo qualquer que seja o paralelismo.
+ */
+public final class ValidacaoParalela implements AutoCloseable {
+
+    /**
+     * Quantidade padrão de linhas por bloco.
+     */
+    public static final int TAMANHO_BLOCO_PADRAO = 8192;
+
+    private final ForkJoinPool pool;
+    private final int tamanhoBloco;
+
+    /**
+     * Cria o validador com o paralelismo igual ao número de processadores.
+     */
+    public ValidacaoParalela() {
+
+        this(Runtime.getRuntime().availableProcessors(), TAMANHO_BLOCO_PADRAO);
+    }
+
+    /**
+     * @param paralelismo Quantidade de threads de validação.
+     * @param tamanhoBloco Quantidade de linhas validadas por tarefa.
+     */
+    public ValidacaoParalela(final int paralelismo, final int tamanhoBloco) {
+
+        if (tamanhoBloco <= 0) {
+            throw new IllegalArgumentException("Tamanho do bloco deve ser positivo: " + tamanhoBloco);
+        }
+        this.pool = new ForkJoinPool(paralelismo);
+        this.tamanhoBloco = tamanhoBloco;
+    }
+
+    /**
+     * Valida uma lista de valores. Listas sem acesso direto por índice, como
+     * LinkedList, são copiadas antes da divisão em blocos.
+     *
+     * @param valores Valores a serem validados.
+     * @param regras Regras aplicadas a cada valor.
+     * @return Quantidades por regra e índices das linhas inválidas.
+     */
+    public ResultadoLote validar(final List<String> valores, final Regra... regras) {
+
+        Regra[] aplicadas = distintas(regras);
+        // Cada bloco lê os valores por índice.
+        List<String> lista = valores instanceof RandomAccess ? valores : new ArrayList<>(valores);
+        List<ForkJoinTask<ResultadoLote.Bloco>> tarefas = new ArrayList<>();
+        for (int inicio = 0; inicio < lista.size(); inicio += tamanhoBloco) {
+
+            int de = inicio;
+            int ate = Math.min(lista.size(), inicio + tamanhoBloco);
+            tarefas.add(pool.submit(() -> ResultadoLote.Bloco.validar(lista, de, ate, aplicadas)));
+        }
+        List<ResultadoLote.Bloco> blocos = new ArrayList<>(tarefas.size());
+        for (ForkJoinTask<ResultadoLote.Bloco> tarefa : tarefas) {
+            blocos.add(tarefa.join());
+        }
+        return ResultadoLote.juntar(blocos, aplicadas);
+    }
+
+    /**
+     * Valida um arquivo com um valor por linha. O arquivo é lido
+     * sequencialmente e apenas alguns blocos ficam em memória ao mesmo tempo.
+     *
+     * @param arquivo Arquivo a ser validado.
+     * @param charset Codificação do arquivo.
+     * @param regras Regras aplicadas a cada linha.
+     * @return Quantidades por regra e índices das linhas inválidas.
+     * @throws IOException Se o arquivo não puder ser lido.
+     */
+    public ResultadoLote validar(final Path arquivo, final Charset charset, final Regra... regras)
+            throws IOException {
+
+        Regra[] aplicadas = distintas(regras);
+        int limite = 2 * pool.getParallelism();
+        ArrayDeque<ForkJoinTask<ResultadoLote.Bloco>> pendentes = new ArrayDeque<>(limite);
+        List<ResultadoLote.Bloco> blocos = new ArrayList<>();
+        try (BufferedReader leitor = Files.newBufferedReader(arquivo, charset)) {
+
+            List<String> linhas = new ArrayList<>(tamanhoBloco);
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+
+                linhas.add(linha);
+                if (linhas.size() == tamanhoBloco) {
+                    if (pendentes.size() == limite) {
+                        blocos.add(pendentes.removeFirst().join());
+                    }
+                    pendentes.addLast(submeter(linhas, aplicadas));
+                    linhas = new ArrayList<>(tamanhoBloco);
+                }
+            }
+            if (!linhas.isEmpty()) {
+                pendentes.addLast(submeter(linhas, aplicadas));
+            }
+        } finally {
+            while (!pendentes.isEmpty()) {
+                blocos.add(pendentes.removeFirst().join());
+            }
+        }
+        return ResultadoLote.juntar(blocos, aplicadas);
+    }
+
+    private ForkJoinTask<ResultadoLote.Bloco> submeter(final List<String> linhas, final Regra[] regras) {
+
+        return pool.submit(() -> ResultadoLote.Bloco.validar(linhas, 0, linhas.size(), regras));
+    }
+
+    private static Regra[] distintas(final Regra[] regras) {
+
+        if (regras.length == 0) {
+            throw new IllegalArgumentException("Informe pelo menos uma regra.");
+        }
+        EnumSet<Regra> conjunto = EnumSet.noneOf(Regra.class);
+        for (Regra regra : regras) {
+            conjunto.add(regra);
+        }
+        return conjunto.toArray(new Regra[0]);
+    }
+
+    /**
+     * @return Quantidade de threads de validação.
+     */
+    public int paralelismo() {
+
+        return pool.getParallelism();
+    }
+
+    /**
+     * Encerra as threads de validação.
+     */
+    @Override
+    public void close() {
+
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,264 @@
+package util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParsePosition;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Classe de validação de datas segura para uso entre threads.
+ *
+ * As máscaras mais comuns ("dd/MM/yyyy", "yyyy-MM-dd" e "ddMMyyyy") são
+ * verificadas diretamente pela aritmética de dia, mês e ano bissexto, sem
+ * alocação e sem exceções. As demais máscaras usam {@link DateTimeFormatter}
+ * imutáveis, guardados em um cache limitado por máscara e criados somente
+ * na primeira validação com uma delas.
+ *
+ * A data precisa ocupar o campo inteiro e os números precisam ter a
+ * quantidade de dígitos da máscara. Como no {@link java.text.SimpleDateFormat}
+ * não leniente, cada campo precisa estar no seu intervalo, o dia precisa
+ * existir no mês, o ano começa em 1 e os campos ausentes da máscara valem
+ * os de 01/01/1970: "29/02" com "dd/MM" é inválido.
+ */
+public final class ValidadorData {
+
+    /**
+     * Quantidade máxima de máscaras guardadas no cache.
+     */
+    static final int LIMITE_CACHE = 64;
+
+    private static final int[] DIAS_MES = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private ValidadorData() {
+        //construtor privado para que a classe não seja instanciada
+    }
+
+    /**
+     * Verifica se o campo possui uma data válida no formato informado.
+     *
+     * @param campo Sequência a ser validada.
+     * @param mascara Formato a ser verificado, na sintaxe de
+     * {@link java.text.SimpleDateFormat}.
+     * @return True ou False; false se o campo ou a máscara forem null.
+     */
+    public static boolean valida(final CharSequence campo, final String mascara) {
+
+        if (campo == null || mascara == null) {
+            return false;
+        }
+        switch (mascara) {
+            case "dd/MM/yyyy":
+                return campo.length() == 10 && campo.charAt(2) == '/' && campo.charAt(5) == '/'
+                        && valida(numero(campo, 6, 4), numero(campo, 3, 2), numero(campo, 0, 2));
+            case "yyyy-MM-dd":
+                return campo.length() == 10 && campo.charAt(4) == '-' && campo.charAt(7) == '-'
+                        && valida(numero(campo, 0, 4), numero(campo, 5, 2), numero(campo, 8, 2));
+            case "ddMMyyyy":
+                return campo.length() == 8
+                        && valida(numero(campo, 4, 4), numero(campo, 2, 2), numero(campo, 0, 2));
+            default:
+                return Formatos.valida(campo, mascara);
+        }
+    }
+
+    /**
+     * Verifica se o trecho do buffer possui uma data válida em ASCII no
+     * formato informado. Somente as máscaras que não têm caminho rápido criam
+     * uma String.
+     *
+     * @param buffer Buffer lido por posição absoluta.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes do campo.
+     * @param mascara Formato a ser verificado.
+     * @return True ou False; false se a máscara for null.
+     */
+    public static boolean valida(final ByteBuffer buffer, final int inicio, final int tamanho,
+            final String mascara) {
+
+        if (mascara == null) {
+            return false;
+        }
+        switch (mascara) {
+            case "dd/MM/yyyy":
+                return tamanho == 10 && buffer.get(inicio + 2) == '/' && buffer.get(inicio + 5) == '/'
+                        && valida(numero(buffer, inicio + 6, 4), numero(buffer, inicio + 3, 2),
+                                numero(buffer, inicio, 2));
+            case "yyyy-MM-dd":
+                return tamanho == 10 && buffer.get(inicio + 4) == '-' && buffer.get(inicio + 7) == '-'
+                        && valida(numero(buffer, inicio, 4), numero(buffer, inicio + 5, 2),
+                                numero(buffer, inicio + 8, 2));
+            case "ddMMyyyy":
+                return tamanho == 8
+                        && valida(numero(buffer, inicio + 4, 4), numero(buffer, inicio + 2, 2),
+                                numero(buffer, inicio, 2));
+            default:
+                byte[] bytes = new byte[tamanho];
+                buffer.get(inicio, bytes);
+                return Formatos.valida(new String(bytes, StandardCharsets.ISO_8859_1), mascara);
+        }
+    }
+
+    /**
+     * Testa se o ano, o mês e o dia formam uma data do calendário ISO.
+     *
+     * @param ano Ano, a partir de 1, ou negativo se inválido.
+     * @param mes Mês, de 1 a 12.
+     * @param dia Dia do mês.
+     * @return true se a data existir.
+     */
+    static boolean valida(final int ano, final int mes, final int dia) {
+
+        if (ano < 1 || mes < 1 || mes > 12 || dia < 1) {
+            return false;
+        }
+        if (mes == 2 && dia == 29) {
+            return bissexto(ano);
+        }
+        return dia <= DIAS_MES[mes - 1];
+    }
+
+    /**
+     * @param ano Ano proléptico do calendário ISO.
+     * @return true se o ano for bissexto.
+     */
+    static boolean bissexto(final int ano) {
+
+        return (ano & 3) == 0 && (ano % 100 != 0 || ano % 400 == 0);
+    }
+
+    /**
+     * Lê um número de dígitos fixos; retorna -1 se houver algum não dígito.
+     */
+    private static int numero(final CharSequence campo, final int inicio, final int digitos) {
+
+        int valor = 0;
+        for (int i = inicio; i < inicio + digitos; i++) {
+
+            int d = campo.charAt(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            valor = valor * 10 + d;
+        }
+        return valor;
+    }
+
+    private static int numero(final ByteBuffer buffer, final int inicio, final int digitos) {
+
+        int valor = 0;
+        for (int i = inicio; i < inicio + digitos; i++) {
+
+            int d = buffer.get(i) - '0';
+            if (d < 0 || d > 9) {
+                return -1;
+            }
+            valor = valor * 10 + d;
+        }
+        return valor;
+    }
+
+    /**
+     * Máscaras sem caminho rápido. Ficam em uma classe separada para que o
+     * java.time.format só seja carregado na primeira máscara genérica.
+     *
+     * O texto é lido com {@link DateTimeFormatter#parseUnresolved}, que não
+     * completa a data nem lança exceções; o intervalo de cada campo e o dia
+     * do mês são verificados aqui, sobre os valores lidos.
+     */
+    private static final class Formatos {
+
+        /**
+         * Ano usado quando a máscara não tem ano, como no SimpleDateFormat.
+         */
+        private static final int ANO_PADRAO = 1970;
+
+        private static final ChronoField[] CAMPOS = ChronoField.values();
+
+        private static final ConcurrentHashMap<String, DateTimeFormatter> FORMATOS =
+                new ConcurrentHashMap<>();
+
+        /**
+         * Marca no cache as máscaras inválidas, para que a exceção de
+         * {@link DateTimeFormatter#ofPattern} ocorra só na primeira vez.
+         * Comparado por identidade.
+         */
+        private static final DateTimeFormatter INVALIDA = new DateTimeFormatterBuilder().toFormatter();
+
+        static boolean valida(final CharSequence campo, final String mascara) {
+
+            DateTimeFormatter formato = formato(mascara);
+            if (formato == null) {
+                return false;
+            }
+            ParsePosition posicao = new ParsePosition(0);
+            TemporalAccessor lidos = formato.parseUnresolved(campo, posicao);
+            if (lidos == null || posicao.getErrorIndex() >= 0 || posicao.getIndex() != campo.length()) {
+                return false;
+            }
+            for (ChronoField campoData : CAMPOS) {
+                if (lidos.isSupported(campoData)
+                        && !campoData.range().isValidValue(lidos.getLong(campoData))) {
+                    return false;
+                }
+            }
+            return consistente(lidos);
+        }
+
+        /**
+         * Verifica o dia contra o mês e o ano, e o dia da semana contra a
+         * data, completando os campos ausentes com 01/01/1970.
+         */
+        private static boolean consistente(final TemporalAccessor lidos) {
+
+            boolean temDia = lidos.isSupported(ChronoField.DAY_OF_MONTH);
+            boolean temSemana = lidos.isSupported(ChronoField.DAY_OF_WEEK);
+            if (!temDia && !temSemana) {
+                return true;
+            }
+            int ano = ANO_PADRAO;
+            if (lidos.isSupported(ChronoField.YEAR_OF_ERA)) {
+                ano = (int) lidos.getLong(ChronoField.YEAR_OF_ERA);
+                if (lidos.isSupported(ChronoField.ERA) && lidos.getLong(ChronoField.ERA) == 0) {
+                    ano = 1 - ano;
+                }
+            }
+            int mes = lidos.isSupported(ChronoField.MONTH_OF_YEAR)
+                    ? (int) lidos.getLong(ChronoField.MONTH_OF_YEAR) : 1;
+            int dia = temDia ? (int) lidos.getLong(ChronoField.DAY_OF_MONTH) : 1;
+            if (dia > (mes == 2 && bissexto(ano) ? 29 : DIAS_MES[mes - 1])) {
+                return false;
+            }
+            return !temDia || !temSemana || LocalDate.of(ano, mes, dia).getDayOfWeek().getValue()
+                    == lidos.getLong(ChronoField.DAY_OF_WEEK);
+        }
+
+        /**
+         * Obtém o formato da máscara no cache ou o cria. Máscaras inválidas
+         * também são guardadas, como {@link #INVALIDA}. Quando o cache está
+         * cheio, o formato é criado sem ser guardado.
+         *
+         * @return Formato, ou null se a máscara for inválida.
+         */
+        private static DateTimeFormatter formato(final String mascara) {
+
+            DateTimeFormatter formato = FORMATOS.get(mascara);
+            if (formato == null) {
+                try {
+                    formato = DateTimeFormatter.ofPattern(mascara);
+                } catch (IllegalArgumentException e) {
+                    Instrumentacao.excecao(Instrumentacao.Metodo.DATA);
+                    formato = INVALIDA;
+                }
+                if (FORMATOS.size() < LIMITE_CACHE) {
+                    FORMATOS.putIfAbsent(mascara, formato);
+                }
+            }
+            return formato == INVALIDA ? null : formato;
+        }
+    }
+}
@@ -0,0 +1,412 @@
+package util;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Classe de validação de email por máquina de estados.
+ *
+ * Sem opções, reconhece exatamente a mesma linguagem da expressão regular
+ * usada historicamente por {@link Validador#email(String)}:
+ *
+ * <pre>
+ * [a-z0-9!#$%&amp;'*+/=?^_`{|}~-]+(?:\.[a-z0-9!#$%&amp;'*+/=?^_`{|}~-]+)*@
+ * (?:[a-z0-9](?:[a-z0-9-]*[a-z0-9])?\.)+[a-z0-9](?:[a-z0-9-]*[a-z0-9])?
+ * </pre>
+ *
+ * A validação é feita em uma única passada e sem retrocesso: cada caractere
+ * é lido uma única vez, de modo que o tempo é linear no tamanho do campo
+ * para qualquer entrada. O campo pode ser uma {@link CharSequence} ou um
+ * trecho de buffer em UTF-8.
+ *
+ * Opções, combinadas com '|':
+ * <ul>
+ * <li>{@link #IGNORAR_CAIXA}: aceita também letras maiúsculas;</li>
+ * <li>{@link #INTERNACIONAL}: aceita letras, dígitos e marcas fora do ASCII
+ * na parte local e nos rótulos do domínio (RFC 6531), sem as regras de
+ * IDNA. Em bytes, as sequências UTF-8 malformadas são rejeitadas.</li>
+ * </ul>
+ *
+ * Os métodos {@code arroba} retornam a posição do '@', que separa a parte
+ * local do domínio sem criar Strings.
+ */
+public final class ValidadorEmail {
+
+    /**
+     * Aceita letras maiúsculas.
+     */
+    public static final int IGNORAR_CAIXA = 1;
+
+    /**
+     * Aceita letras, dígitos e marcas fora do ASCII.
+     */
+    public static final int INTERNACIONAL = 2;
+
+    /**
+     * Caractere permitido na parte local.
+     */
+    private static final int LOCAL = 1;
+
+    /**
+     * Caractere alfanumérico do domínio.
+     */
+    private static final int ALFANUMERICO = 2;
+
+    /**
+     * Letra maiúscula, aceita em ambas as partes com {@link #IGNORAR_CAIXA}.
+     */
+    private static final int MAIUSCULA = 4;
+
+    /**
+     * Tabela de classes dos caracteres ASCII.
+     */
+    private static final byte[] CLASSES = new byte[128];
+
+    static {
+        for (char c = 'a'; c <= 'z'; c++) {
+            CLASSES[c] = LOCAL | ALFANUMERICO;
+        }
+        for (char c = '0'; c <= '9'; c++) {
+            CLASSES[c] = LOCAL | ALFANUMERICO;
+        }
+        for (char c : "!#$%&'*+/=?^_`{|}~-".toCharArray()) {
+            CLASSES[c] |= LOCAL;
+        }
+        for (char c = 'A'; c <= 'Z'; c++) {
+            CLASSES[c] = MAIUSCULA;
+        }
+    }
+
+    private ValidadorEmail() {
+        //construtor privado para que a classe não seja instanciada
+    }
+
+    /**
+     * Testa se uma sequência contém um email válido.
+     *
+     * @param campo Sequência a ser testada.
+     * @return true se o conteúdo contiver um email válido.
+     */
+    public static boolean valido(final CharSequence campo) {
+
+        return arroba(campo, 0) >= 0;
+    }
+
+    /**
+     * Testa se uma sequência contém um email válido.
+     *
+     * @param campo Sequência a ser testada.
+     * @param opcoes {@link #IGNORAR_CAIXA} e {@link #INTERNACIONAL}, ou 0.
+     * @return true se o conteúdo contiver um email válido.
+     */
+    public static boolean valido(final CharSequence campo, final int opcoes) {
+
+        return arroba(campo, opcoes) >= 0;
+    }
+
+    /**
+     * Valida o email e retorna a posição do '@' que separa a parte local do
+     * domínio.
+     *
+     * @param campo Sequência a ser testada.
+     * @return Posição do '@', ou -1 se o email for inválido.
+     */
+    public static int arroba(final CharSequence campo) {
+
+        return arroba(campo, 0);
+    }
+
+    /**
+     * Valida o email e retorna a posição do '@' que separa a parte local do
+     * domínio.
+     *
+     * @param campo Sequência a ser testada.
+     * @param opcoes {@link #IGNORAR_CAIXA} e {@link #INTERNACIONAL}, ou 0.
+     * @return Posição do '@', ou -1 se o email for inválido.
+     */
+    public static int arroba(final CharSequence campo, final int opcoes) {
+
+        int maiuscula = (opcoes & IGNORAR_CAIXA) != 0 ? MAIUSCULA : 0;
+        int local = LOCAL | maiuscula;
+        int dominio = ALFANUMERICO | maiuscula;
+        boolean internacional = (opcoes & INTERNACIONAL) != 0;
+        int tamanho = campo.length();
+        int i = 0;
+
+        // Parte local: átomos separados por um único ponto.
+        while (true) {
+            int proximo = avancar(campo, i, tamanho, local, internacional);
+            if (proximo < 0) {
+                return -1;
+            }
+            do {
+                i = proximo;
+                proximo = avancar(campo, i, tamanho, local, internacional);
+            } while (proximo >= 0);
+            if (i >= tamanho) {
+                return -1;
+            }
+            char c = campo.charAt(i);
+            if (c == '@') {
+                break;
+            }
+            if (c != '.') {
+                return -1;
+            }
+            i++;
+        }
+        int arroba = i++;
+
+        // Domínio: pelo menos dois rótulos alfanuméricos separados por ponto,
+        // com hífens permitidos apenas no meio do rótulo.
+        int rotulos = 0;
+        while (true) {
+            int proximo = avancar(campo, i, tamanho, dominio, internacional);
+            if (proximo < 0) {
+                return -1;
+            }
+            i = proximo;
+            boolean hifen = false;
+            while (i < tamanho) {
+                if (campo.charAt(i) == '-') {
+                    hifen = true;
+                    i++;
+                    continue;
+                }
+                proximo = avancar(campo, i, tamanho, dominio, internacional);
+                if (proximo < 0) {
+                    break;
+                }
+                hifen = false;
+                i = proximo;
+            }
+            if (hifen) {
+                return -1;
+            }
+            rotulos++;
+            if (i >= tamanho) {
+                break;
+            }
+            if (campo.charAt(i) != '.') {
+                return -1;
+            }
+            i++;
+        }
+        return rotulos >= 2 ? arroba : -1;
+    }
+
+    /**
+     * Testa se o trecho do buffer contém um email válido em ASCII.
+     *
+     * @param buffer Buffer lido por posição absoluta.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes do campo.
+     * @return true se o conteúdo contiver um email válido.
+     */
+    public static boolean valido(final ByteBuffer buffer, final int inicio, final int tamanho) {
+
+        return arroba(buffer, inicio, tamanho, 0) >= 0;
+    }
+
+    /**
+     * Testa se o trecho do buffer contém um email válido em UTF-8.
+     *
+     * @param buffer Buffer lido por posição absoluta.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes do campo.
+     * @param opcoes {@link #IGNORAR_CAIXA} e {@link #INTERNACIONAL}, ou 0.
+     * @return true se o conteúdo contiver um email válido.
+     */
+    public static boolean valido(final ByteBuffer buffer, final int inicio, final int tamanho,
+            final int opcoes) {
+
+        return arroba(buffer, inicio, tamanho, opcoes) >= 0;
+    }
+
+    /**
+     * Mesmo algoritmo de {@link #arroba(CharSequence)} sobre bytes ASCII.
+     *
+     * @param buffer Buffer lido por posição absoluta.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes do campo.
+     * @return Posição absoluta do '@', ou -1 se o email for inválido.
+     */
+    public static int arroba(final ByteBuffer buffer, final int inicio, final int tamanho) {
+
+        return arroba(buffer, inicio, tamanho, 0);
+    }
+
+    /**
+     * Mesmo algoritmo de {@link #arroba(CharSequence, int)} sobre bytes
+     * UTF-8. A parte local vai de {@code inicio} até o '@', e o domínio do
+     * byte seguinte ao '@' até {@code inicio + tamanho}.
+     *
+     * @param buffer Buffer lido por posição absoluta.
+     * @param inicio Posição do primeiro byte.
+     * @param tamanho Quantidade de bytes do campo.
+     * @param opcoes {@link #IGNORAR_CAIXA} e {@link #INTERNACIONAL}, ou 0.
+     * @return Posição absoluta do '@', ou -1 se o email for inválido.
+     */
+    public static int arroba(final ByteBuffer buffer, final int inicio, final int tamanho,
+            final int opcoes) {
+
+        int maiuscula = (opcoes & IGNORAR_CAIXA) != 0 ? MAIUSCULA : 0;
+        int local = LOCAL | maiuscula;
+        int dominio = ALFANUMERICO | maiuscula;
+        boolean internacional = (opcoes & INTERNACIONAL) != 0;
+        int fim = inicio + tamanho;
+        int i = inicio;
+
+        while (true) {
+            int proximo = avancar(buffer, i, fim, local, internacional);
+            if (proximo < 0) {
+                return -1;
+            }
+            do {
+                i = proximo;
+                proximo = avancar(buffer, i, fim, local, internacional);
+            } while (proximo >= 0);
+            if (i >= fim) {
+                return -1;
+            }
+            int c = buffer.get(i);
+            if (c == '@') {
+                break;
+            }
+            if (c != '.') {
+                return -1;
+            }
+            i++;
+        }
+        int arroba = i++;
+
+        int rotulos = 0;
+        while (true) {
+            int proximo = avancar(buffer, i, fim, dominio, internacional);
+            if (proximo < 0) {
+                return -1;
+            }
+            i = proximo;
+            boolean hifen = false;
+            while (i < fim) {
+                if (buffer.get(i) == '-') {
+                    hifen = true;
+                    i++;
+                    continue;
+                }
+                proximo = avancar(buffer, i, fim, dominio, internacional);
+                if (proximo < 0) {
+                    break;
+                }
+                hifen = false;
+                i = proximo;
+            }
+            if (hifen) {
+                return -1;
+            }
+            rotulos++;
+            if (i >= fim) {
+                break;
+            }
+            if (buffer.get(i) != '.') {
+                return -1;
+            }
+            i++;
+        }
+        return rotulos >= 2 ? arroba : -1;
+    }
+
+    /**
+     * Consome um caractere da classe informada.
+     *
+     * @return Posição seguinte ao caractere, ou -1 se não houver caractere
+     * ou ele não pertencer à classe.
+     */
+    private static int avancar(final CharSequence campo, final int i, final int tamanho,
+            final int mascara, final boolean internacional) {
+
+        if (i >= tamanho) {
+            return -1;
+        }
+        char c = campo.charAt(i);
+        if (c < 128) {
+            return (CLASSES[c] & mascara) != 0 ? i + 1 : -1;
+        }
+        if (!internacional) {
+            return -1;
+        }
+        if (Character.isHighSurrogate(c)) {
+            if (i + 1 < tamanho && Character.isLowSurrogate(campo.charAt(i + 1))) {
+                return internacional(Character.toCodePoint(c, campo.charAt(i + 1))) ? i + 2 : -1;
+            }
+            return -1;
+        }
+        return internacional(c) ? i + 1 : -1;
+    }
+
+    /**
+     * Consome um caractere da classe informada, decodificando o UTF-8.
+     *
+     * @return Posição seguinte ao caractere, ou -1 se não houver caractere,
+     * a sequência for malformada ou o caractere não pertencer à classe.
+     */
+    private static int avancar(final ByteBuffer buffer, final int i, final int fim,
+            final int mascara, final boolean internacional) {
+
+        if (i >= fim) {
+            return -1;
+        }
+        int c = buffer.get(i);
+        if (c >= 0) {
+            return (CLASSES[c] & mascara) != 0 ? i + 1 : -1;
+        }
+        if (!internacional) {
+            return -1;
+        }
+        int bytes;
+        int minimo;
+        int codigo;
+        if ((c & 0xE0) == 0xC0) {
+            bytes = 2;
+            minimo = 0x80;
+            codigo = c & 0x1F;
+        } else if ((c & 0xF0) == 0xE0) {
+            bytes = 3;
+            minimo = 0x800;
+            codigo = c & 0x0F;
+        } else if ((c & 0xF8) == 0xF0) {
+            bytes = 4;
+            minimo = 0x10000;
+            codigo = c & 0x07;
+        } else {
+            return -1;
+        }
+        if (bytes > fim - i) {
+            return -1;
+        }
+        for (int k = 1; k < bytes; k++) {
+            int continuacao = buffer.get(i + k);
+            if ((continuacao & 0xC0) != 0x80) {
+                return -1;
+            }
+            codigo = codigo << 6 | (continuacao & 0x3F);
+        }
+        // Formas longas demais e substitutos não são UTF-8 válido.
+        if (codigo < minimo || codigo > Character.MAX_CODE_POINT
+                || (codigo >= Character.MIN_SURROGATE && codigo <= Character.MAX_SURROGATE)) {
+            return -1;
+        }
+        return internacional(codigo) ? i + bytes : -1;
+    }
+
+    /**
+     * @return true para letras, dígitos e marcas fora do ASCII.
+     */
+    private static boolean internacional(final int codigo) {
+
+        if (Character.isLetterOrDigit(codigo)) {
+            return true;
+        }
+        int tipo = Character.getType(codigo);
+        return tipo == Character.NON_SPACING_MARK || tipo == Character.COMBINING_SPACING_MARK;
+    }
+}
@@ -0,0 +1,191 @@
+package util;
+
+import java.util.List;
+
+/**
+ * Validador compilado a partir de um {@link Esquema}.
+ *
+ * As restrições de classe de caractere de um campo (inteiro, número, hexa,
+ * real e alfabético) são fundidas em uma única varredura do valor, e a
+ * verificação de vazio é feita uma única vez por campo. As falhas de cada
+ * campo são gravadas como máscara de bits de {@link Restricao} em um
+ * {@link ResultadoEsquema} reaproveitável.
+ *
+ * Instâncias são imutáveis e podem ser compartilhadas entre threads; o
+ * resultado, não.
+ */
+public final class ValidadorEsquema {
+
+    /**
+     * Restrições resolvidas pela varredura de classes de caractere.
+     */
+    private static final int CLASSES = Restricao.INTEIRO.bit() | Restricao.NUMERO.bit()
+            | Restricao.HEXA.bit() | Restricao.REAL.bit() | Restricao.ALFABETICO.bit();
+
+    private final String[] nomes;
+    private final int[] restricoes;
+    private final int[] minimos;
+    private final int[] maximos;
+    private final String[] mascaras;
+
+    ValidadorEsquema(final String[] nomes, final int[] restricoes, final int[] minimos,
+            final int[] maximos, final String[] mascaras) {
+
+        this.nomes = nomes;
+        this.restricoes = restricoes;
+        this.minimos = minimos;
+        this.maximos = maximos;
+        this.mascaras = mascaras;
+    }
+
+    /**
+     * @return Quantidade de campos do registro.
+     */
+    public int campos() {
+
+        return nomes.length;
+    }
+
+    /**
+     * @param campo Índice do campo.
+     * @return Nome do campo.
+     */
+    public String nome(final int campo) {
+
+        return nomes[campo];
+    }
+
+    /**
+     * @return Resultado vazio, para ser reaproveitado entre registros.
+     */
+    public ResultadoEsquema novoResultado() {
+
+        return new ResultadoEsquema(nomes);
+    }
+
+    /**
+     * Valida um registro cujos valores estão na ordem de declaração dos
+     * campos. Valores ausentes no fim do registro são tratados como vazios.
+     *
+     * @param registro Valores do registro.
+     * @param resultado Recebe as falhas de cada campo.
+     * @return true se todos os campos atenderem às suas restrições.
+     */
+    public boolean validar(final CharSequence[] registro, final ResultadoEsquema resultado) {
+
+        boolean valido = true;
+        for (int i = 0; i < nomes.length; i++) {
+
+            int falhas = validar(i, i < registro.length ? registro[i] : null);
+            resultado.falhas[i] = falhas;
+            valido &= falhas == 0;
+        }
+        return valido;
+    }
+
+    /**
+     * Valida um registro cujos valores estão na ordem de declaração dos
+     * campos. Valores ausentes no fim do registro são tratados como vazios.
+     *
+     * @param registro Valores do registro.
+     * @param resultado Recebe as falhas de cada campo.
+     * @return true se todos os campos atenderem às suas restrições.
+     */
+    public boolean validar(final List<? extends CharSequence> registro,
+            final ResultadoEsquema resultado) {
+
+        boolean valido = true;
+        for (int i = 0; i < nomes.length; i++) {
+
+            int falhas = validar(i, i < registro.size() ? registro.get(i) : null);
+            resultado.falhas[i] = falhas;
+            valido &= falhas == 0;
+        }
+        return valido;
+    }
+
+    /**
+     * Valida o valor de um campo.
+     *
+     * @param campo Índice do campo.
+     * @param valor Valor a ser validado.
+     * @return Máscara de bits das restrições que falharam, ou 0.
+     */
+    public int validar(final int campo, final CharSequence valor) {
+
+        int restricao = restricoes[campo];
+        int tamanho = valor == null ? 0 : valor.length();
+        if (tamanho == 0) {
+            return restricao & Restricao.OBRIGATORIO.bit();
+        }
+
+        int falhas = 0;
+        if ((restricao & Restricao.MIN_CHARS.bit()) != 0 && tamanho < minimos[campo]) {
+            falhas |= Restricao.MIN_CHARS.bit();
+        }
+        if ((restricao & Restricao.MAX_CHARS.bit()) != 0 && tamanho > maximos[campo]) {
+            falhas |= Restricao.MAX_CHARS.bit();
+        }
+        if ((restricao & CLASSES) != 0) {
+            falhas |= restricao & CLASSES & ~classes(valor, tamanho);
+        }
+        if ((restricao & Restricao.EMAIL.bit()) != 0 && !ValidadorEmail.valido(valor)) {
+            falhas |= Restricao.EMAIL.bit();
+        }
+        if ((restricao & Restricao.CPF.bit()) != 0 && !DigitoVerificador.cpf(valor)) {
+            falhas |= Restricao.CPF.bit();
+        }
+        if ((restricao & Restricao.CNPJ.bit()) != 0 && !DigitoVerificador.cnpj(valor)) {
+            falhas |= Restricao.CNPJ.bit();
+        }
+        if ((restricao & Restricao.GTIN.bit()) != 0 && !Gtin.valido(valor)) {
+            falhas |= Restricao.GTIN.bit();
+        }
+        if ((restricao & Restricao.DATA.bit()) != 0 && !ValidadorData.valida(valor, mascaras[campo])) {
+            falhas |= Restricao.DATA.bit();
+        }
+        return falhas;
+    }
+
+    /**
+     * Varre o valor uma única vez e retorna as restrições de classe de
+     * caractere que ele atende.
+     */
+    private static int classes(final CharSequence valor, final int tamanho) {
+
+        int todos = EscaneadorCaracteres.DIGITO | EscaneadorCaracteres.HEXA
+                | EscaneadorCaracteres.ALFABETICO;
+        boolean digitoOuPonto = true;
+        int pontos = 0;
+        for (int i = 0; i < tamanho && (todos != 0 || digitoOuPonto); i++) {
+
+            int classe = EscaneadorCaracteres.classe(valor.charAt(i));
+            todos &= classe;
+            if ((classe & (EscaneadorCaracteres.DIGITO | EscaneadorCaracteres.PONTO)) == 0) {
+                digitoOuPonto = false;
+            } else if (classe == EscaneadorCaracteres.PONTO) {
+                pontos++;
+            }
+        }
+
+        boolean inteiro = (todos & EscaneadorCaracteres.DIGITO) != 0;
+        boolean real = digitoOuPonto && pontos == 1;
+        int atendidas = 0;
+        if (inteiro) {
+            atendidas |= Restricao.INTEIRO.bit();
+        }
+        if (real) {
+            atendidas |= Restricao.REAL.bit();
+        }
+        if (inteiro || real) {
+            atendidas |= Restricao.NUMERO.bit();
+        }
+        if ((todos & EscaneadorCaracteres.HEXA) != 0) {
+            atendidas |= Restricao.HEXA.bit();
+        }
+        if ((todos & EscaneadorCaracteres.ALFABETICO) != 0) {
+            atendidas |= Restricao.ALFABETICO.bit();
+        }
+        return atendidas;
+    }
+}